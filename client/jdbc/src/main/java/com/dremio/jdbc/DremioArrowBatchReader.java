@@ -0,0 +1,66 @@
+/*
+ * Copyright (C) 2017-2019 Dremio Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.dremio.jdbc;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import org.apache.arrow.vector.VectorSchemaRoot;
+
+/**
+ * Columnar, batch-at-a-time access to the Arrow record batches backing a {@link DremioResultSet}.
+ *
+ * <p>Obtained through {@code resultSet.unwrap(DremioArrowBatchReader.class)} (or {@code
+ * statement.unwrap(DremioArrowBatchReader.class)} for the statement's current result set). Batch
+ * access must start before the first call to {@link ResultSet#next()}; once it has started, the
+ * row-oriented accessors of the result set are no longer usable.
+ *
+ * <p><strong>Ownership</strong>: the root returned by {@link #getVectorSchemaRoot()} is borrowed;
+ * it is owned by the reader, must not be closed by the caller and is only valid until the next
+ * call to {@link #loadNextBatch()} or {@link #close()}. To keep a batch beyond that point, call
+ * {@link #transferVectorSchemaRoot()}, which moves the underlying buffers (without copying) into a
+ * new root that the caller owns and must close.
+ */
+public interface DremioArrowBatchReader extends AutoCloseable {
+
+  /**
+   * Advances to the next non-empty record batch.
+   *
+   * @return whether a batch is available (false when after the last batch)
+   * @throws SQLException if the query failed, timed out, or row access has already started
+   */
+  boolean loadNextBatch() throws SQLException;
+
+  /**
+   * Gets the current batch, backed directly by the vectors the driver received.
+   *
+   * @return a borrowed root, valid until the next call to {@link #loadNextBatch()}
+   * @throws SQLException if there is no current batch or the reader is closed
+   */
+  VectorSchemaRoot getVectorSchemaRoot() throws SQLException;
+
+  /**
+   * Transfers ownership of the current batch's buffers to a new root. The reader no longer holds
+   * the current batch after this call.
+   *
+   * @return a root owned by the caller, who is responsible for closing it
+   * @throws SQLException if there is no current batch or the reader is closed
+   */
+  VectorSchemaRoot transferVectorSchemaRoot() throws SQLException;
+
+  /** Closes the underlying result set, releasing any batch still held by the reader. */
+  @Override
+  void close() throws SQLException;
+}
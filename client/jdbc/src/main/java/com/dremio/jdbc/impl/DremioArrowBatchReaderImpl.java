@@ -0,0 +1,62 @@
+/*
+ * Copyright (C) 2017-2019 Dremio Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.dremio.jdbc.impl;
+
+import com.dremio.jdbc.AlreadyClosedSqlException;
+import com.dremio.jdbc.DremioArrowBatchReader;
+import java.sql.SQLException;
+import org.apache.arrow.vector.VectorSchemaRoot;
+
+/** Dremio's implementation of {@link DremioArrowBatchReader}, backed by a {@link DremioCursor}. */
+class DremioArrowBatchReaderImpl implements DremioArrowBatchReader {
+
+  private final DremioResultSetImpl resultSet;
+  private final DremioCursor cursor;
+
+  DremioArrowBatchReaderImpl(DremioResultSetImpl resultSet, DremioCursor cursor) {
+    this.resultSet = resultSet;
+    this.cursor = cursor;
+  }
+
+  private void throwIfClosed() throws SQLException {
+    if (resultSet.isClosed()) {
+      throw new AlreadyClosedSqlException("ResultSet is already closed.");
+    }
+  }
+
+  @Override
+  public boolean loadNextBatch() throws SQLException {
+    throwIfClosed();
+    return cursor.nextBatch();
+  }
+
+  @Override
+  public VectorSchemaRoot getVectorSchemaRoot() throws SQLException {
+    throwIfClosed();
+    return cursor.getCurrentBatch(false);
+  }
+
+  @Override
+  public VectorSchemaRoot transferVectorSchemaRoot() throws SQLException {
+    throwIfClosed();
+    return cursor.getCurrentBatch(true);
+  }
+
+  @Override
+  public void close() throws SQLException {
+    resultSet.close();
+  }
+}
@@ -28,6 +28,7 @@ import com.dremio.exec.proto.UserProtos.PreparedStatement;
 import com.dremio.exec.proto.UserProtos.PreparedStatementParameterValue;
 import com.dremio.exec.record.BatchSchema;
 import com.dremio.exec.record.RecordBatchLoader;
+import com.dremio.exec.record.VectorWrapper;
 import com.dremio.exec.rpc.ConnectionThrottle;
 import com.dremio.jdbc.SchemaChangeListener;
 import com.dremio.jdbc.SqlTimeoutException;
@@ -44,6 +45,11 @@ import java.util.concurrent.LinkedBlockingDeque;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.AtomicInteger;
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.vector.FieldVector;
+import org.apache.arrow.vector.VectorSchemaRoot;
+import org.apache.arrow.vector.types.pojo.Field;
+import org.apache.arrow.vector.util.TransferPair;
 import org.apache.calcite.avatica.AvaticaStatement;
 import org.apache.calcite.avatica.ColumnMetaData;
 import org.apache.calcite.avatica.Meta;
@@ -343,6 +349,9 @@ class DremioCursor implements Cursor {
   private final AvaticaStatement statement;
   private final Meta.Signature signature;
 
+  /** Allocator owning the buffers of received batches. */
+  private final BufferAllocator allocator;
+
   /** Holds current batch of records (none before first load). */
   private final RecordBatchLoader currentBatchHolder;
 
@@ -380,6 +389,12 @@ class DremioCursor implements Cursor {
 
   private int currentRowNumber = -1;
 
+  /** Whether results are being consumed a batch at a time (see {@link #nextBatch()}). */
+  private boolean batchAccessStarted = false;
+
+  /** Whether the current batch is available to {@link #getCurrentBatch(boolean)}. */
+  private boolean currentBatchAvailable = false;
+
   /** Zero-based offset of current record in record batch. (Not <i>row</i> number.) */
   private int currentRecordNumber = -1;
 
@@ -396,7 +411,8 @@ class DremioCursor implements Cursor {
     final int batchQueueThrottlingThreshold =
         client.getConfig().getInt(JDBC_BATCH_QUEUE_THROTTLING_THRESHOLD);
     resultsListener = new ResultsListener(batchQueueThrottlingThreshold);
-    currentBatchHolder = new RecordBatchLoader(client.getRecordAllocator());
+    allocator = client.getRecordAllocator();
+    currentBatchHolder = new RecordBatchLoader(allocator);
   }
 
   protected int getCurrentRecordNumber() {
@@ -435,6 +451,7 @@ class DremioCursor implements Cursor {
       connection.getClient().cancelQuery(resultsListener.getQueryId());
     }
     resultsListener.close();
+    currentBatchAvailable = false;
     currentBatchHolder.clear();
   }
 
@@ -643,6 +660,10 @@ class DremioCursor implements Cursor {
     }
     assert afterFirstBatch : "afterFirstBatch still false in next()";
 
+    if (batchAccessStarted) {
+      throw new SQLException("Row access is not available once Arrow batch access has started.");
+    }
+
     if (afterLastRow) {
       // We're already after end of rows/records--just report that after end.
       return false;
@@ -662,6 +683,84 @@ class DremioCursor implements Cursor {
     }
   }
 
+  /**
+   * Advances this cursor to the next non-empty batch, skipping any rows of the current batch.
+   *
+   * <p>Once called, results can only be consumed a batch at a time ({@link #next()} throws).
+   *
+   * @return whether cursor is positioned at a batch (false when after end of results)
+   */
+  boolean nextBatch() throws SQLException {
+    if (!initialSchemaLoaded) {
+      throw new IllegalStateException("nextBatch() called but loadInitialSchema() was not called");
+    }
+    if (!batchAccessStarted) {
+      if (currentRowNumber >= 0) {
+        throw new SQLException(
+            "Arrow batch access must start before the first call to ResultSet.next().");
+      }
+      batchAccessStarted = true;
+    }
+    currentBatchAvailable = false;
+
+    if (afterLastRow) {
+      return false;
+    }
+
+    // The first batch (already loaded by loadInitialSchema()) is handed out as
+    // is if it has rows.
+    if (returnTrueForNextCallToNext) {
+      returnTrueForNextCallToNext = false;
+      currentBatchAvailable = true;
+      return true;
+    }
+
+    do {
+      // Position on the last record so that nextRowInternally() fetches the
+      // next batch rather than advancing within the current one.
+      currentRecordNumber = currentBatchHolder.getRecordCount() - 1;
+      if (!nextRowInternally()) {
+        return false;
+      }
+    } while (currentBatchHolder.getRecordCount() == 0);
+
+    currentBatchAvailable = true;
+    return true;
+  }
+
+  /**
+   * Gets the current batch as an Arrow {@link VectorSchemaRoot}.
+   *
+   * @param transfer whether to transfer the batch's buffers to a new root owned by the caller; if
+   *     false the returned root shares the cursor's vectors and is only valid until the next call
+   *     to {@link #nextBatch()}
+   */
+  VectorSchemaRoot getCurrentBatch(boolean transfer) throws SQLException {
+    if (!currentBatchAvailable) {
+      throw new SQLException("No current Arrow batch; call loadNextBatch() first.");
+    }
+
+    final List<Field> fields = new ArrayList<>();
+    final List<FieldVector> vectors = new ArrayList<>();
+    for (VectorWrapper<?> wrapper : currentBatchHolder) {
+      FieldVector vector = (FieldVector) wrapper.getValueVector();
+      if (transfer) {
+        final TransferPair transferPair = vector.getTransferPair(allocator);
+        transferPair.transfer();
+        vector = (FieldVector) transferPair.getTo();
+      }
+      fields.add(vector.getField());
+      vectors.add(vector);
+    }
+    final int recordCount = currentBatchHolder.getRecordCount();
+
+    if (transfer) {
+      // Ownership of the buffers has moved to the caller.
+      currentBatchAvailable = false;
+    }
+    return new VectorSchemaRoot(fields, vectors, recordCount);
+  }
+
   public void cancel() {
     close();
   }
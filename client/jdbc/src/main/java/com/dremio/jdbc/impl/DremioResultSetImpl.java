@@ -17,6 +17,7 @@ package com.dremio.jdbc.impl;
 
 import com.dremio.common.SuppressForbidden;
 import com.dremio.jdbc.AlreadyClosedSqlException;
+import com.dremio.jdbc.DremioArrowBatchReader;
 import com.dremio.jdbc.DremioResultSet;
 import com.dremio.jdbc.ExecutionCanceledSqlException;
 import com.dremio.jdbc.SchemaChangeListener;
@@ -116,8 +117,28 @@ class DremioResultSetImpl extends AvaticaResultSet implements DremioResultSet {
   ////////////////////////////////////////
   // ResultSet-defined methods (in same order as in ResultSet):
 
-  // No isWrapperFor(Class<?>) (it doesn't throw SQLException if already closed).
-  // No unwrap(Class<T>) (it doesn't throw SQLException if already closed).
+  // isWrapperFor(Class<?>) and unwrap(Class<T>) only throw SQLException if
+  // already closed when asked for a DremioArrowBatchReader.
+
+  @Override
+  public boolean isWrapperFor(Class<?> iface) throws SQLException {
+    if (iface == DremioArrowBatchReader.class) {
+      return cursor instanceof DremioCursor;
+    }
+    return super.isWrapperFor(iface);
+  }
+
+  @Override
+  public <T> T unwrap(Class<T> iface) throws SQLException {
+    if (iface == DremioArrowBatchReader.class) {
+      throwIfClosed();
+      if (!(cursor instanceof DremioCursor)) {
+        throw new SQLException("Arrow batch access is not available for this ResultSet.");
+      }
+      return iface.cast(new DremioArrowBatchReaderImpl(this, (DremioCursor) cursor));
+    }
+    return super.unwrap(iface);
+  }
 
   // (Not delegated.)
   @Override
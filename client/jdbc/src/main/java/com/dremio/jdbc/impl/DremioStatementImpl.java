@@ -16,6 +16,7 @@
 package com.dremio.jdbc.impl;
 
 import com.dremio.jdbc.AlreadyClosedSqlException;
+import com.dremio.jdbc.DremioArrowBatchReader;
 import com.dremio.jdbc.DremioStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
@@ -164,8 +165,29 @@ class DremioStatementImpl extends AvaticaStatement
 
   // Note:  Methods are in same order as in java.sql.Statement.
 
-  // No isWrapperFor(Class<?>) (it doesn't throw SQLException if already closed).
-  // No unwrap(Class<T>) (it doesn't throw SQLException if already closed).
+  // isWrapperFor(Class<?>) doesn't throw SQLException if already closed. The statement
+  // doesn't wrap a DremioArrowBatchReader itself, only its current result set does.
+  // unwrap(Class<T>) only throws SQLException if already closed when asked for the
+  // current result set's DremioArrowBatchReader.
+
+  @Override
+  public boolean isWrapperFor(Class<?> iface) throws SQLException {
+    return iface.isInstance(this);
+  }
+
+  @Override
+  public <T> T unwrap(Class<T> iface) throws SQLException {
+    if (iface == DremioArrowBatchReader.class) {
+      throwIfClosed();
+      final ResultSet resultSet = getResultSet();
+      if (resultSet == null) {
+        throw new SQLException("No current ResultSet to read Arrow batches from.");
+      }
+      return resultSet.unwrap(iface);
+    }
+    return super.unwrap(iface);
+  }
+
   // No close() (it doesn't throw SQLException if already closed).
 
   @Override
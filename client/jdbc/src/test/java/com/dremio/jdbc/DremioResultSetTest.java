@@ -21,6 +21,7 @@ import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
+import org.apache.arrow.vector.VectorSchemaRoot;
 import org.junit.Test;
 
 public class DremioResultSetTest extends JdbcWithServerTestBase {
@@ -99,6 +100,70 @@ public class DremioResultSetTest extends JdbcWithServerTestBase {
     assertThat(resultSet.getRow()).isEqualTo(0);
   }
 
+  @Test
+  public void test_arrowBatchReader_readsAllRows() throws Exception {
+    Statement statement = getConnection().createStatement();
+    ResultSet resultSet = statement.executeQuery("VALUES (1), (2), (3)");
+
+    assertThat(resultSet.isWrapperFor(DremioArrowBatchReader.class)).isTrue();
+    int rowCount = 0;
+    try (DremioArrowBatchReader reader = resultSet.unwrap(DremioArrowBatchReader.class)) {
+      while (reader.loadNextBatch()) {
+        VectorSchemaRoot root = reader.getVectorSchemaRoot();
+        assertThat(root.getFieldVectors()).hasSize(1);
+        rowCount += root.getRowCount();
+      }
+      assertThat(reader.loadNextBatch()).isFalse();
+    }
+    assertThat(rowCount).isEqualTo(3);
+    assertThat(resultSet.isClosed()).isTrue();
+  }
+
+  @Test
+  public void test_arrowBatchReader_transferredRootOutlivesReader() throws Exception {
+    Statement statement = getConnection().createStatement();
+    ResultSet resultSet = statement.executeQuery("VALUES (1), (2)");
+
+    final VectorSchemaRoot root;
+    try (DremioArrowBatchReader reader = resultSet.unwrap(DremioArrowBatchReader.class)) {
+      assertThat(reader.loadNextBatch()).isTrue();
+      root = reader.transferVectorSchemaRoot();
+
+      // Batch now belongs to the caller.
+      assertThatThrownBy(reader::getVectorSchemaRoot).isInstanceOf(SQLException.class);
+    }
+    try (VectorSchemaRoot owned = root) {
+      assertThat(owned.getRowCount()).isEqualTo(2);
+      assertThat(owned.getVector(0).getObject(1)).isEqualTo(2);
+    }
+  }
+
+  @Test
+  public void test_arrowBatchReader_blocksRowAccess() throws Exception {
+    Statement statement = getConnection().createStatement();
+    ResultSet resultSet = statement.executeQuery("VALUES (1), (2)");
+
+    DremioArrowBatchReader reader = resultSet.unwrap(DremioArrowBatchReader.class);
+    assertThat(reader.loadNextBatch()).isTrue();
+    assertThatThrownBy(resultSet::next)
+        .isInstanceOf(SQLException.class)
+        .hasMessageContaining("batch access");
+    reader.close();
+  }
+
+  @Test
+  public void test_arrowBatchReader_notAvailableAfterNext() throws Exception {
+    Statement statement = getConnection().createStatement();
+    ResultSet resultSet = statement.executeQuery("VALUES (1), (2)");
+
+    assertThat(resultSet.next()).isTrue();
+    DremioArrowBatchReader reader = resultSet.unwrap(DremioArrowBatchReader.class);
+    assertThatThrownBy(reader::loadNextBatch)
+        .isInstanceOf(SQLException.class)
+        .hasMessageContaining("before the first call");
+    resultSet.close();
+  }
+
   // TODO:  Ideally, test other methods.
 
 }
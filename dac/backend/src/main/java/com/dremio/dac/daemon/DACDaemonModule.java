@@ -65,6 +65,7 @@ import com.dremio.dac.service.search.SearchServiceInvoker;
 import com.dremio.dac.service.source.SourceService;
 import com.dremio.dac.service.sysflight.SysFlightTablesProvider.JobsTable;
 import com.dremio.dac.service.sysflight.SysFlightTablesProvider.MaterializationsTable;
+import com.dremio.dac.service.sysflight.SysFlightTablesProvider.PlannerRuleStatsTable;
 import com.dremio.dac.service.sysflight.SysFlightTablesProvider.RecentJobsTable;
 import com.dremio.dac.service.sysflight.SysFlightTablesProvider.ReflectionDependenciesTable;
 import com.dremio.dac.service.sysflight.SysFlightTablesProvider.ReflectionLineageTableFunction;
@@ -2231,6 +2232,7 @@ public class DACDaemonModule implements DACModule {
         SystemTableManager.TABLES.JOBS_RECENT,
         new RecentJobsTable(
             () -> ChronicleGrpc.newStub(conduitProvider.getOrCreateChannelToMaster())));
+    tablesMap.put(SystemTableManager.TABLES.PLANNER_RULE_STATS, new PlannerRuleStatsTable());
     return tablesMap;
   }
 
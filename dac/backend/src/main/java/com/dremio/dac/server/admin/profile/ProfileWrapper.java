@@ -669,7 +669,8 @@ public class ProfileWrapper {
               .appendCell(String.valueOf(stats.getTotalTimeMs()))
               .appendCell(String.valueOf(stats.getMatchedCount()))
               .appendCell(String.valueOf(stats.getTransformedCount()))
-              .appendCell(String.valueOf(stats.getRelnodesCount()));
+              .appendCell(String.valueOf(stats.getRelnodesCount()))
+              .appendCell(String.valueOf(stats.getProducedRelnodesCount()));
         }
       }
     }
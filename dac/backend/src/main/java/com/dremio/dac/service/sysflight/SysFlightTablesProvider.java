@@ -15,6 +15,8 @@
  */
 package com.dremio.dac.service.sysflight;
 
+import com.dremio.exec.planner.PlannerRuleStatsRegistry;
+import com.dremio.exec.proto.FlightProtos.PlannerRuleStatsSummary;
 import com.dremio.exec.proto.FlightProtos.SysFlightTicket;
 import com.dremio.exec.record.BatchSchema;
 import com.dremio.service.acceleration.ReflectionDescriptionServiceGrpc;
@@ -34,6 +36,7 @@ import com.dremio.service.job.RecentJobsRequest;
 import com.dremio.service.sysflight.ProtobufRecordReader;
 import com.dremio.service.sysflight.SysFlightDataProvider;
 import com.dremio.service.sysflight.SysFlightStreamObserver;
+import java.util.Comparator;
 import javax.inject.Provider;
 import org.apache.arrow.flight.FlightProducer.ServerStreamListener;
 import org.apache.arrow.memory.BufferAllocator;
@@ -255,4 +258,44 @@ public class SysFlightTablesProvider {
       return ProtobufRecordReader.getSchema(ListReflectionLineageResponse.getDescriptor());
     }
   }
+
+  /**
+   * Planner rule statistics table, served from the registry of this coordinator, which plans the
+   * queries, rather than from the executor running the scan.
+   */
+  public static class PlannerRuleStatsTable implements SysFlightDataProvider {
+
+    @Override
+    public void streamData(
+        SysFlightTicket ticket,
+        ServerStreamListener listener,
+        BufferAllocator allocator,
+        int recordBatchSize) {
+      SysFlightStreamObserver<PlannerRuleStatsSummary> observer =
+          new SysFlightStreamObserver<>(
+              allocator, listener, PlannerRuleStatsSummary.getDescriptor(), recordBatchSize);
+      PlannerRuleStatsRegistry.stream()
+          .sorted(
+              Comparator.comparingLong(PlannerRuleStatsRegistry.RuleStats::getTotalTimeMs)
+                  .reversed())
+          .forEach(
+              stats ->
+                  observer.onNext(
+                      PlannerRuleStatsSummary.newBuilder()
+                          .setPhase(stats.getPhase())
+                          .setRule(stats.getRule())
+                          .setPhaseRuns(stats.getPhaseRuns())
+                          .setTotalTimeMs(stats.getTotalTimeMs())
+                          .setMatchedCount(stats.getMatchedCount())
+                          .setTransformedCount(stats.getTransformedCount())
+                          .setProducedRelnodesCount(stats.getProducedRelNodesCount())
+                          .build()));
+      observer.onCompleted();
+    }
+
+    @Override
+    public BatchSchema getSchema() {
+      return ProtobufRecordReader.getSchema(PlannerRuleStatsSummary.getDescriptor());
+    }
+  }
 }
@@ -267,7 +267,7 @@ public class TestMetadataProvider extends BaseTestQuery {
 
     assertEquals(RequestStatus.OK, resp.getStatus());
     List<TableMetadata> tables = resp.getTablesList();
-    assertEquals(32, tables.size());
+    assertEquals(33, tables.size());
 
     Iterator<TableMetadata> iterator = tables.iterator();
     verifyTable("INFORMATION_SCHEMA", "CATALOGS", iterator.next());
@@ -284,6 +284,7 @@ public class TestMetadataProvider extends BaseTestQuery {
     verifyTable("sys", "memory", iterator.next());
     verifyTable("sys", "nodes", iterator.next());
     verifyTable("sys", "options", iterator.next());
+    verifyTable("sys", "planner_rule_stats", iterator.next());
     verifyTable("sys", "privileges", iterator.next());
     verifyTable("sys", "reflection_dependencies", iterator.next());
     verifyTable("sys", "reflections", iterator.next());
@@ -327,7 +328,7 @@ public class TestMetadataProvider extends BaseTestQuery {
 
     assertEquals(RequestStatus.OK, resp.getStatus());
     List<TableMetadata> tables = resp.getTablesList();
-    assertEquals(31, tables.size());
+    assertEquals(32, tables.size());
 
     Iterator<TableMetadata> iterator = tables.iterator();
     verifyTable("INFORMATION_SCHEMA", "CATALOGS", iterator.next());
@@ -344,6 +345,7 @@ public class TestMetadataProvider extends BaseTestQuery {
     verifyTable("sys", "memory", iterator.next());
     verifyTable("sys", "nodes", iterator.next());
     verifyTable("sys", "options", iterator.next());
+    verifyTable("sys", "planner_rule_stats", iterator.next());
     verifyTable("sys", "privileges", iterator.next());
     verifyTable("sys", "reflection_dependencies", iterator.next());
     verifyTable("sys", "reflections", iterator.next());
@@ -112,15 +112,17 @@ public class TestSysFlightPlugin extends BaseTestQuery {
             "query",
             "is_profile_incomplete",
             "execution_allocated_bytes",
-            "execution_cpu_time_millis")
+            "execution_cpu_time_millis",
+            "thread_cpu_time_ns",
+            "heap_allocated_bytes")
         .baselineValues(
             "1", "RUNNING", "UI_RUN", "user", "", "", 0, dateTime, dateTime, dateTime, dateTime,
             dateTime, dateTime, dateTime, dateTime, dateTime, 0L, 0L, 0L, 0L, 0L, 0L, 0L, 0L, 0L,
-            0.0d, 0L, 0L, 0L, 0L, false, "", "", "err", "", true, 1000L, 10L)
+            0.0d, 0L, 0L, 0L, 0L, false, "", "", "err", "", true, 1000L, 10L, 0L, 0L)
         .baselineValues(
             "", "", "", "", "", "", 0, dateTime, dateTime, dateTime, dateTime, dateTime, dateTime,
             dateTime, dateTime, dateTime, 0L, 0L, 0L, 0L, 0L, 0L, 0L, 0L, 0L, 0.0d, 0L, 0L, 0L, 0L,
-            false, "", "", "", "", false, 0L, 0L)
+            false, "", "", "", "", false, 0L, 0L, 0L, 0L)
         .build()
         .run();
   }
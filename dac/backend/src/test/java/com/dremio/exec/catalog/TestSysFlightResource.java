@@ -20,6 +20,7 @@ import static org.mockito.Mockito.mock;
 
 import com.dremio.dac.service.sysflight.SysFlightTablesProvider.JobsTable;
 import com.dremio.dac.service.sysflight.SysFlightTablesProvider.MaterializationsTable;
+import com.dremio.dac.service.sysflight.SysFlightTablesProvider.PlannerRuleStatsTable;
 import com.dremio.dac.service.sysflight.SysFlightTablesProvider.RecentJobsTable;
 import com.dremio.dac.service.sysflight.SysFlightTablesProvider.ReflectionDependenciesTable;
 import com.dremio.dac.service.sysflight.SysFlightTablesProvider.ReflectionLineageTableFunction;
@@ -200,6 +201,7 @@ public class TestSysFlightResource extends ExternalResource {
     tablesMap.put(
         TABLES.REFLECTION_DEPENDENCIES, new ReflectionDependenciesTable(this::getReflectionStub));
     tablesMap.put(TABLES.JOBS_RECENT, new RecentJobsTable(this::getChronicleStub));
+    tablesMap.put(TABLES.PLANNER_RULE_STATS, new PlannerRuleStatsTable());
     return tablesMap;
   }
 
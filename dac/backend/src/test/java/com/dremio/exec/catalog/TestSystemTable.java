@@ -16,6 +16,7 @@
 package com.dremio.exec.catalog;
 
 import static com.dremio.exec.ExecConstants.ENABLE_DYNAMIC_LOAD_ROUTING;
+import static org.assertj.core.api.Assertions.assertThat;
 
 import com.dremio.BaseTestQuery;
 import com.dremio.TestBuilder;
@@ -24,6 +25,7 @@ import com.dremio.common.types.TypeProtos;
 import com.dremio.common.types.Types;
 import com.dremio.dac.service.flight.FlightCloseableBindableService;
 import com.dremio.exec.ExecConstants;
+import com.dremio.exec.planner.PlannerRuleStatsRegistry;
 import com.dremio.exec.proto.UserBitShared;
 import com.dremio.exec.store.sys.ServicesIterator;
 import com.dremio.resource.GroupResourceInformation;
@@ -34,6 +36,9 @@ import com.dremio.service.sysflight.SystemTableManagerImpl;
 import com.dremio.test.DremioTest;
 import com.google.inject.AbstractModule;
 import java.util.Collections;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.stream.Collectors;
 import org.apache.arrow.memory.BufferAllocator;
 import org.apache.arrow.memory.RootAllocatorFactory;
 import org.apache.commons.lang3.tuple.Pair;
@@ -138,15 +143,17 @@ public class TestSystemTable extends BaseTestQuery {
             "query",
             "is_profile_incomplete",
             "execution_allocated_bytes",
-            "execution_cpu_time_millis")
+            "execution_cpu_time_millis",
+            "thread_cpu_time_ns",
+            "heap_allocated_bytes")
         .baselineValues(
             "1", "RUNNING", "UI_RUN", "user", "", "", 0, dateTime, dateTime, dateTime, dateTime,
             dateTime, dateTime, dateTime, dateTime, dateTime, 0L, 0L, 0L, 0L, 0L, 0L, 0L, 0L, 0L,
-            0.0d, 0L, 0L, 0L, 0L, false, "", "", "err", "", true, 1000L, 10L)
+            0.0d, 0L, 0L, 0L, 0L, false, "", "", "err", "", true, 1000L, 10L, 0L, 0L)
         .baselineValues(
             "", "", "", "", "", "", 0, dateTime, dateTime, dateTime, dateTime, dateTime, dateTime,
             dateTime, dateTime, dateTime, 0L, 0L, 0L, 0L, 0L, 0L, 0L, 0L, 0L, 0.0d, 0L, 0L, 0L, 0L,
-            false, "", "", "", "", false, 0L, 0L)
+            false, "", "", "", "", false, 0L, 0L, 0L, 0L)
         .build()
         .run();
   }
@@ -202,16 +209,18 @@ public class TestSystemTable extends BaseTestQuery {
             "setup_time_ns",
             "wait_time_ns",
             "execution_cpu_time_ns",
-            "context")
+            "context",
+            "thread_cpu_time_ns",
+            "heap_allocated_bytes")
         .baselineValues(
             "2", "RUNNING", "UI_RUN", "user", "", "", 0, dateTime, dateTime, dateTime, dateTime,
             dateTime, dateTime, dateTime, dateTime, dateTime, 0L, 0L, 0L, 0L, 0L, 0L, 0L, 0L, 0L,
             0.0d, 0L, 0L, 0L, 0L, true, "", "", "errmsg", "", true, 2000L, 20L, 0.0d, 0L, 0L, 0L,
-            0L, "")
+            0L, "", 0L, 0L)
         .baselineValues(
             "", "", "", "", "", "", 0, dateTime, dateTime, dateTime, dateTime, dateTime, dateTime,
             dateTime, dateTime, dateTime, 0L, 0L, 0L, 0L, 0L, 0L, 0L, 0L, 0L, 0.0d, 0L, 0L, 0L, 0L,
-            false, "", "", "", "", false, 0L, 0L, 0.0d, 0L, 0L, 0L, 0L, "")
+            false, "", "", "", "", false, 0L, 0L, 0.0d, 0L, 0L, 0L, 0L, "", 0L, 0L)
         .build()
         .run();
   }
@@ -262,6 +271,52 @@ public class TestSystemTable extends BaseTestQuery {
     test("select * from sys.memory");
   }
 
+  @Test
+  public void plannerRuleStatsTable() throws Exception {
+    Map<String, Long> before = matchedCountsByPhaseAndRule();
+    test(
+        "select n_name from cp.\"tpch/nation.parquet\" where n_regionkey = 1 "
+            + "group by n_name order by n_name");
+    Map<String, Long> after = matchedCountsByPhaseAndRule();
+
+    // the rule matched the most times while planning the query
+    PlannerRuleStatsRegistry.RuleStats ruleStats =
+        PlannerRuleStatsRegistry.stream()
+            .max(
+                Comparator.comparingLong(
+                    stats ->
+                        after.getOrDefault(key(stats), 0L) - before.getOrDefault(key(stats), 0L)))
+            .orElseThrow(() -> new AssertionError("no planner rule stats"));
+    long matchedCount = after.get(key(ruleStats));
+    assertThat(matchedCount).isGreaterThan(before.getOrDefault(key(ruleStats), 0L));
+
+    // the table is served through sys-flight, see TestSysFlightResource; planning the query below
+    // may match the rule again
+    testBuilder()
+        .sqlQuery(
+            "select count(*) as found from sys.planner_rule_stats "
+                + "where phase = '%s' and rule = '%s' and matched_count >= %d "
+                + "and phase_runs > 0 and transformed_count <= matched_count",
+            ruleStats.getPhase(),
+            ruleStats.getRule().replace("'", "''"),
+            matchedCount)
+        .unOrdered()
+        .baselineColumns("found")
+        .baselineValues(1L)
+        .go();
+  }
+
+  private static Map<String, Long> matchedCountsByPhaseAndRule() {
+    return PlannerRuleStatsRegistry.stream()
+        .collect(
+            Collectors.toMap(
+                TestSystemTable::key, PlannerRuleStatsRegistry.RuleStats::getMatchedCount));
+  }
+
+  private static String key(PlannerRuleStatsRegistry.RuleStats stats) {
+    return stats.getPhase() + "/" + stats.getRule();
+  }
+
   @Test
   public void fragmentsTable() throws Exception {
     test("select * from sys.fragments");
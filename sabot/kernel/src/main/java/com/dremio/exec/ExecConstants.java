@@ -122,6 +122,41 @@ public interface ExecConstants {
   String SPLIT_CACHING_ENABLED_KEY = "exec.expression.splits_cache.enabled";
   BooleanValidator SPLIT_CACHING_ENABLED = new BooleanValidator(SPLIT_CACHING_ENABLED_KEY, true);
 
+  // Evaluate the expressions reading only columns with a single value in a batch, such as
+  // partition columns, once per batch instead of once per record. Off by default: the columns are
+  // checked in every batch until they don't have a single value in several consecutive batches.
+  BooleanValidator BATCH_INVARIANT_EXPRESSIONS_ENABLED =
+      new BooleanValidator("exec.expression.batch_invariant.enabled", false);
+
+  // Evaluate the subexpressions shared by several projected expressions once per record, into an
+  // intermediate vector read by all of them. Only the subexpressions doing at least min_work
+  // function calls are shared: writing and reading the intermediate vector costs more than a
+  // single cheap call, such as an addition.
+  BooleanValidator COMMON_SUBEXPRESSIONS_ENABLED =
+      new BooleanValidator("exec.expression.common_subexpressions.enabled", false);
+  RangeLongValidator COMMON_SUBEXPRESSIONS_MIN_WORK =
+      new RangeLongValidator(
+          "exec.expression.common_subexpressions.min_work", 1, Integer.MAX_VALUE, 3);
+
+  // Evaluate the conjuncts of a filter condition evaluated in Java one after the other, each on
+  // the records selected by the previous ones, and order them by their observed selectivity and
+  // cost every reorder_interval batches. Conjuncts may then be evaluated on records which the
+  // written order would have filtered out first.
+  BooleanValidator ADAPTIVE_FILTER_CONJUNCTS_ENABLED =
+      new BooleanValidator("exec.filter.adaptive_conjuncts.enabled", false);
+  RangeLongValidator ADAPTIVE_FILTER_CONJUNCTS_REORDER_INTERVAL =
+      new RangeLongValidator(
+          "exec.filter.adaptive_conjuncts.reorder_interval", 1, Integer.MAX_VALUE, 16);
+
+  // Evaluate the expressions of the filters and projections estimated to process at most
+  // max_records records with the interpreter, without generating their code. Once such an
+  // operator has processed more records than max_records, it generates the code of its
+  // expressions, and evaluates the next batches with it.
+  BooleanValidator EXPRESSION_INTERPRETER_ENABLED =
+      new BooleanValidator("exec.expression.interpreter.enabled", false);
+  RangeLongValidator EXPRESSION_INTERPRETER_MAX_RECORDS =
+      new RangeLongValidator("exec.expression.interpreter.max_records", 1, Integer.MAX_VALUE, 1000);
+
   String MAX_SPLITS_PER_EXPR_KEY = "exec.expression.split.max_splits_per_expression";
   PositiveLongValidator MAX_SPLITS_PER_EXPRESSION =
       new PositiveLongValidator(MAX_SPLITS_PER_EXPR_KEY, Long.MAX_VALUE, 10);
@@ -320,6 +355,10 @@ public interface ExecConstants {
   BooleanValidator PARQUET_ELIMINATE_NULL_PARTITIONS =
       new BooleanValidator("store.parquet.exclude_null_implicit_partitions", true);
 
+  // Stores the column bounds of each row group at metadata refresh, and prunes splits with them
+  BooleanValidator PARQUET_ROW_GROUP_INDEX =
+      new BooleanValidator("store.parquet.row_group_index.enabled", true);
+
   String PARQUET_WRITER_ENABLE_DICTIONARY_ENCODING = "store.parquet.enable_dictionary_encoding";
   BooleanValidator PARQUET_WRITER_ENABLE_DICTIONARY_ENCODING_VALIDATOR =
       new BooleanValidator(PARQUET_WRITER_ENABLE_DICTIONARY_ENCODING, true);
@@ -850,6 +889,32 @@ public interface ExecConstants {
       new BooleanValidator("dremio.unlimited_splits.metadata.clean.enabled", true);
   BooleanValidator ENABLE_ICEBERG_CONCURRENCY =
       new BooleanValidator("dremio.iceberg.concurrency.enabled", true);
+  BooleanValidator ENABLE_ICEBERG_MANIFEST_ENTRY_CACHE =
+      new BooleanValidator("dremio.iceberg.manifest_entry_cache.enabled", true);
+  BooleanValidator ENABLE_ICEBERG_POSITIONAL_DELETE_CACHE =
+      new BooleanValidator("dremio.iceberg.positional_delete_cache.enabled", true);
+  // Equality delete files with more records are split by key hash across several hash tables
+  RangeLongValidator ICEBERG_EQUALITY_DELETE_RECORDS_PER_PARTITION =
+      new RangeLongValidator(
+          "dremio.iceberg.equality_delete.records_per_partition", 1024, 1 << 24, 1 << 20);
+  // Bloom filter checked before the hash tables of partitioned equality delete files are probed.
+  // Off by default, as the filter adds to the memory of the partitions, which cannot be spilled.
+  BooleanValidator ENABLE_ICEBERG_EQUALITY_DELETE_BLOOM_FILTER =
+      new BooleanValidator("dremio.iceberg.equality_delete.bloom_filter.enabled", false);
+  BooleanValidator ENABLE_ICEBERG_NDV_SKETCHES =
+      new BooleanValidator("dremio.iceberg.ndv_sketches.enabled", false);
+  // Number of manifest files read ahead by each manifest scan, 0 to disable the prefetch
+  RangeLongValidator ICEBERG_MANIFEST_PREFETCH_COUNT =
+      new RangeLongValidator("dremio.iceberg.manifest_scan.prefetch_count", 0, 64, 4);
+  PositiveLongValidator ICEBERG_MANIFEST_PREFETCH_MAX_SIZE =
+      new PositiveLongValidator(
+          "dremio.iceberg.manifest_scan.prefetch_max_file_size",
+          Integer.MAX_VALUE,
+          16 * 1024 * 1024);
+  // Total size of the manifest files held in memory by the prefetch of each manifest scan
+  PositiveLongValidator ICEBERG_MANIFEST_PREFETCH_MAX_BYTES =
+      new PositiveLongValidator(
+          "dremio.iceberg.manifest_scan.prefetch_max_bytes", Long.MAX_VALUE, 32 * 1024 * 1024);
 
   BooleanValidator ENABLE_HIVE_DATABASE_LOCATION =
       new BooleanValidator("dremio.hive.database.location", true);
@@ -980,6 +1045,12 @@ public interface ExecConstants {
           "store.delta.max.added_file_estimation_limit", Integer.MAX_VALUE, 100);
   BooleanValidator DELTA_LAKE_ENABLE_FULL_ROWCOUNT =
       new BooleanValidator("store.deltalake.enable_full_rowcount", true);
+  // Read the parts of multi-part checkpoints concurrently, and grow the batches of commits read
+  BooleanValidator DELTALAKE_PARALLEL_METADATA_READ =
+      new BooleanValidator("store.deltalake.parallel_metadata_read.enabled", true);
+  // Reuse the snapshots read for a version of a Delta table across metadata reads
+  BooleanValidator DELTALAKE_SNAPSHOT_CACHE_ENABLED =
+      new BooleanValidator("store.deltalake.snapshot_cache.enabled", false);
 
   BooleanValidator PROJECTION_COMPLEXITY_ENABLE_LIMIT =
       new BooleanValidator("exec.codegen.project.complexity_limit.enabled", true);
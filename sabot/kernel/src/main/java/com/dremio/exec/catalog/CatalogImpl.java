@@ -212,6 +212,7 @@ public class CatalogImpl implements Catalog {
   private final CatalogStatusEvents catalogStatusEvents;
   private final VersionedDatasetAdapterFactory versionedDatasetAdapterFactory;
   private final MetadataIOPool metadataIOPool;
+  private final ResolvedDatasetCache resolvedDatasetCache;
 
   CatalogImpl(
       MetadataRequestOptions options,
@@ -227,7 +228,8 @@ public class CatalogImpl implements Catalog {
       VersionContextResolverImpl versionContextResolverImpl,
       CatalogStatusEvents catalogStatusEvents,
       VersionedDatasetAdapterFactory versionedDatasetAdapterFactory,
-      MetadataIOPool metadataIOPool) {
+      MetadataIOPool metadataIOPool,
+      ResolvedDatasetCache resolvedDatasetCache) {
     this.options = options;
     this.pluginRetriever = pluginRetriever;
     this.sourceModifier = sourceModifier;
@@ -248,6 +250,7 @@ public class CatalogImpl implements Catalog {
 
     this.versionContextResolverImpl = versionContextResolverImpl;
     this.metadataIOPool = metadataIOPool;
+    this.resolvedDatasetCache = resolvedDatasetCache;
     this.datasets =
         new DatasetManager(
             pluginRetriever,
@@ -257,7 +260,8 @@ public class CatalogImpl implements Catalog {
             identityResolver,
             versionContextResolverImpl,
             versionedDatasetAdapterFactory,
-            metadataIOPool);
+            metadataIOPool,
+            resolvedDatasetCache);
     this.iscDelegate =
         new InformationSchemaCatalogImpl(
             userNamespaceService, pluginRetriever, optionManager, namespaceIdentity);
@@ -1563,7 +1567,8 @@ public class CatalogImpl implements Catalog {
         versionContextResolverImpl,
         catalogStatusEvents,
         versionedDatasetAdapterFactory,
-        metadataIOPool);
+        metadataIOPool,
+        resolvedDatasetCache);
   }
 
   @Override
@@ -1584,7 +1589,8 @@ public class CatalogImpl implements Catalog {
         versionContextResolverImpl,
         catalogStatusEvents,
         versionedDatasetAdapterFactory,
-        metadataIOPool);
+        metadataIOPool,
+        resolvedDatasetCache);
   }
 
   @Override
@@ -1604,7 +1610,8 @@ public class CatalogImpl implements Catalog {
         versionContextResolverImpl,
         catalogStatusEvents,
         versionedDatasetAdapterFactory,
-        metadataIOPool);
+        metadataIOPool,
+        resolvedDatasetCache);
   }
 
   @Override
@@ -1626,7 +1633,8 @@ public class CatalogImpl implements Catalog {
         versionContextResolverImpl,
         catalogStatusEvents,
         versionedDatasetAdapterFactory,
-        metadataIOPool);
+        metadataIOPool,
+        resolvedDatasetCache);
   }
 
   private FileSystemPlugin getHomeFilesPlugin() throws ExecutionSetupException {
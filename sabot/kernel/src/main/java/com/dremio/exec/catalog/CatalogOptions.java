@@ -136,6 +136,15 @@ public final class CatalogOptions {
   public static final TypeValidators.BooleanValidator RESTCATALOG_LINEAGE_CALCULATION =
       new TypeValidators.BooleanValidator("plugins.restcatalog.lineage_calculation", true);
 
+  // Share the schemas and view definitions derived from dataset configs across queries.
+  public static final BooleanValidator RESOLVED_DATASET_CACHE_ENABLED =
+      new BooleanValidator("catalog.resolved_dataset_cache.enabled", true);
+
+  // Number of workers used by a source metadata refresh to sync existing datasets concurrently.
+  // This also bounds the number of concurrent metadata requests sent to the source.
+  public static final PositiveLongValidator METADATA_SYNC_PARALLELISM =
+      new PositiveLongValidator("store.metadata.sync.parallelism", 64, 1);
+
   // Do not instantiate
   private CatalogOptions() {}
 }
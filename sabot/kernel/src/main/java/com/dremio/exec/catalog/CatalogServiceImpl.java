@@ -166,6 +166,7 @@ public class CatalogServiceImpl implements CatalogService {
   protected volatile ModifiableSchedulerService modifiableSchedulerService;
   private final Provider<VersionedDatasetAdapterFactory> versionedDatasetAdapterFactoryProvider;
   private final Provider<CatalogStatusEvents> catalogStatusEventsProvider;
+  private final ResolvedDatasetCache resolvedDatasetCache = new ResolvedDatasetCache();
   private final Provider<NamespaceService.Factory> namespaceServiceFactoryProvider;
 
   public CatalogServiceImpl(
@@ -264,6 +265,7 @@ public class CatalogServiceImpl implements CatalogService {
     this.modifiableSchedulerService.start();
     this.pluginsManager = newPluginsManager();
     pluginsManager.start();
+    resolvedDatasetCache.subscribe(catalogStatusEventsProvider.get());
     this.protocol =
         new CatalogProtocol(allocator, new CatalogChangeListener(), config.getSabotConfig());
     tunnelFactory = fabric.get().registerProtocol(protocol);
@@ -978,7 +980,8 @@ public class CatalogServiceImpl implements CatalogService {
         new VersionContextResolverImpl(retriever),
         catalogStatusEventsProvider.get(),
         versionedDatasetAdapterFactoryProvider.get(),
-        catalogSabotContextProvider.get().getMetadataIOPoolProvider().get());
+        catalogSabotContextProvider.get().getMetadataIOPoolProvider().get(),
+        resolvedDatasetCache);
   }
 
   @Override
@@ -15,6 +15,7 @@
  */
 package com.dremio.exec.catalog;
 
+import static com.dremio.exec.catalog.CatalogOptions.RESOLVED_DATASET_CACHE_ENABLED;
 import static com.dremio.exec.catalog.CatalogUtil.permittedNessieKey;
 
 import com.dremio.catalog.exception.SourceMalfunctionException;
@@ -110,6 +111,7 @@ class DatasetManager {
   private final VersionContextResolver versionContextResolver;
   private final VersionedDatasetAdapterFactory versionedDatasetAdapterFactory;
   private final MetadataIOPool metadataIOPool;
+  private final ResolvedDatasetCache resolvedDatasetCache;
 
   public DatasetManager(
       PluginRetriever plugins,
@@ -119,7 +121,8 @@ class DatasetManager {
       IdentityResolver identityProvider,
       VersionContextResolver versionContextResolver,
       VersionedDatasetAdapterFactory versionedDatasetAdapterFactory,
-      MetadataIOPool metadataIOPool) {
+      MetadataIOPool metadataIOPool,
+      ResolvedDatasetCache resolvedDatasetCache) {
     this.userNamespaceService = userNamespaceService;
     this.plugins = plugins;
     this.optionManager = optionManager;
@@ -128,6 +131,7 @@ class DatasetManager {
     this.versionContextResolver = versionContextResolver;
     this.versionedDatasetAdapterFactory = versionedDatasetAdapterFactory;
     this.metadataIOPool = metadataIOPool;
+    this.resolvedDatasetCache = resolvedDatasetCache;
   }
 
   /**
@@ -455,7 +459,11 @@ class DatasetManager {
                 datasetConfig,
                 options.getSchemaConfig(),
                 key,
-                savePrimaryKeyInKvStore));
+                savePrimaryKeyInKvStore),
+            null,
+            optionManager.getOption(RESOLVED_DATASET_CACHE_ENABLED)
+                ? resolvedDatasetCache.getSchema(datasetConfig)
+                : null);
     return new NamespaceTable(tableMetadata, plugin.getDatasetMetadataState(datasetConfig), true);
   }
 
@@ -887,19 +895,26 @@ class DatasetManager {
   private ViewTable createTableFromVirtualDataset(
       DatasetConfig datasetConfig, @Nullable ManagedStoragePlugin managedStoragePlugin) {
     try {
-      // 1.4.0 and earlier didn't correctly save virtual dataset schema information.
-      BatchSchema schema =
-          DatasetHelper.getSchemaBytes(datasetConfig) != null
-              ? CalciteArrowHelper.fromDataset(datasetConfig)
-              : null;
-
-      View view =
-          Views.fieldTypesToView(
-              Iterables.getLast(datasetConfig.getFullPathList()),
-              datasetConfig.getVirtualDataset().getSql(),
-              ViewFieldsHelper.getViewFields(datasetConfig),
-              datasetConfig.getVirtualDataset().getContextList(),
-              schema);
+      final BatchSchema schema;
+      final View view;
+      if (optionManager.getOption(RESOLVED_DATASET_CACHE_ENABLED)) {
+        schema = resolvedDatasetCache.getSchema(datasetConfig);
+        view = resolvedDatasetCache.getView(datasetConfig, schema);
+      } else {
+        // 1.4.0 and earlier didn't correctly save virtual dataset schema information.
+        schema =
+            DatasetHelper.getSchemaBytes(datasetConfig) != null
+                ? CalciteArrowHelper.fromDataset(datasetConfig)
+                : null;
+
+        view =
+            Views.fieldTypesToView(
+                Iterables.getLast(datasetConfig.getFullPathList()),
+                datasetConfig.getVirtualDataset().getSql(),
+                ViewFieldsHelper.getViewFields(datasetConfig),
+                datasetConfig.getVirtualDataset().getContextList(),
+                schema);
+      }
 
       return new ViewTable(
           new NamespaceKey(datasetConfig.getFullPathList()),
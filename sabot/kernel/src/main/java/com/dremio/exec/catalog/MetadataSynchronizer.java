@@ -16,6 +16,7 @@
 package com.dremio.exec.catalog;
 
 import static com.dremio.exec.catalog.CatalogFolderUtils.getFolderConfigForNSUpdate;
+import static com.dremio.exec.catalog.CatalogOptions.METADATA_SYNC_PARALLELISM;
 import static com.dremio.exec.catalog.CatalogOptions.RESTCATALOG_FOLDERS_SUPPORTED;
 import static com.dremio.exec.catalog.CatalogOptions.RESTCATALOG_LINEAGE_CALCULATION;
 import static com.dremio.exec.catalog.CatalogOptions.RESTCATALOG_VIEWS_SUPPORTED;
@@ -23,6 +24,8 @@ import static com.dremio.exec.catalog.CatalogOptions.RESTCATALOG_VIEWS_SUPPORTED
 import com.dremio.catalog.model.CatalogFolder;
 import com.dremio.catalog.model.ImmutableCatalogFolder;
 import com.dremio.common.collections.Tuple;
+import com.dremio.common.concurrent.ContextMigratingExecutorService;
+import com.dremio.common.concurrent.NamedThreadFactory;
 import com.dremio.common.utils.PathUtils;
 import com.dremio.connector.ConnectorException;
 import com.dremio.connector.metadata.BytesOutput;
@@ -79,6 +82,11 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.NoSuchElementException;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
 import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 import org.apache.calcite.rel.type.RelDataType;
@@ -89,6 +97,7 @@ public class MetadataSynchronizer {
       org.slf4j.LoggerFactory.getLogger(MetadataSynchronizer.class);
 
   private static final int NUM_RETRIES = 1;
+  private static final long PROGRESS_LOG_INTERVAL = 10_000L;
   private final MetadataSynchronizerStatus metadataSynchronizerStatus =
       new MetadataSynchronizerStatus(true);
 
@@ -109,6 +118,7 @@ public class MetadataSynchronizer {
   private final Set<NamespaceKey> updatedViews;
   private final SabotQueryContext sabotQueryContext;
   private final boolean shouldRefreshAllViews;
+  private final int parallelism;
 
   MetadataSynchronizer(
       NamespaceService systemNamespaceService,
@@ -129,11 +139,12 @@ public class MetadataSynchronizer {
     this.optionManager = optionManager;
     this.updateMode = metadataPolicy.getDatasetUpdateMode();
     this.ancestorsToKeep = new HashSet<>();
-    this.failedDatasets = new ArrayList<>();
+    this.failedDatasets = Collections.synchronizedList(new ArrayList<>());
     this.orphanage = bridge.getOrphanage();
-    this.updatedViews = new HashSet<>();
+    this.updatedViews = ConcurrentHashMap.newKeySet();
     this.sabotQueryContext = sabotQueryContext;
     this.shouldRefreshAllViews = optionManager.getOption(RESTCATALOG_VIEWS_SUPPORTED);
+    this.parallelism = (int) Math.max(1L, optionManager.getOption(METADATA_SYNC_PARALLELISM));
   }
 
   /**
@@ -154,6 +165,8 @@ public class MetadataSynchronizer {
     } catch (Exception e) {
       logger.warn("Source '{}' sync failed unexpectedly. Will try again later", sourceKey, e);
     } finally {
+      metadataSynchronizerStatus.setParallelism(parallelism);
+      metadataSynchronizerStatus.setSyncDurationMillis(stopwatch.elapsed(TimeUnit.MILLISECONDS));
       if (!failedDatasets.isEmpty()) {
         logger.warn(
             "Source '{}' sync failed for {} datasets. Few failed datasets and reasons:\n{}",
@@ -217,6 +230,11 @@ public class MetadataSynchronizer {
    * Brings the NamespaceService up to date by gathering metadata from the source about existing and
    * new datasets.
    *
+   * <p>The listing is always iterated on the calling thread. With {@link
+   * CatalogOptions#METADATA_SYNC_PARALLELISM} greater than one, existing datasets, whose sync
+   * fetches the dataset metadata and partition chunks from the source, are handed over to a
+   * bounded pool of workers so that several of them are fetched and saved concurrently.
+   *
    * @throws NamespaceException if it cannot be handled due to namespace error
    * @throws ConnectorException if it cannot be handled due to an error in the source connection
    */
@@ -232,47 +250,116 @@ public class MetadataSynchronizer {
         return;
       }
       final Iterator<? extends DatasetHandle> iterator = datasetListing.iterator();
+      final Stopwatch stopwatch = Stopwatch.createStarted();
       long entityCount = 0L;
-      do {
-        try {
-          // DX-60601, the current theory is that iterator exit earlier while we still have datasets
-          // not refreshed yet.
-          // Hence, it causes them to be deleted following this method. Let's log them for now
-          // specifically in
-          // handleExistingDataset when something bad happened to see if we still have datasets to
-          // be refreshed.
-
-          // Note: This can throw ConnectorRuntimeException or DatasetMetadataTooLargeException.
-          if (!iterator.hasNext()) {
-            break;
-          }
-          ++entityCount;
-
-          // Note: This can throw ConnectorRuntimeException or DatasetMetadataTooLargeException.
-          final DatasetHandle handle = iterator.next();
-          final NamespaceKey datasetKey =
-              MetadataObjectsUtils.toNamespaceKey(handle.getDatasetPath());
-          final boolean existing = orphanedDatasets.remove(datasetKey);
-          if (logger.isTraceEnabled()) {
-            logger.trace(
-                "Dataset '{}' sync started ({})", datasetKey, existing ? "existing" : "new");
-          }
-          if (existing) {
-            addAncestors(datasetKey, ancestorsToKeep);
-            handleExistingDataset(datasetKey, handle, iterator);
-          } else {
-            handleNewDataset(datasetKey, handle);
+      try (DatasetSyncWorkers workers =
+          parallelism > 1 ? new DatasetSyncWorkers(parallelism) : null) {
+        do {
+          try {
+            // DX-60601, the current theory is that iterator exit earlier while we still have
+            // datasets not refreshed yet.
+            // Hence, it causes them to be deleted following this method. Let's log them for now
+            // specifically in
+            // handleExistingDataset when something bad happened to see if we still have datasets to
+            // be refreshed.
+
+            // Note: This can throw ConnectorRuntimeException or DatasetMetadataTooLargeException.
+            if (!iterator.hasNext()) {
+              break;
+            }
+            if (++entityCount % PROGRESS_LOG_INTERVAL == 0) {
+              logProgress(entityCount, stopwatch);
+            }
+
+            // Note: This can throw ConnectorRuntimeException or DatasetMetadataTooLargeException.
+            final DatasetHandle handle = iterator.next();
+            final NamespaceKey datasetKey =
+                MetadataObjectsUtils.toNamespaceKey(handle.getDatasetPath());
+            final boolean existing = orphanedDatasets.remove(datasetKey);
+            if (logger.isTraceEnabled()) {
+              logger.trace(
+                  "Dataset '{}' sync started ({})", datasetKey, existing ? "existing" : "new");
+            }
+            if (existing) {
+              addAncestors(datasetKey, ancestorsToKeep);
+              if (workers != null) {
+                // the iterator is not thread safe, it is not handed over to the workers.
+                workers.submit(() -> handleExistingDataset(datasetKey, handle, null));
+              } else {
+                handleExistingDataset(datasetKey, handle, iterator);
+              }
+            } else {
+              handleNewDataset(datasetKey, handle);
+            }
+          } catch (DatasetMetadataTooLargeException e) {
+            final boolean existing =
+                orphanedDatasets.remove(new NamespaceKey(PathUtils.parseFullPath(e.getMessage())));
+            logger.error(
+                "Dataset {} sync failed ({}) due to Metadata too large. Please check.",
+                e.getMessage(),
+                existing ? "existing" : "new");
           }
-        } catch (DatasetMetadataTooLargeException e) {
-          final boolean existing =
-              orphanedDatasets.remove(new NamespaceKey(PathUtils.parseFullPath(e.getMessage())));
-          logger.error(
-              "Dataset {} sync failed ({}) due to Metadata too large. Please check.",
-              e.getMessage(),
-              existing ? "existing" : "new");
-        }
-      } while (true);
-      logger.info("Source '{}' iterated through {} entities", sourceKey, entityCount);
+        } while (true);
+      }
+      logger.info(
+          "Source '{}' iterated through {} entities in {} milliseconds",
+          sourceKey,
+          entityCount,
+          stopwatch.elapsed(TimeUnit.MILLISECONDS));
+    }
+  }
+
+  private void logProgress(long entityCount, Stopwatch stopwatch) {
+    final long elapsedMillis = Math.max(1L, stopwatch.elapsed(TimeUnit.MILLISECONDS));
+    final long processed = metadataSynchronizerStatus.getDatasetsProcessed();
+    logger.info(
+        "Source '{}' sync in progress: {} entities iterated, {} datasets synced ({} datasets/s)",
+        sourceKey,
+        entityCount,
+        processed,
+        processed * 1000 / elapsedMillis);
+  }
+
+  /**
+   * Bounded pool of workers syncing existing datasets. Submitting blocks while all workers are
+   * busy, so that the listing is not consumed ahead of the workers, and closing waits for the
+   * submitted datasets to be synced.
+   */
+  private final class DatasetSyncWorkers implements AutoCloseable {
+    private final ExecutorService executor;
+    private final Semaphore permits;
+    private final int size;
+
+    DatasetSyncWorkers(int size) {
+      this.size = size;
+      this.permits = new Semaphore(size);
+      this.executor =
+          new ContextMigratingExecutorService<>(
+              Executors.newFixedThreadPool(
+                  size, new NamedThreadFactory("metadata-sync-" + sourceKey.getRoot() + "-")));
+    }
+
+    void submit(Runnable task) {
+      permits.acquireUninterruptibly();
+      try {
+        executor.execute(
+            () -> {
+              try {
+                task.run();
+              } finally {
+                permits.release();
+              }
+            });
+      } catch (RejectedExecutionException e) {
+        permits.release();
+        throw e;
+      }
+    }
+
+    @Override
+    public void close() {
+      permits.acquireUninterruptibly(size);
+      executor.shutdown();
     }
   }
 
@@ -332,7 +419,7 @@ public class MetadataSynchronizer {
    *
    * @param datasetKey dataset key
    * @param handle dataset handle
-   * @param iterator dataset handle iterator
+   * @param iterator dataset handle iterator, null if the dataset is handled by a sync worker
    */
   private void handleExistingDataset(
       NamespaceKey datasetKey, DatasetHandle handle, Iterator<? extends DatasetHandle> iterator) {
@@ -358,7 +445,7 @@ public class MetadataSynchronizer {
         logger.debug(
             "Dataset '{}' is no longer valid, skipping sync. Has next? {}",
             datasetKey,
-            iterator.hasNext(),
+            iterator != null ? iterator.hasNext() : "unknown",
             e);
         failedDatasets.add(Tuple.of(datasetKey.getSchemaPath(), e.getMessage()));
         metadataSynchronizerStatus.incrementDatasetExtendedUnreadable();
@@ -370,7 +457,7 @@ public class MetadataSynchronizer {
         logger.debug(
             "Dataset '{}' sync failed unexpectedly. Will retry next sync. Has next? {}",
             datasetKey,
-            iterator.hasNext(),
+            iterator != null ? iterator.hasNext() : "unknown",
             e);
         failedDatasets.add(Tuple.of(datasetKey.getSchemaPath(), e.getMessage()));
         metadataSynchronizerStatus.incrementDatasetExtendedUnreadable();
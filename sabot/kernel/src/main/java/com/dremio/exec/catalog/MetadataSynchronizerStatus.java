@@ -30,48 +30,70 @@ class MetadataSynchronizerStatus {
 
   private boolean wasSuccessfullyRefreshed;
 
+  private int parallelism = 1;
+  private long syncDurationMillis = -1;
+
   MetadataSynchronizerStatus(boolean fullRefresh) {
     this.fullRefresh = fullRefresh;
   }
 
-  void incrementDatasetShallowAdded() {
+  synchronized void incrementDatasetShallowAdded() {
     shallowDatasetAdded++;
   }
 
-  void incrementDatasetShallowDeleted() {
+  synchronized void incrementDatasetShallowDeleted() {
     shallowDatasetDeleted++;
   }
 
-  void incrementDatasetShallowUnchanged() {
+  synchronized void incrementDatasetShallowUnchanged() {
     shallowDatasetUnchanged++;
   }
 
-  void incrementDatasetExtendedChanged() {
+  synchronized void incrementDatasetExtendedChanged() {
     extendedDatasetChanged++;
   }
 
-  void incrementDatasetExtendedUnchanged() {
+  synchronized void incrementDatasetExtendedUnchanged() {
     extendedDatasetUnchanged++;
   }
 
-  void incrementDatasetExtendedUnreadable() {
+  synchronized void incrementDatasetExtendedUnreadable() {
     extendedDatasetUnreadable++;
   }
 
-  void incrementDatasetExtendedDeleted() {
+  synchronized void incrementDatasetExtendedDeleted() {
     extendedDatasetDeleted++;
   }
 
-  void setWasSuccessfullyRefreshed() {
+  synchronized void setWasSuccessfullyRefreshed() {
     this.wasSuccessfullyRefreshed = true;
   }
 
-  boolean wasSyncSuccessful() {
+  synchronized boolean wasSyncSuccessful() {
     return wasSuccessfullyRefreshed;
   }
 
+  synchronized void setParallelism(int parallelism) {
+    this.parallelism = parallelism;
+  }
+
+  synchronized void setSyncDurationMillis(long syncDurationMillis) {
+    this.syncDurationMillis = syncDurationMillis;
+  }
+
+  /** Number of datasets whose sync completed so far, whatever the outcome. */
+  synchronized long getDatasetsProcessed() {
+    return shallowDatasetAdded
+        + shallowDatasetUnchanged
+        + shallowDatasetDeleted
+        + extendedDatasetChanged
+        + extendedDatasetUnchanged
+        + extendedDatasetDeleted
+        + extendedDatasetUnreadable;
+  }
+
   @Override
-  public String toString() {
+  public synchronized String toString() {
     final StringBuilder builder = new StringBuilder();
     builder.append(
         String.format(
@@ -93,6 +115,14 @@ class MetadataSynchronizerStatus {
               extendedDatasetDeleted,
               extendedDatasetUnreadable));
     }
+    if (syncDurationMillis >= 0) {
+      builder.append(
+          String.format(
+              "Synced in %d ms (%.1f datasets/s) with %d workers\n",
+              syncDurationMillis,
+              getDatasetsProcessed() * 1000d / Math.max(1L, syncDurationMillis),
+              parallelism));
+    }
     return builder.toString();
   }
 }
@@ -0,0 +1,209 @@
+/*
+ * Copyright (C) 2017-2019 Dremio Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.dremio.exec.catalog;
+
+import com.dremio.common.utils.PathUtils;
+import com.dremio.exec.dotfile.View;
+import com.dremio.exec.planner.sql.CalciteArrowHelper;
+import com.dremio.exec.record.BatchSchema;
+import com.dremio.exec.store.Views;
+import com.dremio.exec.util.ViewFieldsHelper;
+import com.dremio.service.namespace.DatasetHelper;
+import com.dremio.service.namespace.NamespaceKey;
+import com.dremio.service.namespace.catalogstatusevents.CatalogStatusEvents;
+import com.dremio.service.namespace.catalogstatusevents.events.DatasetDeletionCatalogStatusEvent;
+import com.dremio.service.namespace.catalogstatusevents.events.SourceDeletionCatalogStatusEvent;
+import com.dremio.service.namespace.catalogstatusevents.events.SourceUpdateCatalogStatusEvent;
+import com.dremio.service.namespace.dataset.proto.DatasetConfig;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.collect.Iterables;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import javax.annotation.Nullable;
+
+/**
+ * Coordinator wide cache of the parts of a resolved table that are derived from its {@link
+ * DatasetConfig} only: the deserialized schema and, for views, the expanded view definition.
+ *
+ * <p>Entries are keyed by dataset path, id and tag. Since the tag changes whenever the dataset
+ * config is saved, an entry can never be stale: the config is still read from the namespace for
+ * every query, and only the work derived from it is shared. Nothing user specific is cached, so
+ * access checks keep running for every table lookup. Entries of deleted datasets and sources are
+ * evicted on the matching catalog status events. Dataset paths are case insensitive, so they are
+ * lower cased in the keys.
+ *
+ * <p>The cache is owned by the {@link CatalogServiceImpl}, and shared by the catalogs it creates.
+ */
+final class ResolvedDatasetCache {
+
+  private final Cache<Key, BatchSchema> schemas =
+      Caffeine.newBuilder().expireAfterAccess(1, TimeUnit.HOURS).maximumSize(10_000).build();
+
+  private final Cache<Key, View> views =
+      Caffeine.newBuilder().expireAfterAccess(1, TimeUnit.HOURS).maximumSize(10_000).build();
+
+  private CatalogStatusEvents subscribedEvents;
+
+  ResolvedDatasetCache() {}
+
+  /**
+   * Gets the schema of a dataset.
+   *
+   * @param config dataset config, as read from the namespace
+   * @return schema, or null if the config has no schema
+   */
+  @Nullable
+  BatchSchema getSchema(DatasetConfig config) {
+    if (DatasetHelper.getSchemaBytes(config) == null) {
+      return null;
+    }
+    final Key key = Key.of(config);
+    if (key == null) {
+      return CalciteArrowHelper.fromDataset(config);
+    }
+    return schemas.get(key, k -> CalciteArrowHelper.fromDataset(config));
+  }
+
+  /**
+   * Gets the view definition of a virtual dataset.
+   *
+   * @param config virtual dataset config, as read from the namespace
+   * @param schema schema of the view, see {@link #getSchema(DatasetConfig)}
+   * @return view
+   */
+  View getView(DatasetConfig config, @Nullable BatchSchema schema) {
+    final Key key = Key.of(config);
+    if (key == null) {
+      return newView(config, schema);
+    }
+    return views.get(key, k -> newView(config, schema));
+  }
+
+  private static View newView(DatasetConfig config, @Nullable BatchSchema schema) {
+    return Views.fieldTypesToView(
+        Iterables.getLast(config.getFullPathList()),
+        config.getVirtualDataset().getSql(),
+        ViewFieldsHelper.getViewFields(config),
+        config.getVirtualDataset().getContextList(),
+        schema);
+  }
+
+  /**
+   * Evicts cached entries when datasets or sources are removed or changed. Subscribing again to the
+   * same events has no effect.
+   */
+  synchronized void subscribe(CatalogStatusEvents catalogStatusEvents) {
+    if (subscribedEvents == catalogStatusEvents) {
+      return;
+    }
+    subscribedEvents = catalogStatusEvents;
+    catalogStatusEvents.subscribe(
+        DatasetDeletionCatalogStatusEvent.getEventTopic(),
+        event ->
+            invalidate(
+                new NamespaceKey(
+                    PathUtils.parseFullPath(
+                        ((DatasetDeletionCatalogStatusEvent) event).getDatasetPath()))));
+    catalogStatusEvents.subscribe(
+        SourceDeletionCatalogStatusEvent.getEventTopic(),
+        event ->
+            invalidateSource(
+                ((SourceDeletionCatalogStatusEvent) event).getSourceConfig().getName()));
+    catalogStatusEvents.subscribe(
+        SourceUpdateCatalogStatusEvent.getEventTopic(),
+        event ->
+            invalidateSource(((SourceUpdateCatalogStatusEvent) event).getAfter().getName()));
+  }
+
+  void invalidate(NamespaceKey datasetKey) {
+    final List<String> path = normalizePath(datasetKey.getPathComponents());
+    schemas.asMap().keySet().removeIf(key -> key.path.equals(path));
+    views.asMap().keySet().removeIf(key -> key.path.equals(path));
+  }
+
+  void invalidateSource(String sourceName) {
+    final String source = normalizeComponent(sourceName);
+    schemas.asMap().keySet().removeIf(key -> key.isInSource(source));
+    views.asMap().keySet().removeIf(key -> key.isInSource(source));
+  }
+
+  @VisibleForTesting
+  long size() {
+    schemas.cleanUp();
+    views.cleanUp();
+    return schemas.estimatedSize() + views.estimatedSize();
+  }
+
+  private static List<String> normalizePath(List<String> path) {
+    return path.stream()
+        .map(ResolvedDatasetCache::normalizeComponent)
+        .collect(Collectors.toUnmodifiableList());
+  }
+
+  private static String normalizeComponent(String pathComponent) {
+    return pathComponent.toLowerCase(Locale.ROOT);
+  }
+
+  private static final class Key {
+    private final List<String> path;
+    private final String id;
+    private final String tag;
+
+    private Key(List<String> path, String id, String tag) {
+      this.path = path;
+      this.id = id;
+      this.tag = tag;
+    }
+
+    /** Returns null if the config has not been saved, and so has no stable version. */
+    @Nullable
+    private static Key of(DatasetConfig config) {
+      if (config.getId() == null || config.getTag() == null || config.getFullPathList() == null) {
+        return null;
+      }
+      return new Key(
+          normalizePath(config.getFullPathList()), config.getId().getId(), config.getTag());
+    }
+
+    private boolean isInSource(String source) {
+      return !path.isEmpty() && path.get(0).equals(source);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (o == null || getClass() != o.getClass()) {
+        return false;
+      }
+      Key key = (Key) o;
+      return Objects.equals(path, key.path)
+          && Objects.equals(id, key.id)
+          && Objects.equals(tag, key.tag);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(path, id, tag);
+    }
+  }
+}
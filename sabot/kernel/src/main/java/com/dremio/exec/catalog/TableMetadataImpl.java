@@ -62,12 +62,28 @@ public class TableMetadataImpl implements TableMetadata {
       SplitsPointer splits,
       List<String> primaryKey,
       TableVersionContext tableVersionContext) {
+    this(pluginId, config, user, splits, primaryKey, tableVersionContext, null);
+  }
+
+  /**
+   * @param schema schema of the dataset if already known, otherwise it is deserialized from the
+   *     config on first access
+   */
+  public TableMetadataImpl(
+      StoragePluginId pluginId,
+      DatasetConfig config,
+      String user,
+      SplitsPointer splits,
+      List<String> primaryKey,
+      TableVersionContext tableVersionContext,
+      BatchSchema schema) {
     this.config = config;
     this.pluginId = Preconditions.checkNotNull(pluginId);
     this.splits = splits;
     this.user = user;
     this.primaryKey = primaryKey;
     this.tableVersionContext = tableVersionContext;
+    this.schema = schema;
   }
 
   @Override
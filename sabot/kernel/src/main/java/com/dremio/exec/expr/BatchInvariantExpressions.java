@@ -0,0 +1,237 @@
+/*
+ * Copyright (C) 2017-2019 Dremio Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.dremio.exec.expr;
+
+import com.dremio.common.expression.FunctionHolderExpression;
+import com.dremio.common.expression.LogicalExpression;
+import com.dremio.exec.expr.fn.ComplexWriterFunctionHolder;
+import com.dremio.exec.record.TypedFieldId;
+import com.dremio.exec.record.VectorAccessible;
+import com.dremio.exec.record.selection.SelectionVector2;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import org.apache.arrow.memory.ArrowBuf;
+import org.apache.arrow.memory.util.ByteFunctionHelpers;
+import org.apache.arrow.vector.BaseFixedWidthVector;
+import org.apache.arrow.vector.BaseVariableWidthVector;
+import org.apache.arrow.vector.BitVector;
+import org.apache.arrow.vector.BitVectorHelper;
+import org.apache.arrow.vector.ValueVector;
+
+/**
+ * Batch invariant expressions: expressions which only depend on the values of the columns they
+ * read. When all these columns have a single value in a batch, such as the partition columns
+ * populated by the scans with one value per split, or constant columns, the expression has a single
+ * value in the batch too, and is evaluated for the first record only. The value is then copied to
+ * the other records of the batch.
+ *
+ * <p>Expressions which don't read any column are constant, and are already evaluated once in the
+ * setup of the generated code.
+ */
+public final class BatchInvariantExpressions {
+  /**
+   * The number of consecutive batches in which the columns read by the expressions don't have a
+   * single value, after which the columns are no longer checked: they are not partition or
+   * constant columns.
+   */
+  public static final int MAX_VARIANT_BATCHES = 8;
+
+  private BatchInvariantExpressions() {}
+
+  /**
+   * Returns the vectors read by a materialized expression, if its value only depends on the values
+   * of these vectors and they can be checked for a single value.
+   *
+   * @return the vectors read by the expression, or null if the expression is not batch invariant
+   */
+  public static List<ValueVector> getInputVectors(
+      LogicalExpression expr, VectorAccessible incoming) {
+    final Map<ValueVector, Boolean> vectors = new IdentityHashMap<>();
+    if (!collectInputVectors(expr, incoming, vectors) || vectors.isEmpty()) {
+      return null;
+    }
+    return new ArrayList<>(vectors.keySet());
+  }
+
+  private static boolean collectInputVectors(
+      LogicalExpression expr, VectorAccessible incoming, Map<ValueVector, Boolean> vectors) {
+    if (expr instanceof ValueVectorReadExpression) {
+      final ValueVectorReadExpression read = (ValueVectorReadExpression) expr;
+      if (read.hasReadPath()) {
+        return false;
+      }
+      final TypedFieldId id = read.getFieldId();
+      final ValueVector vector =
+          incoming
+              .getValueAccessorById(id.getIntermediateClass(), id.getFieldIds())
+              .getValueVector();
+      if (!isSupported(vector)) {
+        return false;
+      }
+      vectors.put(vector, Boolean.TRUE);
+      return true;
+    }
+    if (expr instanceof FunctionHolderExpression) {
+      // only the Java holders know whether their functions are deterministic
+      final FunctionHolderExpression holder = (FunctionHolderExpression) expr;
+      if (!(holder instanceof FunctionHolderExpr)
+          || holder.isRandom()
+          || holder.isAggregating()
+          || holder.getHolder() instanceof ComplexWriterFunctionHolder) {
+        return false;
+      }
+    }
+    for (LogicalExpression child : expr) {
+      if (!collectInputVectors(child, incoming, vectors)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /** Returns whether the values of a vector can be checked and copied. */
+  public static boolean isSupported(ValueVector vector) {
+    return vector instanceof BaseFixedWidthVector || vector instanceof BaseVariableWidthVector;
+  }
+
+  /**
+   * Returns whether each of the vectors has a single value, or is null, in all the records of a
+   * batch.
+   *
+   * @param sv2 the selection vector of the batch, or null if all the records are selected
+   */
+  public static boolean isSingleValued(
+      List<ValueVector> vectors, SelectionVector2 sv2, int recordCount) {
+    if (recordCount == 0) {
+      return false;
+    }
+    for (ValueVector vector : vectors) {
+      if (!isSingleValued(vector, sv2, recordCount)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static boolean isSingleValued(ValueVector vector, SelectionVector2 sv2, int recordCount) {
+    final int first = index(sv2, 0);
+    final boolean firstNull = vector.isNull(first);
+    for (int i = 1; i < recordCount; i++) {
+      final int index = index(sv2, i);
+      if (vector.isNull(index) != firstNull) {
+        return false;
+      }
+      if (!firstNull && !valueEquals(vector, first, index)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static int index(SelectionVector2 sv2, int i) {
+    return sv2 == null ? i : sv2.getIndex(i);
+  }
+
+  private static boolean valueEquals(ValueVector vector, int left, int right) {
+    if (vector instanceof BitVector) {
+      return ((BitVector) vector).get(left) == ((BitVector) vector).get(right);
+    }
+    if (vector instanceof BaseFixedWidthVector) {
+      final ArrowBuf data = vector.getDataBuffer();
+      final long width = ((BaseFixedWidthVector) vector).getTypeWidth();
+      return ByteFunctionHelpers.equal(
+              data, left * width, (left + 1) * width, data, right * width, (right + 1) * width)
+          == 1;
+    }
+    final BaseVariableWidthVector varWidthVector = (BaseVariableWidthVector) vector;
+    final ArrowBuf data = varWidthVector.getDataBuffer();
+    return ByteFunctionHelpers.equal(
+            data,
+            varWidthVector.getStartOffset(left),
+            varWidthVector.getStartOffset(left + 1),
+            data,
+            varWidthVector.getStartOffset(right),
+            varWidthVector.getStartOffset(right + 1))
+        == 1;
+  }
+
+  /**
+   * Copies the value of the first record of a vector to the other records of the batch. The values
+   * of the fixed and variable width vectors are copied in bulk, doubling the copied range.
+   */
+  public static void copyFirstValue(ValueVector vector, int recordCount) {
+    if (vector instanceof BaseFixedWidthVector && !(vector instanceof BitVector)) {
+      final BaseFixedWidthVector fixedWidthVector = (BaseFixedWidthVector) vector;
+      while (fixedWidthVector.getValueCapacity() < recordCount) {
+        fixedWidthVector.reAlloc();
+      }
+      final int width = fixedWidthVector.getTypeWidth();
+      fill(fixedWidthVector.getDataBuffer(), width, (long) width * recordCount);
+      fillValidity(vector, recordCount);
+      vector.setValueCount(recordCount);
+      return;
+    }
+    if (vector instanceof BaseVariableWidthVector) {
+      final BaseVariableWidthVector varWidthVector = (BaseVariableWidthVector) vector;
+      final int length = vector.isNull(0) ? 0 : varWidthVector.getValueLength(0);
+      final long dataLength = (long) length * recordCount;
+      if (dataLength <= Integer.MAX_VALUE) {
+        while (varWidthVector.getValueCapacity() < recordCount) {
+          varWidthVector.reallocValidityAndOffsetBuffers();
+        }
+        while (varWidthVector.getDataBuffer().capacity() < dataLength) {
+          varWidthVector.reallocDataBuffer();
+        }
+        final ArrowBuf offsets = varWidthVector.getOffsetBuffer();
+        for (int i = 1; i <= recordCount; i++) {
+          offsets.setInt((long) i * BaseVariableWidthVector.OFFSET_WIDTH, i * length);
+        }
+        fill(varWidthVector.getDataBuffer(), length, dataLength);
+        fillValidity(vector, recordCount);
+        varWidthVector.setLastSet(recordCount - 1);
+        vector.setValueCount(recordCount);
+        return;
+      }
+    }
+    for (int i = 1; i < recordCount; i++) {
+      vector.copyFromSafe(0, i, vector);
+    }
+    vector.setValueCount(recordCount);
+  }
+
+  // copies the first width bytes of a buffer to its next bytes, up to length
+  private static void fill(ArrowBuf buffer, long width, long length) {
+    for (long filled = width; filled > 0 && filled < length; filled *= 2) {
+      buffer.setBytes(filled, buffer, 0, Math.min(filled, length - filled));
+    }
+  }
+
+  // sets the validity of the records of the batch to the validity of the first record
+  private static void fillValidity(ValueVector vector, int recordCount) {
+    final ArrowBuf validity = vector.getValidityBuffer();
+    if (vector.isNull(0)) {
+      validity.setZero(0, BitVectorHelper.getValidityBufferSize(recordCount));
+      return;
+    }
+    final int fullBytes = recordCount / 8;
+    validity.setOne(0, fullBytes);
+    for (int i = fullBytes * 8; i < recordCount; i++) {
+      BitVectorHelper.setBit(validity, i);
+    }
+  }
+}
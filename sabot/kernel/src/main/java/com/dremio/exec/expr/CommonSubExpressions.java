@@ -0,0 +1,182 @@
+/*
+ * Copyright (C) 2017-2019 Dremio Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.dremio.exec.expr;
+
+import com.dremio.common.expression.CompleteType;
+import com.dremio.common.expression.FunctionHolderExpression;
+import com.dremio.common.expression.LogicalExpression;
+import com.dremio.exec.expr.fn.ComplexWriterFunctionHolder;
+import com.dremio.sabot.op.llvm.ExpressionWorkEstimator;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Common subexpressions of the materialized expressions of a projection: subexpressions which are
+ * found more than once, in one or several of the expressions, such as the same cast of a column
+ * feeding several outputs. They can be evaluated once into an intermediate vector, and replaced by
+ * a read of this vector in the expressions.
+ *
+ * <p>Only the subexpressions which are always evaluated are considered: the arguments of if, case
+ * and boolean expressions are evaluated for some of the records only, and are not looked into.
+ */
+public final class CommonSubExpressions {
+  private final Map<ExpressionKey, LogicalExpression> replacements = new HashMap<>();
+  private int numReplaced;
+
+  /**
+   * Finds the common subexpressions of materialized expressions. When a common subexpression
+   * contains another one, only the outer one is returned, unless the inner one is also found
+   * outside of it.
+   *
+   * @param minWork the minimum work, see {@link ExpressionWorkEstimator}, of a common subexpression
+   * @return the common subexpressions, in the order in which they are found
+   */
+  public static List<LogicalExpression> find(List<LogicalExpression> exprs, long minWork) {
+    final Map<ExpressionKey, Integer> counts = new HashMap<>();
+    for (LogicalExpression expr : exprs) {
+      count(expr, counts, minWork);
+    }
+    // only keep the outermost occurrences of the subexpressions found more than once
+    final Map<ExpressionKey, Integer> outermostCounts = new LinkedHashMap<>();
+    for (LogicalExpression expr : exprs) {
+      countOutermost(expr, counts, outermostCounts);
+    }
+    final List<LogicalExpression> common = new ArrayList<>();
+    for (Map.Entry<ExpressionKey, Integer> entry : outermostCounts.entrySet()) {
+      if (entry.getValue() > 1) {
+        common.add(entry.getKey().expr);
+      }
+    }
+    return common;
+  }
+
+  private static void count(
+      LogicalExpression expr, Map<ExpressionKey, Integer> counts, long minWork) {
+    if (!(expr instanceof FunctionHolderExpression)) {
+      return;
+    }
+    if (isCandidate((FunctionHolderExpression) expr, minWork)) {
+      counts.merge(new ExpressionKey(expr), 1, Integer::sum);
+    }
+    for (LogicalExpression arg : expr) {
+      count(arg, counts, minWork);
+    }
+  }
+
+  private static void countOutermost(
+      LogicalExpression expr,
+      Map<ExpressionKey, Integer> counts,
+      Map<ExpressionKey, Integer> outermostCounts) {
+    if (!(expr instanceof FunctionHolderExpression)) {
+      return;
+    }
+    final ExpressionKey key = new ExpressionKey(expr);
+    if (counts.getOrDefault(key, 0) > 1) {
+      outermostCounts.merge(key, 1, Integer::sum);
+      return;
+    }
+    for (LogicalExpression arg : expr) {
+      countOutermost(arg, counts, outermostCounts);
+    }
+  }
+
+  private static boolean isCandidate(FunctionHolderExpression holder, long minWork) {
+    final CompleteType type = holder.getCompleteType();
+    return holder instanceof FunctionHolderExpr
+        && !holder.isRandom()
+        && !holder.isAggregating()
+        && !(holder.getHolder() instanceof ComplexWriterFunctionHolder)
+        && type.isScalar()
+        && !type.isNull()
+        && readsColumn(holder)
+        && holder.accept(new ExpressionWorkEstimator(), null) >= minWork;
+  }
+
+  // expressions which don't read any column are constant, and already evaluated once
+  private static boolean readsColumn(LogicalExpression expr) {
+    if (expr instanceof ValueVectorReadExpression) {
+      return true;
+    }
+    for (LogicalExpression child : expr) {
+      if (readsColumn(child)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /** Replaces a common subexpression by another expression, usually the read of its output. */
+  public void addReplacement(LogicalExpression commonSubExpr, LogicalExpression replacement) {
+    replacements.put(new ExpressionKey(commonSubExpr), replacement);
+  }
+
+  /** Replaces the outermost occurrences of the common subexpressions in an expression. */
+  public LogicalExpression replace(LogicalExpression expr) {
+    if (!(expr instanceof FunctionHolderExpression)) {
+      return expr;
+    }
+    final LogicalExpression replacement = replacements.get(new ExpressionKey(expr));
+    if (replacement != null) {
+      numReplaced++;
+      return replacement;
+    }
+    final FunctionHolderExpression holder = (FunctionHolderExpression) expr;
+    final List<LogicalExpression> args = new ArrayList<>(holder.args.size());
+    boolean changed = false;
+    for (LogicalExpression arg : holder.args) {
+      final LogicalExpression newArg = replace(arg);
+      changed |= newArg != arg;
+      args.add(newArg);
+    }
+    return changed ? holder.copy(args) : expr;
+  }
+
+  /** Returns the number of occurrences of common subexpressions replaced so far. */
+  public int getNumReplaced() {
+    return numReplaced;
+  }
+
+  /** Compares expressions by structure, as the expression split cache does. */
+  private static final class ExpressionKey {
+    private final LogicalExpression expr;
+    private final int hash;
+
+    private ExpressionKey(LogicalExpression expr) {
+      this.expr = expr;
+      this.hash = expr.accept(new HashVisitor(), null);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (!(o instanceof ExpressionKey)) {
+        return false;
+      }
+      final ExpressionKey that = (ExpressionKey) o;
+      return hash == that.hash && expr.accept(new EqualityVisitor(), that.expr);
+    }
+
+    @Override
+    public int hashCode() {
+      return hash;
+    }
+  }
+}
@@ -0,0 +1,250 @@
+/*
+ * Copyright (C) 2017-2019 Dremio Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.dremio.exec.expr.fn.impl;
+
+import io.netty.util.internal.PlatformDependent;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.apache.arrow.memory.ArrowBuf;
+
+/**
+ * Matches UTF-8 values against the SQL LIKE patterns which only use {@code %} wildcards, such as
+ * {@code 'abc%'}, {@code '%abc'}, {@code '%abc%'} or {@code 'a%b%c'}, by comparing the bytes of
+ * the pattern segments with the bytes of the value in place. This avoids decoding each value into
+ * chars and running a backtracking {@link java.util.regex.Matcher} on it.
+ *
+ * <p>UTF-8 is self-synchronizing, so a byte-level match of a literal segment is always a match of
+ * whole characters. Patterns using {@code _} match a single character and are left to the regex.
+ */
+public final class SqlPatternMatcher {
+
+  public static final int NO_MATCH = 0;
+  public static final int MATCH = 1;
+  /** The value can't be matched at the byte level and has to be matched by the regex. */
+  public static final int UNKNOWN = -1;
+
+  private static final byte[][] NO_SEGMENTS = new byte[0][];
+
+  private final boolean ignoreCase;
+  // segment anchored at the start of the value, or null if the pattern starts with '%'
+  private final byte[] prefix;
+  // segment anchored at the end of the value, or null if the pattern ends with '%'
+  private final byte[] suffix;
+  // segments matched in order, anywhere between the prefix and the suffix
+  private final byte[][] segments;
+  private final int[][] skipTables;
+  private final int minLength;
+
+  private SqlPatternMatcher(
+      boolean ignoreCase, byte[] prefix, byte[] suffix, byte[][] segments, int minLength) {
+    this.ignoreCase = ignoreCase;
+    this.prefix = prefix;
+    this.suffix = suffix;
+    this.segments = segments;
+    this.skipTables = new int[segments.length][];
+    for (int i = 0; i < segments.length; i++) {
+      skipTables[i] = skipTable(segments[i]);
+    }
+    this.minLength = minLength;
+  }
+
+  /**
+   * Returns a matcher for a LIKE pattern, or null if the pattern can't be matched at the byte
+   * level.
+   *
+   * @param escapeStr the escape string of the pattern, or null if it has none
+   */
+  public static SqlPatternMatcher forLike(String sqlPattern, CharSequence escapeStr) {
+    return create(sqlPattern, escapeStr, false);
+  }
+
+  /**
+   * Returns a case-insensitive matcher for an ILIKE pattern, or null if the pattern can't be
+   * matched at the byte level. Only ASCII patterns are matched, and values which are not ASCII are
+   * reported as {@link #UNKNOWN} as their case folding is left to the regex.
+   *
+   * @param escapeStr the escape string of the pattern, or null if it has none
+   */
+  public static SqlPatternMatcher forILike(String sqlPattern, CharSequence escapeStr) {
+    return create(sqlPattern, escapeStr, true);
+  }
+
+  private static SqlPatternMatcher create(
+      String sqlPattern, CharSequence escapeStr, boolean ignoreCase) {
+    // same escape handling as RegexpUtil.sqlToRegexLike()
+    final char escapeChar;
+    if (escapeStr != null) {
+      if (escapeStr.length() != 1) {
+        return null;
+      }
+      escapeChar = escapeStr.charAt(0);
+    } else {
+      escapeChar = 0;
+    }
+
+    final List<String> parts = new ArrayList<>();
+    final StringBuilder part = new StringBuilder();
+    final int len = sqlPattern.length();
+    for (int i = 0; i < len; i++) {
+      char c = sqlPattern.charAt(i);
+      if (c == escapeChar) {
+        if (i == len - 1) {
+          return null;
+        }
+        c = sqlPattern.charAt(++i);
+        if (c != '_' && c != '%' && c != escapeChar) {
+          return null;
+        }
+      } else if (c == '_') {
+        return null;
+      } else if (c == '%') {
+        parts.add(part.toString());
+        part.setLength(0);
+        continue;
+      }
+      if (ignoreCase) {
+        if (c > 127) {
+          return null;
+        }
+        c = Character.toLowerCase(c);
+      }
+      part.append(c);
+    }
+    parts.add(part.toString());
+
+    if (parts.size() == 1) {
+      // no wildcard, the value has to be equal to the pattern
+      byte[] bytes = parts.get(0).getBytes(StandardCharsets.UTF_8);
+      return new SqlPatternMatcher(ignoreCase, bytes, bytes, NO_SEGMENTS, bytes.length);
+    }
+
+    String first = parts.get(0);
+    String last = parts.get(parts.size() - 1);
+    byte[] prefix = first.isEmpty() ? null : first.getBytes(StandardCharsets.UTF_8);
+    byte[] suffix = last.isEmpty() ? null : last.getBytes(StandardCharsets.UTF_8);
+    int minLength = (prefix == null ? 0 : prefix.length) + (suffix == null ? 0 : suffix.length);
+    List<byte[]> segments = new ArrayList<>();
+    for (String segment : parts.subList(1, parts.size() - 1)) {
+      if (!segment.isEmpty()) {
+        byte[] bytes = segment.getBytes(StandardCharsets.UTF_8);
+        segments.add(bytes);
+        minLength += bytes.length;
+      }
+    }
+    return new SqlPatternMatcher(
+        ignoreCase, prefix, suffix, segments.toArray(NO_SEGMENTS), minLength);
+  }
+
+  /**
+   * Matches the value stored in {@code buffer} between {@code start} and {@code end}.
+   *
+   * @return {@link #MATCH}, {@link #NO_MATCH} or {@link #UNKNOWN}
+   */
+  public int matches(int start, int end, ArrowBuf buffer) {
+    if (end - start < minLength) {
+      return NO_MATCH;
+    }
+    final long address = buffer.memoryAddress();
+    if (ignoreCase && !isAscii(address + start, address + end)) {
+      return UNKNOWN;
+    }
+
+    long pos = address + start;
+    long limit = address + end;
+    if (prefix != null) {
+      if (!equalsAt(prefix, pos)) {
+        return NO_MATCH;
+      }
+      pos += prefix.length;
+    }
+    if (suffix != null) {
+      if (prefix == suffix) {
+        // exact match
+        return end - start == prefix.length ? MATCH : NO_MATCH;
+      }
+      limit -= suffix.length;
+      if (!equalsAt(suffix, limit)) {
+        return NO_MATCH;
+      }
+    }
+    for (int i = 0; i < segments.length; i++) {
+      long index = indexOf(segments[i], skipTables[i], pos, limit);
+      if (index < 0) {
+        return NO_MATCH;
+      }
+      pos = index + segments[i].length;
+    }
+    return MATCH;
+  }
+
+  private boolean equalsAt(byte[] bytes, long address) {
+    for (int i = 0; i < bytes.length; i++) {
+      if (byteAt(address + i) != bytes[i]) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Returns the address of the first occurrence of {@code needle} between {@code from} and {@code
+   * to}, or -1. Uses the Boyer-Moore-Horspool algorithm, which skips over most of the bytes of the
+   * value for all but the shortest needles.
+   */
+  private long indexOf(byte[] needle, int[] skipTable, long from, long to) {
+    final int last = needle.length - 1;
+    final byte lastByte = needle[last];
+    for (long pos = from; pos + last < to; ) {
+      byte b = byteAt(pos + last);
+      if (b == lastByte) {
+        int i = last - 1;
+        while (i >= 0 && byteAt(pos + i) == needle[i]) {
+          i--;
+        }
+        if (i < 0) {
+          return pos;
+        }
+      }
+      pos += skipTable[b & 0xFF];
+    }
+    return -1;
+  }
+
+  private byte byteAt(long address) {
+    byte b = PlatformDependent.getByte(address);
+    return ignoreCase && b >= 'A' && b <= 'Z' ? (byte) (b + ('a' - 'A')) : b;
+  }
+
+  private static boolean isAscii(long from, long to) {
+    for (long address = from; address < to; address++) {
+      if (PlatformDependent.getByte(address) < 0) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static int[] skipTable(byte[] needle) {
+    int[] skipTable = new int[256];
+    Arrays.fill(skipTable, needle.length);
+    for (int i = 0; i < needle.length - 1; i++) {
+      skipTable[needle[i] & 0xFF] = needle.length - 1 - i;
+    }
+    return skipTable;
+  }
+}
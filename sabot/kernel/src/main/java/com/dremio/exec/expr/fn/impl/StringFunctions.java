@@ -55,6 +55,7 @@ public class StringFunctions {
 
     @Output BitHolder out;
     @Workspace java.util.regex.Matcher matcher;
+    @Workspace com.dremio.exec.expr.fn.impl.SqlPatternMatcher patternMatcher;
     @Workspace com.dremio.exec.expr.fn.impl.CharSequenceWrapper charSequenceWrapper;
     @Inject FunctionErrorContext errCtx;
 
@@ -71,13 +72,25 @@ public class StringFunctions {
                   java.util.regex.Pattern.DOTALL,
                   errCtx)
               .matcher(charSequenceWrapper);
+      patternMatcher =
+          com.dremio.exec.expr.fn.impl.SqlPatternMatcher.forLike(
+              com.dremio.exec.expr.fn.impl.StringFunctionHelpers.toStringFromUTF8(
+                  pattern.start, pattern.end, pattern.buffer),
+              null);
     }
 
     @Override
     public void eval() {
-      charSequenceWrapper.setBuffer(input.start, input.end, input.buffer);
-      matcher.reset();
-      out.value = matcher.matches() ? 1 : 0;
+      int result = com.dremio.exec.expr.fn.impl.SqlPatternMatcher.UNKNOWN;
+      if (patternMatcher != null) {
+        result = patternMatcher.matches(input.start, input.end, input.buffer);
+      }
+      if (result == com.dremio.exec.expr.fn.impl.SqlPatternMatcher.UNKNOWN) {
+        charSequenceWrapper.setBuffer(input.start, input.end, input.buffer);
+        matcher.reset();
+        result = matcher.matches() ? 1 : 0;
+      }
+      out.value = result;
     }
   }
 
@@ -94,6 +107,7 @@ public class StringFunctions {
 
     @Output BitHolder out;
     @Workspace java.util.regex.Matcher matcher;
+    @Workspace com.dremio.exec.expr.fn.impl.SqlPatternMatcher patternMatcher;
     @Workspace com.dremio.exec.expr.fn.impl.CharSequenceWrapper charSequenceWrapper;
     @Inject FunctionErrorContext errCtx;
 
@@ -111,13 +125,26 @@ public class StringFunctions {
                   java.util.regex.Pattern.DOTALL,
                   errCtx)
               .matcher(charSequenceWrapper);
+      patternMatcher =
+          com.dremio.exec.expr.fn.impl.SqlPatternMatcher.forLike(
+              com.dremio.exec.expr.fn.impl.StringFunctionHelpers.toStringFromUTF8(
+                  pattern.start, pattern.end, pattern.buffer),
+              com.dremio.exec.expr.fn.impl.StringFunctionHelpers.toStringFromUTF8(
+                  escape.start, escape.end, escape.buffer));
     }
 
     @Override
     public void eval() {
-      charSequenceWrapper.setBuffer(input.start, input.end, input.buffer);
-      matcher.reset();
-      out.value = matcher.matches() ? 1 : 0;
+      int result = com.dremio.exec.expr.fn.impl.SqlPatternMatcher.UNKNOWN;
+      if (patternMatcher != null) {
+        result = patternMatcher.matches(input.start, input.end, input.buffer);
+      }
+      if (result == com.dremio.exec.expr.fn.impl.SqlPatternMatcher.UNKNOWN) {
+        charSequenceWrapper.setBuffer(input.start, input.end, input.buffer);
+        matcher.reset();
+        result = matcher.matches() ? 1 : 0;
+      }
+      out.value = result;
     }
   }
 
@@ -159,6 +186,7 @@ public class StringFunctions {
 
     @Output BitHolder out;
     @Workspace java.util.regex.Matcher matcher;
+    @Workspace com.dremio.exec.expr.fn.impl.SqlPatternMatcher patternMatcher;
     @Workspace com.dremio.exec.expr.fn.impl.CharSequenceWrapper charSequenceWrapper;
     @Inject FunctionErrorContext errCtx;
 
@@ -176,13 +204,25 @@ public class StringFunctions {
                       | java.util.regex.Pattern.DOTALL,
                   errCtx)
               .matcher(charSequenceWrapper);
+      patternMatcher =
+          com.dremio.exec.expr.fn.impl.SqlPatternMatcher.forILike(
+              com.dremio.exec.expr.fn.impl.StringFunctionHelpers.toStringFromUTF8(
+                  pattern.start, pattern.end, pattern.buffer),
+              null);
     }
 
     @Override
     public void eval() {
-      charSequenceWrapper.setBuffer(input.start, input.end, input.buffer);
-      matcher.reset();
-      out.value = matcher.matches() ? 1 : 0;
+      int result = com.dremio.exec.expr.fn.impl.SqlPatternMatcher.UNKNOWN;
+      if (patternMatcher != null) {
+        result = patternMatcher.matches(input.start, input.end, input.buffer);
+      }
+      if (result == com.dremio.exec.expr.fn.impl.SqlPatternMatcher.UNKNOWN) {
+        charSequenceWrapper.setBuffer(input.start, input.end, input.buffer);
+        matcher.reset();
+        result = matcher.matches() ? 1 : 0;
+      }
+      out.value = result;
     }
   }
 
@@ -199,6 +239,7 @@ public class StringFunctions {
 
     @Output BitHolder out;
     @Workspace java.util.regex.Matcher matcher;
+    @Workspace com.dremio.exec.expr.fn.impl.SqlPatternMatcher patternMatcher;
     @Workspace com.dremio.exec.expr.fn.impl.CharSequenceWrapper charSequenceWrapper;
     @Inject FunctionErrorContext errCtx;
 
@@ -218,13 +259,26 @@ public class StringFunctions {
                       | java.util.regex.Pattern.DOTALL,
                   errCtx)
               .matcher(charSequenceWrapper);
+      patternMatcher =
+          com.dremio.exec.expr.fn.impl.SqlPatternMatcher.forILike(
+              com.dremio.exec.expr.fn.impl.StringFunctionHelpers.toStringFromUTF8(
+                  pattern.start, pattern.end, pattern.buffer),
+              com.dremio.exec.expr.fn.impl.StringFunctionHelpers.toStringFromUTF8(
+                  escape.start, escape.end, escape.buffer));
     }
 
     @Override
     public void eval() {
-      charSequenceWrapper.setBuffer(input.start, input.end, input.buffer);
-      matcher.reset();
-      out.value = matcher.matches() ? 1 : 0;
+      int result = com.dremio.exec.expr.fn.impl.SqlPatternMatcher.UNKNOWN;
+      if (patternMatcher != null) {
+        result = patternMatcher.matches(input.start, input.end, input.buffer);
+      }
+      if (result == com.dremio.exec.expr.fn.impl.SqlPatternMatcher.UNKNOWN) {
+        charSequenceWrapper.setBuffer(input.start, input.end, input.buffer);
+        matcher.reset();
+        result = matcher.matches() ? 1 : 0;
+      }
+      out.value = result;
     }
   }
 
@@ -40,8 +40,10 @@ import com.dremio.exec.expr.annotations.FunctionTemplate;
 import com.dremio.exec.expr.annotations.FunctionTemplate.NullHandling;
 import com.dremio.exec.expr.annotations.Output;
 import com.dremio.exec.expr.annotations.Param;
+import com.dremio.exec.expr.fn.ComplexWriterFunctionHolder;
 import com.dremio.exec.expr.fn.SimpleFunctionHolder;
 import com.dremio.exec.record.VectorAccessible;
+import com.dremio.exec.record.selection.SelectionVector2;
 import com.dremio.sabot.exec.context.FunctionContext;
 import com.google.common.base.Function;
 import com.google.common.base.Preconditions;
@@ -95,6 +97,72 @@ public class InterpreterEvaluator {
     outVV.setValueCount(recordCount);
   }
 
+  /**
+   * Evaluates a boolean condition for the records of a batch, and selects the records for which it
+   * is true.
+   *
+   * @return the number of records selected
+   */
+  public static int filter(
+      int recordCount,
+      FunctionContext functionContext,
+      VectorAccessible incoming,
+      SelectionVector2 outgoing,
+      LogicalExpression condition) {
+
+    InitVisitor initVisitor = new InitVisitor(functionContext);
+    EvalVisitor evalVisitor = new EvalVisitor(incoming, functionContext);
+
+    condition.accept(initVisitor, incoming);
+
+    outgoing.allocateNew(recordCount);
+    int selected = 0;
+    for (int i = 0; i < recordCount; i++) {
+      if (evalVisitor.isBitOn(condition.accept(evalVisitor, i)) == EvalVisitor.Trivalent.TRUE) {
+        outgoing.setIndex(selected, i);
+        selected++;
+      }
+    }
+    outgoing.setRecordCount(selected);
+    return selected;
+  }
+
+  /**
+   * Returns whether a materialized expression can be evaluated by the interpreter: its value is a
+   * scalar, it only reads scalar columns, and it only calls simple functions.
+   */
+  public static boolean canEvaluate(LogicalExpression expr) {
+    final CompleteType type = expr.getCompleteType();
+    return type.isScalar() && !type.isNull() && canEvaluateNode(expr);
+  }
+
+  private static boolean canEvaluateNode(LogicalExpression expr) {
+    if (expr instanceof ValueVectorReadExpression) {
+      final ValueVectorReadExpression read = (ValueVectorReadExpression) expr;
+      return !read.hasReadPath() && read.getCompleteType().isScalar();
+    }
+    if (expr instanceof FunctionHolderExpr) {
+      final FunctionHolderExpr holderExpr = (FunctionHolderExpr) expr;
+      if (!(holderExpr.getHolder() instanceof SimpleFunctionHolder)
+          || holderExpr.getHolder() instanceof ComplexWriterFunctionHolder
+          || !holderExpr.getCompleteType().isScalar()) {
+        return false;
+      }
+    } else if (!(expr instanceof BooleanOperator
+        || expr instanceof IfExpression
+        || expr instanceof CaseExpression
+        || expr instanceof TypedNullConstant
+        || expr instanceof ValueExpressions.ConstantExpression)) {
+      return false;
+    }
+    for (LogicalExpression child : expr) {
+      if (!canEvaluateNode(child)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
   private static class InitVisitor
       extends AbstractExprVisitor<LogicalExpression, VectorAccessible, RuntimeException> {
 
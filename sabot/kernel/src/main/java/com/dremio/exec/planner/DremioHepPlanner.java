@@ -59,6 +59,7 @@ public class DremioHepPlanner extends HepPlanner {
   private final MatchCountListener matchCountListener;
   private final ExecutionControls executionControls;
   private final PlannerSettings plannerSettings;
+  private PhaseTimeBudget timeBudget = PhaseTimeBudget.UNLIMITED;
 
   public DremioHepPlanner(
       final HepProgram program,
@@ -84,6 +85,7 @@ public class DremioHepPlanner extends HepPlanner {
       cancelFlag.reset();
       listener.reset();
       matchCountListener.reset();
+      timeBudget.start();
       return super.findBestExp();
     } catch (RuntimeException ex) {
       // if the planner is hiding a UserException, bubble its message to the top.
@@ -147,8 +149,16 @@ public class DremioHepPlanner extends HepPlanner {
     }
   }
 
+  public void setPhaseTimeBudget(PhaseTimeBudget timeBudget) {
+    this.timeBudget = timeBudget;
+  }
+
   @Override
   protected void fireRule(RelOptRuleCall ruleCall) {
+    if (timeBudget.isExhausted()) {
+      // keep the plan as transformed so far, the remaining matches are skipped
+      return;
+    }
     super.fireRule(ruleCall);
     assert !HepRuleCallNoOpDetector.hasNoOpTransformations((HepRuleCall) ruleCall);
     assert HepRuleCallRelDataTypeChecker.getMismatches((HepRuleCall) ruleCall).isEmpty()
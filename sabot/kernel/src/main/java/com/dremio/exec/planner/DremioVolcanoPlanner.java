@@ -39,6 +39,7 @@ import org.apache.calcite.plan.RelOptCluster;
 import org.apache.calcite.plan.RelOptCost;
 import org.apache.calcite.plan.RelOptCostFactory;
 import org.apache.calcite.plan.RelOptPlanner;
+import org.apache.calcite.plan.RelOptRule;
 import org.apache.calcite.plan.RelOptSchema;
 import org.apache.calcite.plan.volcano.VolcanoPlanner;
 import org.apache.calcite.rel.AbstractRelNode;
@@ -67,6 +68,7 @@ public class DremioVolcanoPlanner extends VolcanoPlanner {
   private MatchCountListener matchCountListener;
   private ExecutionControls executionControls;
   private PlannerSettings plannerSettings;
+  private PhaseTimeBudget timeBudget = PhaseTimeBudget.UNLIMITED;
 
   private DremioVolcanoPlanner(
       RelOptCostFactory costFactory, Context context, SubstitutionProvider substitutionProvider) {
@@ -128,6 +130,7 @@ public class DremioVolcanoPlanner extends VolcanoPlanner {
       cancelFlag.reset();
       maxNodesListener.reset();
       matchCountListener.reset();
+      timeBudget.start();
       return super.findBestExp();
     } catch (RuntimeException ex) {
       // if the planner is hiding a UserException, bubble it's message to the top.
@@ -146,6 +149,26 @@ public class DremioVolcanoPlanner extends VolcanoPlanner {
     this.phase = phase;
   }
 
+  public void setPhaseTimeBudget(PhaseTimeBudget timeBudget) {
+    this.timeBudget = timeBudget;
+  }
+
+  /**
+   * Excludes all the rules once the time budget of the phase is exhausted, as long as a plan with
+   * the target traits was found. The rule queue is then drained without firing, and the cheapest
+   * plan found so far is returned.
+   */
+  @Override
+  public boolean isRuleExcluded(RelOptRule rule) {
+    if (super.isRuleExcluded(rule)) {
+      return true;
+    }
+    if (!timeBudget.isExhausted() || root == null) {
+      return false;
+    }
+    return !getCost(root, root.getCluster().getMetadataQuery()).isInfinite();
+  }
+
   @Override
   protected void registerMaterializations() {
     SubstitutionStream result;
@@ -271,6 +294,7 @@ public class DremioVolcanoPlanner extends VolcanoPlanner {
     matchCountListener = null;
     executionControls = null;
     plannerSettings = null;
+    timeBudget = PhaseTimeBudget.UNLIMITED;
   }
 
   private static class DisposeRel extends AbstractRelNode {
@@ -47,6 +47,8 @@ public class MatchCountListener implements RelOptListener {
       new HashMap<>(); // Time spent in the onMatch function
   private final Map<String, Long> ruleMatchToTransformTime =
       new HashMap<>(); // Time spent from after onMatch (if the rule was successful in transforming)
+  private final Map<String, Long> ruleNameToProducedRelNodeCount =
+      new HashMap<>(); // RelNodes registered by the planner from the results of the rule
   private final long relNodeCount; // How many nodes are in the plan at the start of this phase
   private final long rulesCount; // How many total rules are in this phase
   private final int matchLimit;
@@ -54,9 +56,18 @@ public class MatchCountListener implements RelOptListener {
 
   private long matchCount = 0; // How many times a rule is matched
   private int transformCount = 0; // How many times a rule successfully transformed the rel node
+  // The last rule attempted. Volcano registers the results of a rule during its onMatch, Hep right
+  // after it, so the RelNodes found until the next attempt are produced by this rule.
+  private String currentRule;
 
   public static final String[] RULES_BREAKDOWN_COLUMNS = {
-    "Phase", "Rule", "Total time spent (ms)", "Match count", "Transform count", "RelNodes count",
+    "Phase",
+    "Rule",
+    "Total time spent (ms)",
+    "Match count",
+    "Transform count",
+    "RelNodes count",
+    "Produced RelNodes count",
   };
 
   private Stopwatch currentRuleStopwatch = Stopwatch.createUnstarted();
@@ -73,7 +84,11 @@ public class MatchCountListener implements RelOptListener {
   }
 
   @Override
-  public void relEquivalenceFound(RelEquivalenceEvent event) {}
+  public void relEquivalenceFound(RelEquivalenceEvent event) {
+    if (currentRule != null) {
+      ruleNameToProducedRelNodeCount.merge(currentRule, 1L, Long::sum);
+    }
+  }
 
   @Override
   public void ruleAttempted(RuleAttemptedEvent event) {
@@ -82,6 +97,7 @@ public class MatchCountListener implements RelOptListener {
       if (event.isBefore()) {
         ruleNameToMatchCount.put(
             currentRule, ruleNameToMatchCount.getOrDefault(currentRule, 0) + 1);
+        this.currentRule = currentRule;
         currentRuleStopwatch = Stopwatch.createStarted(); // Start the stopwatch
         matchCount++;
       } else {
@@ -188,6 +204,7 @@ public class MatchCountListener implements RelOptListener {
                 .setMatchedCount(ruleNameToMatchCount.getOrDefault(key, 0))
                 .setTransformedCount(ruleNameToTransformCount.getOrDefault(key, 0))
                 .setRelnodesCount(getRelNodeCount())
+                .setProducedRelnodesCount(ruleNameToProducedRelNodeCount.getOrDefault(key, 0L))
                 .build());
       }
       return stats;
@@ -203,10 +220,12 @@ public class MatchCountListener implements RelOptListener {
     matchCount = 0;
     transformCount = 0;
     currentRuleStopwatch.reset();
+    currentRule = null;
     ruleMatchTime.clear();
     ruleMatchToTransformTime.clear();
     ruleNameToMatchCount.clear();
     ruleNameToTransformCount.clear();
+    ruleNameToProducedRelNodeCount.clear();
   }
 
   @Override
@@ -237,6 +256,8 @@ public class MatchCountListener implements RelOptListener {
             .append(ruleNameToMatchCount.getOrDefault(key, 0))
             .append("\t\tTransformed times: ")
             .append(ruleNameToTransformCount.getOrDefault(key, 0))
+            .append("\t\tProduced RelNodes: ")
+            .append(ruleNameToProducedRelNodeCount.getOrDefault(key, 0L))
             .append("\n");
       }
       return sb.toString();
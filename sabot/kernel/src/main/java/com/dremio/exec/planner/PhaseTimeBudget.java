@@ -0,0 +1,99 @@
+/*
+ * Copyright (C) 2017-2019 Dremio Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.dremio.exec.planner;
+
+import com.dremio.exec.planner.common.MoreRelOptUtil;
+import com.dremio.exec.planner.physical.PlannerSettings;
+import com.dremio.options.OptionResolver;
+import com.google.common.base.Stopwatch;
+import com.google.common.math.LongMath;
+import java.util.concurrent.TimeUnit;
+import org.apache.calcite.rel.RelNode;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Soft time budget of a planner phase. Unlike the per phase timeout, which cancels the query, the
+ * planners stop firing rules once the budget is exhausted and return the best plan found so far.
+ * The budget grows with the number of RelNodes of the plan at the start of the phase, and is capped
+ * by the per phase timeout so the budget is always exhausted before the query is cancelled.
+ */
+public final class PhaseTimeBudget {
+  private static final Logger logger = LoggerFactory.getLogger(PhaseTimeBudget.class);
+
+  public static final PhaseTimeBudget UNLIMITED = new PhaseTimeBudget(Long.MAX_VALUE);
+
+  private final long budgetMillis;
+  private final Stopwatch stopwatch = Stopwatch.createUnstarted();
+  private boolean exhausted;
+
+  private PhaseTimeBudget(long budgetMillis) {
+    this.budgetMillis = budgetMillis;
+  }
+
+  /** Returns the budget of a phase starting with the given plan. */
+  public static PhaseTimeBudget of(PlannerSettings plannerSettings, RelNode input) {
+    final OptionResolver options = plannerSettings.getOptions();
+    if (!options.getOption(PlannerSettings.PHASE_TIME_BUDGET_ENABLED)) {
+      return UNLIMITED;
+    }
+    return new PhaseTimeBudget(
+        budgetMillis(
+            options.getOption(PlannerSettings.PHASE_TIME_BUDGET_BASE_MILLIS),
+            options.getOption(PlannerSettings.PHASE_TIME_BUDGET_MILLIS_PER_REL_NODE),
+            MoreRelOptUtil.countRelNodes(input),
+            plannerSettings.getMaxPlanningPerPhaseMS()));
+  }
+
+  static long budgetMillis(
+      long baseMillis, long millisPerRelNode, long relNodeCount, long timeoutMillis) {
+    final long budgetMillis =
+        LongMath.saturatedAdd(
+            baseMillis, LongMath.saturatedMultiply(millisPerRelNode, relNodeCount));
+    // leave some of the timeout to finish the phase once the budget is exhausted
+    return Math.min(budgetMillis, timeoutMillis / 4 * 3);
+  }
+
+  /** Starts, or restarts, the budget at the start of a phase. */
+  public void start() {
+    if (this == UNLIMITED) {
+      return;
+    }
+    exhausted = false;
+    stopwatch.reset().start();
+  }
+
+  /** Returns whether the phase ran for longer than its budget. */
+  public boolean isExhausted() {
+    if (this == UNLIMITED || !stopwatch.isRunning()) {
+      return false;
+    }
+    if (!exhausted && stopwatch.elapsed(TimeUnit.MILLISECONDS) > budgetMillis) {
+      exhausted = true;
+      logger.debug("Planner phase time budget of {} ms exhausted", budgetMillis);
+    }
+    return exhausted;
+  }
+
+  /** Returns whether the budget was exhausted during the phase, once it has been checked. */
+  public boolean wasExhausted() {
+    return exhausted;
+  }
+
+  public long getBudgetMillis() {
+    return budgetMillis;
+  }
+}
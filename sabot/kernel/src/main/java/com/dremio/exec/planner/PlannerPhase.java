@@ -826,8 +826,10 @@ public enum PlannerPhase {
   public static final String PLAN_VALIDATED = "Validation";
   public static final String PLAN_CONVERTED_TO_REL = "Convert To Rel";
   public static final String PLAN_FIND_MATERIALIZATIONS = "Find Materializations";
+  public static final String PLAN_REFLECTION_CANDIDATES = "Reflection Candidates";
   public static final String PLAN_NORMALIZED =
       "Normalize User Query Alternatives and Materializations";
   public static final String PLAN_MATCH_MATERIALIZATIONS = "Generate Replacements";
   public static final String PLAN_FINAL_PHYSICAL = "Final Physical Transformation";
+  public static final String PLAN_TIME_BUDGET = "Planning Time Budget";
 }
@@ -0,0 +1,138 @@
+/*
+ * Copyright (C) 2017-2019 Dremio Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.dremio.exec.planner;
+
+import com.dremio.exec.proto.UserBitShared.PlannerPhaseRulesStats;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Stream;
+
+/**
+ * Cumulative statistics of the planner rules fired on this coordinator, per planner phase, since
+ * it started. The statistics of each phase of each query, as found in the query profile, are added
+ * up so the rules which burn the planning time across queries can be found in
+ * sys.planner_rule_stats.
+ */
+public final class PlannerRuleStatsRegistry {
+  // The rules are a fixed set, but guard against rules with a per query description
+  private static final int MAX_ENTRIES = 10_000;
+
+  private static final Map<Key, RuleStats> STATS = new ConcurrentHashMap<>();
+
+  private PlannerRuleStatsRegistry() {}
+
+  /** Adds the statistics of the rules fired during a phase of a query. */
+  public static void record(PlannerPhase phase, List<PlannerPhaseRulesStats> rulesStats) {
+    for (PlannerPhaseRulesStats ruleStats : rulesStats) {
+      final Key key = new Key(phase.name(), ruleStats.getRule());
+      RuleStats stats = STATS.get(key);
+      if (stats == null) {
+        if (STATS.size() >= MAX_ENTRIES) {
+          continue;
+        }
+        stats = STATS.computeIfAbsent(key, k -> new RuleStats(k.phase, k.rule));
+      }
+      stats.add(ruleStats);
+    }
+  }
+
+  public static Stream<RuleStats> stream() {
+    return STATS.values().stream();
+  }
+
+  /** Cumulative statistics of a rule in a phase. */
+  public static final class RuleStats {
+    private final String phase;
+    private final String rule;
+    private final LongAdder phaseRuns = new LongAdder();
+    private final LongAdder totalTimeMs = new LongAdder();
+    private final LongAdder matchedCount = new LongAdder();
+    private final LongAdder transformedCount = new LongAdder();
+    private final LongAdder producedRelNodesCount = new LongAdder();
+
+    private RuleStats(String phase, String rule) {
+      this.phase = phase;
+      this.rule = rule;
+    }
+
+    private void add(PlannerPhaseRulesStats stats) {
+      phaseRuns.increment();
+      totalTimeMs.add(stats.getTotalTimeMs());
+      matchedCount.add(stats.getMatchedCount());
+      transformedCount.add(stats.getTransformedCount());
+      producedRelNodesCount.add(stats.getProducedRelnodesCount());
+    }
+
+    public String getPhase() {
+      return phase;
+    }
+
+    public String getRule() {
+      return rule;
+    }
+
+    /** Returns the number of runs of the phase in which the rule was fired. */
+    public long getPhaseRuns() {
+      return phaseRuns.sum();
+    }
+
+    public long getTotalTimeMs() {
+      return totalTimeMs.sum();
+    }
+
+    public long getMatchedCount() {
+      return matchedCount.sum();
+    }
+
+    public long getTransformedCount() {
+      return transformedCount.sum();
+    }
+
+    public long getProducedRelNodesCount() {
+      return producedRelNodesCount.sum();
+    }
+  }
+
+  private static final class Key {
+    private final String phase;
+    private final String rule;
+
+    private Key(String phase, String rule) {
+      this.phase = phase;
+      this.rule = rule;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (!(o instanceof Key)) {
+        return false;
+      }
+      final Key key = (Key) o;
+      return phase.equals(key.phase) && rule.equals(key.rule);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(phase, rule);
+    }
+  }
+}
@@ -16,16 +16,20 @@
 package com.dremio.exec.planner.acceleration;
 
 import com.dremio.common.config.SabotConfig;
+import com.dremio.exec.planner.PlannerPhase;
+import com.dremio.exec.planner.acceleration.descriptor.MaterializationCandidateIndex;
 import com.dremio.exec.planner.acceleration.descriptor.MaterializationDescriptor;
 import com.dremio.exec.planner.acceleration.substitution.MaterializationProvider;
 import com.dremio.exec.planner.acceleration.substitution.SubstitutionUtils;
 import com.dremio.exec.planner.logical.ViewTable;
 import com.dremio.exec.planner.observer.AttemptObserver;
+import com.dremio.exec.planner.physical.PlannerSettings;
 import com.dremio.exec.planner.sql.SqlConverter;
 import com.dremio.exec.server.MaterializationDescriptorProvider;
 import com.dremio.sabot.rpc.user.UserSession;
 import com.dremio.service.namespace.NamespaceKey;
 import com.google.common.base.Preconditions;
+import com.google.common.base.Stopwatch;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
@@ -35,6 +39,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 import org.apache.calcite.rel.RelNode;
 
@@ -157,9 +162,22 @@ public class MaterializationList implements MaterializationProvider {
     final Set<SubstitutionUtils.ExternalQueryDescriptor> externalQueries =
         SubstitutionUtils.findExternalQueries(userQueryNode);
 
+    final Stopwatch stopwatch = Stopwatch.createStarted();
+    final List<MaterializationDescriptor> candidates;
+    MaterializationCandidateIndex index = null;
+    if (converter
+        .getFunctionContext()
+        .getOptions()
+        .getOption(PlannerSettings.REFLECTION_CANDIDATE_INDEX_ENABLED)) {
+      index = provider.getCandidateIndex();
+      candidates = index.getCandidates(queryTablesUsed, queryVdsUsed, externalQueries);
+    } else {
+      candidates = provider.get();
+    }
+
     HintChecker hintChecker = getHintChecker();
     final List<DremioMaterialization> materializations = Lists.newArrayList();
-    for (final MaterializationDescriptor descriptor : provider.get()) {
+    for (final MaterializationDescriptor descriptor : candidates) {
       if (hintChecker.isExcluded(descriptor)) {
         continue;
       }
@@ -197,6 +215,17 @@ public class MaterializationList implements MaterializationProvider {
         logger.warn("failed to expand materialization {}", descriptor.getMaterializationId(), e);
       }
     }
+    if (index != null && index.size() > 0) {
+      observer.planStepLogging(
+          PlannerPhase.PLAN_REFLECTION_CANDIDATES,
+          String.format(
+              "Reflections: %d\nPruned by candidate index: %d\nTried: %d\nConsidered: %d",
+              index.size(),
+              index.size() - candidates.size(),
+              candidates.size(),
+              materializations.size()),
+          stopwatch.elapsed(TimeUnit.MILLISECONDS));
+    }
     this.materializations = materializations;
     return materializations;
   }
@@ -22,6 +22,8 @@ import com.dremio.exec.planner.acceleration.substitution.SubstitutionUtils;
 import com.dremio.exec.planner.sql.SqlConverter;
 import com.dremio.exec.proto.UserBitShared.LayoutMaterializedViewProfile;
 import com.google.common.base.Preconditions;
+import com.google.common.base.Supplier;
+import com.google.common.base.Suppliers;
 import java.util.Set;
 import org.apache.calcite.plan.CopyWithCluster;
 import org.apache.calcite.plan.RelOptCluster;
@@ -36,6 +38,8 @@ import org.apache.calcite.util.NlsString;
 public class ExpandedMaterializationDescriptor extends BaseMaterializationDescriptor {
 
   private final DremioMaterialization materialization;
+  // computed once per cached materialization instead of walking its plan for each query
+  private final Supplier<SubstitutionUtils.UsedSources> usedSources;
 
   public ExpandedMaterializationDescriptor(
       MaterializationDescriptor descriptor, DremioMaterialization materialization) {
@@ -52,6 +56,8 @@ public class ExpandedMaterializationDescriptor extends BaseMaterializationDescri
         descriptor.getMatchingHash());
     this.materialization =
         Preconditions.checkNotNull(materialization, "materialization is required");
+    this.usedSources =
+        Suppliers.memoize(() -> SubstitutionUtils.findUsedSources(materialization.getQueryRel()));
   }
 
   public ExpandedMaterializationDescriptor(
@@ -70,6 +76,7 @@ public class ExpandedMaterializationDescriptor extends BaseMaterializationDescri
     this.materialization =
         Preconditions.checkNotNull(
             cachedDescriptor.getMaterialization(), "materialization is required");
+    this.usedSources = cachedDescriptor.usedSources;
   }
 
   @Override
@@ -115,6 +122,11 @@ public class ExpandedMaterializationDescriptor extends BaseMaterializationDescri
     return materialization;
   }
 
+  /** Returns the tables, views and external queries used by the materialization plan. */
+  public SubstitutionUtils.UsedSources getUsedSources() {
+    return usedSources.get();
+  }
+
   /**
    * Returns true only if there is overlap between this materialization and the input tables, views
    * and external queries.
@@ -129,8 +141,7 @@ public class ExpandedMaterializationDescriptor extends BaseMaterializationDescri
       Set<SubstitutionUtils.VersionedPath> queryTablesUsed,
       Set<SubstitutionUtils.VersionedPath> queryVdsUsed,
       Set<SubstitutionUtils.ExternalQueryDescriptor> externalQueries) {
-    return SubstitutionUtils.usesTableOrVds(
-        queryTablesUsed, queryVdsUsed, externalQueries, materialization.getQueryRel());
+    return getUsedSources().overlaps(queryTablesUsed, queryVdsUsed, externalQueries);
   }
 
   @Override
@@ -0,0 +1,118 @@
+/*
+ * Copyright (C) 2017-2019 Dremio Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.dremio.exec.planner.acceleration.descriptor;
+
+import com.dremio.exec.planner.acceleration.substitution.SubstitutionUtils.ExternalQueryDescriptor;
+import com.dremio.exec.planner.acceleration.substitution.SubstitutionUtils.UsedSources;
+import com.dremio.exec.planner.acceleration.substitution.SubstitutionUtils.VersionedPath;
+import com.google.common.collect.ArrayListMultimap;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ListMultimap;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Index of {@link MaterializationDescriptor} instances by the tables, views and external queries
+ * used by their plans. It selects the materializations which may be applicable to a query with
+ * hash lookups, instead of checking each materialization plan against the query.
+ *
+ * <p>Only {@link ExpandedMaterializationDescriptor} instances know their plan, the other
+ * descriptors are always returned as candidates.
+ */
+public final class MaterializationCandidateIndex {
+
+  private final List<MaterializationDescriptor> descriptors;
+  private final ListMultimap<VersionedPath, Integer> byTable = ArrayListMultimap.create();
+  private final ListMultimap<VersionedPath, Integer> byVds = ArrayListMultimap.create();
+  private final ListMultimap<ExternalQueryDescriptor, Integer> byExternalQuery =
+      ArrayListMultimap.create();
+  private final BitSet unindexed = new BitSet();
+
+  public MaterializationCandidateIndex(List<MaterializationDescriptor> descriptors) {
+    this.descriptors = ImmutableList.copyOf(descriptors);
+    for (int i = 0; i < this.descriptors.size(); i++) {
+      MaterializationDescriptor descriptor = this.descriptors.get(i);
+      if (!(descriptor instanceof ExpandedMaterializationDescriptor)) {
+        unindexed.set(i);
+        continue;
+      }
+      UsedSources usedSources = ((ExpandedMaterializationDescriptor) descriptor).getUsedSources();
+      for (VersionedPath table : usedSources.getTables()) {
+        byTable.put(table, i);
+      }
+      for (VersionedPath vds : usedSources.getVdsPaths()) {
+        byVds.put(vds, i);
+      }
+      for (ExternalQueryDescriptor externalQuery : usedSources.getExternalQueries()) {
+        byExternalQuery.put(externalQuery, i);
+      }
+    }
+  }
+
+  /** Returns the number of indexed materializations. */
+  public int size() {
+    return descriptors.size();
+  }
+
+  /**
+   * Returns whether this index was built from exactly the given descriptor instances, in the same
+   * order. Instances are compared by identity as a descriptor may be replaced in the
+   * materialization cache by an equal one with a different staleness.
+   */
+  public boolean isIndexOf(List<MaterializationDescriptor> other) {
+    if (descriptors.size() != other.size()) {
+      return false;
+    }
+    for (int i = 0; i < descriptors.size(); i++) {
+      if (descriptors.get(i) != other.get(i)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Returns the materializations which use at least one of the given tables, views or external
+   * queries, plus the materializations which are not indexed, in their original order.
+   */
+  public List<MaterializationDescriptor> getCandidates(
+      Set<VersionedPath> queryTablesUsed,
+      Set<VersionedPath> queryVdsUsed,
+      Set<ExternalQueryDescriptor> externalQueries) {
+    BitSet candidates = (BitSet) unindexed.clone();
+    addAll(candidates, byTable, queryTablesUsed);
+    addAll(candidates, byVds, queryVdsUsed);
+    addAll(candidates, byExternalQuery, externalQueries);
+
+    List<MaterializationDescriptor> result = new ArrayList<>(candidates.cardinality());
+    for (int i = candidates.nextSetBit(0); i >= 0; i = candidates.nextSetBit(i + 1)) {
+      result.add(descriptors.get(i));
+    }
+    return result;
+  }
+
+  private static <K> void addAll(
+      BitSet candidates, ListMultimap<K, Integer> index, Collection<K> keys) {
+    for (K key : keys) {
+      for (int i : index.get(key)) {
+        candidates.set(i);
+      }
+    }
+  }
+}
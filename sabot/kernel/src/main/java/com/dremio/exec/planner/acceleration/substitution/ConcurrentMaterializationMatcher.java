@@ -0,0 +1,164 @@
+/*
+ * Copyright (C) 2017-2019 Dremio Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.dremio.exec.planner.acceleration.substitution;
+
+import com.dremio.common.concurrent.NamedThreadFactory;
+import com.dremio.exec.planner.DremioRexBuilder;
+import com.dremio.exec.planner.acceleration.DremioMaterialization;
+import com.dremio.exec.planner.acceleration.substitution.SubstitutionProvider.Substitution;
+import com.dremio.exec.planner.cost.DremioRelMetadataQuery;
+import com.google.common.collect.ImmutableList;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.apache.calcite.plan.CopyWithCluster;
+import org.apache.calcite.plan.RelOptCluster;
+import org.apache.calcite.rel.RelNode;
+import org.apache.calcite.util.CancelFlag;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Matches a query against each of the considered materializations concurrently. A cluster and its
+ * metadata caches can't be shared across threads, so each materialization is matched on copies of
+ * the query and of the materialization in a cluster of its own. Copies are made on the planning
+ * thread, and the substitutions found are copied back to the cluster of the query in the order of
+ * the materializations, so the result doesn't depend on the scheduling of the matches.
+ *
+ * <p>Interrupting a thread doesn't stop matching, which is CPU bound, so each match is given a
+ * cancel flag which is set when it times out, and which the matcher has to check as it goes.
+ */
+final class ConcurrentMaterializationMatcher {
+  private static final Logger LOGGER =
+      LoggerFactory.getLogger(ConcurrentMaterializationMatcher.class);
+
+  private static final int POOL_SIZE = Runtime.getRuntime().availableProcessors();
+
+  private static class LazyThreadPoolHolder {
+    static final ThreadPoolExecutor THREAD_POOL =
+        new ThreadPoolExecutor(
+            POOL_SIZE,
+            POOL_SIZE,
+            1,
+            TimeUnit.SECONDS,
+            new LinkedBlockingQueue<>(),
+            new NamedThreadFactory("reflection-matching"));
+
+    static {
+      THREAD_POOL.allowCoreThreadTimeOut(true);
+    }
+  }
+
+  /**
+   * Finds the substitutions of a query using a single materialization, and stops once the cancel
+   * flag is set.
+   */
+  interface Matcher {
+    List<Substitution> substitute(
+        RelNode query, DremioMaterialization materialization, CancelFlag cancelFlag);
+  }
+
+  private ConcurrentMaterializationMatcher() {}
+
+  /**
+   * Returns, for each materialization, the substitutions of the query found using it. The
+   * materializations which fail to match or aren't matched before the timeout get no
+   * substitutions.
+   *
+   * @return the substitutions, or null if the rels can't be copied across clusters and the query
+   *     has to be matched on the planning thread
+   */
+  static List<List<Substitution>> match(
+      RelNode query,
+      List<DremioMaterialization> materializations,
+      Matcher matcher,
+      long timeoutMillis) {
+    final List<RelNode> queryCopies = new ArrayList<>(materializations.size());
+    final List<DremioMaterialization> materializationCopies =
+        new ArrayList<>(materializations.size());
+    for (DremioMaterialization materialization : materializations) {
+      final CopyWithCluster copier = new CopyWithCluster(newCluster(query.getCluster()));
+      queryCopies.add(query.accept(copier));
+      materializationCopies.add(materialization.accept(copier));
+      if (!copier.isCopySupported()) {
+        return null;
+      }
+    }
+
+    final List<Future<List<Substitution>>> futures = new ArrayList<>(materializations.size());
+    final List<CancelFlag> cancelFlags = new ArrayList<>(materializations.size());
+    for (int i = 0; i < materializations.size(); i++) {
+      final RelNode queryCopy = queryCopies.get(i);
+      final DremioMaterialization materializationCopy = materializationCopies.get(i);
+      final CancelFlag cancelFlag = new CancelFlag(new AtomicBoolean());
+      cancelFlags.add(cancelFlag);
+      futures.add(
+          LazyThreadPoolHolder.THREAD_POOL.submit(
+              () -> matcher.substitute(queryCopy, materializationCopy, cancelFlag)));
+    }
+
+    final long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+    final CopyWithCluster copier = new CopyWithCluster(query.getCluster());
+    final List<List<Substitution>> result = new ArrayList<>(materializations.size());
+    for (int i = 0; i < materializations.size(); i++) {
+      final Future<List<Substitution>> future = futures.get(i);
+      List<Substitution> substitutions = ImmutableList.of();
+      try {
+        substitutions =
+            future.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+      } catch (TimeoutException e) {
+        cancelFlags.get(i).requestCancel();
+        future.cancel(true);
+        LOGGER.warn(
+            "timed out after {} ms applying materialization: {}",
+            timeoutMillis,
+            materializations.get(i));
+      } catch (ExecutionException e) {
+        LOGGER.warn("unable to apply materialization: {}", materializations.get(i), e.getCause());
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        cancelFlags.forEach(CancelFlag::requestCancel);
+        futures.forEach(f -> f.cancel(true));
+        throw new RuntimeException(e);
+      }
+
+      final List<Substitution> copies = new ArrayList<>(substitutions.size());
+      for (Substitution substitution : substitutions) {
+        copies.add(
+            substitution.considerThisRootEquivalent()
+                ? Substitution.createRootEquivalent(substitution.getReplacement().accept(copier))
+                : new Substitution(
+                    substitution.getReplacement().accept(copier),
+                    substitution.getEquivalent().accept(copier)));
+      }
+      result.add(copies);
+    }
+    return copier.isCopySupported() ? result : null;
+  }
+
+  private static RelOptCluster newCluster(RelOptCluster cluster) {
+    final RelOptCluster newCluster =
+        RelOptCluster.create(cluster.getPlanner(), new DremioRexBuilder(cluster.getTypeFactory()));
+    newCluster.setMetadataQuerySupplier(DremioRelMetadataQuery.QUERY_SUPPLIER);
+    return newCluster;
+  }
+}
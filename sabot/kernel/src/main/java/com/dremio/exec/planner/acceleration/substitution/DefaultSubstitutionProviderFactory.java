@@ -33,6 +33,6 @@ public class DefaultSubstitutionProviderFactory implements SubstitutionProviderF
       MaterializationProvider materializationProvider,
       OptionResolver options,
       PlannerEventBus plannerEventBus) {
-    return new UnifyingSubstitutionProvider(materializationProvider);
+    return new UnifyingSubstitutionProvider(materializationProvider, options);
   }
 }
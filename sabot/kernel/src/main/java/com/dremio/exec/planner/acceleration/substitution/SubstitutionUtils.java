@@ -31,6 +31,7 @@ import java.io.IOException;
 import java.io.PrintWriter;
 import java.io.Writer;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.LinkedHashSet;
 import java.util.List;
@@ -189,6 +190,78 @@ public final class SubstitutionUtils {
     return new ExternalQueryDescriptor(eq.getPluginId().getName(), eq.getSql());
   }
 
+  /**
+   * Returns all the tables, views and external queries used by {@code rel}, so that {@link
+   * UsedSources#overlaps} gives the same answer as {@link #usesTableOrVds} without walking the rel
+   * again.
+   */
+  public static UsedSources findUsedSources(final RelNode rel) {
+    final Set<VersionedPath> tables = new HashSet<>();
+    final Set<VersionedPath> vdsPaths = new HashSet<>();
+    final Set<ExternalQueryDescriptor> externalQueries = new HashSet<>();
+    rel.accept(
+        new RoutingShuttle() {
+          @Override
+          public RelNode visit(TableScan scan) {
+            TableVersionContext versionContext = null;
+            if (scan instanceof ScanCrel) {
+              versionContext = ((ScanCrel) scan).getTableMetadata().getVersionContext();
+            }
+            tables.add(VersionedPath.of(scan.getTable().getQualifiedName(), versionContext));
+            return scan;
+          }
+
+          @Override
+          public RelNode visit(RelNode other) {
+            if (other instanceof ExternalQueryScanCrel) {
+              externalQueries.add(descriptor((ExternalQueryScanCrel) other));
+            } else if (other instanceof ExpansionNode) {
+              vdsPaths.add(VersionedPath.of((ExpansionNode) other));
+            }
+            return super.visit(other);
+          }
+        });
+    return new UsedSources(tables, vdsPaths, externalQueries);
+  }
+
+  /** Tables, views and external queries used by a rel. */
+  public static final class UsedSources {
+    private final Set<VersionedPath> tables;
+    private final Set<VersionedPath> vdsPaths;
+    private final Set<ExternalQueryDescriptor> externalQueries;
+
+    private UsedSources(
+        Set<VersionedPath> tables,
+        Set<VersionedPath> vdsPaths,
+        Set<ExternalQueryDescriptor> externalQueries) {
+      this.tables = tables;
+      this.vdsPaths = vdsPaths;
+      this.externalQueries = externalQueries;
+    }
+
+    public Set<VersionedPath> getTables() {
+      return tables;
+    }
+
+    public Set<VersionedPath> getVdsPaths() {
+      return vdsPaths;
+    }
+
+    public Set<ExternalQueryDescriptor> getExternalQueries() {
+      return externalQueries;
+    }
+
+    /** Returns whether any of the given tables, views or external queries is used. */
+    public boolean overlaps(
+        Set<VersionedPath> queryTables,
+        Set<VersionedPath> queryVdsPaths,
+        Set<ExternalQueryDescriptor> queryExternalQueries) {
+      return !Collections.disjoint(tables, queryTables)
+          || !Collections.disjoint(vdsPaths, queryVdsPaths)
+          || !Collections.disjoint(externalQueries, queryExternalQueries);
+    }
+  }
+
   public static class ExternalQueryDescriptor {
 
     private final String source;
@@ -18,15 +18,22 @@ package com.dremio.exec.planner.acceleration.substitution;
 import com.dremio.exec.planner.acceleration.DremioMaterialization;
 import com.dremio.exec.planner.acceleration.ExpansionNode;
 import com.dremio.exec.planner.logical.PushFilterPastProjectRule;
+import com.dremio.exec.planner.physical.PlannerSettings;
+import com.dremio.options.OptionResolver;
 import com.google.common.collect.Lists;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.stream.Collectors;
+import org.apache.calcite.plan.AbstractRelOptPlanner;
+import org.apache.calcite.plan.Contexts;
 import org.apache.calcite.plan.MaterializedViewSubstitutionVisitor;
+import org.apache.calcite.plan.RelOptListener;
 import org.apache.calcite.plan.hep.HepPlanner;
 import org.apache.calcite.plan.hep.HepProgram;
 import org.apache.calcite.plan.hep.HepProgramBuilder;
 import org.apache.calcite.rel.RelNode;
 import org.apache.calcite.rel.rules.CoreRules;
+import org.apache.calcite.util.CancelFlag;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -35,19 +42,35 @@ public class UnifyingSubstitutionProvider extends AbstractSubstitutionProvider {
 
   private static final Logger LOGGER = LoggerFactory.getLogger(UnifyingSubstitutionProvider.class);
 
+  private final OptionResolver options;
+
   public UnifyingSubstitutionProvider(final MaterializationProvider provider) {
+    this(provider, null);
+  }
+
+  public UnifyingSubstitutionProvider(
+      final MaterializationProvider provider, final OptionResolver options) {
     super(provider);
+    this.options = options;
   }
 
   @Override
   public SubstitutionStream findSubstitutions(final RelNode query) {
     final List<DremioMaterialization> materializations = buildConsideredMaterializations(query);
 
+    // substitutions of the query itself, when matched concurrently
+    final List<List<Substitution>> querySubstitutions = matchConcurrently(query, materializations);
+
     final List<Substitution> substitutions =
         Lists.newArrayList(Substitution.createRootEquivalent(query));
-    for (final DremioMaterialization materialization : materializations) {
+    for (int m = 0; m < materializations.size(); m++) {
+      final DremioMaterialization materialization = materializations.get(m);
       final int count = substitutions.size();
       for (int i = 0; i < count; i++) {
+        if (i == 0 && querySubstitutions != null) {
+          substitutions.addAll(querySubstitutions.get(m));
+          continue;
+        }
         try {
           substitutions.addAll(substitute(substitutions.get(i).getReplacement(), materialization));
         } catch (final Throwable ex) {
@@ -61,6 +84,33 @@ public class UnifyingSubstitutionProvider extends AbstractSubstitutionProvider {
         substitutions.subList(1, substitutions.size()).stream(), () -> {}, t -> {});
   }
 
+  /**
+   * Matches the query against each materialization concurrently when enabled. The substitutions
+   * found are then combined with the other materializations on the planning thread, in the same
+   * order as when matching sequentially.
+   *
+   * @return the substitutions of the query for each materialization, or null if the query has to
+   *     be matched sequentially
+   */
+  private List<List<Substitution>> matchConcurrently(
+      final RelNode query, final List<DremioMaterialization> materializations) {
+    if (options == null
+        || materializations.size() < 2
+        || !options.getOption(PlannerSettings.REFLECTION_PARALLEL_MATCHING)) {
+      return null;
+    }
+    try {
+      return ConcurrentMaterializationMatcher.match(
+          query,
+          materializations,
+          this::substitute,
+          options.getOption(PlannerSettings.REFLECTION_PARALLEL_MATCHING_TIMEOUT_MILLIS));
+    } catch (final RuntimeException ex) {
+      LOGGER.warn("unable to apply materializations concurrently", ex);
+      return null;
+    }
+  }
+
   protected HepProgramBuilder getProgramBuilder() {
     return new HepProgramBuilder()
         .addRuleInstance(PushFilterPastProjectRule.CALCITE_NO_CHILD_CHECK)
@@ -78,10 +128,23 @@ public class UnifyingSubstitutionProvider extends AbstractSubstitutionProvider {
    */
   protected List<Substitution> substitute(
       final RelNode query, final DremioMaterialization materialization) {
+    return substitute(query, materialization, new CancelFlag(new AtomicBoolean()));
+  }
+
+  /**
+   * Same as {@link #substitute(RelNode, DremioMaterialization)}, but fails with a {@link
+   * org.apache.calcite.runtime.CalciteException} once the cancel flag is set. The flag is checked
+   * before each rule attempt of the normalization and before unification.
+   */
+  protected List<Substitution> substitute(
+      final RelNode query,
+      final DremioMaterialization materialization,
+      final CancelFlag cancelFlag) {
 
     // Push filters to the bottom, and combine projects on top.
     final HepProgram program = getProgramBuilder().build();
-    final HepPlanner hepPlanner = new HepPlanner(program);
+    final HepPlanner hepPlanner = new HepPlanner(program, Contexts.of(cancelFlag));
+    hepPlanner.addListener(new CancelCheckingListener(hepPlanner));
 
     hepPlanner.setRoot(materialization.getQueryRel());
     final RelNode canonicalTarget = hepPlanner.findBestExp();
@@ -89,6 +152,7 @@ public class UnifyingSubstitutionProvider extends AbstractSubstitutionProvider {
     hepPlanner.setRoot(query);
     final RelNode canonicalQuery = hepPlanner.findBestExp();
 
+    hepPlanner.checkCancel();
     return substitute(canonicalQuery, canonicalTarget, materialization.getTableRel());
   }
 
@@ -110,6 +174,34 @@ public class UnifyingSubstitutionProvider extends AbstractSubstitutionProvider {
             .collect(Collectors.toList());
   }
 
+  /** Checks the cancel flag of a planner before each rule attempt. */
+  private static final class CancelCheckingListener implements RelOptListener {
+    private final AbstractRelOptPlanner planner;
+
+    private CancelCheckingListener(AbstractRelOptPlanner planner) {
+      this.planner = planner;
+    }
+
+    @Override
+    public void ruleAttempted(RuleAttemptedEvent event) {
+      if (event.isBefore()) {
+        planner.checkCancel();
+      }
+    }
+
+    @Override
+    public void relEquivalenceFound(RelEquivalenceEvent event) {}
+
+    @Override
+    public void ruleProductionSucceeded(RuleProductionEvent event) {}
+
+    @Override
+    public void relDiscarded(RelDiscardedEvent event) {}
+
+    @Override
+    public void relChosen(RelChosenEvent event) {}
+  }
+
   public static UnifyingSubstitutionProvider of(final MaterializationProvider provider) {
     return new UnifyingSubstitutionProvider(provider);
   }
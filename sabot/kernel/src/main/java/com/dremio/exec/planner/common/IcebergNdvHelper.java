@@ -0,0 +1,81 @@
+/*
+ * Copyright (C) 2017-2019 Dremio Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.dremio.exec.planner.common;
+
+import com.dremio.datastore.LegacyProtobufSerializer;
+import com.dremio.exec.store.TableMetadata;
+import com.dremio.sabot.exec.store.iceberg.proto.IcebergProtobuf;
+import com.dremio.service.namespace.DatasetHelper;
+import com.dremio.service.namespace.dataset.proto.DatasetConfig;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.google.common.collect.ImmutableMap;
+import com.google.protobuf.InvalidProtocolBufferException;
+import io.protostuff.ByteString;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Utility class to read the number of distinct values of the columns of Iceberg tables, which
+ * metadata refresh copies from the Puffin statistics file of the snapshot.
+ */
+public class IcebergNdvHelper {
+  private static final org.slf4j.Logger logger =
+      org.slf4j.LoggerFactory.getLogger(IcebergNdvHelper.class);
+
+  // NDVs by lower case column name, parsed once per table metadata. Keys are weak and compared by
+  // identity, so entries go away with the table metadata of the query being planned.
+  private static final Cache<TableMetadata, Map<String, Long>> NDVS =
+      Caffeine.newBuilder().weakKeys().build();
+
+  /** Returns the NDV of a top level column of an Iceberg table, or null if unknown. */
+  public static Long getNdv(TableMetadata tableMetadata, String columnName) {
+    Map<String, Long> ndvs = NDVS.get(tableMetadata, IcebergNdvHelper::readNdvs);
+    return ndvs.get(columnName.toLowerCase(Locale.ROOT));
+  }
+
+  private static Map<String, Long> readNdvs(TableMetadata tableMetadata) {
+    DatasetConfig datasetConfig = tableMetadata.getDatasetConfig();
+    if (datasetConfig == null
+        || !DatasetHelper.isIcebergTable(datasetConfig)
+        || DatasetHelper.isInternalIcebergTable(datasetConfig)
+        || tableMetadata.getReadDefinition() == null) {
+      return ImmutableMap.of();
+    }
+    ByteString extendedProperty = tableMetadata.getReadDefinition().getExtendedProperty();
+    if (extendedProperty == null) {
+      return ImmutableMap.of();
+    }
+
+    IcebergProtobuf.IcebergDatasetXAttr icebergDatasetXAttr;
+    try {
+      icebergDatasetXAttr =
+          LegacyProtobufSerializer.parseFrom(
+              IcebergProtobuf.IcebergDatasetXAttr.parser(), extendedProperty.toByteArray());
+    } catch (InvalidProtocolBufferException e) {
+      logger.debug("Unable to read the extended property of {}", tableMetadata.getName(), e);
+      return ImmutableMap.of();
+    }
+    Map<String, Long> ndvs = new HashMap<>();
+    for (IcebergProtobuf.IcebergColumnNdv columnNdv : icebergDatasetXAttr.getColumnNdvsList()) {
+      if (columnNdv.hasNdv()) {
+        ndvs.putIfAbsent(columnNdv.getSchemaPath().toLowerCase(Locale.ROOT), columnNdv.getNdv());
+      }
+    }
+    return ndvs;
+  }
+}
@@ -18,6 +18,7 @@ package com.dremio.exec.planner.cost;
 import static org.apache.calcite.plan.RelOptUtil.conjunctions;
 
 import com.dremio.common.utils.PathUtils;
+import com.dremio.exec.planner.common.IcebergNdvHelper;
 import com.dremio.exec.planner.common.ScanRelBase;
 import com.dremio.exec.planner.logical.FlattenRel;
 import com.dremio.exec.planner.physical.PrelUtil;
@@ -222,15 +223,10 @@ public class RelMdDistinctRowCount extends org.apache.calcite.rel.metadata.RelMd
       if (!groupKey.get(i)) {
         continue;
       }
-      try {
-        Long ndv = statisticsService.getNDV(colName, tableMetadata.getName());
-        if (ndv != null) {
-          estRowCnt *= ndv;
-        } else {
-          allColsHaveNDV = false;
-          break;
-        }
-      } catch (Exception e) {
+      Long ndv = getNdv(statisticsService, tableMetadata, colName);
+      if (ndv != null) {
+        estRowCnt *= ndv;
+      } else {
         allColsHaveNDV = false;
         break;
       }
@@ -271,6 +267,24 @@ public class RelMdDistinctRowCount extends org.apache.calcite.rel.metadata.RelMd
     }
   }
 
+  /**
+   * Returns the NDV of a column from collected statistics, falling back to the statistics written
+   * with the snapshot of Iceberg tables.
+   */
+  private static Long getNdv(
+      StatisticsService statisticsService, TableMetadata tableMetadata, String colName) {
+    Long ndv;
+    try {
+      ndv = statisticsService.getNDV(colName, tableMetadata.getName());
+    } catch (Exception e) {
+      ndv = null;
+    }
+    if (ndv == null) {
+      ndv = IcebergNdvHelper.getNdv(tableMetadata, colName);
+    }
+    return ndv;
+  }
+
   public Double getDistinctRowCount(
       TableFunctionPrel rel, RelMetadataQuery mq, ImmutableBitSet groupKey, RexNode predicate) {
     if (DremioRelMdUtil.isStatisticsEnabled(rel.getCluster().getPlanner(), isNoOp)) {
@@ -15,6 +15,7 @@
  */
 package com.dremio.exec.planner.cost;
 
+import com.dremio.exec.planner.common.IcebergNdvHelper;
 import com.dremio.exec.planner.common.ScanRelBase;
 import com.dremio.exec.planner.physical.TableFunctionPrel;
 import com.dremio.exec.store.TableMetadata;
@@ -297,7 +298,7 @@ public class RelMdSelectivity extends org.apache.calcite.rel.metadata.RelMdSelec
           return count.doubleValue() / rowCount.doubleValue();
         }
       }
-      Long ndv = statisticsService.getNDV(col, tableMetadata.getName());
+      Long ndv = getNdv(col, tableMetadata);
       if (ndv != null && ndv != 0) {
         return 1.00 / ndv;
       }
@@ -317,7 +318,7 @@ public class RelMdSelectivity extends org.apache.calcite.rel.metadata.RelMdSelec
           return 1.0 - count.doubleValue() / rowCount.doubleValue();
         }
       }
-      Long ndv = statisticsService.getNDV(col, tableMetadata.getName());
+      Long ndv = getNdv(col, tableMetadata);
       if (ndv != null && ndv != 0) {
         return 1.0 - (1.00 / ndv);
       }
@@ -325,6 +326,12 @@ public class RelMdSelectivity extends org.apache.calcite.rel.metadata.RelMdSelec
     return guessSelectivity(orPred);
   }
 
+  /** Falls back to the statistics written with the snapshot of Iceberg tables. */
+  private Long getNdv(String col, TableMetadata tableMetadata) {
+    Long ndv = statisticsService.getNDV(col, tableMetadata.getName());
+    return ndv != null ? ndv : IcebergNdvHelper.getNdv(tableMetadata, col);
+  }
+
   private double computeNullSelectivity(
       TableMetadata tableMetadata, RexNode orPred, List<String> fieldNames) {
     String col = getColumn(orPred, fieldNames);
@@ -218,6 +218,14 @@ public class PlannerSettings implements Context {
       new BooleanValidator("planner.writer.balanced", false);
   public static final LongValidator PLANNING_MAX_MILLIS =
       new LongValidator("planner.timeout_per_phase_ms", 60_000);
+  // Soft per phase time budget, after which the planner stops exploring and keeps the best plan
+  // found so far. It grows with the size of the plan, and is capped by the per phase timeout.
+  public static final BooleanValidator PHASE_TIME_BUDGET_ENABLED =
+      new BooleanValidator("planner.phase_time_budget.enabled", false);
+  public static final PositiveLongValidator PHASE_TIME_BUDGET_BASE_MILLIS =
+      new PositiveLongValidator("planner.phase_time_budget.base_ms", Long.MAX_VALUE, 10_000);
+  public static final RangeLongValidator PHASE_TIME_BUDGET_MILLIS_PER_REL_NODE =
+      new RangeLongValidator("planner.phase_time_budget.ms_per_rel_node", 0, 10_000, 20);
   public static final BooleanValidator TRIM_JOIN_BRANCH =
       new BooleanValidator("planner.enable_trim_join_branch", false);
   public static final BooleanValidator NESTED_SCHEMA_PROJECT_PUSHDOWN =
@@ -378,6 +386,17 @@ public class PlannerSettings implements Context {
   public static final BooleanValidator ERROR_ON_CONCURRENT_REFRESH =
       new BooleanValidator("dremio.metadata.error_on_concurrent_refresh", false);
 
+  // Incremental refresh of filesystem datasets only lists directories changed since the last
+  // refresh, those modified within the hot window, and their new subdirectories
+  public static final BooleanValidator METADATA_REFRESH_INCREMENTAL_DIR_LISTING =
+      new BooleanValidator("dremio.metadata.incremental_dir_listing.enabled", false);
+  public static final RangeLongValidator METADATA_REFRESH_HOT_WINDOW_MILLIS =
+      new RangeLongValidator(
+          "dremio.metadata.incremental_dir_listing.hot_window_millis", 0, Long.MAX_VALUE, 0);
+  public static final RangeLongValidator METADATA_REFRESH_INCREMENTAL_DIR_LISTING_MAX_DIRS =
+      new RangeLongValidator(
+          "dremio.metadata.incremental_dir_listing.max_directories", 1, 100_000, 1000);
+
   public static final PositiveLongValidator METADATA_EXPIRY_CHECK_INTERVAL_SECS =
       new PositiveLongValidator(
           "dremio.metadata_expiry_check_interval_in_secs",
@@ -415,6 +434,13 @@ public class PlannerSettings implements Context {
       new BooleanValidator("reflections.planning.no_reflections", false);
   public static final BooleanValidator CURRENT_ICEBERG_DATA_ONLY =
       new BooleanValidator("reflections.planning.current_iceberg_data_only", false);
+  public static final BooleanValidator REFLECTION_CANDIDATE_INDEX_ENABLED =
+      new BooleanValidator("reflections.planning.candidate_index.enabled", true);
+  public static final BooleanValidator REFLECTION_PARALLEL_MATCHING =
+      new BooleanValidator("reflections.planning.parallel_matching.enabled", false);
+  public static final PositiveLongValidator REFLECTION_PARALLEL_MATCHING_TIMEOUT_MILLIS =
+      new PositiveLongValidator(
+          "reflections.planning.parallel_matching.timeout_ms", Long.MAX_VALUE, 60_000);
   // Enables tracking of materialization staleness.
   public static final BooleanValidator REFLECTION_MATERIALIZATION_STALENESS_ENABLED =
       new BooleanValidator("reflection.materialization_staleness.enabled", true);
@@ -750,6 +776,13 @@ public class PlannerSettings implements Context {
   public static final BooleanValidator QUERY_PLAN_CACHE_ENABLED_SECURED_USER_BASED_CACHING =
       new BooleanValidator("planner.query_plan_cache_enabled_secured_user_based_caching", true);
 
+  /**
+   * Reuses the cached plan of a query which only differs by the values of its literals, with the
+   * literals rebound to the values of the query.
+   */
+  public static final BooleanValidator QUERY_PLAN_CACHE_PARAMETERIZE_LITERALS =
+      new BooleanValidator("planner.query_plan_cache.parameterize_literals.enabled", false);
+
   // Query Plan Cache: End
 
   public static final BooleanValidator REFLECTION_ROUTING_INHERITANCE_ENABLED =
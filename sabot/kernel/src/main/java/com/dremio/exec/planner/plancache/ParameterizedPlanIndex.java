@@ -0,0 +1,256 @@
+/*
+ * Copyright (C) 2017-2019 Dremio Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.dremio.exec.planner.plancache;
+
+import com.dremio.exec.physical.config.ManifestScanTableFunctionContext;
+import com.dremio.exec.physical.config.TableFunctionContext;
+import com.dremio.exec.planner.common.ScanRelBase;
+import com.dremio.exec.planner.physical.ScanPrelBase;
+import com.dremio.exec.planner.physical.TableFunctionPrel;
+import com.dremio.exec.store.TableMetadata;
+import com.dremio.exec.store.dfs.FilterableScan;
+import com.dremio.service.namespace.NamespaceException;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.google.common.hash.HashCode;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+import javax.annotation.Nullable;
+import org.apache.calcite.plan.RelOptUtil;
+import org.apache.calcite.rel.RelNode;
+import org.apache.calcite.rex.RexDynamicParam;
+import org.apache.calcite.rex.RexLiteral;
+import org.apache.calcite.sql.SqlExplainLevel;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Index of the cached physical plans by the parameterized shape of their queries. A query which
+ * misses the plan cache but has the shape of a cached one reuses its physical plan, with the
+ * literals of the cached query rebound to the literals of the query, instead of being planned from
+ * scratch.
+ *
+ * <p>The index only points to the entry of the plan cache, which keeps validating and invalidating
+ * the plan as usual. A plan is only indexed when each literal of its query ends up exactly once in
+ * the expressions of the plan, and nowhere else:
+ *
+ * <ul>
+ *   <li>literals folded, simplified or rewritten during planning can't be rebound;
+ *   <li>plans with scans pruned or filtered by the planner are not indexed, as the pruned
+ *       partitions and pushed down filters depend on the values of the literals;
+ *   <li>queries which may be matched by reflections are not parameterized at all, see {@link
+ *       PlanCacheUtils#parameterize}.
+ * </ul>
+ */
+public class ParameterizedPlanIndex {
+  private static final Logger LOGGER = LoggerFactory.getLogger(ParameterizedPlanIndex.class);
+
+  private final Cache<String, ParameterizedPlan> plans;
+
+  public ParameterizedPlanIndex(Cache<String, ParameterizedPlan> plans) {
+    this.plans = plans;
+  }
+
+  /** Indexes the plan of a query stored in the plan cache. */
+  public void put(ParameterizedQuery query, ParameterizedPlan plan) {
+    plans.put(query.getShapeHash(), plan);
+  }
+
+  /** Returns the indexed plan with the shape of the given query, if any. */
+  public @Nullable ParameterizedPlan get(ParameterizedQuery query) {
+    return plans.getIfPresent(query.getShapeHash());
+  }
+
+  public void invalidateAll() {
+    plans.invalidateAll();
+  }
+
+  public static ParameterizedPlanIndex create(long maxEntries, long expiresAfterMinute) {
+    Cache<String, ParameterizedPlan> plans =
+        Caffeine.newBuilder()
+            .maximumSize(maxEntries)
+            .expireAfterAccess(expiresAfterMinute, TimeUnit.MINUTES)
+            .build();
+    return new ParameterizedPlanIndex(plans);
+  }
+
+  /**
+   * A cached physical plan, with the literals of the query it was planned for and the positions of
+   * these literals in the plan.
+   */
+  public static final class ParameterizedPlan {
+    private final HashCode planHash;
+    private final List<RexLiteral> literals;
+    // the slot of each literal visited in the plan, -1 for the literals not from the query
+    private final int[] slots;
+
+    private ParameterizedPlan(HashCode planHash, List<RexLiteral> literals, int[] slots) {
+      this.planHash = planHash;
+      this.literals = literals;
+      this.slots = slots;
+    }
+
+    /**
+     * Creates the parameterized plan of a query stored in the plan cache with the given key.
+     *
+     * @return the parameterized plan, or null if the literals of the query can't be rebound in the
+     *     plan
+     */
+    public static @Nullable ParameterizedPlan create(
+        PlanCacheKey planCacheKey, ParameterizedQuery query, RelNode plan) {
+      final ParameterizedPlan parameterizedPlan =
+          create(HashCode.fromBytes(planCacheKey.getBytesHash()), query.getLiterals(), plan);
+      if (parameterizedPlan == null) {
+        LOGGER.debug("Physical plan not indexed: literals of the query can't be rebound.");
+      }
+      return parameterizedPlan;
+    }
+
+    private static @Nullable ParameterizedPlan create(
+        HashCode planHash, List<RexLiteral> literals, RelNode plan) {
+      if (hasLiteralDependentScan(plan)) {
+        return null;
+      }
+
+      final List<Integer> slots = new ArrayList<>();
+      final int[] occurrences = new int[literals.size()];
+      final RelNode parameterized =
+          ParameterizedQuery.rewriteLiterals(
+              plan,
+              literal -> {
+                final int slot = literals.indexOf(literal);
+                slots.add(slot);
+                if (slot < 0) {
+                  return literal;
+                }
+                occurrences[slot]++;
+                return new RexDynamicParam(literal.getType(), slot);
+              });
+      for (int count : occurrences) {
+        if (count != 1) {
+          return null;
+        }
+      }
+
+      // the literals must not be left anywhere else in the plan, such as in the properties of the
+      // rels which don't accept a shuttle
+      final String text = RelOptUtil.toString(parameterized, SqlExplainLevel.DIGEST_ATTRIBUTES);
+      for (RexLiteral literal : literals) {
+        final Pattern pattern =
+            Pattern.compile("(?<![\\w$.])" + Pattern.quote(literal.toString()) + "(?![\\w.])");
+        if (pattern.matcher(text).find()) {
+          return null;
+        }
+      }
+      return new ParameterizedPlan(
+          planHash, literals, slots.stream().mapToInt(Integer::intValue).toArray());
+    }
+
+    /** Returns the key of the cached plan, with the considered reflections of the query. */
+    public PlanCacheKey getPlanCacheKey(PlanCacheKey queryKey) {
+      return new PlanCacheKey(
+          planHash, HashCode.fromString(queryKey.getMaterializationHashString()));
+    }
+
+    /**
+     * Rebinds the literals of the cached plan to the literals of a query with the same shape.
+     *
+     * @return the plan of the query, or null if the cached plan doesn't have the expected literals
+     */
+    public @Nullable RelNode bind(RelNode plan, List<RexLiteral> queryLiterals) {
+      if (queryLiterals.size() != literals.size()) {
+        return null;
+      }
+      final int[] position = {0};
+      final boolean[] mismatch = {false};
+      final RelNode bound =
+          ParameterizedQuery.rewriteLiterals(
+              plan,
+              literal -> {
+                final int i = position[0]++;
+                if (i >= slots.length) {
+                  mismatch[0] = true;
+                  return literal;
+                }
+                final int slot = slots[i];
+                if (slot < 0) {
+                  return literal;
+                }
+                final RexLiteral queryLiteral = queryLiterals.get(slot);
+                if (!literal.equals(literals.get(slot))
+                    || !literal.getType().equals(queryLiteral.getType())) {
+                  mismatch[0] = true;
+                  return literal;
+                }
+                return queryLiteral;
+              });
+      if (mismatch[0] || position[0] != slots.length) {
+        return null;
+      }
+      return bound;
+    }
+
+    private static boolean hasLiteralDependentScan(RelNode rel) {
+      if (rel instanceof FilterableScan) {
+        final FilterableScan scan = (FilterableScan) rel;
+        if (scan.getFilter() != null
+            || scan.getPartitionFilter() != null
+            || scan.getRowGroupFilter() != null) {
+          return true;
+        }
+      }
+      if (rel instanceof ScanPrelBase && ((ScanPrelBase) rel).hasFilter()) {
+        return true;
+      }
+      if (rel instanceof ScanRelBase && isPruned(((ScanRelBase) rel).getTableMetadata())) {
+        return true;
+      }
+      if (rel instanceof TableFunctionPrel) {
+        final TableFunctionPrel tableFunction = (TableFunctionPrel) rel;
+        final TableFunctionContext context =
+            tableFunction.getTableFunctionConfig().getFunctionContext();
+        if (tableFunction.hasFilter()
+            || context.getRowGroupFilter() != null
+            || isPruned(tableFunction.getTableMetadata())) {
+          return true;
+        }
+        if (context instanceof ManifestScanTableFunctionContext
+            && ((ManifestScanTableFunctionContext) context).getManifestScanFilters() != null
+            && ((ManifestScanTableFunctionContext) context)
+                .getManifestScanFilters()
+                .doesIcebergAnyColExpressionExists()) {
+          return true;
+        }
+      }
+      for (RelNode input : rel.getInputs()) {
+        if (hasLiteralDependentScan(input)) {
+          return true;
+        }
+      }
+      return false;
+    }
+
+    private static boolean isPruned(@Nullable TableMetadata tableMetadata) {
+      try {
+        return tableMetadata != null && tableMetadata.isPruned();
+      } catch (NamespaceException e) {
+        return true;
+      }
+    }
+  }
+}
@@ -0,0 +1,151 @@
+/*
+ * Copyright (C) 2017-2019 Dremio Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.dremio.exec.planner.plancache;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import com.dremio.exec.planner.sql.RexShuttleRelShuttle;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.hash.HashCode;
+import com.google.common.hash.Hasher;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+import javax.annotation.Nullable;
+import org.apache.calcite.plan.RelOptUtil;
+import org.apache.calcite.rel.RelNode;
+import org.apache.calcite.rex.RexDynamicParam;
+import org.apache.calcite.rex.RexLiteral;
+import org.apache.calcite.rex.RexNode;
+import org.apache.calcite.rex.RexShuttle;
+import org.apache.calcite.sql.SqlDynamicParam;
+import org.apache.calcite.sql.SqlLiteral;
+import org.apache.calcite.sql.SqlNode;
+import org.apache.calcite.sql.dialect.CalciteSqlDialect;
+import org.apache.calcite.sql.type.SqlTypeName;
+import org.apache.calcite.sql.util.SqlShuttle;
+
+/**
+ * The parameterized shape of a query: its plan with the literals replaced by typed parameter
+ * slots, and the values of these literals. Queries which only differ by the values of their
+ * literals, such as {@code WHERE region = 'EU'} and {@code WHERE region = 'US'}, have the same
+ * shape.
+ *
+ * <p>Literals are visited in the expressions of the rels which accept a {@link RexShuttle}, in
+ * post-order, so the slots of a plan are always visited in the same order. Literals which are not
+ * visited, such as the ones of values rels, are part of the shape.
+ */
+public final class ParameterizedQuery {
+  private static final Set<SqlTypeName> PARAMETERIZABLE_TYPES =
+      ImmutableSet.<SqlTypeName>builder()
+          .addAll(SqlTypeName.BOOLEAN_TYPES)
+          .addAll(SqlTypeName.CHAR_TYPES)
+          .addAll(SqlTypeName.BINARY_TYPES)
+          .addAll(SqlTypeName.NUMERIC_TYPES)
+          .addAll(SqlTypeName.DATETIME_TYPES)
+          .build();
+
+  private final HashCode shapeHash;
+  private final List<RexLiteral> literals;
+
+  private ParameterizedQuery(HashCode shapeHash, List<RexLiteral> literals) {
+    this.shapeHash = shapeHash;
+    this.literals = literals;
+  }
+
+  /**
+   * Creates the parameterized shape of a query plan.
+   *
+   * @param relNode the query plan
+   * @param hasher the hasher of the shape, to which the other components of the shape have already
+   *     been added
+   * @return the shape, or null if the plan has no literal to parameterize or has a literal more
+   *     than once, in which case the literals can't be told apart in the planned query
+   */
+  public static @Nullable ParameterizedQuery create(RelNode relNode, Hasher hasher) {
+    final List<RexLiteral> literals = new ArrayList<>();
+    final RelNode shape =
+        rewriteLiterals(
+            relNode,
+            literal -> {
+              literals.add(literal);
+              return new RexDynamicParam(literal.getType(), literals.size() - 1);
+            });
+    if (literals.isEmpty() || new HashSet<>(literals).size() != literals.size()) {
+      return null;
+    }
+
+    hasher.putString(RelOptUtil.toString(shape), UTF_8);
+    for (RexLiteral literal : literals) {
+      hasher.putString(literal.getType().getFullTypeString(), UTF_8);
+    }
+    return new ParameterizedQuery(hasher.hash(), ImmutableList.copyOf(literals));
+  }
+
+  /**
+   * Returns the text of a query with its literals replaced by parameters, or null if the query
+   * can't be rewritten.
+   */
+  public static @Nullable String parameterizeSql(SqlNode sqlNode) {
+    try {
+      return sqlNode
+          .accept(
+              new SqlShuttle() {
+                @Override
+                public SqlNode visit(SqlLiteral literal) {
+                  if (literal.getTypeName() == SqlTypeName.SYMBOL) {
+                    return literal;
+                  }
+                  return new SqlDynamicParam(0, literal.getParserPosition());
+                }
+              })
+          .toSqlString(CalciteSqlDialect.DEFAULT)
+          .getSql();
+    } catch (RuntimeException e) {
+      // some calls can't be copied with parameters as operands
+      return null;
+    }
+  }
+
+  /**
+   * Rewrites the literals of a plan which can be parameterized, in the order of their slots.
+   * Literals rewritten to themselves leave the plan unchanged.
+   */
+  static RelNode rewriteLiterals(RelNode relNode, Function<RexLiteral, RexNode> rewriter) {
+    return relNode.accept(
+        new RexShuttleRelShuttle(
+            new RexShuttle() {
+              @Override
+              public RexNode visitLiteral(RexLiteral literal) {
+                if (literal.isNull() || !PARAMETERIZABLE_TYPES.contains(literal.getTypeName())) {
+                  return literal;
+                }
+                return rewriter.apply(literal);
+              }
+            }));
+  }
+
+  public String getShapeHash() {
+    return shapeHash.toString();
+  }
+
+  public List<RexLiteral> getLiterals() {
+    return literals;
+  }
+}
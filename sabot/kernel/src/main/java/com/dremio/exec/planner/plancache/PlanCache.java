@@ -38,4 +38,9 @@ public interface PlanCache {
 
   @Nullable
   PlanCacheEntry getIfPresentAndValid(SqlHandlerConfig sqlHandlerConfig, PlanCacheKey planCacheKey);
+
+  /** Returns the index of the cached plans by the parameterized shape of their queries, if any. */
+  default @Nullable ParameterizedPlanIndex getParameterizedPlanIndex() {
+    return null;
+  }
 }
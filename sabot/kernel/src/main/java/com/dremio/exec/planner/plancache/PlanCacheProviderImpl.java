@@ -29,11 +29,15 @@ import com.google.common.collect.ImmutableList;
 public class PlanCacheProviderImpl implements PlanCacheProvider {
   private final DistributedPlanCacheManager distributedPlanCacheManager;
   private final LegacyPlanCache legacyPlanCache;
+  private final ParameterizedPlanIndex parameterizedPlanIndex;
 
   public PlanCacheProviderImpl(
-      DistributedPlanCacheManager distributedPlanCacheManager, LegacyPlanCache legacyPlanCache) {
+      DistributedPlanCacheManager distributedPlanCacheManager,
+      LegacyPlanCache legacyPlanCache,
+      ParameterizedPlanIndex parameterizedPlanIndex) {
     this.distributedPlanCacheManager = distributedPlanCacheManager;
     this.legacyPlanCache = legacyPlanCache;
+    this.parameterizedPlanIndex = parameterizedPlanIndex;
   }
 
   @Override
@@ -44,13 +48,15 @@ public class PlanCacheProviderImpl implements PlanCacheProvider {
         planCache,
         sqlConverter.getPlannerEventBus(),
         attemptObserver,
-        sqlConverter.getOptionResolver());
+        sqlConverter.getOptionResolver(),
+        planCache == PlanCache.EMPTY_CACHE ? null : parameterizedPlanIndex);
   }
 
   @Override
   public void invalidateAll() {
     legacyPlanCache.invalidateAll();
     distributedPlanCacheManager.invalidateAll();
+    parameterizedPlanIndex.invalidateAll();
   }
 
   @Override
@@ -17,6 +17,7 @@ package com.dremio.exec.planner.plancache;
 
 import static com.dremio.exec.planner.events.PlannerEventHandler.handle;
 import static com.dremio.exec.planner.physical.PlannerSettings.QUERY_PLAN_CACHE_ENABLED;
+import static com.dremio.exec.planner.physical.PlannerSettings.QUERY_PLAN_CACHE_PARAMETERIZE_LITERALS;
 import static com.dremio.exec.planner.plancache.PlanCacheMetrics.PlanCachePhases.PLAN_CACHE_PUT;
 import static com.dremio.exec.planner.plancache.PlanCacheMetrics.QueryOutcome.NOT_PUT_BLACKLISTED;
 import static com.dremio.exec.planner.plancache.PlanCacheMetrics.QueryOutcome.NOT_PUT_DYNAMIC_FUNCTION;
@@ -43,6 +44,7 @@ import com.dremio.exec.planner.physical.PlannerSettings;
 import com.dremio.exec.planner.physical.Prel;
 import com.dremio.exec.planner.physical.explain.PrelSequencer;
 import com.dremio.exec.planner.physical.visitor.WriterPathUpdater;
+import com.dremio.exec.planner.plancache.ParameterizedPlanIndex.ParameterizedPlan;
 import com.dremio.exec.planner.plancache.PlanCacheMetrics.PlanCacheEvent;
 import com.dremio.exec.planner.sql.handlers.SqlHandlerConfig;
 import com.dremio.exec.proto.UserBitShared.WorkloadType;
@@ -59,6 +61,7 @@ import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 import java.util.stream.Collectors;
+import javax.annotation.Nullable;
 import org.apache.calcite.plan.RelOptUtil;
 import org.apache.calcite.rel.RelNode;
 import org.apache.calcite.sql.SqlExplainLevel;
@@ -67,6 +70,9 @@ import org.apache.calcite.sql.SqlOperator;
 import org.apache.calcite.sql.dialect.CalciteSqlDialect;
 
 public class PlanCacheUtils {
+  // the materialization hash of the queries which consider no reflection
+  private static final String NO_MATERIALIZATION_HASH =
+      Hashing.sha256().newHasher().hash().toString();
 
   public static void putIntoPlanCache(
       SqlHandlerConfig config,
@@ -76,6 +82,23 @@ public class PlanCacheUtils {
       RelNode drel,
       Prel prel,
       List<SqlOperator> uncacheableFunctions) {
+    putIntoPlanCache(
+        config, sqlNode, planCache, cachedKey, null, drel, prel, uncacheableFunctions);
+  }
+
+  /**
+   * Puts the plan of a query into the plan cache and, if the query was parameterized, indexes it by
+   * the shape of the query.
+   */
+  public static void putIntoPlanCache(
+      SqlHandlerConfig config,
+      SqlNode sqlNode,
+      PlanCache planCache,
+      PlanCacheKey cachedKey,
+      @Nullable ParameterizedQuery parameterizedQuery,
+      RelNode drel,
+      Prel prel,
+      List<SqlOperator> uncacheableFunctions) {
     if (!config.getConverter().getOptionResolver().getOption(QUERY_PLAN_CACHE_ENABLED)) {
       return;
     }
@@ -88,7 +111,15 @@ public class PlanCacheUtils {
             .register(handle(PlanCacheEvent.class, events::add))) {
       // after we generate a physical plan, save it in the plan cache if plan cache is present
       if (PlanCacheUtils.supportPlanCache(config, sqlNode, uncacheableFunctions, drel)) {
-        planCache.putCachedPlan(config, cachedKey, prel);
+        // the plan is parameterized before it's cached, as caching it may dispose its planner
+        ParameterizedPlanIndex index = planCache.getParameterizedPlanIndex();
+        ParameterizedPlan parameterizedPlan =
+            parameterizedQuery == null || index == null
+                ? null
+                : ParameterizedPlan.create(cachedKey, parameterizedQuery, prel);
+        if (planCache.putCachedPlan(config, cachedKey, prel) && parameterizedPlan != null) {
+          index.put(parameterizedQuery, parameterizedPlan);
+        }
       } else {
         events.add(PlanCacheMetrics.createUncacheablePlan());
         PlanCacheMetrics.reportPhase(
@@ -145,6 +176,78 @@ public class PlanCacheUtils {
     QueryContext context = sqlHandlerConfig.getContext();
     Hasher hasher = Hashing.sha256().newHasher();
 
+    hasher
+        .putString(sqlNode.toSqlString(CalciteSqlDialect.DEFAULT).getSql(), UTF_8)
+        .putString(RelOptUtil.toString(relNode), UTF_8);
+    hashQueryEnvironment(hasher, context);
+
+    HashCode materializationHash = hashDremioMaterializationList(sqlHandlerConfig, relNode);
+
+    return new PlanCacheKey(hasher.hash(), materializationHash);
+  }
+
+  /**
+   * Generates the parameterized shape of a query, which is hashed like its plan cache key but with
+   * the literals of the query replaced by parameters.
+   *
+   * @return the shape, or null if parameterized plans are disabled or the query can't be
+   *     parameterized. Queries which may be matched by reflections are not parameterized, as the
+   *     reflections which match a query may depend on the values of its literals.
+   */
+  public static @Nullable ParameterizedQuery parameterize(
+      SqlHandlerConfig sqlHandlerConfig,
+      SqlNode sqlNode,
+      RelNode relNode,
+      PlanCacheKey planCacheKey) {
+    QueryContext context = sqlHandlerConfig.getContext();
+    if (!context.getOptions().getOption(QUERY_PLAN_CACHE_PARAMETERIZE_LITERALS)
+        || sqlHandlerConfig.getPlanCache().getParameterizedPlanIndex() == null
+        || !NO_MATERIALIZATION_HASH.equals(planCacheKey.getMaterializationHashString())) {
+      return null;
+    }
+    String sqlShape = ParameterizedQuery.parameterizeSql(sqlNode);
+    if (sqlShape == null) {
+      return null;
+    }
+
+    Hasher hasher = Hashing.sha256().newHasher();
+    hasher.putString(sqlShape, UTF_8);
+    hashQueryEnvironment(hasher, context);
+    return ParameterizedQuery.create(relNode, hasher);
+  }
+
+  /**
+   * Looks up the cached plan of a query with the same shape as the given query, and rebinds its
+   * literals to the literals of the query.
+   *
+   * @return the plan of the query, or null if there is no such cached plan
+   */
+  public static @Nullable PrelAndTextPlan extractParameterizedPrel(
+      SqlHandlerConfig sqlHandlerConfig,
+      PlanCache planCache,
+      PlanCacheKey planCacheKey,
+      ParameterizedQuery parameterizedQuery) {
+    ParameterizedPlanIndex index = planCache.getParameterizedPlanIndex();
+    ParameterizedPlan parameterizedPlan = index == null ? null : index.get(parameterizedQuery);
+    if (parameterizedPlan == null) {
+      return null;
+    }
+    PlanCacheEntry planCacheEntry =
+        planCache.getIfPresentAndValid(
+            sqlHandlerConfig, parameterizedPlan.getPlanCacheKey(planCacheKey));
+    if (planCacheEntry == null) {
+      return null;
+    }
+    RelNode prel =
+        parameterizedPlan.bind(planCacheEntry.getPrel(), parameterizedQuery.getLiterals());
+    if (prel == null) {
+      return null;
+    }
+    return extractPrel(sqlHandlerConfig, (Prel) prel);
+  }
+
+  /** Hashes the properties of the query context which change the plan of a query. */
+  private static void hashQueryEnvironment(Hasher hasher, QueryContext context) {
     String workloadType = context.getWorkloadType().name();
     if (workloadType.equals(WorkloadType.DDL.name())
         || workloadType.equals(WorkloadType.FLIGHT.name())
@@ -154,8 +257,6 @@ public class PlanCacheUtils {
     }
 
     hasher
-        .putString(sqlNode.toSqlString(CalciteSqlDialect.DEFAULT).getSql(), UTF_8)
-        .putString(RelOptUtil.toString(relNode), UTF_8)
         .putString(workloadType, UTF_8)
         .putString(context.getContextInformation().getCurrentDefaultSchema(), UTF_8);
 
@@ -174,10 +275,6 @@ public class PlanCacheUtils {
               hasher.putInt(v.getExecutorNodeCount());
               hasher.putLong(v.getAverageExecutorCores(context.getOptions()));
             });
-
-    HashCode materializationHash = hashDremioMaterializationList(sqlHandlerConfig, relNode);
-
-    return new PlanCacheKey(hasher.hash(), materializationHash);
   }
 
   /**
@@ -187,9 +284,12 @@ public class PlanCacheUtils {
    */
   public static PrelAndTextPlan extractPrel(
       SqlHandlerConfig sqlHandlerConfig, PlanCacheEntry planCacheEntry) {
+    return extractPrel(sqlHandlerConfig, planCacheEntry.getPrel());
+  }
+
+  private static PrelAndTextPlan extractPrel(SqlHandlerConfig sqlHandlerConfig, Prel prel) {
     PlannerSettings plannerSettings = sqlHandlerConfig.getContext().getPlannerSettings();
     AttemptObserver attemptObserver = sqlHandlerConfig.getObserver();
-    Prel prel = planCacheEntry.getPrel();
 
     // After the plan has been cached during planning, the job could be canceled during
     // execution.
@@ -40,16 +40,27 @@ public class ReportingPlanCache implements PlanCache {
   private final PlannerEventBus plannerEventBus;
   private final AttemptObserver attemptObserver;
   private final OptionResolver optionResolver;
+  private final @Nullable ParameterizedPlanIndex parameterizedPlanIndex;
 
   public ReportingPlanCache(
       PlanCache planCache,
       PlannerEventBus plannerEventBus,
       AttemptObserver attemptObserver,
       OptionResolver optionResolver) {
+    this(planCache, plannerEventBus, attemptObserver, optionResolver, null);
+  }
+
+  public ReportingPlanCache(
+      PlanCache planCache,
+      PlannerEventBus plannerEventBus,
+      AttemptObserver attemptObserver,
+      OptionResolver optionResolver,
+      @Nullable ParameterizedPlanIndex parameterizedPlanIndex) {
     this.planCache = planCache;
     this.plannerEventBus = plannerEventBus;
     this.attemptObserver = attemptObserver;
     this.optionResolver = optionResolver;
+    this.parameterizedPlanIndex = parameterizedPlanIndex;
   }
 
   @Override
@@ -98,4 +109,9 @@ public class ReportingPlanCache implements PlanCache {
       PlanCacheMetrics.reportPhase(attemptObserver, PLAN_CACHE_CHECK, key, events, stopwatch);
     }
   }
+
+  @Override
+  public @Nullable ParameterizedPlanIndex getParameterizedPlanIndex() {
+    return parameterizedPlanIndex;
+  }
 }
@@ -20,7 +20,9 @@ import com.dremio.exec.planner.CheapestPlanWithReflectionVisitor;
 import com.dremio.exec.planner.DremioHepPlanner;
 import com.dremio.exec.planner.DremioVolcanoPlanner;
 import com.dremio.exec.planner.MatchCountListener;
+import com.dremio.exec.planner.PhaseTimeBudget;
 import com.dremio.exec.planner.PlannerPhase;
+import com.dremio.exec.planner.PlannerRuleStatsRegistry;
 import com.dremio.exec.planner.PlannerType;
 import com.dremio.exec.planner.StatelessRelShuttleImpl;
 import com.dremio.exec.planner.acceleration.MaterializationList;
@@ -129,6 +131,8 @@ public class PlannerUtil {
               converter.getCostFactory(),
               phase,
               matchCountListener);
+      final PhaseTimeBudget timeBudget = PhaseTimeBudget.of(plannerSettings, input);
+      hepPlanner.setPhaseTimeBudget(timeBudget);
       hepPlanner.setExecutor(
           new ConstExecutor(
               converter.getFunctionImplementationRegistry(),
@@ -157,6 +161,7 @@ public class PlannerUtil {
                 // In case of an exception, lets collect planner rule stats, so we don't lose them
                 PlanLogUtil.log(plannerType, phase, input, LOGGER, null);
                 List<PlannerPhaseRulesStats> stats = matchCountListener.getRulesBreakdownStats();
+                recordRulesStats(config, phase, timeBudget, stats);
                 config.getObserver().planRelTransform(phase, planner, input, input, 0, stats);
               } catch (Throwable unexpected) {
                 t.addSuppressed(unexpected);
@@ -165,6 +170,7 @@ public class PlannerUtil {
             }
             List<PlannerPhaseRulesStats> rulesBreakdownStats =
                 matchCountListener.getRulesBreakdownStats();
+            recordRulesStats(config, phase, timeBudget, rulesBreakdownStats);
             if (log) {
               LOGGER.debug("Phase: {}", phase);
               LOGGER.debug(matchCountListener.toString());
@@ -182,6 +188,8 @@ public class PlannerUtil {
       volcanoPlanner.setPlannerPhase(phase);
       volcanoPlanner.setNoneConventionHasInfiniteCost(
           (phase != PlannerPhase.JDBC_PUSHDOWN) && (phase != PlannerPhase.RELATIONAL_PLANNING));
+      final PhaseTimeBudget timeBudget = PhaseTimeBudget.of(plannerSettings, input);
+      volcanoPlanner.setPhaseTimeBudget(timeBudget);
       final Program program = Programs.of(rules);
 
       // Modify RelMetaProvider for every RelNode in the SQL operator Rel tree.
@@ -205,6 +213,7 @@ public class PlannerUtil {
                       volcanoPlanner, input, toTraits, ImmutableList.of(), ImmutableList.of());
               List<PlannerPhaseRulesStats> rulesBreakdownStats =
                   volcanoPlanner.getMatchCountListener().getRulesBreakdownStats();
+              recordRulesStats(config, phase, timeBudget, rulesBreakdownStats);
               if (log) {
                 LOGGER.debug("Phase: {}", phase);
                 LOGGER.debug(volcanoPlanner.getMatchCountListener().toString());
@@ -216,6 +225,7 @@ public class PlannerUtil {
                 PlanLogUtil.log(plannerType, phase, input, LOGGER, null);
                 List<PlannerPhaseRulesStats> stats =
                     volcanoPlanner.getMatchCountListener().getRulesBreakdownStats();
+                recordRulesStats(config, phase, timeBudget, stats);
                 config.getObserver().planRelTransform(phase, planner, input, input, 0, stats);
               } catch (Throwable unexpected) {
                 t.addSuppressed(unexpected);
@@ -223,6 +233,7 @@ public class PlannerUtil {
               throw t;
             } finally {
               substitutions.setEnabled(false);
+              volcanoPlanner.setPhaseTimeBudget(PhaseTimeBudget.UNLIMITED);
             }
           };
     }
@@ -230,6 +241,29 @@ public class PlannerUtil {
     return doTransform(config, plannerType, phase, planner, input, log, toPlan);
   }
 
+  /**
+   * Adds the statistics of the rules of a phase to the cumulative statistics of the coordinator,
+   * and records in the profile when the phase stopped early because its time budget was exhausted.
+   */
+  private static void recordRulesStats(
+      SqlHandlerConfig config,
+      PlannerPhase phase,
+      PhaseTimeBudget timeBudget,
+      List<PlannerPhaseRulesStats> rulesBreakdownStats) {
+    PlannerRuleStatsRegistry.record(phase, rulesBreakdownStats);
+    if (timeBudget.wasExhausted()) {
+      config
+          .getObserver()
+          .planStepLogging(
+              PlannerPhase.PLAN_TIME_BUDGET,
+              String.format(
+                  "Phase %s stopped exploring after its time budget of %d ms, and kept the"
+                      + " best plan found so far.",
+                  phase.description, timeBudget.getBudgetMillis()),
+              0);
+    }
+  }
+
   @WithSpan("transform-plan")
   private static RelNode doTransform(
       SqlHandlerConfig config,
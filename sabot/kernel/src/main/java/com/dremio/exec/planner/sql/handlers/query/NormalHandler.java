@@ -28,6 +28,7 @@ import com.dremio.exec.planner.events.PlannerEventHandler;
 import com.dremio.exec.planner.logical.Rel;
 import com.dremio.exec.planner.physical.PlannerSettings;
 import com.dremio.exec.planner.physical.Prel;
+import com.dremio.exec.planner.plancache.ParameterizedQuery;
 import com.dremio.exec.planner.plancache.PlanCache;
 import com.dremio.exec.planner.plancache.PlanCacheEntry;
 import com.dremio.exec.planner.plancache.PlanCacheKey;
@@ -103,8 +104,22 @@ public class NormalHandler implements SqlToPlanHandler {
           PlanCacheUtils.generateCacheKey(config, sqlNode, convertedRelNode.getConvertedNode());
       planCacheEntry = planCache.getIfPresentAndValid(config, cachedKey);
 
+      final ParameterizedQuery parameterizedQuery =
+          planCacheEntry == null
+              ? PlanCacheUtils.parameterize(
+                  config, sqlNode, convertedRelNode.getConvertedNode(), cachedKey)
+              : null;
+      final PrelAndTextPlan parameterizedPlan =
+          parameterizedQuery == null
+              ? null
+              : PlanCacheUtils.extractParameterizedPrel(
+                  config, planCache, cachedKey, parameterizedQuery);
+
       Prel prel;
-      if (planCacheEntry == null) {
+      if (parameterizedPlan != null) {
+        prel = parameterizedPlan.getPrel();
+        textPlan = parameterizedPlan.getTextPlan();
+      } else if (planCacheEntry == null) {
         DrelPrelAndTextPlan drelPrelAndTextPlan =
             planLogicalAndPhysical(config, convertedRelNode, this::postConvertToDrel);
         // These probably should be emmited as events instead mutating the properties.
@@ -120,6 +135,7 @@ public class NormalHandler implements SqlToPlanHandler {
             sqlNode,
             planCache,
             cachedKey,
+            parameterizedQuery,
             drel,
             prel,
             uncacheableFunctionDetectedEventHandler.getUncacheableFunctions());
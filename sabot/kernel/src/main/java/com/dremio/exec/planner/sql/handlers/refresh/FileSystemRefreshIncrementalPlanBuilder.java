@@ -24,6 +24,7 @@ import com.dremio.connector.metadata.DatasetSplit;
 import com.dremio.connector.metadata.PartitionChunk;
 import com.dremio.connector.metadata.PartitionChunkListing;
 import com.dremio.connector.metadata.PartitionValue;
+import com.dremio.datastore.LegacyProtobufSerializer;
 import com.dremio.exec.planner.physical.PlannerSettings;
 import com.dremio.exec.planner.physical.Prel;
 import com.dremio.exec.planner.physical.PrelUtil;
@@ -33,8 +34,13 @@ import com.dremio.exec.store.DatasetRetrievalOptions;
 import com.dremio.exec.store.PartitionChunkListingImpl;
 import com.dremio.exec.store.dfs.FileSelection;
 import com.dremio.exec.store.dfs.FileSystemPlugin;
+import com.dremio.exec.store.file.proto.FileProtobuf;
+import com.dremio.exec.store.iceberg.SupportsFsCreation;
 import com.dremio.exec.store.iceberg.model.IcebergCommandType;
 import com.dremio.exec.store.metadatarefresh.dirlisting.DirListingInvocationPrel;
+import com.dremio.exec.store.metadatarefresh.dirlisting.IncrementalDirListing;
+import com.dremio.io.file.FileSystem;
+import com.dremio.options.OptionManager;
 import com.dremio.service.namespace.dataset.proto.DatasetConfig;
 import com.dremio.service.namespace.dataset.proto.DatasetType;
 import com.dremio.service.namespace.dirlist.proto.DirListInputSplitProto;
@@ -42,10 +48,13 @@ import com.dremio.service.namespace.file.proto.FileType;
 import com.google.common.base.Preconditions;
 import com.google.common.collect.ImmutableList;
 import io.opentelemetry.instrumentation.annotations.WithSpan;
+import io.protostuff.ByteString;
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.Optional;
 
 /** Builds plan for filesystems in case of incremental and partial refresh. */
 public class FileSystemRefreshIncrementalPlanBuilder extends FileSystemFullRefreshPlanBuilder
@@ -53,6 +62,7 @@ public class FileSystemRefreshIncrementalPlanBuilder extends FileSystemFullRefre
 
   private final boolean isPartialRefresh;
   private PartitionChunk inputPartitionChunk;
+  private IncrementalDirListing incrementalDirListing;
 
   public FileSystemRefreshIncrementalPlanBuilder(
       SqlHandlerConfig config,
@@ -96,6 +106,10 @@ public class FileSystemRefreshIncrementalPlanBuilder extends FileSystemFullRefre
               .setIsFile(super.isFileDataset)
               .build();
     } else {
+      incrementalDirListing = computeIncrementalDirListing().orElse(null);
+      if (incrementalDirListing != null) {
+        return listChangedDirectories(incrementalDirListing);
+      }
       dirListInputSplit =
           DirListInputSplitProto.DirListInputSplit.newBuilder()
               .setRootPath(datasetPath.toString())
@@ -111,6 +125,64 @@ public class FileSystemRefreshIncrementalPlanBuilder extends FileSystemFullRefre
     return partitionChunkListing;
   }
 
+  private Optional<IncrementalDirListing> computeIncrementalDirListing() {
+    OptionManager options = config.getContext().getOptions();
+    ByteString readSignature =
+        metadataProvider.getDatasetConfig().getReadDefinition().getReadSignature();
+    if (!options.getOption(PlannerSettings.METADATA_REFRESH_INCREMENTAL_DIR_LISTING)
+        || isFileDataset
+        || readSignature == null) {
+      return Optional.empty();
+    }
+
+    long hotWindow = options.getOption(PlannerSettings.METADATA_REFRESH_HOT_WINDOW_MILLIS);
+    try {
+      FileSystem fs =
+          plugin.createFS(
+              SupportsFsCreation.builder()
+                  .filePath(datasetPath.toString())
+                  .withSystemUserName()
+                  .dataset(tableNSKey.getPathComponents()));
+      return IncrementalDirListing.compute(
+          fs,
+          LegacyProtobufSerializer.parseFrom(
+              FileProtobuf.FileUpdateKey.parser(), readSignature.toByteArray()),
+          hotWindow > 0 ? System.currentTimeMillis() - hotWindow : Long.MAX_VALUE,
+          (int)
+              options.getOption(PlannerSettings.METADATA_REFRESH_INCREMENTAL_DIR_LISTING_MAX_DIRS));
+    } catch (IOException e) {
+      logger.warn(
+          "Unable to find the changed directories of {}, listing the whole dataset",
+          datasetPath,
+          e);
+      return Optional.empty();
+    }
+  }
+
+  private PartitionChunkListing listChangedDirectories(IncrementalDirListing dirListing) {
+    PartitionChunkListingImpl partitionChunkListing = new PartitionChunkListingImpl();
+    for (String path : dirListing.getChangedDirectories()) {
+      partitionChunkListing.put(Collections.emptyList(), listSplit(path, false));
+    }
+    for (String path : dirListing.getNewDirectories()) {
+      partitionChunkListing.put(Collections.emptyList(), listSplit(path, true));
+    }
+    partitionChunkListing.computePartitionChunks();
+    return partitionChunkListing;
+  }
+
+  private DatasetSplit listSplit(String operatingPath, boolean isRecursive) {
+    DirListInputSplitProto.DirListInputSplit dirListInputSplit =
+        DirListInputSplitProto.DirListInputSplit.newBuilder()
+            .setRootPath(datasetPath.toString())
+            .setOperatingPath(operatingPath)
+            .setReadSignature(Long.MAX_VALUE)
+            .setIsFile(false)
+            .setIsRecursive(isRecursive)
+            .build();
+    return DatasetSplit.of(Collections.emptyList(), 1, 1, dirListInputSplit::writeTo);
+  }
+
   @Override
   public Prel getDataFileListingPrel() {
     final FileSystemPlugin<?> metaStoragePlugin =
@@ -132,7 +204,8 @@ public class FileSystemRefreshIncrementalPlanBuilder extends FileSystemFullRefre
         metadataProvider,
         paths,
         x -> getRowCountEstimates("DirList"),
-        ImmutableList.of());
+        ImmutableList.of(),
+        incrementalDirListing);
   }
 
   @Override
@@ -15,6 +15,7 @@
  */
 package com.dremio.exec.server;
 
+import com.dremio.exec.planner.acceleration.descriptor.MaterializationCandidateIndex;
 import com.dremio.exec.planner.acceleration.descriptor.MaterializationDescriptor;
 import com.dremio.exec.planner.logical.ViewTable;
 import com.google.common.collect.ImmutableList;
@@ -30,6 +31,14 @@ public interface MaterializationDescriptorProvider {
    */
   List<MaterializationDescriptor> get();
 
+  /**
+   * Provides an index of the materialization instances returned by {@link #get()}, to select the
+   * ones which may be applicable to a query without checking all of them.
+   */
+  default MaterializationCandidateIndex getCandidateIndex() {
+    return new MaterializationCandidateIndex(get());
+  }
+
   /**
    * Returns the default raw materialization that provider considers for substitution for the VDS
    * with the given path
@@ -68,6 +68,7 @@ import com.dremio.sabot.exec.store.deltalake.proto.DeltaLakeProtobuf;
 import com.dremio.sabot.exec.store.easy.proto.EasyProtobuf;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.base.Throwables;
 import com.google.common.collect.ImmutableList;
 import java.io.FileNotFoundException;
 import java.io.IOException;
@@ -81,6 +82,8 @@ import java.util.List;
 import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.stream.Collectors;
 import org.apache.arrow.memory.BufferAllocator;
 import org.apache.arrow.vector.BigIntVector;
@@ -130,6 +133,8 @@ public class DeltaLogCheckpointParquetReader implements DeltaLogReader {
   private Map<String, String> configuration = null;
   private boolean protocolVersionFound = false;
   private boolean schemaFound = false;
+  // Whether the row count estimate keeps reading until the protocol and metadata are found
+  private boolean requireMetadata = true;
 
   private long rowSizeEstimateForSmallFile = 0L;
   private long rowSizeEstimateForLargeFile = 0L;
@@ -150,6 +155,103 @@ public class DeltaLogCheckpointParquetReader implements DeltaLogReader {
       List<FileAttributes> fileAttributesList,
       long version)
       throws IOException {
+    final OptionManager options = pluginSabotContext.getOptionManager();
+    final boolean isMapDataTypeEnabled = options.getOption(ExecConstants.ENABLE_MAP_DATA_TYPE);
+
+    try {
+      fileAttributesList.sort(Comparator.comparing(o -> o.getPath().toString()));
+
+      List<DatasetSplit> snapSplitsList = null;
+      if (fileAttributesList.size() > 1
+          && options.getOption(ExecConstants.DELTALAKE_PARALLEL_METADATA_READ)) {
+        snapSplitsList =
+            readPartsInParallel(rootFolder, pluginSabotContext, fs, fileAttributesList, version);
+      }
+      if (snapSplitsList == null) {
+        snapSplitsList = readParts(rootFolder, pluginSabotContext, fs, fileAttributesList, version);
+      }
+
+      // None of the checkpoint files have the metadata - protocol version and schema
+      if (!protocolVersionFound || !schemaFound) {
+        throw UserException.invalidMetadataError()
+            .message(
+                "Metadata read Failed. Malformed checkpoint parquet files(s) %s",
+                fileAttributesList.stream()
+                    .map(FileAttributes::getPath)
+                    .collect(Collectors.toList()))
+            .buildSilently();
+      }
+
+      if (noStatsFileSize > 0L) {
+        // when noStatsFileSize>0, we need further estimate rowCount by using noStatsFileSize /
+        // estimatedRecordSize
+        // where estimatedRecordSize is based on schema
+        if (schemaString != null && !schemaString.isEmpty()) {
+          // don't care about column mapping here
+          BatchSchema schema =
+              DeltaLakeSchemaConverter.newBuilder()
+                  .withMapEnabled(isMapDataTypeEnabled)
+                  .build()
+                  .fromSchemaString(schemaString);
+          int estimatedRecordSize =
+              schema.estimateRecordSize(
+                  (int) options.getOption(ExecConstants.BATCH_LIST_SIZE_ESTIMATE),
+                  (int) options.getOption(ExecConstants.BATCH_VARIABLE_FIELD_SIZE_ESTIMATE));
+          netRecordsAdded += noStatsFileSize / estimatedRecordSize;
+          logger.warn(
+              "stats info for {} not supplied, estimated row count {} based on file size",
+              fileAttributesList.stream().map(FileAttributes::getPath).collect(Collectors.toList()),
+              noStatsFileSize / estimatedRecordSize);
+        } else {
+          // In theory, it should not happen
+          netRecordsAdded += noStatsFileSize;
+          logger.warn(
+              "stats info for {} not supplied, estimated row count {} based on file size with NO schema",
+              fileAttributesList.stream().map(FileAttributes::getPath).collect(Collectors.toList()),
+              noStatsFileSize);
+        }
+      }
+
+      logger.debug("Total rows read for combined multi-part checkpoint files: {}", numRowsRead);
+      long estimatedNetBytesAdded =
+          Math.round((netBytesAdded * netFilesAdded * 1.0) / numFilesReadToEstimateRowCount);
+      long estimatedNetRecordsAdded =
+          Math.round((netRecordsAdded * netFilesAdded * 1.0) / numFilesReadToEstimateRowCount);
+
+      logger.debug(
+          "Stat Estimations: netFilesAdded {}, estimatedNetBytesAdded {}, estimatedNetRecordsAdded {}",
+          netFilesAdded,
+          estimatedNetBytesAdded,
+          estimatedNetRecordsAdded);
+      final DeltaLogSnapshot snap =
+          new DeltaLogSnapshot(
+              "UNKNOWN",
+              netFilesAdded,
+              estimatedNetBytesAdded,
+              estimatedNetRecordsAdded,
+              netFilesAdded,
+              System.currentTimeMillis(),
+              true);
+      snap.setSchema(schemaString, partitionCols, configuration);
+      snap.setSplits(snapSplitsList);
+      return snap;
+    } catch (IOException e) {
+      logger.error("IOException occurred while reading deltalake table", e);
+      throw e;
+    } catch (Exception e) {
+      logger.error("Exception occurred while reading deltalake table", e);
+      throw new IOException(e);
+    }
+  }
+
+  /** Reads the given checkpoint parts one after the other, and returns their splits. */
+  private List<DatasetSplit> readParts(
+      Path rootFolder,
+      PluginSabotContext pluginSabotContext,
+      FileSystem fs,
+      List<FileAttributes> fileAttributesList,
+      long version)
+      throws Exception {
     maxFooterLen =
         pluginSabotContext
             .getOptionManager()
@@ -164,8 +266,6 @@ public class DeltaLogCheckpointParquetReader implements DeltaLogReader {
             .getOption(ExecConstants.DELTALAKE_MAX_ADDED_FILE_ESTIMATION_LIMIT);
     final boolean isFullRowCountEnabled =
         DeltaLogReaderUtils.isFullRowCountEnabled(pluginSabotContext.getOptionManager());
-    final boolean isMapDataTypeEnabled =
-        pluginSabotContext.getOptionManager().getOption(ExecConstants.ENABLE_MAP_DATA_TYPE);
 
     try (BufferAllocator allocator =
             pluginSabotContext
@@ -173,8 +273,6 @@ public class DeltaLogCheckpointParquetReader implements DeltaLogReader {
                 .newChildAllocator(BUFFER_ALLOCATOR_NAME, 0, Long.MAX_VALUE);
         OperatorContextImpl operatorContext = createOperatorContext(pluginSabotContext, allocator);
         SampleMutator mutator = new SampleMutator(allocator)) {
-      fileAttributesList.sort(Comparator.comparing(o -> o.getPath().toString()));
-
       List<DatasetSplit> snapSplitsList = new ArrayList<>();
 
       for (FileAttributes fileAttributesCurrent : fileAttributesList) {
@@ -247,83 +345,80 @@ public class DeltaLogCheckpointParquetReader implements DeltaLogReader {
             numFilesReadToEstimateRowCount);
       }
 
-      // None of the checkpoint files have the metadata - protocol version and schema
-      if (!protocolVersionFound || !schemaFound) {
-        throw UserException.invalidMetadataError()
-            .message(
-                "Metadata read Failed. Malformed checkpoint parquet files(s) %s",
-                fileAttributesList.stream()
-                    .map(FileAttributes::getPath)
-                    .collect(Collectors.toList()))
-            .buildSilently();
-      }
+      return snapSplitsList;
+    }
+  }
 
-      if (noStatsFileSize > 0L) {
-        // when noStatsFileSize>0, we need further estimate rowCount by using noStatsFileSize /
-        // estimatedRecordSize
-        // where estimatedRecordSize is based on schema
-        if (schemaString != null && !schemaString.isEmpty()) {
-          // don't care about column mapping here
-          BatchSchema schema =
-              DeltaLakeSchemaConverter.newBuilder()
-                  .withMapEnabled(isMapDataTypeEnabled)
-                  .build()
-                  .fromSchemaString(schemaString);
-          int estimatedRecordSize =
-              schema.estimateRecordSize(
-                  (int)
-                      operatorContext
-                          .getOptions()
-                          .getOption(ExecConstants.BATCH_LIST_SIZE_ESTIMATE),
-                  (int)
-                      operatorContext
-                          .getOptions()
-                          .getOption(ExecConstants.BATCH_VARIABLE_FIELD_SIZE_ESTIMATE));
-          netRecordsAdded += noStatsFileSize / estimatedRecordSize;
-          logger.warn(
-              "stats info for {} not supplied, estimated row count {} based on file size",
-              fileAttributesList.stream().map(FileAttributes::getPath).collect(Collectors.toList()),
-              noStatsFileSize / estimatedRecordSize);
-        } else {
-          // In theory, it should not happen
-          netRecordsAdded += noStatsFileSize;
-          logger.warn(
-              "stats info for {} not supplied, estimated row count {} based on file size with NO schema",
-              fileAttributesList.stream().map(FileAttributes::getPath).collect(Collectors.toList()),
-              noStatsFileSize);
-        }
-      }
+  /**
+   * Reads each part of a multi-part checkpoint with a reader of its own on the checkpoint part
+   * pool, and sums up their counts. Only the first part has to find the protocol and metadata
+   * actions before its row count estimate may stop the read. Returns null, leaving this reader
+   * untouched, if they are found in none of the parts.
+   */
+  private List<DatasetSplit> readPartsInParallel(
+      Path rootFolder,
+      PluginSabotContext pluginSabotContext,
+      FileSystem fs,
+      List<FileAttributes> fileAttributesList,
+      long version)
+      throws Exception {
+    final List<DeltaLogCheckpointParquetReader> readers = new ArrayList<>();
+    final List<CompletableFuture<List<DatasetSplit>>> futures = new ArrayList<>();
+    for (FileAttributes fileAttributes : fileAttributesList) {
+      final DeltaLogCheckpointParquetReader reader = new DeltaLogCheckpointParquetReader();
+      reader.requireMetadata = readers.isEmpty();
+      readers.add(reader);
+      futures.add(
+          CompletableFuture.supplyAsync(
+              () -> {
+                try {
+                  return reader.readParts(
+                      rootFolder,
+                      pluginSabotContext,
+                      fs,
+                      Collections.singletonList(fileAttributes),
+                      version);
+                } catch (Exception e) {
+                  throw new CompletionException(e);
+                }
+              },
+              DeltaMetadataFetchPool.getCheckpointPartPool()));
+    }
 
-      logger.debug("Total rows read for combined multi-part checkpoint files: {}", numRowsRead);
-      long estimatedNetBytesAdded =
-          Math.round((netBytesAdded * netFilesAdded * 1.0) / numFilesReadToEstimateRowCount);
-      long estimatedNetRecordsAdded =
-          Math.round((netRecordsAdded * netFilesAdded * 1.0) / numFilesReadToEstimateRowCount);
+    final List<DatasetSplit> snapSplitsList = new ArrayList<>();
+    try {
+      for (CompletableFuture<List<DatasetSplit>> future : futures) {
+        snapSplitsList.addAll(future.join());
+      }
+    } catch (CompletionException e) {
+      Throwables.throwIfInstanceOf(e.getCause(), Exception.class);
+      throw e;
+    }
 
+    if (readers.stream().noneMatch(r -> r.protocolVersionFound)
+        || readers.stream().noneMatch(r -> r.schemaFound)) {
       logger.debug(
-          "Stat Estimations: netFilesAdded {}, estimatedNetBytesAdded {}, estimatedNetRecordsAdded {}",
-          netFilesAdded,
-          estimatedNetBytesAdded,
-          estimatedNetRecordsAdded);
-      final DeltaLogSnapshot snap =
-          new DeltaLogSnapshot(
-              "UNKNOWN",
-              netFilesAdded,
-              estimatedNetBytesAdded,
-              estimatedNetRecordsAdded,
-              netFilesAdded,
-              System.currentTimeMillis(),
-              true);
-      snap.setSchema(schemaString, partitionCols, configuration);
-      snap.setSplits(snapSplitsList);
-      return snap;
-    } catch (IOException e) {
-      logger.error("IOException occurred while reading deltalake table", e);
-      throw e;
-    } catch (Exception e) {
-      logger.error("Exception occurred while reading deltalake table", e);
-      throw new IOException(e);
+          "Protocol or metadata not found reading checkpoint parts {} in parallel",
+          fileAttributesList.stream().map(FileAttributes::getPath).collect(Collectors.toList()));
+      return null;
+    }
+
+    for (DeltaLogCheckpointParquetReader reader : readers) {
+      netBytesAdded += reader.netBytesAdded;
+      netRecordsAdded += reader.netRecordsAdded;
+      netFilesAdded += reader.netFilesAdded;
+      noStatsFileSize += reader.noStatsFileSize;
+      numRowsRead += reader.numRowsRead;
+      numFilesReadToEstimateRowCount += reader.numFilesReadToEstimateRowCount;
+      protocolVersionFound = protocolVersionFound || reader.protocolVersionFound;
+      if (!schemaFound && reader.schemaFound) {
+        schemaFound = true;
+        schemaString = reader.schemaString;
+        partitionCols = reader.partitionCols;
+        configuration = reader.configuration;
+      }
     }
+    return snapSplitsList;
   }
 
   private void processWithFullRowCount(
@@ -373,8 +468,7 @@ public class DeltaLogCheckpointParquetReader implements DeltaLogReader {
               ? false
               : isRowCountEstimateConverged
                   || isRecordEstimateConverged(prevRecordCntEstimate, newRecordCountEstimate);
-      if (protocolVersionFound
-          && schemaFound
+      if (hasRequiredMetadata()
           && (isRowCountEstimateConverged
               || numFilesReadToEstimateRowCount > numAddedFilesReadLimit)) {
         break;
@@ -386,6 +480,10 @@ public class DeltaLogCheckpointParquetReader implements DeltaLogReader {
     }
   }
 
+  private boolean hasRequiredMetadata() {
+    return !requireMetadata || (protocolVersionFound && schemaFound);
+  }
+
   private OperatorContextImpl createOperatorContext(
       PluginSabotContext context, BufferAllocator allocator) {
     final OperatorStats stats = new OperatorStats(new OpProfileDef(0, 0, 0), allocator);
@@ -18,6 +18,7 @@ package com.dremio.exec.store.deltalake;
 
 import com.dremio.common.exceptions.UserException;
 import com.dremio.connector.metadata.options.TimeTravelOption;
+import com.dremio.exec.ExecConstants;
 import com.dremio.exec.catalog.PluginSabotContext;
 import com.dremio.exec.store.dfs.FileSelection;
 import com.dremio.io.file.FileSystem;
@@ -47,7 +48,8 @@ import org.slf4j.LoggerFactory;
  * snapshots list.
  *
  * <p>Final list returned by method getListOfSnapshots. Call to this method is blocks the calling
- * thread until the fetch is complete.
+ * thread until the fetch is complete. If enabled, the list is kept in {@link DeltaSnapshotCache},
+ * and only the commits written since are read by later managers of the same table.
  *
  * <p>Initialisations possible are: 1) travelRequest == null then will return the list of snapshots
  * required for reading the latest version of the delta table 2) If a travelRequest is supplied then
@@ -68,7 +70,7 @@ public class DeltaMetadataFetchJobManager {
   private boolean fetchedMetadata = false;
   private final Path metadataDir;
 
-  private final BatchReader batchReader;
+  private BatchReader batchReader;
 
   public DeltaMetadataFetchJobManager(
       PluginSabotContext context,
@@ -106,9 +108,30 @@ public class DeltaMetadataFetchJobManager {
         selectionRoot,
         this.toString());
 
-    while (batchReader.readNextBatch()) {
-      List<DeltaLogSnapshot> batch = batchReader.readBatch();
-      snapshots.addAll(batch);
+    final DeltaSnapshotCache.Key cacheKey =
+        context.getOptionManager().getOption(ExecConstants.DELTALAKE_SNAPSHOT_CACHE_ENABLED)
+            ? DeltaSnapshotCache.key(fs, metadataDir, startVersion)
+            : null;
+    final List<DeltaLogSnapshot> cached =
+        cacheKey != null ? DeltaSnapshotCache.get(cacheKey) : null;
+    if (cached != null) {
+      snapshots.addAll(cached);
+      if (startVersion.isCheckpoint()) {
+        // read the commits written after the cached ones
+        long lastVersion =
+            cached.stream().mapToLong(DeltaLogSnapshot::getVersionId).max().getAsLong();
+        batchReader =
+            new BatchReader(
+                threadPool,
+                new DeltaMetadataFetchJobProducer(
+                    context, fs, metadataDir, DeltaVersion.ofCheckpoint(lastVersion + 1, 1)));
+        readBatches();
+      }
+    } else {
+      readBatches();
+    }
+    if (cacheKey != null && !snapshots.isEmpty()) {
+      DeltaSnapshotCache.put(cacheKey, snapshots);
     }
 
     logger.debug(
@@ -120,6 +143,13 @@ public class DeltaMetadataFetchJobManager {
     return snapshots;
   }
 
+  private void readBatches() {
+    while (batchReader.readNextBatch()) {
+      List<DeltaLogSnapshot> batch = batchReader.readBatch();
+      snapshots.addAll(batch);
+    }
+  }
+
   public boolean isReadLatest() {
     return startVersion.isCheckpoint();
   }
@@ -160,10 +190,17 @@ public class DeltaMetadataFetchJobManager {
     private int batchesRead = 0;
     private final AtomicBoolean readNextBatch = new AtomicBoolean(true);
     private int batchSize = 10;
+    // Reading forward, the batches double up to the pool size, as the number of commits is unknown
+    private boolean growBatches;
 
     private BatchReader(ThreadPoolExecutor threadPool, DeltaMetadataFetchJobProducer producer) {
       this.threadPool = threadPool;
       this.producer = producer;
+      this.growBatches =
+          startVersion.isCheckpoint()
+              && context
+                  .getOptionManager()
+                  .getOption(ExecConstants.DELTALAKE_PARALLEL_METADATA_READ);
     }
 
     private List<DeltaLogSnapshot> readBatch() {
@@ -200,6 +237,9 @@ public class DeltaMetadataFetchJobManager {
       }
 
       batchesRead++;
+      if (growBatches) {
+        batchSize = Math.max(batchSize, Math.min(2 * batchSize, DeltaMetadataFetchPool.POOL_SIZE));
+      }
       return snapshotList;
     }
 
@@ -269,6 +309,7 @@ public class DeltaMetadataFetchJobManager {
 
     private void setBatchesSize(int batchSize) {
       this.batchSize = batchSize;
+      this.growBatches = false;
     }
   }
 }
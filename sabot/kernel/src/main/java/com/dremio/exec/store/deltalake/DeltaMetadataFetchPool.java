@@ -44,7 +44,30 @@ public class DeltaMetadataFetchPool {
     }
   }
 
+  /**
+   * Checkpoint parts are read by the jobs of the metadata fetch pool, so they use a pool of their
+   * own to not wait on themselves.
+   */
+  private static class LazyCheckpointPartPoolHolder {
+    static final ThreadPoolExecutor THREAD_POOL =
+        new ThreadPoolExecutor(
+            POOL_SIZE,
+            POOL_SIZE,
+            1,
+            TimeUnit.SECONDS,
+            new LinkedBlockingQueue<>(),
+            new NamedThreadFactory("delta-checkpoint-part-read"));
+
+    static {
+      THREAD_POOL.allowCoreThreadTimeOut(true);
+    }
+  }
+
   public static ThreadPoolExecutor getPool() {
     return LazyThreadPoolHolder.THREAD_POOL;
   }
+
+  public static ThreadPoolExecutor getCheckpointPartPool() {
+    return LazyCheckpointPartPoolHolder.THREAD_POOL;
+  }
 }
@@ -0,0 +1,146 @@
+/*
+ * Copyright (C) 2017-2019 Dremio Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.dremio.exec.store.deltalake;
+
+import com.dremio.io.file.FileAttributes;
+import com.dremio.io.file.FileSystem;
+import com.dremio.io.file.Path;
+import com.dremio.service.namespace.file.proto.FileType;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.collect.ImmutableList;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Caches the snapshots read by {@link DeltaMetadataFetchJobManager} by Delta table and start
+ * version, so that later reads of the same version of a table reuse them. A table dropped and
+ * re-created at the same path writes its log files again, so the key also holds the length and
+ * modification time of the log file of the start version, and the snapshots of a previous table
+ * are not returned. Snapshots read forward from a checkpoint are only complete up to their last
+ * version, and are extended by the manager with the commits written since.
+ */
+final class DeltaSnapshotCache {
+
+  private static final Logger logger = LoggerFactory.getLogger(DeltaSnapshotCache.class);
+
+  private static final long MAX_WEIGHT_BYTES = 64L << 20;
+  private static final int SNAPSHOT_WEIGHT_BYTES = 256;
+  private static final int SPLIT_WEIGHT_BYTES = 256;
+
+  private static final Cache<Key, List<DeltaLogSnapshot>> CACHE =
+      Caffeine.newBuilder()
+          .expireAfterAccess(30, TimeUnit.MINUTES)
+          .maximumWeight(MAX_WEIGHT_BYTES)
+          .weigher((Key key, List<DeltaLogSnapshot> snapshots) -> weigh(snapshots))
+          .build();
+
+  private DeltaSnapshotCache() {
+    // Not to be instantiated
+  }
+
+  /**
+   * Returns the key of the snapshots read from a start version of a table, or null if the log file
+   * of the start version cannot be read and the snapshots are not to be cached.
+   */
+  static Key key(FileSystem fs, Path metadataDir, DeltaVersion startVersion) {
+    long version = startVersion.getVersion();
+    List<Path> startFiles = new ArrayList<>(2);
+    if (startVersion.isCheckpoint()) {
+      startFiles.add(
+          DeltaFilePathResolver.resolve(
+                  metadataDir, version, startVersion.getSubparts(), FileType.PARQUET)
+              .get(0));
+    }
+    // a table without checkpoints is read from its first commit
+    startFiles.add(DeltaFilePathResolver.resolve(metadataDir, version, 1, FileType.JSON).get(0));
+    for (Path startFile : startFiles) {
+      try {
+        return new Key(fs, metadataDir, startVersion, fs.getFileAttributes(startFile));
+      } catch (IOException e) {
+        logger.debug("Cannot read the attributes of {}", startFile, e);
+      }
+    }
+    return null;
+  }
+
+  /** Returns the snapshots read from a start version of a table, or null if not cached. */
+  static List<DeltaLogSnapshot> get(Key key) {
+    return CACHE.getIfPresent(key);
+  }
+
+  static void put(Key key, List<DeltaLogSnapshot> snapshots) {
+    CACHE.put(key, ImmutableList.copyOf(snapshots));
+  }
+
+  @VisibleForTesting
+  static void invalidateAll() {
+    CACHE.invalidateAll();
+  }
+
+  private static int weigh(List<DeltaLogSnapshot> snapshots) {
+    long weight = 0;
+    for (DeltaLogSnapshot snapshot : snapshots) {
+      weight += SNAPSHOT_WEIGHT_BYTES + (long) snapshot.getSplits().size() * SPLIT_WEIGHT_BYTES;
+      if (snapshot.getSchema() != null) {
+        weight += 2L * snapshot.getSchema().length();
+      }
+    }
+    return (int) Math.min(Integer.MAX_VALUE, weight);
+  }
+
+  static final class Key {
+    private final String tableUri;
+    private final DeltaVersion startVersion;
+    private final long startFileLength;
+    private final long startFileModificationTime;
+
+    private Key(
+        FileSystem fs, Path metadataDir, DeltaVersion startVersion, FileAttributes startFile) {
+      // the same path may point to different tables on different file systems
+      this.tableUri = String.valueOf(fs.getUri()) + metadataDir;
+      this.startVersion = startVersion;
+      this.startFileLength = startFile.size();
+      this.startFileModificationTime = startFile.lastModifiedTime().toMillis();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (o == null || getClass() != o.getClass()) {
+        return false;
+      }
+      Key key = (Key) o;
+      return tableUri.equals(key.tableUri)
+          && startVersion.equals(key.startVersion)
+          && startFileLength == key.startFileLength
+          && startFileModificationTime == key.startFileModificationTime;
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(tableUri, startVersion, startFileLength, startFileModificationTime);
+    }
+  }
+}
@@ -22,6 +22,7 @@ import static com.dremio.service.namespace.DatasetHelper.hasIcebergParquetDataFi
 import static com.dremio.service.namespace.DatasetHelper.hasParquetDataFiles;
 
 import com.dremio.common.exceptions.UserException;
+import com.dremio.exec.ExecConstants;
 import com.dremio.exec.calcite.logical.ScanCrel;
 import com.dremio.exec.catalog.conf.SourceType;
 import com.dremio.exec.ops.OptimizerRulesContext;
@@ -49,6 +50,7 @@ import com.dremio.exec.store.iceberg.IcebergScanPlanBuilder;
 import com.dremio.exec.store.iceberg.IcebergScanPrel;
 import com.dremio.exec.store.iceberg.InternalIcebergScanTableMetadata;
 import com.dremio.exec.store.mfunctions.TableFilesFunctionTableMetadata;
+import com.dremio.exec.store.parquet.ParquetRowGroupPruneRule;
 import com.dremio.exec.store.parquet.ParquetScanPrel;
 import com.dremio.service.namespace.DatasetHelper;
 import com.dremio.service.namespace.capabilities.SourceCapabilities;
@@ -327,6 +329,12 @@ public class FileSystemRulesFactory extends StoragePluginTypeRulesFactory {
               new PruneScanRuleFilterOnSampleScan<>(
                   pluginType, FilesystemScanDrel.class, optimizerContext));
         }
+        if (optimizerContext
+            .getPlannerSettings()
+            .getOptions()
+            .getOption(ExecConstants.PARQUET_ROW_GROUP_INDEX)) {
+          builder.add(new ParquetRowGroupPruneRule(pluginType));
+        }
 
         return builder.build();
 
@@ -376,7 +384,7 @@ public class FileSystemRulesFactory extends StoragePluginTypeRulesFactory {
         && datasetPointer.getFormatSettings().getType() == FileType.DELTA;
   }
 
-  private static boolean isParquetDataset(TableMetadata datasetPointer) {
+  public static boolean isParquetDataset(TableMetadata datasetPointer) {
     return datasetPointer.getFormatSettings() != null
         && !isIcebergMetadata(datasetPointer)
         && DatasetHelper.hasParquetDataFiles(datasetPointer.getFormatSettings());
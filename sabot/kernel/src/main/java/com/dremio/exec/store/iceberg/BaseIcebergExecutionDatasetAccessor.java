@@ -170,6 +170,20 @@ public abstract class BaseIcebergExecutionDatasetAccessor
         icebergDatasetBuilder.setPartitionStatsFileSize(partitionStatsFileAttrs.fileLength());
       }
     }
+    if (snapshot != null) {
+      IcebergNdvStatistics.getNdvs(table, snapshot.snapshotId())
+          .forEach(
+              (fieldId, ndv) -> {
+                String columnName = schema.findColumnName(fieldId);
+                if (columnName != null) {
+                  icebergDatasetBuilder.addColumnNdvs(
+                      IcebergProtobuf.IcebergColumnNdv.newBuilder()
+                          .setSchemaPath(columnName)
+                          .setNdv(ndv)
+                          .build());
+                }
+              });
+    }
     final BytesOutput extraInfo = icebergDatasetBuilder.build()::writeTo;
 
     Map<Integer, PartitionSpec> specsMap = table.specs();
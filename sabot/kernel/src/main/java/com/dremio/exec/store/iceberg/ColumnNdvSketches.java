@@ -0,0 +1,288 @@
+/*
+ * Copyright (C) 2017-2019 Dremio Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.dremio.exec.store.iceberg;
+
+import com.dremio.exec.record.VectorAccessible;
+import com.dremio.exec.record.VectorWrapper;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import org.apache.arrow.vector.BigIntVector;
+import org.apache.arrow.vector.BitVector;
+import org.apache.arrow.vector.DateMilliVector;
+import org.apache.arrow.vector.Float4Vector;
+import org.apache.arrow.vector.Float8Vector;
+import org.apache.arrow.vector.IntVector;
+import org.apache.arrow.vector.TimeMilliVector;
+import org.apache.arrow.vector.TimeStampMilliVector;
+import org.apache.arrow.vector.ValueVector;
+import org.apache.arrow.vector.VarBinaryVector;
+import org.apache.arrow.vector.VarCharVector;
+import org.apache.datasketches.memory.Memory;
+import org.apache.datasketches.theta.CompactSketch;
+import org.apache.datasketches.theta.SetOperation;
+import org.apache.datasketches.theta.Sketch;
+import org.apache.datasketches.theta.Union;
+import org.apache.datasketches.theta.UpdateSketch;
+import org.apache.iceberg.Schema;
+import org.apache.iceberg.types.Types;
+
+/**
+ * Theta sketches of the distinct values of the top level columns of an Iceberg table, keyed by
+ * Iceberg field id.
+ *
+ * <p>Parquet writers update a {@link Collector} with the rows they write, and attach the sketches
+ * of each data file to it. Manifest writers and the writer committer merge them, so that the
+ * committer ends up with the sketches of all the rows added by a write, which {@link
+ * IcebergNdvStatistics} publishes as a Puffin statistics file of the new snapshot. Values are
+ * hashed in their Iceberg single value serialization, as required for {@code
+ * apache-datasketches-theta-v1} blobs.
+ */
+public final class ColumnNdvSketches {
+
+  /** log2 of the nominal entries of each sketch, which bounds its size to about 32KB. */
+  private static final int LG_NOMINAL_ENTRIES = 12;
+
+  private static final long MILLIS_PER_DAY = 86_400_000L;
+
+  private final Map<Integer, Union> unions = new TreeMap<>();
+
+  /** Merges serialized sketches, as returned by {@link #serialize()}. Null is ignored. */
+  public void merge(byte[] serialized) {
+    if (serialized == null) {
+      return;
+    }
+    deserialize(serialized).forEach(this::merge);
+  }
+
+  /** Merges the serialized compact sketch of a column. */
+  void merge(int fieldId, byte[] sketch) {
+    merge(fieldId, Sketch.heapify(Memory.wrap(sketch)));
+  }
+
+  void merge(int fieldId, Sketch sketch) {
+    unions
+        .computeIfAbsent(
+            fieldId,
+            id -> SetOperation.builder().setNominalEntries(1 << LG_NOMINAL_ENTRIES).buildUnion())
+        .update(sketch);
+  }
+
+  public boolean isEmpty() {
+    return unions.isEmpty();
+  }
+
+  /** Returns the merged sketches by field id. */
+  public Map<Integer, CompactSketch> getSketches() {
+    Map<Integer, CompactSketch> sketches = new TreeMap<>();
+    unions.forEach((fieldId, union) -> sketches.put(fieldId, union.getResult()));
+    return sketches;
+  }
+
+  public byte[] serialize() {
+    return serialize(getSketches());
+  }
+
+  private static byte[] serialize(Map<Integer, ? extends Sketch> sketches) {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    try (DataOutputStream out = new DataOutputStream(bytes)) {
+      out.writeInt(sketches.size());
+      for (Map.Entry<Integer, ? extends Sketch> entry : sketches.entrySet()) {
+        byte[] sketch = entry.getValue().compact().toByteArray();
+        out.writeInt(entry.getKey());
+        out.writeInt(sketch.length);
+        out.write(sketch);
+      }
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    return bytes.toByteArray();
+  }
+
+  private static Map<Integer, Sketch> deserialize(byte[] serialized) {
+    Map<Integer, Sketch> sketches = new TreeMap<>();
+    try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(serialized))) {
+      int count = in.readInt();
+      for (int i = 0; i < count; i++) {
+        int fieldId = in.readInt();
+        byte[] sketch = new byte[in.readInt()];
+        in.readFully(sketch);
+        sketches.put(fieldId, Sketch.heapify(Memory.wrap(sketch)));
+      }
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    return sketches;
+  }
+
+  /**
+   * Returns a collector for the vectors of the top level columns of the table, or null if none of
+   * them has a supported type. Complex and decimal columns are not supported.
+   */
+  public static Collector newCollector(VectorAccessible incoming, Schema icebergSchema) {
+    List<ColumnUpdater> updaters = new ArrayList<>();
+    for (VectorWrapper<?> wrapper : incoming) {
+      ValueVector vector = wrapper.getValueVector();
+      Types.NestedField field = icebergSchema.asStruct().caseInsensitiveField(vector.getName());
+      ValueHasher hasher = field != null ? hasherFor(vector) : null;
+      if (hasher != null) {
+        updaters.add(new ColumnUpdater(field.fieldId(), vector, hasher));
+      }
+    }
+    return updaters.isEmpty() ? null : new Collector(updaters);
+  }
+
+  /** Updates sketches with the values of the vectors of a batch. */
+  public static final class Collector {
+    private final List<ColumnUpdater> updaters;
+    private boolean updated;
+
+    private Collector(List<ColumnUpdater> updaters) {
+      this.updaters = Collections.unmodifiableList(updaters);
+    }
+
+    public void update(int offset, int length) {
+      for (ColumnUpdater updater : updaters) {
+        updater.update(offset, length);
+      }
+      updated |= length > 0;
+    }
+
+    /**
+     * Returns the serialized sketches of the values collected since the previous call, or null if
+     * there are none, and starts new sketches.
+     */
+    public byte[] serializeAndReset() {
+      if (!updated) {
+        return null;
+      }
+      Map<Integer, UpdateSketch> sketches = new TreeMap<>();
+      for (ColumnUpdater updater : updaters) {
+        sketches.put(updater.fieldId, updater.sketch);
+        updater.reset();
+      }
+      updated = false;
+      return serialize(sketches);
+    }
+  }
+
+  private static final class ColumnUpdater {
+    private final int fieldId;
+    private final ValueVector vector;
+    private final ValueHasher hasher;
+    private UpdateSketch sketch = newSketch();
+
+    private ColumnUpdater(int fieldId, ValueVector vector, ValueHasher hasher) {
+      this.fieldId = fieldId;
+      this.vector = vector;
+      this.hasher = hasher;
+    }
+
+    private void update(int offset, int length) {
+      for (int i = offset; i < offset + length; i++) {
+        if (!vector.isNull(i)) {
+          hasher.update(sketch, i);
+        }
+      }
+    }
+
+    private void reset() {
+      sketch = newSketch();
+    }
+
+    private static UpdateSketch newSketch() {
+      return UpdateSketch.builder().setNominalEntries(1 << LG_NOMINAL_ENTRIES).build();
+    }
+  }
+
+  @FunctionalInterface
+  private interface ValueHasher {
+    void update(UpdateSketch sketch, int index);
+  }
+
+  private static ValueHasher hasherFor(ValueVector vector) {
+    if (vector instanceof BitVector) {
+      BitVector bits = (BitVector) vector;
+      byte[] buffer = new byte[1];
+      return (sketch, index) -> {
+        buffer[0] = (byte) bits.get(index);
+        sketch.update(buffer);
+      };
+    } else if (vector instanceof IntVector) {
+      IntVector ints = (IntVector) vector;
+      byte[] buffer = new byte[Integer.BYTES];
+      return (sketch, index) -> sketch.update(toBytes(ints.get(index), buffer));
+    } else if (vector instanceof DateMilliVector) {
+      DateMilliVector dates = (DateMilliVector) vector;
+      byte[] buffer = new byte[Integer.BYTES];
+      return (sketch, index) ->
+          sketch.update(toBytes((int) Math.floorDiv(dates.get(index), MILLIS_PER_DAY), buffer));
+    } else if (vector instanceof Float4Vector) {
+      Float4Vector floats = (Float4Vector) vector;
+      byte[] buffer = new byte[Integer.BYTES];
+      return (sketch, index) ->
+          sketch.update(toBytes(Float.floatToIntBits(floats.get(index)), buffer));
+    } else if (vector instanceof BigIntVector) {
+      BigIntVector longs = (BigIntVector) vector;
+      byte[] buffer = new byte[Long.BYTES];
+      return (sketch, index) -> sketch.update(toBytes(longs.get(index), buffer));
+    } else if (vector instanceof TimeStampMilliVector) {
+      // Iceberg timestamps and times are in microseconds
+      TimeStampMilliVector timestamps = (TimeStampMilliVector) vector;
+      byte[] buffer = new byte[Long.BYTES];
+      return (sketch, index) -> sketch.update(toBytes(timestamps.get(index) * 1000L, buffer));
+    } else if (vector instanceof TimeMilliVector) {
+      TimeMilliVector times = (TimeMilliVector) vector;
+      byte[] buffer = new byte[Long.BYTES];
+      return (sketch, index) -> sketch.update(toBytes(times.get(index) * 1000L, buffer));
+    } else if (vector instanceof Float8Vector) {
+      Float8Vector doubles = (Float8Vector) vector;
+      byte[] buffer = new byte[Long.BYTES];
+      return (sketch, index) ->
+          sketch.update(toBytes(Double.doubleToLongBits(doubles.get(index)), buffer));
+    } else if (vector instanceof VarCharVector) {
+      VarCharVector strings = (VarCharVector) vector;
+      return (sketch, index) -> sketch.update(strings.get(index));
+    } else if (vector instanceof VarBinaryVector) {
+      VarBinaryVector binaries = (VarBinaryVector) vector;
+      return (sketch, index) -> sketch.update(binaries.get(index));
+    }
+    return null;
+  }
+
+  /** Little endian, as in the Iceberg single value serialization. */
+  private static byte[] toBytes(int value, byte[] buffer) {
+    for (int i = 0; i < Integer.BYTES; i++) {
+      buffer[i] = (byte) (value >>> (8 * i));
+    }
+    return buffer;
+  }
+
+  private static byte[] toBytes(long value, byte[] buffer) {
+    for (int i = 0; i < Long.BYTES; i++) {
+      buffer[i] = (byte) (value >>> (8 * i));
+    }
+    return buffer;
+  }
+}
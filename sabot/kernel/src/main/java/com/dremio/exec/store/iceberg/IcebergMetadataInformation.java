@@ -19,14 +19,28 @@ import java.io.Serializable;
 
 /** Holds Iceberg metadata file information */
 public class IcebergMetadataInformation implements Serializable {
+  // the default serialVersionUID of the class before it held the sketches, so that instances
+  // serialized by other versions can still be read
+  private static final long serialVersionUID = 6650862381778668268L;
 
   private final byte[] icebergMetadataFileByte;
+  // serialized ColumnNdvSketches of the rows of the data files, if collected
+  private final byte[] columnNdvSketches;
 
   public IcebergMetadataInformation(byte[] icebergMetadataFileByte) {
+    this(icebergMetadataFileByte, null);
+  }
+
+  public IcebergMetadataInformation(byte[] icebergMetadataFileByte, byte[] columnNdvSketches) {
     this.icebergMetadataFileByte = icebergMetadataFileByte;
+    this.columnNdvSketches = columnNdvSketches;
   }
 
   public byte[] getIcebergMetadataFileByte() {
     return icebergMetadataFileByte;
   }
+
+  public byte[] getColumnNdvSketches() {
+    return columnNdvSketches;
+  }
 }
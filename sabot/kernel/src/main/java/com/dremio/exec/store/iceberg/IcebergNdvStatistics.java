@@ -0,0 +1,200 @@
+/*
+ * Copyright (C) 2017-2019 Dremio Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.dremio.exec.store.iceberg;
+
+import com.dremio.common.util.DremioVersionInfo;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import org.apache.datasketches.theta.CompactSketch;
+import org.apache.iceberg.BlobMetadata;
+import org.apache.iceberg.GenericBlobMetadata;
+import org.apache.iceberg.GenericStatisticsFile;
+import org.apache.iceberg.HasTableOperations;
+import org.apache.iceberg.Snapshot;
+import org.apache.iceberg.StatisticsFile;
+import org.apache.iceberg.Table;
+import org.apache.iceberg.Transaction;
+import org.apache.iceberg.io.OutputFile;
+import org.apache.iceberg.puffin.Blob;
+import org.apache.iceberg.puffin.Puffin;
+import org.apache.iceberg.puffin.PuffinReader;
+import org.apache.iceberg.puffin.PuffinWriter;
+import org.apache.iceberg.puffin.StandardBlobTypes;
+import org.apache.iceberg.util.Pair;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Reads and writes the number of distinct values of columns, as theta sketches in Puffin
+ * statistics files of Iceberg snapshots.
+ */
+public final class IcebergNdvStatistics {
+  private static final Logger logger = LoggerFactory.getLogger(IcebergNdvStatistics.class);
+
+  /** Blob property holding the estimated NDV, as defined by the Puffin spec. */
+  static final String NDV_PROPERTY = "ndv";
+
+  private IcebergNdvStatistics() {
+    // Not to be instantiated
+  }
+
+  /**
+   * Sets the statistics file of the snapshot created by a transaction, as part of the transaction,
+   * so that no additional commit of the table is needed. Nothing is done if the transaction has not
+   * created a snapshot yet.
+   */
+  public static void addToTransaction(Transaction transaction, ColumnNdvSketches added) {
+    Table table = transaction.table();
+    Snapshot snapshot = table.currentSnapshot();
+    if (snapshot == null) {
+      return;
+    }
+    StatisticsFile statisticsFile = write(table, snapshot, added);
+    transaction.updateStatistics().setStatistics(snapshot.snapshotId(), statisticsFile).commit();
+  }
+
+  /**
+   * Writes the sketches of the rows added by a snapshot, merged with the sketches of its parent
+   * snapshot if any, to a Puffin file. The returned statistics file still has to be set on the
+   * snapshot by the caller.
+   *
+   * <p>Merging with the parent keeps the statistics of appends exact. For rewrites and row level
+   * deletes, values which are not in the table anymore are still counted, so the estimates are
+   * upper bounds until the next full write of the table.
+   */
+  static StatisticsFile write(Table table, Snapshot snapshot, ColumnNdvSketches added) {
+    ColumnNdvSketches sketches = new ColumnNdvSketches();
+    if (snapshot.parentId() != null) {
+      readSketches(table, snapshot.parentId(), sketches);
+    }
+    added.getSketches().forEach((fieldId, sketch) -> sketches.merge(fieldId, sketch));
+
+    String fileName = String.format("%d-%s.stats", snapshot.snapshotId(), UUID.randomUUID());
+    String path =
+        table instanceof HasTableOperations
+            ? ((HasTableOperations) table).operations().metadataFileLocation(fileName)
+            : table.location() + "/metadata/" + fileName;
+    OutputFile outputFile = table.io().newOutputFile(path);
+    StatisticsFile statisticsFile;
+    try (PuffinWriter writer =
+        Puffin.write(outputFile).createdBy("Dremio " + DremioVersionInfo.getVersion()).build()) {
+      for (Map.Entry<Integer, CompactSketch> entry : sketches.getSketches().entrySet()) {
+        writer.add(
+            new Blob(
+                StandardBlobTypes.APACHE_DATASKETCHES_THETA_V1,
+                ImmutableList.of(entry.getKey()),
+                snapshot.snapshotId(),
+                snapshot.sequenceNumber(),
+                ByteBuffer.wrap(entry.getValue().toByteArray()),
+                null,
+                ImmutableMap.of(
+                    NDV_PROPERTY, Long.toString(Math.round(entry.getValue().getEstimate())))));
+      }
+      writer.finish();
+      statisticsFile =
+          new GenericStatisticsFile(
+              snapshot.snapshotId(),
+              outputFile.location(),
+              writer.fileSize(),
+              writer.footerSize(),
+              writer.writtenBlobsMetadata().stream()
+                  .map(GenericBlobMetadata::from)
+                  .collect(Collectors.toList()));
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+
+    logger.debug(
+        "Wrote NDV statistics of {} columns for snapshot {} to {}",
+        sketches.getSketches().size(),
+        snapshot.snapshotId(),
+        statisticsFile.path());
+    return statisticsFile;
+  }
+
+  /**
+   * Returns the NDV of columns by field id, as recorded in the blob metadata of the statistics file
+   * of a snapshot. The statistics file itself is not read.
+   */
+  public static Map<Integer, Long> getNdvs(Table table, long snapshotId) {
+    StatisticsFile statisticsFile = findStatisticsFile(table, snapshotId);
+    if (statisticsFile == null) {
+      return ImmutableMap.of();
+    }
+    Map<Integer, Long> ndvs = new HashMap<>();
+    for (BlobMetadata blob : statisticsFile.blobMetadata()) {
+      String ndv = blob.properties() != null ? blob.properties().get(NDV_PROPERTY) : null;
+      if (isThetaBlob(blob) && ndv != null) {
+        try {
+          ndvs.put(blob.fields().get(0), Long.parseLong(ndv));
+        } catch (NumberFormatException e) {
+          logger.debug("Ignoring invalid NDV {} in {}", ndv, statisticsFile.path());
+        }
+      }
+    }
+    return ndvs;
+  }
+
+  private static void readSketches(Table table, long snapshotId, ColumnNdvSketches sketches) {
+    StatisticsFile statisticsFile = findStatisticsFile(table, snapshotId);
+    if (statisticsFile == null) {
+      return;
+    }
+    try (PuffinReader reader =
+        Puffin.read(table.io().newInputFile(statisticsFile.path()))
+            .withFileSize(statisticsFile.fileSizeInBytes())
+            .withFooterSize(statisticsFile.fileFooterSizeInBytes())
+            .build()) {
+      List<org.apache.iceberg.puffin.BlobMetadata> blobs =
+          reader.fileMetadata().blobs().stream()
+              .filter(
+                  blob ->
+                      StandardBlobTypes.APACHE_DATASKETCHES_THETA_V1.equals(blob.type())
+                          && blob.inputFields().size() == 1)
+              .collect(Collectors.toList());
+      for (Pair<org.apache.iceberg.puffin.BlobMetadata, ByteBuffer> blob : reader.readAll(blobs)) {
+        ByteBuffer buffer = blob.second();
+        byte[] bytes = new byte[buffer.remaining()];
+        buffer.get(bytes);
+        sketches.merge(blob.first().inputFields().get(0), bytes);
+      }
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  private static StatisticsFile findStatisticsFile(Table table, long snapshotId) {
+    for (StatisticsFile statisticsFile : table.statisticsFiles()) {
+      if (statisticsFile.snapshotId() == snapshotId) {
+        return statisticsFile;
+      }
+    }
+    return null;
+  }
+
+  private static boolean isThetaBlob(BlobMetadata blob) {
+    return StandardBlobTypes.APACHE_DATASKETCHES_THETA_V1.equals(blob.type())
+        && blob.fields().size() == 1;
+  }
+}
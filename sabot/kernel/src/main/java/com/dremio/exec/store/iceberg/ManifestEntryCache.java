@@ -0,0 +1,166 @@
+/*
+ * Copyright (C) 2017-2019 Dremio Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.dremio.exec.store.iceberg;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.google.common.annotations.VisibleForTesting;
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import org.apache.iceberg.ContentFile;
+import org.apache.iceberg.DremioManifestReaderUtils.ManifestEntryWrapper;
+import org.apache.iceberg.ManifestFile;
+
+/**
+ * Executor wide cache of the decoded live entries of Iceberg manifest files.
+ *
+ * <p>Manifest files are immutable, so an entry keyed by plugin, manifest path and length never
+ * goes stale. Cached entries are copies made while reading the manifest, and include partition
+ * tuples and column bounds, so that filters can be evaluated against them without reading the
+ * manifest again. The cache is bounded by the estimated size of the entries ({@code
+ * dremio.iceberg.manifest_entry_cache.max_size_mb}), and manifests larger than {@code
+ * dremio.iceberg.manifest_entry_cache.max_manifest_size_mb} are never cached, as they are better
+ * streamed.
+ */
+final class ManifestEntryCache {
+
+  static final String MAX_SIZE_MB_PROPERTY = "dremio.iceberg.manifest_entry_cache.max_size_mb";
+  static final String MAX_MANIFEST_SIZE_MB_PROPERTY =
+      "dremio.iceberg.manifest_entry_cache.max_manifest_size_mb";
+
+  private static final long MB = 1024L * 1024L;
+
+  /** Rough size of an entry, its file and partition tuple, excluding path and metrics. */
+  private static final long ENTRY_OVERHEAD_BYTES = 512;
+
+  /** Rough size of a metrics map entry, excluding the value bytes of bounds. */
+  private static final long METRIC_OVERHEAD_BYTES = 48;
+
+  private static final long MAX_MANIFEST_SIZE_BYTES =
+      Long.getLong(MAX_MANIFEST_SIZE_MB_PROPERTY, 8L) * MB;
+
+  private static final Cache<Key, List<ManifestEntryWrapper<?>>> CACHE =
+      Caffeine.newBuilder()
+          .maximumWeight(Long.getLong(MAX_SIZE_MB_PROPERTY, 256L) * MB)
+          .weigher((Key key, List<ManifestEntryWrapper<?>> entries) -> weigh(entries))
+          .expireAfterAccess(30, TimeUnit.MINUTES)
+          .build();
+
+  private ManifestEntryCache() {
+    // Not to be instantiated
+  }
+
+  /** Returns true if the entries of the manifest file can be cached. */
+  static boolean isCacheable(ManifestFile manifestFile) {
+    return manifestFile.length() > 0 && manifestFile.length() <= MAX_MANIFEST_SIZE_BYTES;
+  }
+
+  /**
+   * Gets the live entries of a manifest file, loading them if missing.
+   *
+   * @param pluginName name of the plugin the manifest file is read through
+   * @param manifestFile manifest file
+   * @param loader reads the live entries of the manifest file, copying each of them
+   * @return immutable list of live entries
+   */
+  static List<ManifestEntryWrapper<?>> get(
+      String pluginName,
+      ManifestFile manifestFile,
+      Supplier<List<ManifestEntryWrapper<?>>> loader) {
+    return CACHE.get(
+        new Key(pluginName, manifestFile.path(), manifestFile.length()), k -> loader.get());
+  }
+
+  /** Returns the cached live entries of a manifest file, or null if not cached. */
+  static List<ManifestEntryWrapper<?>> getIfPresent(String pluginName, ManifestFile manifestFile) {
+    return CACHE.getIfPresent(new Key(pluginName, manifestFile.path(), manifestFile.length()));
+  }
+
+  @VisibleForTesting
+  static void invalidateAll() {
+    CACHE.invalidateAll();
+  }
+
+  @VisibleForTesting
+  static int weigh(List<ManifestEntryWrapper<?>> entries) {
+    long bytes = 0;
+    for (ManifestEntryWrapper<?> entry : entries) {
+      bytes += estimateSize(entry.file());
+    }
+    return (int) Math.min(Integer.MAX_VALUE, bytes);
+  }
+
+  private static long estimateSize(ContentFile<?> file) {
+    return ENTRY_OVERHEAD_BYTES
+        + file.path().length()
+        + boundsSize(file.lowerBounds())
+        + boundsSize(file.upperBounds())
+        + countsSize(file.columnSizes())
+        + countsSize(file.valueCounts())
+        + countsSize(file.nullValueCounts())
+        + countsSize(file.nanValueCounts());
+  }
+
+  private static long boundsSize(Map<Integer, ByteBuffer> bounds) {
+    if (bounds == null) {
+      return 0;
+    }
+    long bytes = 0;
+    for (ByteBuffer value : bounds.values()) {
+      bytes += METRIC_OVERHEAD_BYTES + (value == null ? 0 : value.remaining());
+    }
+    return bytes;
+  }
+
+  private static long countsSize(Map<Integer, Long> counts) {
+    return counts == null ? 0 : counts.size() * METRIC_OVERHEAD_BYTES;
+  }
+
+  private static final class Key {
+    private final String pluginName;
+    private final String path;
+    private final long length;
+
+    private Key(String pluginName, String path, long length) {
+      this.pluginName = pluginName;
+      this.path = path;
+      this.length = length;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (o == null || getClass() != o.getClass()) {
+        return false;
+      }
+      Key key = (Key) o;
+      return length == key.length
+          && Objects.equals(pluginName, key.pluginName)
+          && Objects.equals(path, key.path);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(pluginName, path, length);
+    }
+  }
+}
@@ -0,0 +1,255 @@
+/*
+ * Copyright (C) 2017-2019 Dremio Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.dremio.exec.store.iceberg;
+
+import com.dremio.common.AutoCloseables;
+import com.dremio.io.AsyncByteReader;
+import com.dremio.io.file.FileSystem;
+import com.dremio.io.file.Path;
+import com.google.common.base.Throwables;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import org.apache.arrow.memory.ArrowBuf;
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.memory.NettyArrowBuf;
+import org.apache.arrow.memory.OutOfMemoryException;
+import org.apache.iceberg.ManifestFile;
+
+/**
+ * Reads the manifest files of a batch ahead of their processing, with a bounded number of
+ * asynchronous reads in flight, so that the latency of the object store is not paid once per
+ * manifest file. Manifest files are expected to be taken in the order they were submitted.
+ *
+ * <p>Prefetched content is held in buffers of the operator allocator, and the total size of the
+ * buffers held at once is bounded. Manifest files which don't fit are read as usual.
+ */
+final class ManifestFilePrefetcher implements AutoCloseable {
+  private static final org.slf4j.Logger logger =
+      org.slf4j.LoggerFactory.getLogger(ManifestFilePrefetcher.class);
+
+  private final BufferAllocator allocator;
+  private final int maxInFlight;
+  private final long maxFileSize;
+  private final long maxBytes;
+  // Pending manifest files by path, in submission order
+  private final Map<String, Prefetch> pending = new LinkedHashMap<>();
+  // Releases waiting for their reads to complete, completed by the threads of the reads
+  private final Set<CompletableFuture<Void>> releases = ConcurrentHashMap.newKeySet();
+  // Size of the buffers not freed yet, decremented once they are freed
+  private final AtomicLong bytesHeld = new AtomicLong();
+
+  ManifestFilePrefetcher(
+      BufferAllocator allocator, int maxInFlight, long maxFileSize, long maxBytes) {
+    this.allocator = allocator;
+    this.maxInFlight = maxInFlight;
+    this.maxFileSize = maxFileSize;
+    this.maxBytes = maxBytes;
+  }
+
+  /**
+   * Queues a manifest file to read. Manifest files larger than the maximum size are skipped, and
+   * read by the manifest reader as usual.
+   */
+  void submit(ManifestFile manifestFile, Supplier<FileSystem> fs, List<String> dataset) {
+    if (manifestFile.length() <= 0
+        || manifestFile.length() > Math.min(maxFileSize, maxBytes)
+        || pending.containsKey(manifestFile.path())) {
+      return;
+    }
+    pending.put(manifestFile.path(), new Prefetch(manifestFile, fs, dataset));
+    startReads();
+  }
+
+  /**
+   * Returns the content of a manifest file, waiting for its read to complete, or null if it was
+   * not prefetched or its read failed. Manifest files queued before it are discarded.
+   */
+  byte[] take(ManifestFile manifestFile) {
+    if (!pending.containsKey(manifestFile.path())) {
+      return null;
+    }
+    Prefetch prefetch = null;
+    Iterator<Prefetch> iterator = pending.values().iterator();
+    while (prefetch == null) {
+      Prefetch next = iterator.next();
+      iterator.remove();
+      if (next.isFor(manifestFile)) {
+        prefetch = next;
+      } else {
+        release(next);
+      }
+    }
+    if (!prefetch.started) {
+      start(prefetch);
+    }
+
+    try {
+      return prefetch.read != null ? prefetch.getContent() : null;
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new RuntimeException(e);
+    } catch (ExecutionException e) {
+      logger.debug(
+          "Prefetch of manifest file {} failed, reading it again",
+          manifestFile.path(),
+          Throwables.getRootCause(e));
+      return null;
+    } finally {
+      release(prefetch);
+      startReads();
+    }
+  }
+
+  /** Discards the manifest files which were not taken. */
+  void clear() {
+    pending.values().forEach(this::release);
+    pending.clear();
+  }
+
+  /**
+   * Discards the manifest files which were not taken, and waits for the reads in flight, including
+   * the reads of the manifest files discarded or taken before, as their buffers have to be released
+   * before the allocator is closed.
+   */
+  @Override
+  public void close() {
+    clear();
+    try {
+      CompletableFuture.allOf(releases.toArray(new CompletableFuture[0])).get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    } catch (ExecutionException e) {
+      logger.debug("Failed to release prefetched manifest files", e);
+    }
+  }
+
+  private void startReads() {
+    int count = 0;
+    for (Prefetch prefetch : pending.values()) {
+      if (count++ == maxInFlight) {
+        break;
+      }
+      if (!prefetch.started) {
+        if (bytesHeld.get() + prefetch.manifestFile.length() > maxBytes) {
+          break;
+        }
+        start(prefetch);
+      }
+    }
+  }
+
+  private void start(Prefetch prefetch) {
+    prefetch.started = true;
+    int length = Math.toIntExact(prefetch.manifestFile.length());
+    try {
+      FileSystem fileSystem = prefetch.fs.get();
+      if (!fileSystem.supportsAsync()) {
+        return;
+      }
+      Path path = Path.of(prefetch.manifestFile.path());
+      if (!fileSystem.supportsPathsWithScheme()) {
+        path = Path.of(Path.getContainerSpecificRelativePath(path));
+      }
+      // Manifest files are immutable, so any version identifies their content
+      prefetch.reader =
+          fileSystem.getAsyncByteReader(
+              AsyncByteReader.FileKey.of(
+                  path, "0", AsyncByteReader.FileKey.FileType.AVRO, prefetch.dataset),
+              Collections.emptyMap());
+      prefetch.buffer = allocator.buffer(length);
+      bytesHeld.addAndGet(length);
+      prefetch.read =
+          prefetch.reader.readFully(0, NettyArrowBuf.unwrapBuffer(prefetch.buffer), 0, length);
+    } catch (OutOfMemoryException e) {
+      logger.debug(
+          "Not enough memory to prefetch manifest file {}", prefetch.manifestFile.path(), e);
+    } catch (Exception e) {
+      prefetch.read = new CompletableFuture<>();
+      prefetch.read.completeExceptionally(e);
+    }
+  }
+
+  /**
+   * Closes the reader and releases the buffer of a prefetch once its read completes, as reads can
+   * not be cancelled. The release is tracked until it completes, so that {@link #close()} can wait
+   * for it.
+   */
+  private void release(Prefetch prefetch) {
+    AsyncByteReader reader = prefetch.reader;
+    ArrowBuf buffer = prefetch.buffer;
+    prefetch.reader = null;
+    prefetch.buffer = null;
+    if (buffer == null && reader == null) {
+      return;
+    }
+    CompletableFuture<Void> read =
+        prefetch.read != null ? prefetch.read : CompletableFuture.completedFuture(null);
+    CompletableFuture<Void> release =
+        read.handle(
+            (v, t) -> {
+              if (buffer != null) {
+                buffer.close();
+                bytesHeld.addAndGet(-prefetch.manifestFile.length());
+              }
+              if (reader != null) {
+                AutoCloseables.closeNoChecked(reader);
+              }
+              return null;
+            });
+    releases.add(release);
+    release.whenComplete((v, t) -> releases.remove(release));
+  }
+
+  private static final class Prefetch {
+    private final ManifestFile manifestFile;
+    private final Supplier<FileSystem> fs;
+    private final List<String> dataset;
+    private boolean started;
+    private AsyncByteReader reader;
+    private ArrowBuf buffer;
+    private CompletableFuture<Void> read;
+
+    private Prefetch(ManifestFile manifestFile, Supplier<FileSystem> fs, List<String> dataset) {
+      this.manifestFile = manifestFile;
+      this.fs = fs;
+      this.dataset = dataset;
+    }
+
+    private boolean isFor(ManifestFile other) {
+      return manifestFile.path().equals(other.path());
+    }
+
+    /** Waits for the read and copies the content out of the buffer. */
+    private byte[] getContent() throws InterruptedException, ExecutionException {
+      read.get();
+      if (buffer == null) {
+        return null;
+      }
+      byte[] content = new byte[Math.toIntExact(manifestFile.length())];
+      buffer.getBytes(0, content);
+      return content;
+    }
+  }
+}
@@ -20,6 +20,7 @@ import static com.dremio.exec.store.iceberg.IcebergSerDe.deserializedJsonAsSchem
 import com.dremio.common.AutoCloseables;
 import com.dremio.common.exceptions.ExecutionSetupException;
 import com.dremio.common.exceptions.UserException;
+import com.dremio.exec.ExecConstants;
 import com.dremio.exec.catalog.StoragePluginId;
 import com.dremio.exec.physical.base.OpProps;
 import com.dremio.exec.physical.config.ManifestScanFilters;
@@ -35,6 +36,7 @@ import com.dremio.sabot.exec.fragment.FragmentExecutionContext;
 import com.dremio.sabot.op.tablefunction.TableFunctionOperator;
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableList;
 import java.io.IOException;
 import java.util.Collection;
 import java.util.List;
@@ -51,9 +53,17 @@ import org.apache.iceberg.ManifestFile;
 import org.apache.iceberg.ManifestFiles;
 import org.apache.iceberg.ManifestReader;
 import org.apache.iceberg.PartitionSpec;
+import org.apache.iceberg.expressions.Evaluator;
+import org.apache.iceberg.expressions.Expression;
+import org.apache.iceberg.expressions.InclusiveMetricsEvaluator;
+import org.apache.iceberg.expressions.Projections;
+import org.apache.iceberg.inmemory.InMemoryInputFile;
+import org.apache.iceberg.io.CloseableIterable;
 import org.apache.iceberg.io.CloseableIterator;
 import org.apache.iceberg.io.FileIO;
 import org.apache.iceberg.io.FilterIterator;
+import org.apache.iceberg.io.InputFile;
+import org.apache.iceberg.io.OutputFile;
 
 /**
  * Process ManifestFile. This class iterates over each datafile in manifest file and give to data
@@ -68,6 +78,8 @@ public class ManifestFileProcessor implements AutoCloseable {
   private final OperatorStats operatorStats;
   private final ManifestEntryProcessor manifestEntryProcessor;
   private final Configuration conf;
+  private final boolean useManifestEntryCache;
+  private final ManifestFilePrefetcher prefetcher;
   private ManifestEntryWrapper<?> currentManifestEntry;
   private CloseableIterator<? extends ManifestEntryWrapper<?>> iterator;
   private ManifestReader<?> manifestReader;
@@ -107,12 +119,49 @@ public class ManifestFileProcessor implements AutoCloseable {
         ((ManifestScanTableFunctionContext) functionConfig.getFunctionContext())
             .getManifestScanFilters();
     this.schemeVariate = functionContext.getSchemeVariate();
+    this.useManifestEntryCache =
+        context.getOptions().getOption(ExecConstants.ENABLE_ICEBERG_MANIFEST_ENTRY_CACHE);
+    int prefetchCount =
+        (int) context.getOptions().getOption(ExecConstants.ICEBERG_MANIFEST_PREFETCH_COUNT);
+    this.prefetcher =
+        prefetchCount > 0
+            ? new ManifestFilePrefetcher(
+                context.getAllocator(),
+                prefetchCount,
+                context.getOptions().getOption(ExecConstants.ICEBERG_MANIFEST_PREFETCH_MAX_SIZE),
+                context.getOptions().getOption(ExecConstants.ICEBERG_MANIFEST_PREFETCH_MAX_BYTES))
+            : null;
   }
 
   public void setup(VectorAccessible incoming, VectorContainer outgoing) {
     manifestEntryProcessor.setup(incoming, outgoing);
   }
 
+  /**
+   * Starts reading a manifest file of the batch ahead of its processing. Manifest files have to be
+   * set up in the order they are prefetched.
+   */
+  public void prefetchManifestFile(ManifestFile manifestFile, Optional<List<String>> dataset) {
+    if (prefetcher == null
+        || (getSpecIfCacheable(manifestFile) != null
+            && ManifestEntryCache.getIfPresent(datasourcePluginUID, manifestFile) != null)) {
+      return;
+    }
+    List<String> datasetPath = dataset.orElse(datasetFromFunctionConfig);
+    prefetcher.submit(
+        manifestFile,
+        () ->
+            createFs(manifestFile.path(), context, opProps, icebergRootPointerPlugin, datasetPath),
+        datasetPath);
+  }
+
+  /** Discards the prefetched manifest files which were not set up. */
+  public void clearPrefetchedManifestFiles() {
+    if (prefetcher != null) {
+      prefetcher.clear();
+    }
+  }
+
   public void setupManifestFile(
       ManifestFile manifestFile, int row, Optional<List<String>> dataset) {
     FileSystem fs =
@@ -124,6 +173,18 @@ public class ManifestFileProcessor implements AutoCloseable {
             dataset.orElse(datasetFromFunctionConfig));
     Preconditions.checkState(fs != null, "Unexpected state");
 
+    final PartitionSpec cachedSpec = getSpecIfCacheable(manifestFile);
+    if (cachedSpec != null) {
+      manifestReader = null;
+      iterator =
+          cachedEntriesIterator(
+              manifestFile, fs, dataset.orElse(datasetFromFunctionConfig), cachedSpec);
+      applyManifestScanFilters(manifestFile);
+
+      manifestEntryProcessor.initialise(cachedSpec, row, conf, fs.getScheme(), schemeVariate);
+      return;
+    }
+
     manifestReader = getManifestReader(manifestFile, fs, dataset.orElse(datasetFromFunctionConfig));
     if (manifestScanFilters.doesIcebergAnyColExpressionExists()) {
       manifestReader.filterRows(manifestScanFilters.getIcebergAnyColExpressionDeserialized());
@@ -136,6 +197,68 @@ public class ManifestFileProcessor implements AutoCloseable {
         manifestReader.spec(), row, conf, fs.getScheme(), schemeVariate);
   }
 
+  /**
+   * Returns the partition spec of the manifest file if its entries can be served from the executor
+   * cache, null otherwise.
+   */
+  private PartitionSpec getSpecIfCacheable(ManifestFile manifestFile) {
+    if (!useManifestEntryCache
+        || partitionSpecMap == null
+        || !ManifestEntryCache.isCacheable(manifestFile)) {
+      return null;
+    }
+    return partitionSpecMap.get(manifestFile.partitionSpecId());
+  }
+
+  private CloseableIterator<ManifestEntryWrapper<?>> cachedEntriesIterator(
+      ManifestFile manifestFile, FileSystem fs, List<String> dataset, PartitionSpec spec) {
+    List<ManifestEntryWrapper<?>> entries =
+        ManifestEntryCache.getIfPresent(datasourcePluginUID, manifestFile);
+    if (entries != null) {
+      operatorStats.addLongStat(TableFunctionOperator.Metric.NUM_MANIFEST_ENTRY_CACHE_HITS, 1);
+    } else {
+      entries =
+          ManifestEntryCache.get(
+              datasourcePluginUID, manifestFile, () -> readLiveEntries(manifestFile, fs, dataset));
+    }
+
+    final CloseableIterator<ManifestEntryWrapper<?>> entriesIterator =
+        CloseableIterator.withClose(entries.iterator());
+    if (!manifestScanFilters.doesIcebergAnyColExpressionExists()) {
+      return entriesIterator;
+    }
+
+    // Same pruning ManifestReader.filterRows() does, evaluated against the cached bounds.
+    final Expression expression = manifestScanFilters.getIcebergAnyColExpressionDeserialized();
+    final Evaluator partitionEvaluator =
+        new Evaluator(
+            spec.partitionType(), Projections.inclusive(spec, true).project(expression), true);
+    final InclusiveMetricsEvaluator metricsEvaluator =
+        new InclusiveMetricsEvaluator(spec.schema(), expression, true);
+    return new FilterIterator<ManifestEntryWrapper<?>>(entriesIterator) {
+      @Override
+      protected boolean shouldKeep(ManifestEntryWrapper<?> entry) {
+        return partitionEvaluator.eval(entry.file().partition())
+            && metricsEvaluator.eval(entry.file());
+      }
+    };
+  }
+
+  private List<ManifestEntryWrapper<?>> readLiveEntries(
+      ManifestFile manifestFile, FileSystem fs, List<String> dataset) {
+    final ImmutableList.Builder<ManifestEntryWrapper<?>> entries = ImmutableList.builder();
+    try (ManifestReader<?> reader = getManifestReader(manifestFile, fs, dataset);
+        CloseableIterable<? extends ManifestEntryWrapper<?>> liveEntries =
+            DremioManifestReaderUtils.liveManifestEntriesIterator(reader)) {
+      for (ManifestEntryWrapper<?> entry : liveEntries) {
+        entries.add(entry.copy());
+      }
+    } catch (IOException e) {
+      throw UserException.ioExceptionError(e).buildSilently();
+    }
+    return entries.build();
+  }
+
   private void applyManifestScanFilters(ManifestFile manifestFile) {
     // Primarily used by the compaction operation (OPTIMIZE TABLE), to filter down rewritable files.
     if (manifestScanFilters == null) {
@@ -200,7 +323,7 @@ public class ManifestFileProcessor implements AutoCloseable {
 
   @Override
   public void close() throws Exception {
-    AutoCloseables.close(manifestEntryProcessor);
+    AutoCloseables.close(prefetcher, manifestEntryProcessor);
   }
 
   @VisibleForTesting
@@ -216,8 +339,15 @@ public class ManifestFileProcessor implements AutoCloseable {
   }
 
   private FileIO getFileIO(ManifestFile manifestFile, FileSystem fs, List<String> dataset) {
-    return icebergRootPointerPlugin.createIcebergFileIO(
-        fs, context, dataset, datasourcePluginUID, manifestFile.length());
+    FileIO fileIO =
+        icebergRootPointerPlugin.createIcebergFileIO(
+            fs, context, dataset, datasourcePluginUID, manifestFile.length());
+    byte[] content = prefetcher != null ? prefetcher.take(manifestFile) : null;
+    if (content == null) {
+      return fileIO;
+    }
+    operatorStats.addLongStat(TableFunctionOperator.Metric.NUM_MANIFEST_FILES_PREFETCHED, 1);
+    return new PrefetchedManifestFileIO(fileIO, manifestFile.path(), content);
   }
 
   private void nextDataFile() {
@@ -249,6 +379,43 @@ public class ManifestFileProcessor implements AutoCloseable {
     manifestEntryProcessor.closeManifestEntry();
   }
 
+  /** Serves a prefetched manifest file from memory, and other files from the wrapped FileIO. */
+  private static final class PrefetchedManifestFileIO implements FileIO {
+    private final FileIO delegate;
+    private final String path;
+    private final byte[] content;
+
+    private PrefetchedManifestFileIO(FileIO delegate, String path, byte[] content) {
+      this.delegate = delegate;
+      this.path = path;
+      this.content = content;
+    }
+
+    @Override
+    public InputFile newInputFile(String location) {
+      return path.equals(location)
+          ? new InMemoryInputFile(location, content)
+          : delegate.newInputFile(location);
+    }
+
+    @Override
+    public InputFile newInputFile(String location, long length) {
+      return path.equals(location)
+          ? new InMemoryInputFile(location, content)
+          : delegate.newInputFile(location, length);
+    }
+
+    @Override
+    public OutputFile newOutputFile(String location) {
+      return delegate.newOutputFile(location);
+    }
+
+    @Override
+    public void deleteFile(String location) {
+      delegate.deleteFile(location);
+    }
+  }
+
   private static StoragePluginId getPluginId(TableFunctionContext functionContext) {
     if (functionContext.getInternalTablePluginId() != null) {
       // This happens when an internal Iceberg table is created by Dremio, and we want to
@@ -30,6 +30,7 @@ import com.dremio.sabot.op.tablefunction.TableFunctionOperator;
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.collect.Streams;
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
@@ -45,6 +46,7 @@ public class ManifestScanTableFunction extends AbstractTableFunction {
 
   private VarBinaryVector inputManifestFiles;
   private Optional<VarCharVector> inputDataset;
+  private final List<ManifestFile> batchManifestFiles = new ArrayList<>();
 
   public ManifestScanTableFunction(
       OperatorContext context,
@@ -75,16 +77,27 @@ public class ManifestScanTableFunction extends AbstractTableFunction {
   }
 
   @Override
-  public void startBatch(int records) {
+  public void startBatch(int records) throws Exception {
     outgoing.allocateNew();
+    // Start reading the manifest files of the batch, which are then processed in order
+    manifestFileProcessor.clearPrefetchedManifestFiles();
+    batchManifestFiles.clear();
+    for (int row = 0; row < records; row++) {
+      ManifestFile manifestFile = getManifestFile(row);
+      batchManifestFiles.add(manifestFile);
+      manifestFileProcessor.prefetchManifestFile(manifestFile, getDataset(row));
+    }
   }
 
   @Override
   public void startRow(int row) throws Exception {
-    ManifestFile manifestFile = getManifestFile(row);
-    Optional<List<String>> dataset =
-        inputDataset.map(v -> Arrays.asList(new String(v.get(row)).split("\\.")));
-    manifestFileProcessor.setupManifestFile(manifestFile, row, dataset);
+    ManifestFile manifestFile =
+        row < batchManifestFiles.size() ? batchManifestFiles.get(row) : getManifestFile(row);
+    manifestFileProcessor.setupManifestFile(manifestFile, row, getDataset(row));
+  }
+
+  private Optional<List<String>> getDataset(int row) {
+    return inputDataset.map(v -> Arrays.asList(new String(v.get(row)).split("\\.")));
   }
 
   @Override
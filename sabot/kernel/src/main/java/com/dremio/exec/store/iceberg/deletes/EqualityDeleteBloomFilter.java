@@ -0,0 +1,92 @@
+/*
+ * Copyright (C) 2017-2019 Dremio Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.dremio.exec.store.iceberg.deletes;
+
+import com.dremio.common.AutoCloseables;
+import javax.annotation.concurrent.NotThreadSafe;
+import org.apache.arrow.memory.ArrowBuf;
+import org.apache.arrow.memory.BufferAllocator;
+
+/**
+ * Blocked Bloom filter over the 64-bit key hashes of an {@link EqualityDeleteHashTable}. All the
+ * bits of a key are set in a single 64-bit word, so a lookup costs one memory access, which is
+ * cheaper than a probe of a large hash table for the rows which are not deleted.
+ */
+@NotThreadSafe
+final class EqualityDeleteBloomFilter implements AutoCloseable {
+
+  private static final int BITS_PER_KEY = 8;
+  private static final int NUM_HASH_FUNCTIONS = 4;
+  // 32 MB, the word index uses the hash bits 32 to 53
+  private static final int MAX_WORDS = 1 << 22;
+
+  private final int wordMask;
+  private ArrowBuf words;
+
+  EqualityDeleteBloomFilter(BufferAllocator allocator, int expectedKeys) {
+    int numWords = getNumWords(expectedKeys);
+    this.wordMask = numWords - 1;
+    this.words = allocator.buffer(numWords * 8L);
+    words.setZero(0, words.capacity());
+  }
+
+  /** Returns the memory a filter for the given number of keys allocates. */
+  static long getAllocationSize(int expectedKeys) {
+    return getNumWords(expectedKeys) * 8L;
+  }
+
+  private static int getNumWords(int expectedKeys) {
+    long neededWords =
+        Math.min(MAX_WORDS, Math.max(1L, ((long) expectedKeys * BITS_PER_KEY + 63) / 64));
+    int numWords = Integer.highestOneBit((int) neededWords);
+    if (numWords < neededWords) {
+      numWords <<= 1;
+    }
+    return numWords;
+  }
+
+  void put(long hash) {
+    long index = wordIndex(hash);
+    words.setLong(index, words.getLong(index) | mask(hash));
+  }
+
+  boolean mightContain(long hash) {
+    long mask = mask(hash);
+    return (words.getLong(wordIndex(hash)) & mask) == mask;
+  }
+
+  long getSizeInBytes() {
+    return words.capacity();
+  }
+
+  @Override
+  public void close() throws Exception {
+    AutoCloseables.close(words);
+    words = null;
+  }
+
+  private long wordIndex(long hash) {
+    return ((int) (hash >>> 32) & wordMask) * 8L;
+  }
+
+  private static long mask(long hash) {
+    long mask = 0;
+    for (int i = 0; i < NUM_HASH_FUNCTIONS; i++) {
+      mask |= 1L << ((int) (hash >>> (6 * i)) & 63);
+    }
+    return mask;
+  }
+}
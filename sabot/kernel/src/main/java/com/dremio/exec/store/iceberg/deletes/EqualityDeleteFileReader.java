@@ -20,6 +20,7 @@ import static com.dremio.sabot.op.common.ht2.LBlockHashTable.ORDINAL_SIZE;
 import com.dremio.common.AutoCloseables;
 import com.dremio.common.exceptions.ExecutionSetupException;
 import com.dremio.common.expression.SchemaPath;
+import com.dremio.exec.ExecConstants;
 import com.dremio.exec.record.BatchSchema;
 import com.dremio.exec.store.RecordReader;
 import com.dremio.exec.store.SampleMutator;
@@ -79,13 +80,23 @@ public class EqualityDeleteFileReader implements AutoCloseable {
       List<FieldVector> equalityVectors =
           mutator.getVectors().stream().map(v -> (FieldVector) v).collect(Collectors.toList());
 
+      int numPartitions =
+          EqualityDeleteHashTable.getPartitionCount(
+              tableSize,
+              context
+                  .getOptions()
+                  .getOption(ExecConstants.ICEBERG_EQUALITY_DELETE_RECORDS_PER_PARTITION));
       try (EqualityDeleteHashTable.Builder builder =
               new EqualityDeleteHashTable.Builder(
                   context.getAllocator(),
                   equalityFields,
                   equalityVectors,
                   tableSize,
-                  context.getTargetBatchSize());
+                  context.getTargetBatchSize(),
+                  numPartitions,
+                  context
+                      .getOptions()
+                      .getOption(ExecConstants.ENABLE_ICEBERG_EQUALITY_DELETE_BLOOM_FILTER));
           ArrowBuf outOrdinals =
               context.getAllocator().buffer((long) context.getTargetBatchSize() * ORDINAL_SIZE)) {
 
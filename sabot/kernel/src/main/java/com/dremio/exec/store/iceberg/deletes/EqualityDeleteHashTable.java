@@ -20,11 +20,13 @@ import com.dremio.common.expression.SchemaPath;
 import com.dremio.sabot.op.common.ht2.FieldVectorPair;
 import com.dremio.sabot.op.common.ht2.FixedBlockVector;
 import com.dremio.sabot.op.common.ht2.HashTable;
+import com.dremio.sabot.op.common.ht2.HashTableMaxCapacityReachedException;
 import com.dremio.sabot.op.common.ht2.LBlockHashTable;
 import com.dremio.sabot.op.common.ht2.PivotBuilder;
 import com.dremio.sabot.op.common.ht2.PivotDef;
 import com.dremio.sabot.op.common.ht2.Pivots;
 import com.dremio.sabot.op.common.ht2.VariableBlockVector;
+import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Preconditions;
 import com.google.common.base.Stopwatch;
 import com.koloboke.collect.hash.HashConfig;
@@ -37,56 +39,154 @@ import org.apache.arrow.memory.OutOfMemoryException;
 import org.apache.arrow.vector.FieldVector;
 
 /**
- * A simple wrapper around an Arrow-based hash table used to store equality delete keys. Both
+ * A simple wrapper around Arrow-based hash tables used to store equality delete keys. Both
  * insertions and lookups are done at a record-batch granularity.
+ *
+ * <p>Large delete files are split by key hash across several partitions, each an {@link
+ * LBlockHashTable} of its own, so that the tables grow and rehash in smaller steps instead of
+ * reallocating one table as large as the whole delete file. With several partitions, keys are
+ * looked up one by one, and an optional Bloom filter over the key hashes is checked before the
+ * partitions are probed. Ordinals then only tell whether a key was found, and are unique across
+ * the partitions. A single partition keeps the vectorized lookup and has no Bloom filter. The
+ * Bloom filter is only built when it takes a small share of the allocator headroom.
+ *
+ * <p>All the partitions are held in memory, there is no spilling to disk, and every fragment loads
+ * all the keys of the delete files it reads, as data file rows are not distributed by equality key.
  */
 @NotThreadSafe
 public class EqualityDeleteHashTable implements AutoCloseable {
 
+  /** Keeps the ordinals encoded with the partition index in the int range. */
+  public static final int MAX_PARTITIONS = 64;
+
   private final BufferAllocator allocator;
   private final List<SchemaPath> equalityFields;
 
-  private LBlockHashTable table;
+  private LBlockHashTable[] partitions;
+  private EqualityDeleteBloomFilter bloomFilter;
 
   public EqualityDeleteHashTable(
       BufferAllocator allocator, LBlockHashTable table, List<SchemaPath> equalityFields) {
+    this(
+        allocator,
+        new LBlockHashTable[] {Preconditions.checkNotNull(table)},
+        null,
+        equalityFields);
+  }
+
+  private EqualityDeleteHashTable(
+      BufferAllocator allocator,
+      LBlockHashTable[] partitions,
+      EqualityDeleteBloomFilter bloomFilter,
+      List<SchemaPath> equalityFields) {
     this.allocator = allocator;
-    this.table = Preconditions.checkNotNull(table);
+    this.partitions = partitions;
+    this.bloomFilter = bloomFilter;
     this.equalityFields = Preconditions.checkNotNull(equalityFields);
   }
 
+  /**
+   * Returns the number of partitions for a delete file, a power of 2 so that each partition holds
+   * at most the given number of records, if the partition count limit allows it.
+   */
+  public static int getPartitionCount(long recordCount, long recordsPerPartition) {
+    long partitions = (recordCount + recordsPerPartition - 1) / recordsPerPartition;
+    if (partitions <= 1) {
+      return 1;
+    }
+    return (int) Math.min(MAX_PARTITIONS, Long.highestOneBit(partitions - 1) << 1);
+  }
+
   public List<SchemaPath> getEqualityFields() {
     return equalityFields;
   }
 
   public int size() {
-    return table.size();
+    int size = 0;
+    for (LBlockHashTable partition : partitions) {
+      size += partition.size();
+    }
+    return size;
+  }
+
+  public int getPartitionCount() {
+    return partitions.length;
   }
 
   public void find(
       int records, FixedBlockVector fbv, VariableBlockVector vbv, ArrowBuf outOrdinals) {
     try (ArrowBuf hashValues = allocator.buffer(records * 8L)) {
-      table.computeHash(records, fbv.getBuf(), vbv.getBuf(), 0, hashValues);
-      table.find(records, fbv.getBuf(), vbv.getBuf(), hashValues, outOrdinals);
+      partitions[0].computeHash(records, fbv.getBuf(), vbv.getBuf(), 0, hashValues);
+      if (partitions.length == 1 && bloomFilter == null) {
+        partitions[0].find(records, fbv.getBuf(), vbv.getBuf(), hashValues, outOrdinals);
+        return;
+      }
+
+      final long keyFixedAddr = fbv.getBuf().memoryAddress();
+      final long keyVarAddr = vbv.getBuf() == null ? 0 : vbv.getBuf().memoryAddress();
+      final long keyVarSize = vbv.getBuf() == null ? 0 : vbv.getBuf().capacity();
+      for (int i = 0; i < records; i++) {
+        long hash = hashValues.getLong(i * 8L);
+        int ordinal = -1;
+        if (bloomFilter == null || bloomFilter.mightContain(hash)) {
+          int partition = partitionOf(hash, partitions.length);
+          ordinal =
+              partitions[partition].find(keyFixedAddr, keyVarAddr, keyVarSize, i, (int) hash);
+          if (ordinal != -1) {
+            ordinal = ordinal * partitions.length + partition;
+          }
+        }
+        outOrdinals.setInt(i * 4L, ordinal);
+      }
     }
   }
 
   @Override
   public void close() throws Exception {
-    AutoCloseables.close(table);
-    table = null;
+    AutoCloseables.close(bloomFilter);
+    if (partitions != null) {
+      AutoCloseables.close(partitions);
+    }
+    bloomFilter = null;
+    partitions = null;
+  }
+
+  /**
+   * Uses the high bits of the hash, as the low ones select the slot within a partition. The sign
+   * bit is always clear in the hashes of {@link LBlockHashTable}, so the bits below it are used.
+   */
+  @VisibleForTesting
+  static int partitionOf(long hash, int numPartitions) {
+    if (numPartitions == 1) {
+      return 0;
+    }
+    return (int) (hash >>> (63 - Integer.numberOfTrailingZeros(numPartitions)))
+        & (numPartitions - 1);
+  }
+
+  @VisibleForTesting
+  int getPartitionSize(int partition) {
+    return partitions[partition].size();
+  }
+
+  @VisibleForTesting
+  boolean hasBloomFilter() {
+    return bloomFilter != null;
   }
 
   public static class Builder implements AutoCloseable {
 
     private static final int INITIAL_VAR_FIELD_AVERAGE_SIZE = 10;
+    // The Bloom filter is skipped if it would take more than this share of the headroom
+    private static final int BLOOM_FILTER_HEADROOM_DIVISOR = 8;
 
     private final BufferAllocator allocator;
     private final List<SchemaPath> equalityFields;
     private final PivotDef buildPivot;
     private final Stopwatch insertTimer = Stopwatch.createUnstarted();
 
-    private LBlockHashTable table;
+    private LBlockHashTable[] partitions;
+    private EqualityDeleteBloomFilter bloomFilter;
 
     public Builder(
         BufferAllocator allocator,
@@ -94,10 +194,27 @@ public class EqualityDeleteHashTable implements AutoCloseable {
         List<FieldVector> equalityVectors,
         int tableSize,
         int batchSize) {
+      this(allocator, equalityFields, equalityVectors, tableSize, batchSize, 1, false);
+    }
+
+    public Builder(
+        BufferAllocator allocator,
+        List<SchemaPath> equalityFields,
+        List<FieldVector> equalityVectors,
+        int tableSize,
+        int batchSize,
+        int numPartitions,
+        boolean useBloomFilter) {
       Preconditions.checkArgument(equalityFields.size() > 0, "equalityFields is empty");
       Preconditions.checkArgument(
           equalityFields.size() == equalityVectors.size(),
           "equalityFields and equalityVectors list sizes do not match");
+      Preconditions.checkArgument(
+          numPartitions > 0
+              && numPartitions <= MAX_PARTITIONS
+              && Integer.bitCount(numPartitions) == 1,
+          "numPartitions must be a power of 2 up to %s",
+          MAX_PARTITIONS);
       this.allocator = Preconditions.checkNotNull(allocator);
       this.equalityFields = Preconditions.checkNotNull(equalityFields);
 
@@ -105,25 +222,48 @@ public class EqualityDeleteHashTable implements AutoCloseable {
           equalityVectors.stream().map(f -> new FieldVectorPair(f, f)).collect(Collectors.toList());
       this.buildPivot = PivotBuilder.getBlockDefinition(fieldVectorPairs);
 
-      this.table =
-          new LBlockHashTable(
-              new HashTable.HashTableCreateArgs(
-                  HashConfig.getDefault(),
-                  buildPivot,
-                  allocator,
-                  tableSize,
-                  INITIAL_VAR_FIELD_AVERAGE_SIZE,
-                  false,
-                  batchSize,
-                  null, // we want IS DISTINCT FROM comparison semantics
-                  false,
-                  false,
-                  false));
+      this.partitions = new LBlockHashTable[numPartitions];
+      try {
+        for (int i = 0; i < numPartitions; i++) {
+          partitions[i] =
+              new LBlockHashTable(
+                  new HashTable.HashTableCreateArgs(
+                      HashConfig.getDefault(),
+                      buildPivot,
+                      allocator,
+                      (tableSize + numPartitions - 1) / numPartitions,
+                      INITIAL_VAR_FIELD_AVERAGE_SIZE,
+                      false,
+                      batchSize,
+                      null, // we want IS DISTINCT FROM comparison semantics
+                      false,
+                      false,
+                      false));
+        }
+        // A single partition is probed a batch at a time, which is cheaper than the Bloom filter
+        if (useBloomFilter
+            && numPartitions > 1
+            && fitsBloomFilter(tableSize, allocator.getHeadroom())) {
+          this.bloomFilter = new EqualityDeleteBloomFilter(allocator, tableSize);
+        }
+      } catch (RuntimeException e) {
+        AutoCloseables.close(e, partitions);
+        throw e;
+      }
+    }
+
+    @VisibleForTesting
+    static boolean fitsBloomFilter(int tableSize, long headroom) {
+      return EqualityDeleteBloomFilter.getAllocationSize(tableSize)
+          <= headroom / BLOOM_FILTER_HEADROOM_DIVISOR;
     }
 
     @Override
     public void close() throws Exception {
-      AutoCloseables.close(table);
+      AutoCloseables.close(bloomFilter);
+      if (partitions != null) {
+        AutoCloseables.close(partitions);
+      }
     }
 
     public void insertBatch(int records, ArrowBuf outOrdinals) {
@@ -137,11 +277,13 @@ public class EqualityDeleteHashTable implements AutoCloseable {
 
         try (ArrowBuf hashValues = allocator.buffer(records * 8L)) {
           // STEP 2: then we do the hash computation on entire batch
-          table.computeHash(records, fbv.getBuf(), var.getBuf(), 0, hashValues);
+          partitions[0].computeHash(records, fbv.getBuf(), var.getBuf(), 0, hashValues);
 
           // STEP 3: then we insert keys into hash table
           int recordsAdded =
-              table.add(records, fbv.getBuf(), var.getBuf(), hashValues, outOrdinals);
+              partitions.length == 1
+                  ? partitions[0].add(records, fbv.getBuf(), var.getBuf(), hashValues, outOrdinals)
+                  : addToPartitions(records, fbv, var, hashValues, outOrdinals);
 
           if (recordsAdded < records) {
             throw new OutOfMemoryException(
@@ -149,6 +291,12 @@ public class EqualityDeleteHashTable implements AutoCloseable {
                     "Only %d records out of %d were added to the HashTable",
                     recordsAdded, records));
           }
+
+          if (bloomFilter != null) {
+            for (int i = 0; i < records; i++) {
+              bloomFilter.put(hashValues.getLong(i * 8L));
+            }
+          }
         }
 
         insertTimer.stop();
@@ -157,10 +305,38 @@ public class EqualityDeleteHashTable implements AutoCloseable {
 
     public EqualityDeleteHashTable build() {
       EqualityDeleteHashTable resultTable =
-          new EqualityDeleteHashTable(allocator, table, equalityFields);
-      // null out table ref - resultTable now owns it
-      table = null;
+          new EqualityDeleteHashTable(allocator, partitions, bloomFilter, equalityFields);
+      // null out table refs - resultTable now owns them
+      partitions = null;
+      bloomFilter = null;
       return resultTable;
     }
+
+    private int addToPartitions(
+        int records,
+        FixedBlockVector fbv,
+        VariableBlockVector var,
+        ArrowBuf hashValues,
+        ArrowBuf outOrdinals) {
+      final long keyFixedAddr = fbv.getBuf().memoryAddress();
+      final long keyVarAddr = var.getBuf() == null ? 0 : var.getBuf().memoryAddress();
+      final long keyVarSize = var.getBuf() == null ? 0 : var.getBuf().capacity();
+      for (int i = 0; i < records; i++) {
+        long hash = hashValues.getLong(i * 8L);
+        int partition = partitionOf(hash, partitions.length);
+        int ordinal;
+        try {
+          ordinal = partitions[partition].add(keyFixedAddr, keyVarAddr, keyVarSize, i, (int) hash);
+        } catch (OutOfMemoryException | HashTableMaxCapacityReachedException e) {
+          return i;
+        }
+        // Ordinals are encoded with the partition index, a partition is full once they overflow
+        if (ordinal > (Integer.MAX_VALUE - partition) / partitions.length) {
+          return i;
+        }
+        outOrdinals.setInt(i * 4L, ordinal * partitions.length + partition);
+      }
+      return records;
+    }
   }
 }
@@ -71,30 +71,45 @@ public class ParquetRowLevelDeleteFileReaderFactory implements RowLevelDeleteFil
       OperatorContext context, Path deleteFilePath, List<String> dataFilePaths) {
     Preconditions.checkArgument(!dataFilePaths.isEmpty(), "Data file paths cannot be empty.");
     List<String> sortedPaths = dataFilePaths.stream().sorted().collect(Collectors.toList());
-
-    ParquetScanProjectedColumns projectedColumns =
-        ParquetScanProjectedColumns.fromSchemaPaths(
-            ImmutableList.of(
-                SchemaPath.getSimplePath(FILE_PATH_COLUMN), SchemaPath.getSimplePath(POS_COLUMN)));
     List<ParquetFilterCondition> filterConditions =
         parquetReaderFactory
             .newDeleteFileFilterCreator()
             .createFilePathFilter(sortedPaths.get(0), sortedPaths.get(sortedPaths.size() - 1));
 
-    AllRowGroupsParquetReader reader =
-        new AllRowGroupsParquetReader(
-            context,
-            deleteFilePath,
-            dataset,
-            fs,
-            inputStreamProviderFactory,
-            parquetReaderFactory,
-            SCHEMA,
-            projectedColumns,
-            new ParquetFilters(filterConditions),
-            ParquetReaderOptions.from(context.getOptions()));
+    return new PositionalDeleteFileReader(
+        context,
+        createPositionalDeleteParquetReader(
+            context, deleteFilePath, new ParquetFilters(filterConditions)),
+        sortedPaths.size());
+  }
+
+  @Override
+  public PositionalDeleteFileReader createPositionalDeleteFileReader(
+      OperatorContext context, Path deleteFilePath) {
+    return new PositionalDeleteFileReader(
+        context,
+        createPositionalDeleteParquetReader(context, deleteFilePath, new ParquetFilters()),
+        1);
+  }
 
-    return new PositionalDeleteFileReader(context, reader, sortedPaths.size());
+  private AllRowGroupsParquetReader createPositionalDeleteParquetReader(
+      OperatorContext context, Path deleteFilePath, ParquetFilters filters) {
+    ParquetScanProjectedColumns projectedColumns =
+        ParquetScanProjectedColumns.fromSchemaPaths(
+            ImmutableList.of(
+                SchemaPath.getSimplePath(FILE_PATH_COLUMN), SchemaPath.getSimplePath(POS_COLUMN)));
+
+    return new AllRowGroupsParquetReader(
+        context,
+        deleteFilePath,
+        dataset,
+        fs,
+        inputStreamProviderFactory,
+        parquetReaderFactory,
+        SCHEMA,
+        projectedColumns,
+        filters,
+        ParquetReaderOptions.from(context.getOptions()));
   }
 
   @Override
@@ -0,0 +1,209 @@
+/*
+ * Copyright (C) 2017-2019 Dremio Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.dremio.exec.store.iceberg.deletes;
+
+import com.google.common.base.Preconditions;
+import java.util.Arrays;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * An immutable, run-length encoded set of the deleted row positions of a single data file.
+ *
+ * <p>Positions are stored as sorted, non-overlapping runs {@code [start, end)}, so that the large
+ * contiguous ranges typical of DELETE and MERGE statements take constant space, and can be skipped
+ * as a whole by {@link PositionalDeleteFilter} through {@link
+ * PositionalDeleteIterator#consumeRun(long)}.
+ */
+public final class PositionalDeleteBitmap {
+
+  public static final PositionalDeleteBitmap EMPTY =
+      new PositionalDeleteBitmap(new long[0], new long[0]);
+
+  private final long[] starts;
+  private final long[] ends;
+
+  private PositionalDeleteBitmap(long[] starts, long[] ends) {
+    this.starts = starts;
+    this.ends = ends;
+  }
+
+  public static Builder builder() {
+    return new Builder();
+  }
+
+  /** Returns the union of the given bitmaps. */
+  public static PositionalDeleteBitmap union(List<PositionalDeleteBitmap> bitmaps) {
+    if (bitmaps.isEmpty()) {
+      return EMPTY;
+    }
+    PositionalDeleteBitmap result = bitmaps.get(0);
+    for (int i = 1; i < bitmaps.size(); i++) {
+      result = result.or(bitmaps.get(i));
+    }
+    return result;
+  }
+
+  private PositionalDeleteBitmap or(PositionalDeleteBitmap other) {
+    if (other.isEmpty()) {
+      return this;
+    } else if (isEmpty()) {
+      return other;
+    }
+
+    Builder builder = new Builder();
+    int i = 0;
+    int j = 0;
+    while (i < starts.length || j < other.starts.length) {
+      if (j == other.starts.length || (i < starts.length && starts[i] <= other.starts[j])) {
+        builder.addRange(starts[i], ends[i]);
+        i++;
+      } else {
+        builder.addRange(other.starts[j], other.ends[j]);
+        j++;
+      }
+    }
+    return builder.build();
+  }
+
+  public boolean isEmpty() {
+    return starts.length == 0;
+  }
+
+  public boolean contains(long pos) {
+    int index = Arrays.binarySearch(starts, pos);
+    if (index >= 0) {
+      return true;
+    }
+    int run = -index - 2;
+    return run >= 0 && pos < ends[run];
+  }
+
+  /** Returns the number of deleted positions. */
+  public long cardinality() {
+    long cardinality = 0;
+    for (int i = 0; i < starts.length; i++) {
+      cardinality += ends[i] - starts[i];
+    }
+    return cardinality;
+  }
+
+  public int runCount() {
+    return starts.length;
+  }
+
+  public long estimatedSizeInBytes() {
+    return 2L * Long.BYTES * starts.length + 48;
+  }
+
+  /** Returns an iterator over the deleted positions, in ascending order. */
+  public PositionalDeleteIterator iterator() {
+    return new RunIterator();
+  }
+
+  /** Builds a bitmap from positions or ranges added in ascending order. */
+  public static final class Builder {
+    private long[] starts = new long[8];
+    private long[] ends = new long[8];
+    private int count;
+
+    private Builder() {}
+
+    public Builder add(long pos) {
+      return addRange(pos, pos + 1);
+    }
+
+    /**
+     * Adds the positions in {@code [start, end)}. Ranges must be added in ascending order of their
+     * start position, and may overlap previously added ones.
+     */
+    public Builder addRange(long start, long end) {
+      Preconditions.checkArgument(start >= 0 && start < end, "Invalid range [%s, %s)", start, end);
+      if (count > 0) {
+        if (start < starts[count - 1]) {
+          throw new IllegalStateException(
+              "Positions must be added in ascending order."
+                  + "  Positional delete files may be invalid with unsorted positions.");
+        }
+        if (start <= ends[count - 1]) {
+          // overlapping or adjacent, extend the last run
+          ends[count - 1] = Math.max(ends[count - 1], end);
+          return this;
+        }
+      }
+
+      if (count == starts.length) {
+        starts = Arrays.copyOf(starts, count * 2);
+        ends = Arrays.copyOf(ends, count * 2);
+      }
+      starts[count] = start;
+      ends[count] = end;
+      count++;
+      return this;
+    }
+
+    public PositionalDeleteBitmap build() {
+      if (count == 0) {
+        return EMPTY;
+      }
+      return new PositionalDeleteBitmap(Arrays.copyOf(starts, count), Arrays.copyOf(ends, count));
+    }
+  }
+
+  private final class RunIterator implements PositionalDeleteIterator {
+    private int run;
+    private long next;
+
+    private RunIterator() {
+      this.next = starts.length > 0 ? starts[0] : END_POS;
+    }
+
+    @Override
+    public boolean hasNext() {
+      return run < starts.length;
+    }
+
+    @Override
+    public Long next() {
+      if (!hasNext()) {
+        throw new NoSuchElementException();
+      }
+      long pos = next++;
+      if (next == ends[run]) {
+        nextRun();
+      }
+      return pos;
+    }
+
+    @Override
+    public long consumeRun(long pos) {
+      if (run < starts.length && starts[run] <= pos && pos < ends[run]) {
+        long end = ends[run];
+        nextRun();
+        return end;
+      }
+      return pos + 1;
+    }
+
+    private void nextRun() {
+      run++;
+      next = run < starts.length ? starts[run] : END_POS;
+    }
+
+    @Override
+    public void close() {}
+  }
+}
@@ -0,0 +1,125 @@
+/*
+ * Copyright (C) 2017-2019 Dremio Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.dremio.exec.store.iceberg.deletes;
+
+import com.dremio.exec.store.iceberg.deletes.RowLevelDeleteFilterFactory.DeleteFileInfo;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.google.common.annotations.VisibleForTesting;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Executor wide cache of decoded positional delete files.
+ *
+ * <p>A positional delete file written by a DML statement usually covers many data files, which are
+ * scanned by different splits, batches and fragments. Each delete file is read once per executor
+ * into a {@link PositionalDeleteBitmap} per data file, and shared by all scans that reference it
+ * until evicted. Delete files are immutable, so entries keyed by path and record count never go
+ * stale.
+ *
+ * <p>The cache is bounded by the estimated size of the bitmaps ({@code
+ * dremio.iceberg.positional_delete_cache.max_size_mb}). Delete files with more records than
+ * {@code dremio.iceberg.positional_delete_cache.max_file_records} are not cached, and keep being
+ * streamed per batch.
+ */
+final class PositionalDeleteCache {
+
+  static final String MAX_SIZE_MB_PROPERTY = "dremio.iceberg.positional_delete_cache.max_size_mb";
+  static final String MAX_FILE_RECORDS_PROPERTY =
+      "dremio.iceberg.positional_delete_cache.max_file_records";
+
+  private static final long MB = 1024L * 1024L;
+
+  private static final long MAX_FILE_RECORDS =
+      Long.getLong(MAX_FILE_RECORDS_PROPERTY, 1_000_000L);
+
+  private static final Cache<Key, Map<String, PositionalDeleteBitmap>> CACHE =
+      Caffeine.newBuilder()
+          .maximumWeight(Long.getLong(MAX_SIZE_MB_PROPERTY, 256L) * MB)
+          .weigher((Key key, Map<String, PositionalDeleteBitmap> bitmaps) -> weigh(bitmaps))
+          .expireAfterAccess(30, TimeUnit.MINUTES)
+          .build();
+
+  private PositionalDeleteCache() {
+    // Not to be instantiated
+  }
+
+  /** Returns true if the delete file can be cached. */
+  static boolean isCacheable(DeleteFileInfo deleteFile) {
+    return deleteFile.getRecordCount() <= MAX_FILE_RECORDS;
+  }
+
+  /** Returns the deleted positions by data file path of a delete file, or null if not cached. */
+  static Map<String, PositionalDeleteBitmap> getIfPresent(DeleteFileInfo deleteFile) {
+    return CACHE.getIfPresent(Key.of(deleteFile));
+  }
+
+  /**
+   * Gets the deleted positions by data file path of a delete file, loading them if missing.
+   * Concurrent callers for the same delete file wait for a single load.
+   */
+  static Map<String, PositionalDeleteBitmap> get(
+      DeleteFileInfo deleteFile, Supplier<Map<String, PositionalDeleteBitmap>> loader) {
+    return CACHE.get(Key.of(deleteFile), k -> Map.copyOf(loader.get()));
+  }
+
+  @VisibleForTesting
+  static void invalidateAll() {
+    CACHE.invalidateAll();
+  }
+
+  private static int weigh(Map<String, PositionalDeleteBitmap> bitmaps) {
+    long bytes = 0;
+    for (Map.Entry<String, PositionalDeleteBitmap> entry : bitmaps.entrySet()) {
+      bytes += 2L * entry.getKey().length() + entry.getValue().estimatedSizeInBytes();
+    }
+    return (int) Math.min(Integer.MAX_VALUE, bytes);
+  }
+
+  private static final class Key {
+    private final String path;
+    private final long recordCount;
+
+    private Key(String path, long recordCount) {
+      this.path = path;
+      this.recordCount = recordCount;
+    }
+
+    private static Key of(DeleteFileInfo deleteFile) {
+      return new Key(deleteFile.getPath(), deleteFile.getRecordCount());
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (o == null || getClass() != o.getClass()) {
+        return false;
+      }
+      Key key = (Key) o;
+      return recordCount == key.recordCount && Objects.equals(path, key.path);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(path, recordCount);
+    }
+  }
+}
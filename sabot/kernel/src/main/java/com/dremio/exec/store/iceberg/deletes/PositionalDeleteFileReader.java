@@ -24,6 +24,8 @@ import com.dremio.sabot.exec.context.OperatorContext;
 import com.google.common.base.Preconditions;
 import com.google.common.collect.ImmutableList;
 import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
 import org.apache.arrow.memory.ArrowBuf;
 import org.apache.arrow.memory.BufferAllocator;
 import org.apache.arrow.memory.util.ByteFunctionHelpers;
@@ -116,6 +118,44 @@ public class PositionalDeleteFileReader implements AutoCloseable {
     return new IteratorImpl();
   }
 
+  /**
+   * Reads the positional deletes of all data files in the delete file. This can not be combined
+   * with iterators created by createIteratorForDataFile().
+   *
+   * @return deleted positions by data file path
+   */
+  public Map<String, PositionalDeleteBitmap> readAll() {
+    Preconditions.checkState(
+        activeIterators == 0 && currentDataFilePath == null,
+        "Delete file has already been partially read.");
+    Map<String, PositionalDeleteBitmap> bitmaps = new HashMap<>();
+    PositionalDeleteBitmap.Builder builder = null;
+    reader.allocate(mutator.getFieldVectorMap());
+    records = reader.next();
+    while (records > 0) {
+      for (int i = 0; i < records; i++) {
+        if (builder == null || comparePathAtIndex(i) != 0) {
+          if (builder != null) {
+            bitmaps.merge(currentDataFilePath, builder.build(), this::union);
+          }
+          setCurrentDataFilePath(new String(pathVector.get(i), StandardCharsets.UTF_8));
+          builder = PositionalDeleteBitmap.builder();
+        }
+        builder.add(posVector.get(i));
+      }
+      reader.allocate(mutator.getFieldVectorMap());
+      records = reader.next();
+    }
+    if (builder != null) {
+      bitmaps.merge(currentDataFilePath, builder.build(), this::union);
+    }
+    return bitmaps;
+  }
+
+  private PositionalDeleteBitmap union(PositionalDeleteBitmap left, PositionalDeleteBitmap right) {
+    return PositionalDeleteBitmap.union(ImmutableList.of(left, right));
+  }
+
   @Override
   public void close() throws Exception {
     AutoCloseables.close(mutator, reader);
@@ -136,12 +176,16 @@ public class PositionalDeleteFileReader implements AutoCloseable {
     current = 0;
   }
 
-  private void advanceToDataFile(String dataFilePath) {
+  private void setCurrentDataFilePath(String dataFilePath) {
     currentDataFilePath = dataFilePath;
     byte[] bytes = currentDataFilePath.getBytes(StandardCharsets.UTF_8);
     currentDataFilePathBuf = currentDataFilePathBuf.reallocIfNeeded(bytes.length);
     currentDataFilePathBuf.setBytes(0, bytes);
     currentDataFilePathEnd = bytes.length;
+  }
+
+  private void advanceToDataFile(String dataFilePath) {
+    setCurrentDataFilePath(dataFilePath);
 
     // skip ahead if current batch only has records for data files less than the current
     if (canSkipBatch()) {
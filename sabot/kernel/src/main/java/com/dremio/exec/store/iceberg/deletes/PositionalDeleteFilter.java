@@ -25,7 +25,8 @@ import org.apache.arrow.vector.SimpleIntVector;
 
 /**
  * A filter which converts positional deletes provided by a PositionalDeleteIterator to a delta
- * vector that encodes the rows to be skipped.
+ * vector that encodes the rows to be skipped. Runs of consecutive deleted positions reported by
+ * {@link PositionalDeleteIterator#consumeRun(long)} are skipped in a single step.
  */
 public class PositionalDeleteFilter implements AutoCloseable {
 
@@ -34,6 +35,8 @@ public class PositionalDeleteFilter implements AutoCloseable {
   private PositionalDeleteIterator iterator;
   private long currentRowPos;
   private long nextDeletePos;
+  // exclusive end of the run of deleted positions starting at nextDeletePos
+  private long nextDeleteRunEnd;
   private int refCount;
   private DiagnosticState diagnosticState;
 
@@ -44,6 +47,7 @@ public class PositionalDeleteFilter implements AutoCloseable {
     this.iteratorSupplier = Preconditions.checkNotNull(iteratorSupplier);
     this.currentRowPos = 0;
     this.nextDeletePos = -1;
+    this.nextDeleteRunEnd = 0;
     this.refCount = initialRefCount;
     this.operatorStats = operatorStats;
     this.diagnosticState = new DiagnosticState();
@@ -82,9 +86,11 @@ public class PositionalDeleteFilter implements AutoCloseable {
       iterator = iteratorSupplier.get();
     }
     currentRowPos = rowPos;
-    while (nextDeletePos < currentRowPos) {
+    while (nextDeleteRunEnd <= currentRowPos) {
       advance();
     }
+    // the seek position may be in the middle of a deleted run
+    nextDeletePos = Math.max(nextDeletePos, currentRowPos);
   }
 
   public int applyToDeltas(long endRowPos, int maxEvalCount, SimpleIntVector deltas) {
@@ -113,11 +119,16 @@ public class PositionalDeleteFilter implements AutoCloseable {
         outputIndex += zeroCount;
         currentRowPos += zeroCount;
       } else if (cmp == 0) {
-        // deleted row, increment current delta
-        currentRowPos++;
-        currentDelta++;
-        deleteCount++;
-        advance();
+        // deleted rows, increment current delta by as much of the deleted run as fits
+        int skipCount = (int) (Math.min(nextDeleteRunEnd, endRowPos) - currentRowPos);
+        currentRowPos += skipCount;
+        currentDelta += skipCount;
+        deleteCount += skipCount;
+        if (currentRowPos == nextDeleteRunEnd) {
+          advance();
+        } else {
+          nextDeletePos = currentRowPos;
+        }
       } else {
         throw new IllegalStateException(
             "Current row position should never be greater than next delete position."
@@ -143,11 +154,17 @@ public class PositionalDeleteFilter implements AutoCloseable {
 
   private void advance() {
     long lastDeletePos = nextDeletePos;
-    while (nextDeletePos != PositionalDeleteIterator.END_POS && nextDeletePos == lastDeletePos) {
+    long lastDeleteRunEnd = nextDeleteRunEnd;
+    // skip positions within the last run, which are duplicates
+    while (nextDeletePos != PositionalDeleteIterator.END_POS
+        && nextDeletePos >= lastDeletePos
+        && nextDeletePos < lastDeleteRunEnd) {
       if (iterator.hasNext()) {
         nextDeletePos = iterator.next();
+        nextDeleteRunEnd = iterator.consumeRun(nextDeletePos);
       } else {
         nextDeletePos = PositionalDeleteIterator.END_POS;
+        nextDeleteRunEnd = PositionalDeleteIterator.END_POS;
         // close iterators as soon as they reach their end so that underlying readers get released
         // ASAP
         AutoCloseables.close(RuntimeException.class, iterator);
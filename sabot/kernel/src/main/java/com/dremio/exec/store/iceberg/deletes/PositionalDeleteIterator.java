@@ -29,4 +29,14 @@ public interface PositionalDeleteIterator extends Iterator<Long>, AutoCloseable
    * PositionDeleteFilter.
    */
   long END_POS = Long.MAX_VALUE;
+
+  /**
+   * Skips the positions directly following {@code pos}, the position returned by the last call to
+   * next(), which are known to be deleted as well, and returns the exclusive end of the resulting
+   * run of deleted positions. Iterators which do not track runs return {@code pos + 1}, leaving
+   * any following positions to next().
+   */
+  default long consumeRun(long pos) {
+    return pos + 1;
+  }
 }
@@ -29,6 +29,10 @@ public interface RowLevelDeleteFileReaderFactory {
   PositionalDeleteFileReader createPositionalDeleteFileReader(
       OperatorContext context, Path deleteFilePath, List<String> dataFilePaths);
 
+  /** Creates a reader over the positional deletes of all data files tracked in the delete file. */
+  PositionalDeleteFileReader createPositionalDeleteFileReader(
+      OperatorContext context, Path deleteFilePath);
+
   EqualityDeleteFileReader createEqualityDeleteFileReader(
       OperatorContext context,
       Path deleteFilePath,
@@ -17,6 +17,7 @@ package com.dremio.exec.store.iceberg.deletes;
 
 import static com.dremio.sabot.op.scan.ScanOperator.Metric.PARQUET_BYTES_READ;
 import static com.dremio.sabot.op.tablefunction.TableFunctionOperator.Metric.NUM_DELETE_FILE_READERS;
+import static com.dremio.sabot.op.tablefunction.TableFunctionOperator.Metric.NUM_POS_DELETE_FILE_CACHE_HITS;
 import static com.dremio.sabot.op.tablefunction.TableFunctionOperator.Metric.PARQUET_DELETE_FILE_BYTES_READ;
 
 import com.dremio.common.AutoCloseables;
@@ -59,6 +60,11 @@ import org.apache.iceberg.FileContent;
  * <p>Both {@link PositionalDeleteFilter} and {@link PositionalDeleteFileReader} instances are
  * reference counted so they can be closed immediately when they are no longer needed.
  *
+ * <p>When the positional delete cache is enabled, delete files are instead read in full once per
+ * executor into a {@link PositionalDeleteCache}, and the filters of all batches and fragments
+ * iterate over the cached {@link PositionalDeleteBitmap} instances, without any reader to track.
+ * Delete files too large to be cached keep using the reader based approach above.
+ *
  * <ul>
  *   <li>The filter's reference count is the count of row groups to be scanned for the data file the
  *       filter is associated with. The filter is closed once the last row group is scanned.
@@ -109,6 +115,7 @@ public class RowLevelDeleteFilterFactory implements AutoCloseable {
   private final OperatorContext context;
   private final OperatorStats baseStats;
   private final RowLevelDeleteFileReaderFactory readerFactory;
+  private final boolean usePositionalDeleteCache;
   private final Map<String, List<String>> dataFilesByDeleteFile = new HashMap<>();
   private final Map<String, PositionalDeleteFileReader> positionalDeleteFileReaders =
       new HashMap<>();
@@ -119,6 +126,13 @@ public class RowLevelDeleteFilterFactory implements AutoCloseable {
 
   public RowLevelDeleteFilterFactory(
       OperatorContext context, RowLevelDeleteFileReaderFactory readerFactory) {
+    this(context, readerFactory, false);
+  }
+
+  public RowLevelDeleteFilterFactory(
+      OperatorContext context,
+      RowLevelDeleteFileReaderFactory readerFactory,
+      boolean usePositionalDeleteCache) {
     // Create an OperatorContext which has an independent OperatorStats instance, and delegates all
     // other calls to
     // the context that was provided.  This allows for isolating metrics recorded by Parquet readers
@@ -129,6 +143,7 @@ public class RowLevelDeleteFilterFactory implements AutoCloseable {
     this.context = createDeleteFileStatsContext(context);
     this.baseStats = context.getStats();
     this.readerFactory = Preconditions.checkNotNull(readerFactory);
+    this.usePositionalDeleteCache = usePositionalDeleteCache;
   }
 
   public PositionalDeleteFilter createPositionalDeleteFilter(String dataFilePath) {
@@ -283,6 +298,12 @@ public class RowLevelDeleteFilterFactory implements AutoCloseable {
 
   private PositionalDeleteFilter getOrCreatePositionalDeleteFilter(
       String dataFilePath, List<DeleteFileInfo> deleteFiles) {
+    if (usePositionalDeleteCache
+        && deleteFiles.stream().allMatch(PositionalDeleteCache::isCacheable)) {
+      return positionalDeleteFilters.computeIfAbsent(
+          dataFilePath, path -> createCachedPositionalDeleteFilter(path, deleteFiles));
+    }
+
     return positionalDeleteFilters.computeIfAbsent(
         dataFilePath,
         path -> {
@@ -320,6 +341,48 @@ public class RowLevelDeleteFilterFactory implements AutoCloseable {
         });
   }
 
+  private PositionalDeleteFilter createCachedPositionalDeleteFilter(
+      String dataFilePath, List<DeleteFileInfo> deleteFiles) {
+    // As above, the supplier must not access internal state which is reset for the next batch. It
+    // is only called once the data file reader is setup, so that delete files are not read ahead of
+    // time.
+    Supplier<PositionalDeleteIterator> supplier =
+        () ->
+            PositionalDeleteBitmap.union(
+                    deleteFiles.stream()
+                        .map(
+                            f ->
+                                getCachedPositionalDeletes(f)
+                                    .getOrDefault(dataFilePath, PositionalDeleteBitmap.EMPTY))
+                        .collect(Collectors.toList()))
+                .iterator();
+
+    int initialRefCount = dataFileInfo.get(dataFilePath).getNumRowGroups();
+    return new PositionalDeleteFilter(supplier, initialRefCount, baseStats);
+  }
+
+  private Map<String, PositionalDeleteBitmap> getCachedPositionalDeletes(
+      DeleteFileInfo deleteFile) {
+    Map<String, PositionalDeleteBitmap> bitmaps = PositionalDeleteCache.getIfPresent(deleteFile);
+    if (bitmaps != null) {
+      baseStats.addLongStat(NUM_POS_DELETE_FILE_CACHE_HITS, 1);
+      return bitmaps;
+    }
+    return PositionalDeleteCache.get(deleteFile, () -> readPositionalDeletes(deleteFile));
+  }
+
+  private Map<String, PositionalDeleteBitmap> readPositionalDeletes(DeleteFileInfo deleteFile) {
+    Preconditions.checkArgument(deleteFile.getContent() == FileContent.POSITION_DELETES);
+    try (PositionalDeleteFileReader reader =
+        readerFactory.createPositionalDeleteFileReader(context, Path.of(deleteFile.getPath()))) {
+      reader.setup();
+      baseStats.addLongStat(NUM_DELETE_FILE_READERS, 1);
+      return reader.readAll();
+    } catch (Exception e) {
+      throw new RuntimeException(e);
+    }
+  }
+
   private EqualityDeleteFileReader getOrCreateEqualityDeleteReader(
       DeleteFileInfo deleteFile,
       List<IcebergProtobuf.IcebergSchemaField> icebergColumnIds,
@@ -38,6 +38,7 @@ import com.dremio.exec.store.dfs.HistoryEventHandlerProvider;
 import com.dremio.exec.store.dfs.IcebergTableProps;
 import com.dremio.exec.store.dfs.NoopHistoryEventHandler;
 import com.dremio.exec.store.dfs.copyinto.CopyIntoHistoryEventHandler;
+import com.dremio.exec.store.iceberg.ColumnNdvSketches;
 import com.dremio.exec.store.iceberg.IcebergMetadataInformation;
 import com.dremio.exec.store.iceberg.IcebergPartitionData;
 import com.dremio.exec.store.iceberg.IcebergSerDe;
@@ -140,6 +141,8 @@ public class IcebergCommitOpHelper implements AutoCloseable {
   private VarBinaryVector metadataVector;
   private BigIntVector rejectedRecordCountVector;
   private HistoryEventHandler historyEventHandler;
+  // NDV sketches of the rows added by the write, published as statistics of the new snapshot
+  private final ColumnNdvSketches columnNdvSketches = new ColumnNdvSketches();
 
   // orphan files to delete, used for small file compaction.
   private Set<String> orphanFiles = new HashSet<>();
@@ -347,7 +350,11 @@ public class IcebergCommitOpHelper implements AutoCloseable {
       OperationType operationType = getOperationType(i);
       switch (operationType) {
         case ADD_MANIFESTFILE:
-          consumeManifestFile(getManifestFile(i));
+          IcebergMetadataInformation manifestInformation = getIcebergMetadataInformation(i);
+          consumeManifestFile(
+              IcebergSerDe.deserializeManifestFile(
+                  manifestInformation.getIcebergMetadataFileByte()));
+          columnNdvSketches.merge(manifestInformation.getColumnNdvSketches());
           consumeManifestPartitionData(i);
           break;
         case DELETE_DATAFILE:
@@ -359,9 +366,10 @@ public class IcebergCommitOpHelper implements AutoCloseable {
           consumeDeletedDataFilePartitionData(i);
           break;
         case ADD_DATAFILE:
+          IcebergMetadataInformation dataFileInformation = getIcebergMetadataInformation(i);
           DataFile addedDataFile =
-              IcebergSerDe.deserializeDataFile(
-                  getIcebergMetadataInformation(i).getIcebergMetadataFileByte());
+              IcebergSerDe.deserializeDataFile(dataFileInformation.getIcebergMetadataFileByte());
+          columnNdvSketches.merge(dataFileInformation.getColumnNdvSketches());
           // Consuming operations: (Merge-On-Read) INSERT, UPDATE, MERGE
           if (DmlUtils.isMergeOnReadDmlOperation(config.getTableFormatOptions())) {
             consumeMergeOnReadDataFile(addedDataFile);
@@ -600,6 +608,7 @@ public class IcebergCommitOpHelper implements AutoCloseable {
         WriterCommitterOperator.Metric.READ_SIGNATURE_COMPUTE_TIME,
         stopwatch.elapsed(TimeUnit.MILLISECONDS));
     icebergOpCommitter.updateReadSignature(newReadSignature);
+    icebergOpCommitter.consumeColumnNdvSketches(columnNdvSketches);
     try (AutoCloseable ac = OperatorStats.getWaitRecorder(context.getStats())) {
       injector.injectChecked(
           executionControls, INJECTOR_BEFORE_TABLE_COMMIT_ERROR, RuntimeException.class);
@@ -44,6 +44,7 @@ import java.util.Collections;
 import java.util.List;
 import java.util.Set;
 import java.util.concurrent.atomic.AtomicReference;
+import javax.annotation.Nullable;
 import org.apache.arrow.vector.BigIntVector;
 import org.apache.arrow.vector.IntVector;
 import org.apache.arrow.vector.VarBinaryVector;
@@ -74,6 +75,9 @@ public class ManifestFileRecordWriter implements RecordWriter {
 
     Set<IcebergPartitionData> getPartitionDataInCurrentManifest();
 
+    @Nullable
+    byte[] getColumnNdvSketches();
+
     static ImmutableWritingContext.Builder builder() {
       return new ImmutableWritingContext.Builder();
     }
@@ -411,6 +415,7 @@ public class ManifestFileRecordWriter implements RecordWriter {
             .setAddedRowCount(addedRowCount)
             .setLength(manifestWritesHelper.length())
             .setSchema(manifestWritesHelper.getWrittenSchema())
+            .setColumnNdvSketches(manifestWritesHelper.takeColumnNdvSketches())
             .build();
     if (singleWriter) {
       manifestWritesHelper.write(writingContext, this::processGeneratedManifestFile);
@@ -431,7 +436,9 @@ public class ManifestFileRecordWriter implements RecordWriter {
     try {
       manifestMetaInfo =
           IcebergSerDe.serializeToByteArray(
-              new IcebergMetadataInformation(IcebergSerDe.serializeManifestFile(manifestFile)));
+              new IcebergMetadataInformation(
+                  IcebergSerDe.serializeManifestFile(manifestFile),
+                  writingContext.getColumnNdvSketches()));
     } catch (IOException ex) {
       logger.error("Error while serializing manifest file {}", manifestFile, ex);
       return;
@@ -28,6 +28,7 @@ import com.dremio.exec.record.VectorAccessible;
 import com.dremio.exec.store.OperationType;
 import com.dremio.exec.store.RecordWriter;
 import com.dremio.exec.store.dfs.IcebergTableProps;
+import com.dremio.exec.store.iceberg.ColumnNdvSketches;
 import com.dremio.exec.store.iceberg.FieldIdBroker;
 import com.dremio.exec.store.iceberg.IcebergManifestWriterPOP;
 import com.dremio.exec.store.iceberg.IcebergMetadataInformation;
@@ -139,6 +140,8 @@ public class ManifestWritesHelper {
   private final Set<IcebergPartitionData> partitionDataInCurrentManifest = new HashSet<>();
   private final byte[] schema;
   private Set<DataFile> orphanFiles = new HashSet<>();
+  // NDV sketches of the data files added to the current manifest
+  private ColumnNdvSketches columnNdvSketches = new ColumnNdvSketches();
 
   private final LazyManifestWriterPool threadPool;
 
@@ -263,6 +266,7 @@ public class ManifestWritesHelper {
             mergeOnReadDataFiles.put(currentDataFile, metaInfoBytes);
           } else {
             addDataFile(currentDataFile);
+            columnNdvSketches.merge(icebergMetadataInformation.getColumnNdvSketches());
             currentNumDataFileAdded++;
           }
           break;
@@ -338,6 +342,19 @@ public class ManifestWritesHelper {
     mergeOnReadDataFiles.clear();
   }
 
+  /**
+   * Returns the serialized NDV sketches of the data files added since the previous call, or null if
+   * none were collected.
+   */
+  public byte[] takeColumnNdvSketches() {
+    if (columnNdvSketches.isEmpty()) {
+      return null;
+    }
+    byte[] serialized = columnNdvSketches.serialize();
+    columnNdvSketches = new ColumnNdvSketches();
+    return serialized;
+  }
+
   public long length() {
     Preconditions.checkNotNull(manifestWriter);
     return manifestWriter.getInstance().length();
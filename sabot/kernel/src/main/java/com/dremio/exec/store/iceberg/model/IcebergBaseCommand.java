@@ -35,9 +35,11 @@ import com.dremio.exec.planner.sql.parser.SqlAlterTablePartitionColumns;
 import com.dremio.exec.proto.ExecProtos.ClusteringStatus;
 import com.dremio.exec.proto.UserBitShared;
 import com.dremio.exec.record.BatchSchema;
+import com.dremio.exec.store.iceberg.ColumnNdvSketches;
 import com.dremio.exec.store.iceberg.DremioFileIO;
 import com.dremio.exec.store.iceberg.FieldIdBroker;
 import com.dremio.exec.store.iceberg.IcebergExpiryAction;
+import com.dremio.exec.store.iceberg.IcebergNdvStatistics;
 import com.dremio.exec.store.iceberg.IcebergUtils;
 import com.dremio.exec.store.iceberg.SchemaConverter;
 import com.dremio.exec.store.iceberg.SnapshotEntry;
@@ -551,6 +553,15 @@ public class IcebergBaseCommand implements IcebergCommand {
     }
   }
 
+  @Override
+  public void updateNdvStatisticsInTransaction(ColumnNdvSketches addedSketches) {
+    Preconditions.checkState(transaction != null, "Unexpected state");
+    if (addedSketches == null || addedSketches.isEmpty()) {
+      return;
+    }
+    IcebergNdvStatistics.addToTransaction(transaction, addedSketches);
+  }
+
   @Override
   public void updatePropertiesInTransaction(Map<String, String> tblProperties) {
     if (tblProperties == null || tblProperties.isEmpty()) {
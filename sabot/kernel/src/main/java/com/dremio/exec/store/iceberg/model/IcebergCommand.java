@@ -19,6 +19,7 @@ import com.dremio.exec.catalog.PartitionSpecAlterOption;
 import com.dremio.exec.catalog.RollbackOption;
 import com.dremio.exec.proto.ExecProtos.ClusteringStatus;
 import com.dremio.exec.record.BatchSchema;
+import com.dremio.exec.store.iceberg.ColumnNdvSketches;
 import com.dremio.exec.store.iceberg.SnapshotEntry;
 import java.util.List;
 import java.util.Map;
@@ -256,6 +257,12 @@ public interface IcebergCommand {
   /** Update table's properties in a transaction */
   void updatePropertiesInTransaction(Map<String, String> tblProperties);
 
+  /**
+   * Write the NDV sketches of the added rows as statistics of the snapshot created by the current
+   * transaction, as part of the transaction
+   */
+  void updateNdvStatisticsInTransaction(ColumnNdvSketches addedSketches);
+
   /** Update table's properties. */
   void updateProperties(Map<String, String> tblProperties);
 
@@ -22,6 +22,7 @@ import com.dremio.common.exceptions.UserException;
 import com.dremio.exec.ExecConstants;
 import com.dremio.exec.expr.fn.impl.ByteArrayWrapper;
 import com.dremio.exec.record.BatchSchema;
+import com.dremio.exec.store.iceberg.ColumnNdvSketches;
 import com.dremio.exec.store.iceberg.manifestwriter.IcebergCommitOpHelper;
 import com.dremio.io.file.Path;
 import com.dremio.sabot.exec.context.OperatorContext;
@@ -78,6 +79,7 @@ public class IcebergDmlOperationCommitter implements IcebergOpCommitter {
   private final boolean isConcurrencyEnabled;
 
   private final RowLevelOperationMode dmlWriteMode;
+  private ColumnNdvSketches columnNdvSketches;
 
   public IcebergDmlOperationCommitter(
       OperatorContext operatorContext,
@@ -128,6 +130,7 @@ public class IcebergDmlOperationCommitter implements IcebergOpCommitter {
         default:
           throw new UnsupportedOperationException("Unsupported Dml Write Mode: " + dmlWriteMode);
       }
+      IcebergOpCommitter.writeNdvStatistics(icebergCommand, columnNdvSketches, operatorStats);
       snapshot = endDmlOperationTransaction().currentSnapshot();
       commitStatus =
           (currentSnapshot != null && snapshot.snapshotId() == startingSnapshotId)
@@ -288,6 +291,11 @@ public class IcebergDmlOperationCommitter implements IcebergOpCommitter {
     manifestFileList.add(icebergManifestFile);
   }
 
+  @Override
+  public void consumeColumnNdvSketches(ColumnNdvSketches columnNdvSketches) {
+    this.columnNdvSketches = columnNdvSketches;
+  }
+
   @Override
   public void consumePositionalDeleteFile(
       DeleteFile positionalDeleteFile, Set<ByteArrayWrapper> referencedDataFiles)
@@ -20,6 +20,7 @@ import static com.dremio.sabot.op.writer.WriterCommitterOperator.SnapshotCommitS
 
 import com.dremio.common.exceptions.UserException;
 import com.dremio.exec.record.BatchSchema;
+import com.dremio.exec.store.iceberg.ColumnNdvSketches;
 import com.dremio.exec.store.iceberg.manifestwriter.IcebergCommitOpHelper;
 import com.dremio.sabot.exec.context.OperatorStats;
 import com.dremio.sabot.op.writer.WriterCommitterOperator;
@@ -53,6 +54,7 @@ public class IcebergInsertOperationCommitter implements IcebergOpCommitter {
   private final IcebergCommand icebergCommand;
   private final OperatorStats operatorStats;
   private final String prevMetadataRootPointer;
+  private ColumnNdvSketches columnNdvSketches;
 
   public IcebergInsertOperationCommitter(
       IcebergCommand icebergCommand, OperatorStats operatorStats) {
@@ -79,6 +81,7 @@ public class IcebergInsertOperationCommitter implements IcebergOpCommitter {
                 .collect(Collectors.toList()));
         icebergCommand.consumeManifestFiles(manifestFileList);
         icebergCommand.finishInsert();
+        IcebergOpCommitter.writeNdvStatistics(icebergCommand, columnNdvSketches, operatorStats);
       }
       Snapshot snapshot = icebergCommand.endTransaction().currentSnapshot();
       SnapshotCommitStatus commitStatus =
@@ -107,6 +110,11 @@ public class IcebergInsertOperationCommitter implements IcebergOpCommitter {
     manifestFileList.add(icebergManifestFile);
   }
 
+  @Override
+  public void consumeColumnNdvSketches(ColumnNdvSketches columnNdvSketches) {
+    this.columnNdvSketches = columnNdvSketches;
+  }
+
   @Override
   public void consumeDeleteDataFile(DataFile icebergDeleteDatafile)
       throws UnsupportedOperationException {
@@ -17,20 +17,24 @@ package com.dremio.exec.store.iceberg.model;
 
 import static com.dremio.exec.store.iceberg.model.IcebergConstants.ADDED_DATA_FILES;
 import static com.dremio.exec.store.iceberg.model.IcebergConstants.DELETED_DATA_FILES;
+import static com.dremio.sabot.op.writer.WriterCommitterOperator.Metric.NDV_STATISTICS_WRITE_TIME;
 import static com.dremio.sabot.op.writer.WriterCommitterOperator.Metric.SNAPSHOT_COMMIT_STATUS;
 import static com.dremio.sabot.op.writer.WriterCommitterOperator.SnapshotCommitStatus.COMMITTED;
 
 import com.dremio.exec.expr.fn.impl.ByteArrayWrapper;
 import com.dremio.exec.proto.ExecProtos.ClusteringStatus;
 import com.dremio.exec.record.BatchSchema;
+import com.dremio.exec.store.iceberg.ColumnNdvSketches;
 import com.dremio.sabot.exec.context.OperatorStats;
 import com.dremio.sabot.op.writer.WriterCommitterOperator.SnapshotCommitStatus;
 import com.dremio.sabot.op.writer.WriterCommitterOutputHandler;
+import com.google.common.base.Stopwatch;
 import com.google.common.collect.ImmutableMap;
 import com.google.protobuf.ByteString;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.TimeUnit;
 import org.apache.iceberg.DataFile;
 import org.apache.iceberg.DeleteFile;
 import org.apache.iceberg.ManifestFile;
@@ -38,6 +42,7 @@ import org.apache.iceberg.PartitionSpec;
 import org.apache.iceberg.Schema;
 import org.apache.iceberg.Snapshot;
 import org.apache.iceberg.io.FileIO;
+import org.slf4j.LoggerFactory;
 
 /** Implementations of this interface commit an iceberg transaction */
 public interface IcebergOpCommitter {
@@ -170,6 +175,35 @@ public interface IcebergOpCommitter {
 
   default void consumeClusteringStatus(ClusteringStatus clusteringStatus) {}
 
+  /**
+   * Stores the NDV sketches of the added rows, written as statistics of the new snapshot within
+   * the commit transaction. Committers which don't support it ignore the sketches.
+   *
+   * @param columnNdvSketches sketches of the added rows by field id
+   */
+  default void consumeColumnNdvSketches(ColumnNdvSketches columnNdvSketches) {}
+
+  /**
+   * Adds the NDV statistics to the current transaction of the command. Statistics only help
+   * planning, so a failure to write them is logged and does not fail the commit.
+   */
+  static void writeNdvStatistics(
+      IcebergCommand icebergCommand, ColumnNdvSketches columnNdvSketches, OperatorStats stats) {
+    if (columnNdvSketches == null || columnNdvSketches.isEmpty()) {
+      return;
+    }
+    Stopwatch stopwatch = Stopwatch.createStarted();
+    try {
+      icebergCommand.updateNdvStatisticsInTransaction(columnNdvSketches);
+    } catch (RuntimeException e) {
+      LoggerFactory.getLogger(IcebergOpCommitter.class)
+          .warn("Failed to write NDV statistics of the new snapshot", e);
+    }
+    if (stats != null) {
+      stats.addLongStat(NDV_STATISTICS_WRITE_TIME, stopwatch.elapsed(TimeUnit.MILLISECONDS));
+    }
+  }
+
   /** Writes operator stats if a new snapshot is created */
   static void writeSnapshotStats(
       OperatorStats stats, SnapshotCommitStatus commitStatus, Snapshot snapshot) {
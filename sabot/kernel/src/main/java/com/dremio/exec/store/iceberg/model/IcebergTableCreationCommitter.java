@@ -19,6 +19,7 @@ import static com.dremio.sabot.op.writer.WriterCommitterOperator.SnapshotCommitS
 import static com.dremio.sabot.op.writer.WriterCommitterOperator.SnapshotCommitStatus.SKIPPED;
 
 import com.dremio.exec.record.BatchSchema;
+import com.dremio.exec.store.iceberg.ColumnNdvSketches;
 import com.dremio.exec.store.iceberg.manifestwriter.IcebergCommitOpHelper;
 import com.dremio.sabot.exec.context.OperatorStats;
 import com.dremio.sabot.op.writer.WriterCommitterOperator;
@@ -46,6 +47,7 @@ public class IcebergTableCreationCommitter implements IcebergOpCommitter {
   private final List<ManifestFile> manifestFileList = new ArrayList<>();
   protected final IcebergCommand icebergCommand;
   private final OperatorStats operatorStats;
+  private ColumnNdvSketches columnNdvSketches;
 
   public IcebergTableCreationCommitter(
       String tableName,
@@ -96,6 +98,7 @@ public class IcebergTableCreationCommitter implements IcebergOpCommitter {
               .collect(Collectors.toList()));
       icebergCommand.consumeManifestFiles(manifestFileList);
       icebergCommand.finishInsert();
+      IcebergOpCommitter.writeNdvStatistics(icebergCommand, columnNdvSketches, operatorStats);
       Snapshot snapshot = icebergCommand.endTransaction().currentSnapshot();
       long totalCommitTime = stopwatch.elapsed(TimeUnit.MILLISECONDS);
       /* OperatorStats are null when create empty table is executed via Coordinator*/
@@ -130,6 +133,11 @@ public class IcebergTableCreationCommitter implements IcebergOpCommitter {
     manifestFileList.add(icebergManifestFile);
   }
 
+  @Override
+  public void consumeColumnNdvSketches(ColumnNdvSketches columnNdvSketches) {
+    this.columnNdvSketches = columnNdvSketches;
+  }
+
   @Override
   public void consumeDeleteDataFile(DataFile icebergDeleteDatafile)
       throws UnsupportedOperationException {
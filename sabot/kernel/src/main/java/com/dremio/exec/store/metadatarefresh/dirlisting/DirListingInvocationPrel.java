@@ -46,6 +46,7 @@ import com.dremio.exec.store.iceberg.ManifestContentType;
 import com.dremio.exec.store.metadatarefresh.MetadataRefreshExecConstants;
 import com.dremio.options.Options;
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Iterables;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
@@ -83,6 +84,7 @@ public class DirListingInvocationPrel extends ScanPrelBase implements Prel, Prel
   private UnlimitedSplitsMetadataProvider metadataProvider;
   private List<String> partialRefreshPaths;
   private Function<RelMetadataQuery, Double> estimateRowCountFn;
+  private IncrementalDirListing incrementalDirListing;
 
   public DirListingInvocationPrel(
       RelOptCluster cluster,
@@ -99,6 +101,45 @@ public class DirListingInvocationPrel extends ScanPrelBase implements Prel, Prel
       List<String> partialRefreshPaths,
       final Function<RelMetadataQuery, Double> estimateRowCountFn,
       List<Info> runtimeFilters) {
+    this(
+        cluster,
+        traitSet,
+        table,
+        pluginId,
+        tableMetadata,
+        observedRowcountAdjustment,
+        hints,
+        plugin,
+        uuid,
+        isPartialRefresh,
+        metadataProvider,
+        partialRefreshPaths,
+        estimateRowCountFn,
+        runtimeFilters,
+        null);
+  }
+
+  /**
+   * Creates the dir listing of an incremental refresh which only lists the directories of
+   * incrementalDirListing, if not null, and only compares their files with the data files of the
+   * table.
+   */
+  public DirListingInvocationPrel(
+      RelOptCluster cluster,
+      RelTraitSet traitSet,
+      RelOptTable table,
+      StoragePluginId pluginId,
+      TableMetadata tableMetadata,
+      double observedRowcountAdjustment,
+      List<RelHint> hints,
+      FileSystemPlugin<?> plugin,
+      String uuid,
+      boolean isPartialRefresh,
+      UnlimitedSplitsMetadataProvider metadataProvider,
+      List<String> partialRefreshPaths,
+      final Function<RelMetadataQuery, Double> estimateRowCountFn,
+      List<Info> runtimeFilters,
+      IncrementalDirListing incrementalDirListing) {
     super(
         cluster,
         traitSet,
@@ -115,6 +156,7 @@ public class DirListingInvocationPrel extends ScanPrelBase implements Prel, Prel
     this.metadataProvider = metadataProvider;
     this.partialRefreshPaths = partialRefreshPaths;
     this.estimateRowCountFn = estimateRowCountFn;
+    this.incrementalDirListing = incrementalDirListing;
   }
 
   @Override
@@ -133,7 +175,8 @@ public class DirListingInvocationPrel extends ScanPrelBase implements Prel, Prel
         metadataProvider,
         partialRefreshPaths,
         estimateRowCountFn,
-        getRuntimeFilters());
+        getRuntimeFilters(),
+        incrementalDirListing);
   }
 
   @Override
@@ -152,7 +195,8 @@ public class DirListingInvocationPrel extends ScanPrelBase implements Prel, Prel
         metadataProvider,
         partialRefreshPaths,
         estimateRowCountFn,
-        getRuntimeFilters());
+        getRuntimeFilters(),
+        incrementalDirListing);
   }
 
   @Override
@@ -296,6 +340,9 @@ public class DirListingInvocationPrel extends ScanPrelBase implements Prel, Prel
     if (isPartialRefresh) {
       return addFilterForFilteringPerPartition(manifestScanTF);
     }
+    if (incrementalDirListing != null) {
+      return addFilterForListedDirectories(manifestScanTF);
+    }
     return manifestScanTF;
   }
 
@@ -529,4 +576,46 @@ public class DirListingInvocationPrel extends ScanPrelBase implements Prel, Prel
         FilterPrel.create(getCluster(), traitSet, manifestScanTf, orCondition);
     return filterPartialRefreshPath;
   }
+
+  /**
+   * Keeps the data files of the directories listed in an incremental refresh, as well as of the
+   * deleted directories. The files of other directories are unchanged and not compared.
+   */
+  private Prel addFilterForListedDirectories(Prel manifestScanTf) {
+    RexBuilder rexBuilder = getCluster().getRexBuilder();
+    Pair<Integer, RelDataTypeField> fieldPair =
+        findFieldWithIndex(manifestScanTf, RecordReader.DATAFILE_PATH);
+    RexNode inputRef = rexBuilder.makeInputRef(fieldPair.right.getType(), fieldPair.left);
+
+    List<RexNode> conditions = new ArrayList<>();
+    for (String path : incrementalDirListing.getChangedDirectories()) {
+      // Only the files of the directory, not of its subdirectories
+      conditions.add(
+          rexBuilder.makeCall(
+              SqlStdOperatorTable.AND,
+              makeLike(rexBuilder, inputRef, path, "/%"),
+              rexBuilder.makeCall(
+                  SqlStdOperatorTable.NOT, makeLike(rexBuilder, inputRef, path, "/%/%"))));
+    }
+    for (String path :
+        Iterables.concat(
+            incrementalDirListing.getNewDirectories(),
+            incrementalDirListing.getDeletedDirectories())) {
+      conditions.add(makeLike(rexBuilder, inputRef, path, "/%"));
+    }
+    return FilterPrel.create(
+        getCluster(), traitSet, manifestScanTf, RexUtil.composeDisjunction(rexBuilder, conditions));
+  }
+
+  /** Matches the paths containing the given directory path, followed by the pattern suffix. */
+  private static RexNode makeLike(
+      RexBuilder rexBuilder, RexNode inputRef, String directory, String suffix) {
+    String path = PathUtils.removeLeadingSlash(PathUtils.removeTrailingSlash(directory));
+    String escaped = path.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    return rexBuilder.makeCall(
+        SqlStdOperatorTable.LIKE,
+        inputRef,
+        rexBuilder.makeLiteral("%" + escaped + suffix),
+        rexBuilder.makeLiteral("\\"));
+  }
 }
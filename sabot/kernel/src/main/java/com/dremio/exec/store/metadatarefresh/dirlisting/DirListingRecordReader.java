@@ -148,7 +148,8 @@ public class DirListingRecordReader implements RecordReader {
       this.files = dirListInputSplit.getFilesList();
     }
     this.globPattern = dirListInputSplit.getGlobPattern();
-    this.isRecursive = isRecursive;
+    this.isRecursive =
+        isRecursive && (!dirListInputSplit.hasIsRecursive() || dirListInputSplit.getIsRecursive());
     this.discoverPartitions = discoverPartitions;
     this.maxBatchSize = context.getTargetBatchSize();
     this.batchSize = context.getTargetBatchSize();
@@ -0,0 +1,158 @@
+/*
+ * Copyright (C) 2017-2019 Dremio Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.dremio.exec.store.metadatarefresh.dirlisting;
+
+import com.dremio.exec.store.file.proto.FileProtobuf;
+import com.dremio.io.file.FileAttributes;
+import com.dremio.io.file.FileSystem;
+import com.dremio.io.file.Path;
+import com.dremio.io.file.PathFilters;
+import com.google.common.collect.ImmutableList;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Directories of a filesystem dataset to list in an incremental metadata refresh.
+ *
+ * <p>The read signature of the previous refresh holds every directory containing data files of the
+ * dataset, with the start time of that refresh as checkpoint. A directory is relisted only if it
+ * was modified after its checkpoint, or within the hot window, and it is listed without recursion.
+ * Its subdirectories which are not in the read signature are new, and are listed recursively.
+ * Directories of the read signature which do not exist anymore are not listed, so that all their
+ * files are seen as deleted.
+ *
+ * <p>As for the staleness check of the read signature, this relies on the modification times of
+ * directories, which change when a child is added or removed.
+ */
+public final class IncrementalDirListing {
+  private static final org.slf4j.Logger logger =
+      org.slf4j.LoggerFactory.getLogger(IncrementalDirListing.class);
+
+  private final List<String> changedDirectories;
+  private final List<String> newDirectories;
+  private final List<String> deletedDirectories;
+
+  private IncrementalDirListing(
+      List<String> changedDirectories,
+      List<String> newDirectories,
+      List<String> deletedDirectories) {
+    this.changedDirectories = ImmutableList.copyOf(changedDirectories);
+    this.newDirectories = ImmutableList.copyOf(newDirectories);
+    this.deletedDirectories = ImmutableList.copyOf(deletedDirectories);
+  }
+
+  /** Directories to list without recursion. */
+  public List<String> getChangedDirectories() {
+    return changedDirectories;
+  }
+
+  /** Directories to list recursively. */
+  public List<String> getNewDirectories() {
+    return newDirectories;
+  }
+
+  /** Directories which are not listed, and whose files are all deleted. */
+  public List<String> getDeletedDirectories() {
+    return deletedDirectories;
+  }
+
+  /**
+   * Finds the directories to list, or returns empty if the whole dataset has to be listed, either
+   * because the read signature has no checkpoints or because more than maxDirectories directories
+   * changed.
+   *
+   * @param fs file system of the dataset
+   * @param readSignature read signature of the previous refresh
+   * @param hotWindowStart directories modified at or after this time are relisted even if they did
+   *     not change since their checkpoint
+   * @param maxDirectories maximum number of changed, new and deleted directories
+   */
+  public static Optional<IncrementalDirListing> compute(
+      FileSystem fs,
+      FileProtobuf.FileUpdateKey readSignature,
+      long hotWindowStart,
+      int maxDirectories)
+      throws IOException {
+    List<FileProtobuf.FileSystemCachedEntity> checkpoints = readSignature.getCachedEntitiesList();
+    if (checkpoints.isEmpty()) {
+      return Optional.empty();
+    }
+
+    Set<String> knownDirectories = new HashSet<>();
+    checkpoints.forEach(checkpoint -> knownDirectories.add(checkpoint.getPath()));
+    List<String> changed = new ArrayList<>();
+    List<String> deleted = new ArrayList<>();
+    for (FileProtobuf.FileSystemCachedEntity checkpoint : checkpoints) {
+      FileAttributes attributes;
+      try {
+        attributes = fs.getFileAttributes(Path.of(checkpoint.getPath()));
+      } catch (FileNotFoundException e) {
+        deleted.add(checkpoint.getPath());
+        continue;
+      }
+      if (!attributes.isDirectory()) {
+        logger.debug("{} is not a directory anymore, listing the whole dataset", attributes);
+        return Optional.empty();
+      }
+      long modificationTime = attributes.lastModifiedTime().toMillis();
+      if (modificationTime > checkpoint.getLastModificationTime()
+          || modificationTime >= hotWindowStart) {
+        changed.add(checkpoint.getPath());
+      }
+      if (changed.size() + deleted.size() > maxDirectories) {
+        return Optional.empty();
+      }
+    }
+
+    // Directories are only added or removed below changed directories
+    List<String> added = new ArrayList<>();
+    for (String directory : changed) {
+      Path path = Path.of(directory);
+      try (DirectoryStream<FileAttributes> children = fs.list(path, PathFilters.NO_HIDDEN_FILES)) {
+        for (FileAttributes child : children) {
+          String childPath = path.resolve(child.getPath().getName()).toString();
+          if (child.isDirectory() && !knownDirectories.contains(childPath)) {
+            added.add(childPath);
+          }
+        }
+      } catch (FileNotFoundException e) {
+        deleted.add(directory);
+      }
+    }
+    changed.removeAll(deleted);
+    if (changed.size() + added.size() + deleted.size() > maxDirectories) {
+      return Optional.empty();
+    }
+
+    if (changed.isEmpty() && added.isEmpty()) {
+      // List the files of the root, which is the first entry, so that the scan has a split
+      changed.add(checkpoints.get(0).getPath());
+    }
+    logger.debug(
+        "Incremental listing of {} directories: {} changed, {} new and {} deleted",
+        checkpoints.size(),
+        changed.size(),
+        added.size(),
+        deleted.size());
+    return Optional.of(new IncrementalDirListing(changed, added, deleted));
+  }
+}
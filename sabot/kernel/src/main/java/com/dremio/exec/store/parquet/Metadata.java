@@ -25,6 +25,7 @@ import com.dremio.io.file.FileBlockLocation;
 import com.dremio.io.file.FileSystem;
 import com.dremio.options.Options;
 import com.dremio.options.TypeValidators;
+import com.dremio.sabot.exec.store.parquet.proto.ParquetProtobuf.ColumnRange;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
@@ -271,6 +272,13 @@ public class Metadata {
               file.getPath());
           columnMetadata = new ColumnMetadata(columnTypeMetadata.name, null, null);
         }
+        columnMetadata.setRange(
+            ParquetRowGroupIndex.toColumnRange(
+                columnName,
+                columnTypeMetadata.primitiveType,
+                columnTypeMetadata.logicalTypeAnnotation,
+                stats,
+                containsCorruptDates));
         columnMetadataList.add(columnMetadata);
         length += col.getTotalSize();
       }
@@ -487,6 +495,7 @@ public class Metadata {
     private final String[] name;
     private final Long nulls;
     private Object mxValue;
+    private ColumnRange range;
 
     public ColumnMetadata(String[] name, Object mxValue, Long nulls) {
       this.name = name;
@@ -517,5 +526,16 @@ public class Metadata {
     public void setMin(Object newMin) {
       // noop - min value not stored in this version of the metadata
     }
+
+    /**
+     * @return bounds of the column in the row group, or null if they can not be used for pruning
+     */
+    public ColumnRange getRange() {
+      return range;
+    }
+
+    public void setRange(ColumnRange range) {
+      this.range = range;
+    }
   }
 }
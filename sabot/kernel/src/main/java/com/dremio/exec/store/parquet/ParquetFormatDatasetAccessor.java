@@ -432,6 +432,8 @@ public class ParquetFormatDatasetAccessor
     final List<List<NameValuePair<?>>> pairs =
         finder.getImplicitFields(parquetGroupScanUtils.getSelectionRoot(), rowGroups);
     final Set<String> allImplicitColumns = Sets.newLinkedHashSet();
+    final boolean storeColumnRanges =
+        fsPlugin.getContext().getOptionManager().getOption(ExecConstants.PARQUET_ROW_GROUP_INDEX);
 
     for (int i = 0; i < parquetGroupScanUtils.getRowGroupInfos().size(); i++) {
       final ParquetGroupScanUtils.RowGroupInfo rowGroupInfo =
@@ -532,6 +534,8 @@ public class ParquetFormatDatasetAccessor
                           rowGroupInfo.getFileAttributes().lastModifiedTime().toMillis())
                       .setLength(length))
               .addAllColumnValueCounts(columnValueCounts)
+              .addAllColumnRanges(
+                  storeColumnRanges ? rowGroupInfo.getColumnRanges() : ImmutableList.of())
               .setLength(rowGroupInfo.getLength())
               .build();
 
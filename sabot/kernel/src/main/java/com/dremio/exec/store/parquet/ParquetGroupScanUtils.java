@@ -47,6 +47,7 @@ import com.dremio.exec.store.schedule.EndpointByteMapImpl;
 import com.dremio.io.file.FileAttributes;
 import com.dremio.io.file.FileSystem;
 import com.dremio.options.OptionManager;
+import com.dremio.sabot.exec.store.parquet.proto.ParquetProtobuf.ColumnRange;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.google.common.base.Objects;
 import com.google.common.base.Stopwatch;
@@ -304,6 +305,7 @@ public class ParquetGroupScanUtils {
     private long rowCount; // rowCount = -1 indicates to include all rows.
     private List<EndpointAffinity> affinities;
     private Map<SchemaPath, Long> columnValueCounts;
+    private List<ColumnRange> columnRanges;
 
     public RowGroupInfo(
         FileAttributes fileAttributes,
@@ -311,12 +313,14 @@ public class ParquetGroupScanUtils {
         long length,
         int rowGroupIndex,
         long rowCount,
-        Map<SchemaPath, Long> columnValueCounts) {
+        Map<SchemaPath, Long> columnValueCounts,
+        List<ColumnRange> columnRanges) {
       super(start, length, fileAttributes);
       this.rowGroupIndex = rowGroupIndex;
       this.rowCount = rowCount;
       this.columnValueCounts =
           columnValueCounts == null ? Collections.<SchemaPath, Long>emptyMap() : columnValueCounts;
+      this.columnRanges = columnRanges == null ? Collections.emptyList() : columnRanges;
     }
 
     public int getRowGroupIndex() {
@@ -346,6 +350,13 @@ public class ParquetGroupScanUtils {
       return columnValueCounts;
     }
 
+    /**
+     * @return bounds of the top level columns in the row group
+     */
+    public List<ColumnRange> getColumnRanges() {
+      return columnRanges;
+    }
+
     public void setEndpointByteMap(EndpointByteMap byteMap) {
       this.byteMap = byteMap;
       this.affinities = Lists.newArrayList();
@@ -417,11 +428,15 @@ public class ParquetGroupScanUtils {
         // non null value counts for column
         long rowCount = rg.getRowCount();
         Map<SchemaPath, Long> rowGroupColumnValueCounts = Maps.newHashMap();
+        List<ColumnRange> rowGroupColumnRanges = Lists.newArrayList();
         for (ColumnMetadata column : rg.getColumns()) {
           SchemaPath schemaPath = SchemaPath.getCompoundPath(column.getName());
           if (column.getNulls() != null) {
             rowGroupColumnValueCounts.put(schemaPath, rowCount - column.getNulls());
           }
+          if (column.getRange() != null) {
+            rowGroupColumnRanges.add(column.getRange());
+          }
         }
         RowGroupInfo rowGroupInfo =
             new RowGroupInfo(
@@ -430,7 +445,8 @@ public class ParquetGroupScanUtils {
                 rg.getLength(),
                 rgIndex,
                 rg.getRowCount(),
-                rowGroupColumnValueCounts);
+                rowGroupColumnValueCounts,
+                rowGroupColumnRanges);
 
         EndpointByteMap endpointByteMap =
             buildEndpointByteMap(
@@ -60,6 +60,7 @@ import com.dremio.exec.store.SystemSchemas.SystemColumnStatistics;
 import com.dremio.exec.store.WritePartition;
 import com.dremio.exec.store.dfs.FileLoadInfo;
 import com.dremio.exec.store.dfs.IcebergTableProps;
+import com.dremio.exec.store.iceberg.ColumnNdvSketches;
 import com.dremio.exec.store.iceberg.FieldIdBroker.SeededFieldIdBroker;
 import com.dremio.exec.store.iceberg.IcebergMetadataInformation;
 import com.dremio.exec.store.iceberg.IcebergSerDe;
@@ -264,6 +265,9 @@ public class ParquetRecordWriter extends ParquetOutputRecordWriter {
   private OperationType operationType = OperationType.ADD_DATAFILE;
   private boolean mustCheckBlockSizeAfterEachWrite = true;
   private final Map<String, String> icebergTableProperties;
+  // NDV sketches of the rows of the current data file, attached to its Iceberg metadata
+  private boolean collectNdvSketches;
+  private ColumnNdvSketches.Collector ndvCollector;
 
   public ParquetRecordWriter(
       OperatorContext context, ParquetWriter writer, ParquetFormatConfig config)
@@ -320,6 +324,9 @@ public class ParquetRecordWriter extends ParquetOutputRecordWriter {
       icebergTableProperties = writer.getOptions().getTableProperties();
     }
 
+    collectNdvSketches =
+        isIcebergWriter
+            && context.getOptions().getOption(ExecConstants.ENABLE_ICEBERG_NDV_SKETCHES);
     memoryThreshold =
         (int) context.getOptions().getOption(ExecConstants.PARQUET_MEMORY_THRESHOLD_VALIDATOR);
     desiredBlockSize = context.getOptions().getOption(ExecConstants.PARQUET_BLOCK_SIZE_VALIDATOR);
@@ -651,9 +658,25 @@ public class ParquetRecordWriter extends ParquetOutputRecordWriter {
 
     // If not "Copy History" write the batch using traditional route
     // using the superclass method.
+    updateNdvSketches(offset, length);
     return super.writeBatch(offset, length);
   }
 
+  private void updateNdvSketches(int offset, int length) {
+    if (!collectNdvSketches || operationType != OperationType.ADD_DATAFILE) {
+      return;
+    }
+    if (ndvCollector == null) {
+      ndvCollector = ColumnNdvSketches.newCollector(incoming, icebergSchema);
+      if (ndvCollector == null) {
+        // no column of a supported type
+        collectNdvSketches = false;
+        return;
+      }
+    }
+    ndvCollector.update(offset, length);
+  }
+
   /**
    * extracts the error records, processes them, and writes them to the error output. <br>
    * The method then filters out the "copy into error" column from the incoming records to create a
@@ -1562,7 +1585,9 @@ public class ParquetRecordWriter extends ParquetOutputRecordWriter {
               systemColumnsStatistics);
       dataFileBuilder = dataFileBuilder.withMetrics(metrics);
       icebergMetadata =
-          new IcebergMetadataInformation(IcebergSerDe.serializeDataFile(dataFileBuilder.build()));
+          new IcebergMetadataInformation(
+              IcebergSerDe.serializeDataFile(dataFileBuilder.build()),
+              ndvCollector != null ? ndvCollector.serializeAndReset() : null);
     }
 
     return IcebergSerDe.serializeToByteArray(icebergMetadata);
@@ -0,0 +1,231 @@
+/*
+ * Copyright (C) 2017-2019 Dremio Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.dremio.exec.store.parquet;
+
+import com.dremio.exec.store.parquet.ParquetFilterCondition.FilterProperties;
+import com.dremio.exec.store.parquet.ParquetReaderUtility.DateCorruptionStatus;
+import com.dremio.sabot.exec.store.parquet.proto.ParquetProtobuf.ColumnRange;
+import com.google.common.primitives.UnsignedBytes;
+import com.google.protobuf.ByteString;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import org.apache.calcite.rex.RexLiteral;
+import org.apache.calcite.sql.SqlKind;
+import org.apache.calcite.sql.type.SqlTypeFamily;
+import org.apache.calcite.sql.type.SqlTypeName;
+import org.apache.parquet.column.statistics.Statistics;
+import org.apache.parquet.io.api.Binary;
+import org.apache.parquet.schema.LogicalTypeAnnotation;
+import org.apache.parquet.schema.LogicalTypeAnnotation.DateLogicalTypeAnnotation;
+import org.apache.parquet.schema.LogicalTypeAnnotation.IntLogicalTypeAnnotation;
+import org.apache.parquet.schema.LogicalTypeAnnotation.StringLogicalTypeAnnotation;
+import org.apache.parquet.schema.PrimitiveType.PrimitiveTypeName;
+
+/**
+ * Index of the column bounds of parquet row groups. It is built from the footers at metadata
+ * refresh and stored in the extended property of each split, so that the planner drops the splits
+ * which can not match a filter before they are assigned to fragments.
+ */
+public final class ParquetRowGroupIndex {
+
+  /** Longer strings are not indexed, to keep the split metadata compact. */
+  static final int MAX_BINARY_LENGTH = 64;
+
+  private static final Comparator<byte[]> BYTES_COMPARATOR =
+      UnsignedBytes.lexicographicalComparator();
+
+  private ParquetRowGroupIndex() {}
+
+  /**
+   * Returns the bounds of a column chunk, or null if the column is nested or its statistics can not
+   * be used to prune row groups.
+   */
+  static ColumnRange toColumnRange(
+      String[] columnName,
+      PrimitiveTypeName type,
+      LogicalTypeAnnotation logicalTypeAnnotation,
+      Statistics<?> stats,
+      DateCorruptionStatus dateCorruptionStatus) {
+    if (columnName.length != 1 || stats == null || stats.isEmpty()) {
+      return null;
+    }
+
+    ColumnRange.Builder range = ColumnRange.newBuilder().setColumn(columnName[0]);
+    if (stats.isNumNullsSet()) {
+      range.setNullCount(stats.getNumNulls());
+    }
+    if (stats.hasNonNullValue()) {
+      Object min = stats.genericGetMin();
+      Object max = stats.genericGetMax();
+      switch (type) {
+        case INT32:
+          if (isSignedInteger(logicalTypeAnnotation)
+              || (logicalTypeAnnotation instanceof DateLogicalTypeAnnotation
+                  && dateCorruptionStatus == DateCorruptionStatus.META_SHOWS_NO_CORRUPTION)) {
+            range.setLongMin((Integer) min).setLongMax((Integer) max);
+          }
+          break;
+        case INT64:
+          if (isSignedInteger(logicalTypeAnnotation)) {
+            range.setLongMin((Long) min).setLongMax((Long) max);
+          }
+          break;
+        case FLOAT:
+        case DOUBLE:
+          double doubleMin = ((Number) min).doubleValue();
+          double doubleMax = ((Number) max).doubleValue();
+          if (!Double.isNaN(doubleMin) && !Double.isNaN(doubleMax)) {
+            range.setDoubleMin(doubleMin).setDoubleMax(doubleMax);
+          }
+          break;
+        case BINARY:
+          byte[] binaryMin = ((Binary) min).getBytes();
+          byte[] binaryMax = ((Binary) max).getBytes();
+          if (logicalTypeAnnotation instanceof StringLogicalTypeAnnotation
+              && binaryMin.length <= MAX_BINARY_LENGTH
+              && binaryMax.length <= MAX_BINARY_LENGTH) {
+            range.setBinaryMin(ByteString.copyFrom(binaryMin));
+            range.setBinaryMax(ByteString.copyFrom(binaryMax));
+          }
+          break;
+        default:
+          break;
+      }
+    }
+
+    boolean hasBounds = range.hasLongMin() || range.hasDoubleMin() || range.hasBinaryMin();
+    return range.hasNullCount() || hasBounds ? range.build() : null;
+  }
+
+  /**
+   * Returns false if no row of a row group can match all the filters.
+   *
+   * @param filters comparisons between a column and a literal, joined by AND
+   * @param ranges bounds of the row group, by lower case column name
+   * @param rowCount number of rows of the row group
+   */
+  public static boolean mayMatch(
+      List<FilterProperties> filters, Map<String, ColumnRange> ranges, long rowCount) {
+    for (FilterProperties filter : filters) {
+      if (filter.getField() == null) {
+        continue;
+      }
+      ColumnRange range = ranges.get(filter.getField().toLowerCase(Locale.ROOT));
+      if (range == null) {
+        continue;
+      }
+      if (rowCount > 0 && range.hasNullCount() && range.getNullCount() == rowCount) {
+        // comparisons are never true on nulls
+        return false;
+      }
+      if (!mayMatch(filter, range)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static boolean mayMatch(FilterProperties filter, ColumnRange range) {
+    RexLiteral literal = filter.getLiteral();
+    if (literal.isNull()) {
+      return false;
+    }
+    SqlTypeName columnType = filter.getInputRef().getType().getSqlTypeName();
+    SqlKind kind = filter.getKind();
+
+    if (columnType == SqlTypeName.DATE) {
+      if (literal.getTypeName() != SqlTypeName.DATE || !range.hasLongMin()) {
+        return true;
+      }
+      long days = literal.getValueAs(Integer.class);
+      return mayMatch(
+          kind, range.getLongMin(), range.getLongMax(), days, Comparator.<Long>naturalOrder());
+    }
+
+    if (SqlTypeFamily.NUMERIC.contains(filter.getInputRef().getType())) {
+      if (!SqlTypeFamily.NUMERIC.getTypeNames().contains(literal.getTypeName())) {
+        return true;
+      }
+      BigDecimal value = literal.getValueAs(BigDecimal.class);
+      if (range.hasLongMin()) {
+        return mayMatch(
+            kind,
+            BigDecimal.valueOf(range.getLongMin()),
+            BigDecimal.valueOf(range.getLongMax()),
+            value,
+            Comparator.<BigDecimal>naturalOrder());
+      }
+      if (range.hasDoubleMin()
+          && !Double.isInfinite(range.getDoubleMin())
+          && !Double.isInfinite(range.getDoubleMax())) {
+        return mayMatch(
+            kind,
+            new BigDecimal(range.getDoubleMin()),
+            new BigDecimal(range.getDoubleMax()),
+            value,
+            Comparator.<BigDecimal>naturalOrder());
+      }
+      return true;
+    }
+
+    if (SqlTypeFamily.CHARACTER.contains(filter.getInputRef().getType())) {
+      if (!SqlTypeFamily.CHARACTER.getTypeNames().contains(literal.getTypeName())
+          || !range.hasBinaryMin()) {
+        return true;
+      }
+      byte[] value = literal.getValueAs(String.class).getBytes(StandardCharsets.UTF_8);
+      return mayMatch(
+          kind,
+          range.getBinaryMin().toByteArray(),
+          range.getBinaryMax().toByteArray(),
+          value,
+          BYTES_COMPARATOR);
+    }
+    return true;
+  }
+
+  private static <T> boolean mayMatch(
+      SqlKind kind, T min, T max, T value, Comparator<? super T> comparator) {
+    int lower = comparator.compare(min, value);
+    int upper = comparator.compare(max, value);
+    switch (kind) {
+      case EQUALS:
+        return lower <= 0 && upper >= 0;
+      case NOT_EQUALS:
+        return lower != 0 || upper != 0;
+      case LESS_THAN:
+        return lower < 0;
+      case LESS_THAN_OR_EQUAL:
+        return lower <= 0;
+      case GREATER_THAN:
+        return upper > 0;
+      case GREATER_THAN_OR_EQUAL:
+        return upper >= 0;
+      default:
+        return true;
+    }
+  }
+
+  private static boolean isSignedInteger(LogicalTypeAnnotation logicalTypeAnnotation) {
+    return logicalTypeAnnotation == null
+        || (logicalTypeAnnotation instanceof IntLogicalTypeAnnotation
+            && ((IntLogicalTypeAnnotation) logicalTypeAnnotation).isSigned());
+  }
+}
@@ -0,0 +1,238 @@
+/*
+ * Copyright (C) 2017-2019 Dremio Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.dremio.exec.store.parquet;
+
+import com.dremio.exec.catalog.conf.SourceType;
+import com.dremio.exec.planner.logical.EmptyRel;
+import com.dremio.exec.planner.logical.FilterRel;
+import com.dremio.exec.planner.logical.RelOptHelper;
+import com.dremio.exec.planner.logical.partition.FindSimpleFilters;
+import com.dremio.exec.planner.logical.partition.RewriteAsBinaryOperators;
+import com.dremio.exec.store.TableMetadata;
+import com.dremio.exec.store.dfs.FileSystemRulesFactory;
+import com.dremio.exec.store.dfs.FilesystemScanDrel;
+import com.dremio.exec.store.parquet.ParquetFilterCondition.FilterProperties;
+import com.dremio.sabot.exec.store.parquet.proto.ParquetProtobuf.ColumnRange;
+import com.dremio.sabot.exec.store.parquet.proto.ParquetProtobuf.ParquetDatasetSplitXAttr;
+import com.dremio.service.namespace.AbstractPartitionChunkMetadata;
+import com.dremio.service.namespace.PartitionChunkMetadata;
+import com.dremio.service.namespace.dataset.proto.PartitionProtobuf;
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Stopwatch;
+import com.google.common.collect.ImmutableList;
+import com.google.protobuf.InvalidProtocolBufferException;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import org.apache.calcite.plan.RelOptRule;
+import org.apache.calcite.plan.RelOptRuleCall;
+import org.apache.calcite.rel.RelNode;
+import org.apache.calcite.rel.type.RelDataType;
+import org.apache.calcite.rex.RexCall;
+import org.apache.calcite.rex.RexNode;
+
+/**
+ * Drops the row group splits of a parquet dataset which can not match a filter, using the column
+ * bounds indexed at metadata refresh, so that they are neither assigned to fragments nor opened.
+ * The filter is kept above the scan, as bounds only prove that a row group does not match.
+ */
+public class ParquetRowGroupPruneRule extends RelOptRule {
+  private static final org.slf4j.Logger logger =
+      org.slf4j.LoggerFactory.getLogger(ParquetRowGroupPruneRule.class);
+
+  private final SourceType pluginType;
+
+  public ParquetRowGroupPruneRule(SourceType pluginType) {
+    super(
+        RelOptHelper.some(FilterRel.class, RelOptHelper.any(FilesystemScanDrel.class)),
+        pluginType.value() + "ParquetRowGroupPruneRule");
+    this.pluginType = pluginType;
+  }
+
+  @Override
+  public boolean matches(RelOptRuleCall call) {
+    final FilesystemScanDrel scan = call.rel(1);
+    return pluginType.equals(scan.getPluginId().getType())
+        && FileSystemRulesFactory.isParquetDataset(scan.getTableMetadata());
+  }
+
+  @Override
+  public void onMatch(RelOptRuleCall call) {
+    final FilterRel filter = call.rel(0);
+    final FilesystemScanDrel scan = call.rel(1);
+    try {
+      doOnMatch(call, filter, scan);
+    } catch (Exception e) {
+      logger.warn("Exception while pruning row groups of {}", scan.getTableMetadata().getName(), e);
+    }
+  }
+
+  private void doOnMatch(RelOptRuleCall call, FilterRel filter, FilesystemScanDrel scan) {
+    final RexNode condition =
+        filter
+            .getCondition()
+            .accept(new RewriteAsBinaryOperators(true, filter.getCluster().getRexBuilder()));
+    final FindSimpleFilters.StateHolder holder =
+        condition.accept(new FindSimpleFilters(filter.getCluster().getRexBuilder(), true, false));
+    if (!holder.hasConditions()) {
+      return;
+    }
+    final List<FilterProperties> filters =
+        toFilterProperties(holder.getConditions(), scan.getRowType());
+    if (filters.isEmpty()) {
+      return;
+    }
+
+    final Stopwatch stopwatch = Stopwatch.createStarted();
+    final TableMetadata tableMetadata = scan.getTableMetadata();
+    final List<PartitionChunkMetadata> chunks = new ArrayList<>();
+    boolean pruned = false;
+    final Iterator<PartitionChunkMetadata> iterator = tableMetadata.getSplits();
+    while (iterator.hasNext()) {
+      final PartitionChunkMetadata chunk = iterator.next();
+      final PartitionChunkMetadata prunedChunk = pruneChunk(chunk, filters);
+      pruned |= prunedChunk != chunk;
+      if (prunedChunk != null) {
+        chunks.add(prunedChunk);
+      }
+    }
+    logger.debug(
+        "Row group pruning of {} took {} ms",
+        tableMetadata.getName(),
+        stopwatch.elapsed(TimeUnit.MILLISECONDS));
+    if (!pruned) {
+      return;
+    }
+
+    final RelNode input;
+    if (chunks.isEmpty()) {
+      input =
+          new EmptyRel(
+              scan.getCluster(), scan.getTraitSet(), scan.getRowType(), scan.getProjectedSchema());
+    } else {
+      input = scan.applyDatasetPointer(tableMetadata.prune(chunks));
+    }
+    call.transformTo(filter.copy(filter.getTraitSet(), Collections.singletonList(input)));
+  }
+
+  /**
+   * Returns the properties of the binary comparisons among simple filter conditions. The other
+   * conditions, such as the unary {@code IS NOT NULL} found for {@code IS NOT DISTINCT FROM}, are
+   * not used for pruning.
+   */
+  @VisibleForTesting
+  static List<FilterProperties> toFilterProperties(List<RexCall> conditions, RelDataType rowType) {
+    final List<FilterProperties> filters = new ArrayList<>();
+    for (RexCall conditionCall : conditions) {
+      if (conditionCall.getOperands().size() == 2) {
+        filters.add(new FilterProperties(conditionCall, rowType));
+      }
+    }
+    return filters;
+  }
+
+  /**
+   * Returns the split key of a chunk keeping some of its splits. Pointers to chunks with the same
+   * split keys are considered equal, so the key encodes the exact set of kept splits.
+   */
+  @VisibleForTesting
+  static String prunedSplitKey(String splitKey, BitSet kept) {
+    return splitKey
+        + "-rg"
+        + kept.stream().mapToObj(Integer::toString).collect(Collectors.joining(","));
+  }
+
+  /**
+   * Returns the chunk itself if none of its splits are pruned, null if all of them are, and
+   * otherwise a copy with the remaining splits.
+   */
+  private static PartitionChunkMetadata pruneChunk(
+      PartitionChunkMetadata chunk, List<FilterProperties> filters) {
+    final ImmutableList.Builder<PartitionProtobuf.DatasetSplit> splits = ImmutableList.builder();
+    final BitSet kept = new BitSet();
+    long size = 0;
+    long rowCount = 0;
+    int index = 0;
+    for (PartitionProtobuf.DatasetSplit split : chunk.getDatasetSplits()) {
+      if (mayMatch(split, filters)) {
+        splits.add(split);
+        kept.set(index);
+        size += split.getSize();
+        rowCount += split.getRecordCount();
+      }
+      index++;
+    }
+
+    if (kept.cardinality() == index) {
+      return chunk;
+    }
+    if (kept.isEmpty()) {
+      return null;
+    }
+
+    final List<PartitionProtobuf.DatasetSplit> remainingSplits = splits.build();
+    final PartitionProtobuf.PartitionChunk.Builder prunedChunk =
+        PartitionProtobuf.PartitionChunk.newBuilder()
+            .setSize(size)
+            .setRowCount(rowCount)
+            .addAllPartitionValues(chunk.getPartitionValues())
+            .setSplitKey(prunedSplitKey(chunk.getSplitKey(), kept))
+            .setSplitCount(remainingSplits.size());
+    if (chunk.getPartitionExtendedProperty() != null) {
+      prunedChunk.setPartitionExtendedProperty(chunk.getPartitionExtendedProperty());
+    }
+    return new AbstractPartitionChunkMetadata(prunedChunk.build()) {
+      @Override
+      public Iterable<PartitionProtobuf.DatasetSplit> getDatasetSplits() {
+        return remainingSplits;
+      }
+
+      @Override
+      public boolean checkPartitionChunkMetadataConsistency() {
+        return true;
+      }
+    };
+  }
+
+  private static boolean mayMatch(
+      PartitionProtobuf.DatasetSplit split, List<FilterProperties> filters) {
+    if (!split.hasSplitExtendedProperty()) {
+      return true;
+    }
+    final ParquetDatasetSplitXAttr xattr;
+    try {
+      xattr = ParquetDatasetSplitXAttr.parseFrom(split.getSplitExtendedProperty());
+    } catch (InvalidProtocolBufferException e) {
+      throw new RuntimeException("Failed to deserialize split info", e);
+    }
+    if (xattr.getColumnRangesCount() == 0) {
+      return true;
+    }
+
+    final Map<String, ColumnRange> ranges = new HashMap<>();
+    for (ColumnRange range : xattr.getColumnRangesList()) {
+      ranges.put(range.getColumn().toLowerCase(Locale.ROOT), range);
+    }
+    return ParquetRowGroupIndex.mayMatch(filters, ranges, split.getRecordCount());
+  }
+}
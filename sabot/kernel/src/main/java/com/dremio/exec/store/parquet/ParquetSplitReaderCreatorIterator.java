@@ -347,7 +347,10 @@ public class ParquetSplitReaderCreatorIterator implements SplitReaderCreatorIter
             ? new RowLevelDeleteFilterFactory(
                 context,
                 new ParquetRowLevelDeleteFileReaderFactory(
-                    factory, readerFactory, fs, Iterables.getFirst(tablePath, null), fullSchema))
+                    factory, readerFactory, fs, Iterables.getFirst(tablePath, null), fullSchema),
+                context
+                    .getOptions()
+                    .getOption(ExecConstants.ENABLE_ICEBERG_POSITIONAL_DELETE_CACHE))
             : null;
     this.extendedProperties = config.getFunctionContext().getExtendedProperty();
     processSplits();
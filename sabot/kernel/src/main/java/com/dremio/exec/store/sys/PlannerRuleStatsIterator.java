@@ -0,0 +1,58 @@
+/*
+ * Copyright (C) 2017-2019 Dremio Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.dremio.exec.store.sys;
+
+import com.dremio.exec.planner.PlannerRuleStatsRegistry;
+import java.util.Comparator;
+import java.util.Iterator;
+
+/**
+ * Iterator over the cumulative planner rule statistics of this node, which are only recorded on
+ * coordinators. The sys-flight table of the coordinator is used instead when it is available.
+ */
+public final class PlannerRuleStatsIterator {
+
+  private PlannerRuleStatsIterator() {}
+
+  public static Iterator<Object> getIterator() {
+    return PlannerRuleStatsRegistry.stream()
+        .map(PlannerRuleStatsInfo::new)
+        .sorted(Comparator.comparingLong((PlannerRuleStatsInfo info) -> -info.total_time_ms))
+        .map(Object.class::cast)
+        .iterator();
+  }
+
+  /** Planner rule statistics POJO. This is the schema for sys.planner_rule_stats */
+  public static class PlannerRuleStatsInfo {
+    public final String phase;
+    public final String rule;
+    public final long phase_runs;
+    public final long total_time_ms;
+    public final long matched_count;
+    public final long transformed_count;
+    public final long produced_relnodes_count;
+
+    public PlannerRuleStatsInfo(PlannerRuleStatsRegistry.RuleStats stats) {
+      this.phase = stats.getPhase();
+      this.rule = stats.getRule();
+      this.phase_runs = stats.getPhaseRuns();
+      this.total_time_ms = stats.getTotalTimeMs();
+      this.matched_count = stats.getMatchedCount();
+      this.transformed_count = stats.getTransformedCount();
+      this.produced_relnodes_count = stats.getProducedRelNodesCount();
+    }
+  }
+}
@@ -224,6 +224,17 @@ public enum SystemTable implements DatasetHandle, DatasetMetadata, PartitionChun
     }
   },
 
+  // served by the coordinator through sys-flight, as the statistics are recorded where queries are
+  // planned; this scan is only used when the sys-flight source is disabled
+  PLANNER_RULE_STATS(
+      false, PlannerRuleStatsIterator.PlannerRuleStatsInfo.class, "planner_rule_stats") {
+    @Override
+    public Iterator<?> getIterator(
+        final PluginSabotContext sabotContext, final OperatorContext operatorContext) {
+      return PlannerRuleStatsIterator.getIterator();
+    }
+  },
+
   ROLES(false, SysTableRoleInfo.class, "roles") {
     @Override
     public Iterator<?> getIterator(
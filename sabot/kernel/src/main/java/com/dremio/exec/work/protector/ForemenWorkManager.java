@@ -43,6 +43,7 @@ import com.dremio.exec.maestro.MaestroService;
 import com.dremio.exec.planner.observer.OutOfBandQueryObserver;
 import com.dremio.exec.planner.observer.QueryObserver;
 import com.dremio.exec.planner.plancache.LegacyPlanCache;
+import com.dremio.exec.planner.plancache.ParameterizedPlanIndex;
 import com.dremio.exec.planner.plancache.PlanCacheProvider;
 import com.dremio.exec.planner.plancache.PlanCacheProviderImpl;
 import com.dremio.exec.planner.plancache.distributable.DistributedPlanCacheManager;
@@ -298,7 +299,13 @@ public class ForemenWorkManager implements Service, SafeExit {
                     dremioConfig.getLong(DremioConfig.PLAN_CACHE_MAX_SIZE_BYTES),
                     dremioConfig.getLong(DremioConfig.PLAN_CACHE_TIMEOUT_MINUTES)));
 
-    planCacheProvider = new PlanCacheProviderImpl(distributedPlanCacheManager, legacyPlanCache);
+    planCacheProvider =
+        new PlanCacheProviderImpl(
+            distributedPlanCacheManager,
+            legacyPlanCache,
+            ParameterizedPlanIndex.create(
+                dremioConfig.getLong(DremioConfig.PLAN_CACHE_MAX_ENTRIES),
+                dremioConfig.getLong(DremioConfig.PLAN_CACHE_TIMEOUT_MINUTES)));
 
     partitionStatsCache =
         new PartitionStatsCache(
@@ -129,6 +129,10 @@ public class OperatorStats {
   private long peakAllocatedHeap;
   private long setupAllocatedHeap;
   private long startHeapAllocation = -1;
+  // CPU time of the threads running the operator, sampled when the operator starts and stops
+  // processing
+  private long cpuNanos;
+  private long startCpuNanos = -1;
 
   // Need this wrapper so that the caller don't have to handle exception from close().
   public interface WaitRecorder extends AutoCloseable {
@@ -334,6 +338,8 @@ public class OperatorStats {
       final IntDoubleCursor next = iterD.next();
       doubleMetrics.putOrAdd(next.key, next.value, next.value);
     }
+    cpuNanos += from.cpuNanos;
+    totalAllocatedHeap += from.getHeapAllocatedBytes();
     return this;
   }
 
@@ -387,6 +393,7 @@ public class OperatorStats {
   public void startProcessing() {
     assert currentState == State.NONE : assertionError("starting processing");
     startHeapAllocation = HeapAllocatedMXBeanWrapper.getCurrentThreadAllocatedBytes();
+    startCpuNanos = ThreadCpuTimeMXBeanWrapper.getCurrentThreadCpuTime();
     startState(State.PROCESSING);
   }
 
@@ -397,6 +404,7 @@ public class OperatorStats {
     this.masterState = state.getMasterState().ordinal();
     lastScheduleTime = System.currentTimeMillis();
     startHeapAllocation = HeapAllocatedMXBeanWrapper.getCurrentThreadAllocatedBytes();
+    startCpuNanos = ThreadCpuTimeMXBeanWrapper.getCurrentThreadCpuTime();
     startState(State.PROCESSING);
   }
 
@@ -414,6 +422,7 @@ public class OperatorStats {
       avgAllocatedHeap = Math.round(avg);
       peakAllocatedHeap = Math.max(lastAllocatedHeap, peakAllocatedHeap);
     }
+    stopCpuTime();
     stopState();
   }
 
@@ -433,9 +442,20 @@ public class OperatorStats {
       avgAllocatedHeap = Math.round(avg);
       peakAllocatedHeap = Math.max(lastAllocatedHeap, peakAllocatedHeap);
     }
+    stopCpuTime();
     stopState();
   }
 
+  private void stopCpuTime() {
+    if (startCpuNanos >= 0) {
+      final long currentCpuNanos = ThreadCpuTimeMXBeanWrapper.getCurrentThreadCpuTime();
+      if (currentCpuNanos >= 0) {
+        cpuNanos += currentCpuNanos - startCpuNanos;
+      }
+      startCpuNanos = -1;
+    }
+  }
+
   public void startWait() {
     assert currentState != State.WAIT : assertionError("starting waiting");
     savedState = currentState;
@@ -502,7 +522,9 @@ public class OperatorStats {
             .setAddedFiles(addedFilesCount)
             .setRemovedFiles(removedFilesCount)
             .setOperatorState(masterState)
-            .setLastScheduleTime(lastScheduleTime);
+            .setLastScheduleTime(lastScheduleTime)
+            .setCpuNanos(cpuNanos)
+            .setHeapAllocatedBytes(getHeapAllocatedBytes());
     if (allocator != null) {
       b.setPeakLocalMemoryAllocated(
           Long.max(allocator.getPeakMemoryAllocation(), allocator.getInitReservation()));
@@ -643,6 +665,19 @@ public class OperatorStats {
     return getNanos(State.WAIT);
   }
 
+  /** Returns the CPU time of the threads running the operator, in nanoseconds. */
+  public long getCpuNanos() {
+    return cpuNanos;
+  }
+
+  /**
+   * Returns the bytes allocated on the heap by the operator, when the collection of the heap usage
+   * is enabled.
+   */
+  public long getHeapAllocatedBytes() {
+    return setupAllocatedHeap + totalAllocatedHeap;
+  }
+
   /**
    * Adjust waitNanos based on client calculations
    *
@@ -693,6 +728,7 @@ public class OperatorStats {
     outputTable.addRow("Setup time", NumberFormat.getInstance().format(getSetupNanos()) + " ns");
     outputTable.addRow(
         "Processing time", NumberFormat.getInstance().format(getProcessingNanos()) + " ns");
+    outputTable.addRow("CPU time", NumberFormat.getInstance().format(cpuNanos) + " ns");
 
     for (int i = 0; i < inputCount; i++) {
       outputTable.addRow(
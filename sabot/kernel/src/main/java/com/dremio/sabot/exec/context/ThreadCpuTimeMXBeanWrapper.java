@@ -0,0 +1,54 @@
+/*
+ * Copyright (C) 2017-2019 Dremio Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.dremio.sabot.exec.context;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+
+/** Reads the CPU time of the current thread, when the JVM supports measuring it. */
+public class ThreadCpuTimeMXBeanWrapper {
+  private static final ThreadMXBean mxBean = ManagementFactory.getThreadMXBean();
+  private static volatile boolean featureSupported = isSupported();
+
+  private static boolean isSupported() {
+    try {
+      return mxBean.isCurrentThreadCpuTimeSupported() && mxBean.isThreadCpuTimeEnabled();
+    } catch (Throwable t) {
+      return false;
+    }
+  }
+
+  /** Returns the CPU time of the current thread in nanoseconds, or -1 if it can't be measured. */
+  public static long getCurrentThreadCpuTime() {
+    if (!featureSupported) {
+      return -1L;
+    }
+    try {
+      final long val = mxBean.getCurrentThreadCpuTime();
+      if (val < 0) {
+        featureSupported = false;
+      }
+      return val;
+    } catch (Throwable t) {
+      featureSupported = false;
+    }
+    return -1L;
+  }
+
+  public static boolean isFeatureSupported() {
+    return featureSupported;
+  }
+}
@@ -0,0 +1,409 @@
+/*
+ * Copyright (C) 2017-2019 Dremio Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.dremio.sabot.op.filter;
+
+import com.dremio.common.expression.BooleanOperator;
+import com.dremio.common.expression.FunctionHolderExpression;
+import com.dremio.common.expression.LogicalExpression;
+import com.dremio.common.expression.SupportedEngines.CodeGenOption;
+import com.dremio.common.expression.SupportedEngines.Engine;
+import com.dremio.exec.ExecConstants;
+import com.dremio.exec.expr.ClassGenerator;
+import com.dremio.exec.expr.CodeGenContext;
+import com.dremio.exec.expr.ExpressionEvaluationOptions;
+import com.dremio.exec.expr.ReturnValueExpression;
+import com.dremio.exec.expr.ValueVectorReadExpression;
+import com.dremio.exec.proto.UserBitShared.FilterPredicateInfo;
+import com.dremio.exec.record.BatchSchema.SelectionVectorMode;
+import com.dremio.exec.record.VectorAccessible;
+import com.dremio.exec.record.VectorWrapper;
+import com.dremio.exec.record.selection.SelectionVector2;
+import com.dremio.sabot.exec.context.OperatorContext;
+import com.google.common.base.Stopwatch;
+import com.google.common.collect.ImmutableSet;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Evaluates the conjuncts of a filter condition one after the other, each on the records selected
+ * by the previous ones, so the records filtered out by a conjunct are not evaluated by the next
+ * ones. Each conjunct is compiled in Java into its own filter, which reads the current selection
+ * and writes the records it keeps into the selection vector of the output.
+ *
+ * <p>The conjuncts are ordered by their observed cost per record divided by the fraction of the
+ * records they filter out, so the cheap and selective conjuncts are evaluated first. The order is
+ * updated every reorder interval, and the observations are halved at the same time so that the
+ * order follows the changes in the data.
+ *
+ * <p>A conjunct which can fail, such as a division guarded by a previous conjunct in {@code x <> 0
+ * AND 10 / x > 1}, is never evaluated before the conjuncts written before it. Only the conjuncts
+ * made of comparisons and null checks of columns and constants cannot fail.
+ */
+class AdaptiveConjunctionFilter implements AutoCloseable {
+  // the functions which cannot fail, whatever the values of their arguments
+  private static final Set<String> SAFE_FUNCTIONS =
+      ImmutableSet.of(
+          "equal",
+          "not_equal",
+          "less_than",
+          "less_than_or_equal_to",
+          "greater_than",
+          "greater_than_or_equal_to",
+          "isnull",
+          "isnotnull",
+          "istrue",
+          "isnottrue",
+          "isfalse",
+          "isnotfalse",
+          "not");
+
+  private final VectorContainerWithSV selection;
+  private final VectorContainerWithSV output;
+  private final List<Conjunct> conjuncts;
+  private final long reorderInterval;
+  private final Stopwatch javaCodeGenWatch;
+  private List<Conjunct> order;
+  private long batches;
+  private long reorders;
+
+  private AdaptiveConjunctionFilter(
+      VectorContainerWithSV selection,
+      VectorContainerWithSV output,
+      List<Conjunct> conjuncts,
+      long reorderInterval,
+      Stopwatch javaCodeGenWatch) {
+    this.selection = selection;
+    this.output = output;
+    this.conjuncts = conjuncts;
+    this.reorderInterval = reorderInterval;
+    this.javaCodeGenWatch = javaCodeGenWatch;
+    this.order = new ArrayList<>(conjuncts);
+  }
+
+  /**
+   * Returns the conjuncts of a materialized condition which are evaluated in Java: the conjuncts
+   * which can only be evaluated in Java, and when Java is the preferred engine, all the conjuncts
+   * which can be evaluated in Java. The other conjuncts are evaluated before them by the expression
+   * splitter, so the conjuncts which can fail and are written after an adaptive conjunct are
+   * evaluated adaptively too.
+   *
+   * @return the conjuncts, or an empty list if there are fewer than two of them, or if a conjunct
+   *     which can fail cannot be evaluated after the conjuncts written before it
+   */
+  static List<LogicalExpression> getAdaptiveConjuncts(
+      OperatorContext context,
+      VectorAccessible incoming,
+      ExpressionEvaluationOptions options,
+      LogicalExpression condition) {
+    if (options.getCodeGenOption() == CodeGenOption.GandivaOnly) {
+      return Collections.emptyList();
+    }
+    final boolean preferJava = options.getCodeGenOption() == CodeGenOption.Java;
+    final List<LogicalExpression> adaptiveConjuncts = new ArrayList<>();
+    for (LogicalExpression conjunct : getConjuncts(condition)) {
+      final CodeGenContext annotated =
+          (CodeGenContext)
+              context.getClassProducer().annotateTheExpression(options, conjunct, incoming);
+      final boolean java = annotated.isSubExpressionExecutableInEngine(Engine.JAVA);
+      if (java && (preferJava || !annotated.isSubExpressionExecutableInEngine(Engine.GANDIVA))) {
+        adaptiveConjuncts.add(conjunct);
+      } else if (!adaptiveConjuncts.isEmpty() && canFail(conjunct)) {
+        if (!java) {
+          return Collections.emptyList();
+        }
+        adaptiveConjuncts.add(conjunct);
+      }
+    }
+    return adaptiveConjuncts.size() < 2 ? Collections.emptyList() : adaptiveConjuncts;
+  }
+
+  /**
+   * Returns the conjunction of the conjuncts of a condition which are not evaluated adaptively.
+   *
+   * @return the conjunction, or null if all the conjuncts are evaluated adaptively
+   */
+  static LogicalExpression getRemainingCondition(
+      LogicalExpression condition, List<LogicalExpression> adaptiveConjuncts) {
+    final Map<LogicalExpression, Boolean> adaptive = new IdentityHashMap<>();
+    for (LogicalExpression conjunct : adaptiveConjuncts) {
+      adaptive.put(conjunct, Boolean.TRUE);
+    }
+    final List<LogicalExpression> remaining = new ArrayList<>();
+    for (LogicalExpression conjunct : getConjuncts(condition)) {
+      if (!adaptive.containsKey(conjunct)) {
+        remaining.add(conjunct);
+      }
+    }
+    switch (remaining.size()) {
+      case 0:
+        return null;
+      case 1:
+        return remaining.get(0);
+      default:
+        return new BooleanOperator("booleanAnd", remaining);
+    }
+  }
+
+  /**
+   * Returns whether a materialized expression may fail for some values of the columns it reads:
+   * unless it only compares and checks for null columns and constants.
+   */
+  static boolean canFail(LogicalExpression expr) {
+    if (expr instanceof FunctionHolderExpression) {
+      if (!SAFE_FUNCTIONS.contains(((FunctionHolderExpression) expr).getName())) {
+        return true;
+      }
+    } else if (!(expr instanceof BooleanOperator || expr instanceof ValueVectorReadExpression)
+        && expr.iterator().hasNext()) {
+      return true;
+    }
+    for (LogicalExpression child : expr) {
+      if (canFail(child)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private static List<LogicalExpression> getConjuncts(LogicalExpression condition) {
+    final List<LogicalExpression> conjuncts = new ArrayList<>();
+    collectConjuncts(condition, conjuncts);
+    return conjuncts;
+  }
+
+  private static void collectConjuncts(LogicalExpression expr, List<LogicalExpression> conjuncts) {
+    if (expr instanceof BooleanOperator && ((BooleanOperator) expr).isAnd()) {
+      for (LogicalExpression arg : (BooleanOperator) expr) {
+        collectConjuncts(arg, conjuncts);
+      }
+    } else {
+      conjuncts.add(expr);
+    }
+  }
+
+  /**
+   * Compiles the filters of the conjuncts.
+   *
+   * @param incoming the incoming batch, without selection vector
+   * @param output the output of the filter, whose selection vector holds the records to evaluate
+   *     before each batch, and the records selected by all the conjuncts after it
+   */
+  static AdaptiveConjunctionFilter create(
+      OperatorContext context,
+      VectorAccessible incoming,
+      VectorContainerWithSV output,
+      List<LogicalExpression> adaptiveConjuncts,
+      Stopwatch javaCodeGenWatch)
+      throws Exception {
+    // the incoming vectors, read through the current selection
+    final VectorContainerWithSV selection =
+        new VectorContainerWithSV(
+            context.getFragmentOutputAllocator(),
+            new SelectionVector2(context.getFragmentOutputAllocator()));
+    for (VectorWrapper<?> wrapper : incoming) {
+      selection.add(wrapper.getValueVector());
+    }
+    selection.buildSchema(SelectionVectorMode.TWO_BYTE);
+
+    final long descriptionLengthThreshold =
+        context.getOptions().getOption(ExecConstants.NAMED_EXPRESSION_LENGTH_THRESHOLD);
+    final List<Conjunct> conjuncts = new ArrayList<>();
+    javaCodeGenWatch.start();
+    try {
+      for (LogicalExpression conjunct : adaptiveConjuncts) {
+        final ClassGenerator<Filterer> filterClassGen =
+            context.getClassProducer().createGenerator(Filterer.TEMPLATE_DEFINITION2).getRoot();
+        filterClassGen.addExpr(
+            new ReturnValueExpression(conjunct), ClassGenerator.BlockCreateMode.MERGE, true);
+        final Filterer filterer = filterClassGen.getCodeGenerator().getImplementationClass();
+        filterer.setup(context.getClassProducer().getFunctionContext(), selection, output);
+        final String description = conjunct.toString();
+        conjuncts.add(
+            new Conjunct(
+                conjuncts.size(),
+                description.length() <= descriptionLengthThreshold ? description : "OMIT",
+                canFail(conjunct),
+                filterer));
+      }
+    } catch (Exception e) {
+      selection.getSelectionVector2().clear();
+      throw e;
+    } finally {
+      javaCodeGenWatch.stop();
+    }
+    return new AdaptiveConjunctionFilter(
+        selection,
+        output,
+        conjuncts,
+        context.getOptions().getOption(ExecConstants.ADAPTIVE_FILTER_CONJUNCTS_REORDER_INTERVAL),
+        javaCodeGenWatch);
+  }
+
+  /**
+   * Evaluates the conjuncts on the records selected in the selection vector of the output, and
+   * leaves the records selected by all of them in this selection vector.
+   *
+   * @return the number of records selected
+   */
+  int filterBatch(int recordCount) {
+    final SelectionVector2 current = selection.getSelectionVector2();
+    final SelectionVector2 outgoing = output.getSelectionVector2();
+    int count = recordCount;
+    javaCodeGenWatch.start();
+    try {
+      for (Conjunct conjunct : order) {
+        if (count == 0) {
+          break;
+        }
+        current.clear();
+        current.referTo(outgoing);
+        final long start = System.nanoTime();
+        final int selected = conjunct.filterer.filterBatch(count);
+        conjunct.record(count, selected, System.nanoTime() - start);
+        count = selected;
+      }
+    } finally {
+      javaCodeGenWatch.stop();
+    }
+    if (++batches % reorderInterval == 0) {
+      reorder();
+    }
+    return count;
+  }
+
+  private void reorder() {
+    final List<Conjunct> ranked = new ArrayList<>(order);
+    ranked.sort(Comparator.comparingDouble(Conjunct::rank));
+    final List<Conjunct> newOrder = keepGuards(ranked);
+    if (!newOrder.equals(order)) {
+      order = newOrder;
+      reorders++;
+    }
+    for (Conjunct conjunct : conjuncts) {
+      conjunct.age();
+    }
+  }
+
+  /**
+   * Returns the conjuncts in the order of their ranks, except that a conjunct which can fail comes
+   * after all the conjuncts written before it.
+   */
+  private List<Conjunct> keepGuards(List<Conjunct> ranked) {
+    final List<Conjunct> newOrder = new ArrayList<>(ranked.size());
+    final boolean[] ordered = new boolean[conjuncts.size()];
+    int firstUnordered = 0;
+    while (newOrder.size() < ranked.size()) {
+      for (Conjunct conjunct : ranked) {
+        // the first conjunct not ordered yet can always be ordered
+        if (!ordered[conjunct.index] && (!conjunct.canFail || conjunct.index == firstUnordered)) {
+          newOrder.add(conjunct);
+          ordered[conjunct.index] = true;
+          while (firstUnordered < ordered.length && ordered[firstUnordered]) {
+            firstUnordered++;
+          }
+          break;
+        }
+      }
+    }
+    return newOrder;
+  }
+
+  int getNumConjuncts() {
+    return conjuncts.size();
+  }
+
+  long getReorders() {
+    return reorders;
+  }
+
+  /** Returns the details of the evaluation of the conjuncts, in the order of the condition. */
+  List<FilterPredicateInfo> getPredicateInfos() {
+    final List<FilterPredicateInfo> infos = new ArrayList<>(conjuncts.size());
+    for (Conjunct conjunct : conjuncts) {
+      infos.add(
+          FilterPredicateInfo.newBuilder()
+              .setPredicate(conjunct.description)
+              .setInputRecords(conjunct.inputRecords)
+              .setOutputRecords(conjunct.outputRecords)
+              .setEvaluationTimeNanos(conjunct.evaluationNanos)
+              .build());
+    }
+    return infos;
+  }
+
+  @Override
+  public void close() {
+    // the vectors belong to the incoming batch, only the selection vector is released
+    selection.getSelectionVector2().clear();
+  }
+
+  private static final class Conjunct {
+    // the position of the conjunct in the condition
+    private final int index;
+    private final String description;
+    private final boolean canFail;
+    private final Filterer filterer;
+    private long inputRecords;
+    private long outputRecords;
+    private long evaluationNanos;
+    // the recent observations, halved at each reorder
+    private long recentInputRecords;
+    private long recentOutputRecords;
+    private long recentEvaluationNanos;
+
+    private Conjunct(int index, String description, boolean canFail, Filterer filterer) {
+      this.index = index;
+      this.description = description;
+      this.canFail = canFail;
+      this.filterer = filterer;
+    }
+
+    private void record(int input, int output, long nanos) {
+      inputRecords += input;
+      outputRecords += output;
+      evaluationNanos += nanos;
+      recentInputRecords += input;
+      recentOutputRecords += output;
+      recentEvaluationNanos += nanos;
+    }
+
+    /**
+     * Returns the cost of evaluating the conjunct per record it filters out. The conjuncts which
+     * were not evaluated recently come first, so that they are observed again.
+     */
+    private double rank() {
+      if (recentInputRecords == 0) {
+        return 0;
+      }
+      final double filteredOut = recentInputRecords - recentOutputRecords;
+      if (filteredOut == 0) {
+        return Double.MAX_VALUE;
+      }
+      return recentEvaluationNanos / filteredOut;
+    }
+
+    private void age() {
+      recentInputRecords /= 2;
+      recentOutputRecords /= 2;
+      recentEvaluationNanos /= 2;
+    }
+  }
+}
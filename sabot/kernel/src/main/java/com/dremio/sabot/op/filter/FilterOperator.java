@@ -21,14 +21,16 @@ import com.dremio.common.expression.FieldReference;
 import com.dremio.common.expression.LogicalExpression;
 import com.dremio.common.logical.data.NamedExpression;
 import com.dremio.exec.ExecConstants;
+import com.dremio.exec.expr.BatchInvariantExpressions;
 import com.dremio.exec.expr.ExpressionEvaluationOptions;
 import com.dremio.exec.expr.ExpressionSplitter;
+import com.dremio.exec.expr.fn.interpreter.InterpreterEvaluator;
 import com.dremio.exec.physical.config.Filter;
 import com.dremio.exec.proto.UserBitShared.OperatorProfileDetails;
 import com.dremio.exec.record.BatchSchema.SelectionVectorMode;
 import com.dremio.exec.record.VectorAccessible;
-import com.dremio.exec.record.VectorContainer;
 import com.dremio.exec.record.VectorWrapper;
+import com.dremio.exec.record.selection.SelectionVector2;
 import com.dremio.sabot.exec.context.OperatorContext;
 import com.dremio.sabot.exec.context.OperatorStats;
 import com.dremio.sabot.op.filter.FilterStats.Metric;
@@ -39,6 +41,7 @@ import java.util.EnumSet;
 import java.util.List;
 import java.util.concurrent.TimeUnit;
 import org.apache.arrow.memory.OutOfMemoryException;
+import org.apache.arrow.vector.ValueVector;
 import org.apache.arrow.vector.util.TransferPair;
 
 public class FilterOperator implements SingleInputOperator {
@@ -47,7 +50,7 @@ public class FilterOperator implements SingleInputOperator {
   private final Filter config;
   private final OperatorContext context;
   private final ExpressionEvaluationOptions filterOptions;
-  private final VectorContainer output;
+  private final VectorContainerWithSV output;
 
   private State state = State.NEEDS_SETUP;
   private int recordCount;
@@ -56,6 +59,16 @@ public class FilterOperator implements SingleInputOperator {
   private Stopwatch javaCodeGenWatch = Stopwatch.createUnstarted();
   private Stopwatch gandivaCodeGenWatch = Stopwatch.createUnstarted();
   private ExpressionSplitter splitter;
+  // the columns read by the condition, if it is batch invariant
+  private List<ValueVector> batchInvariantInputs;
+  private long batchInvariantBatches;
+  private int variantBatches;
+  // the conjuncts of the condition evaluated adaptively, after the splitter if any
+  private AdaptiveConjunctionFilter adaptiveFilter;
+  // the condition, while it is evaluated by the interpreter
+  private LogicalExpression interpretedCondition;
+  private long interpretedRecords;
+  private long interpretedBatches;
 
   public FilterOperator(Filter pop, OperatorContext context) throws OutOfMemoryException {
     this.config = pop;
@@ -100,12 +113,108 @@ public class FilterOperator implements SingleInputOperator {
       return;
     }
 
-    recordCount = splitter.filterData(records, javaCodeGenWatch, gandivaCodeGenWatch);
+    if (interpretedCondition != null && interpret(records)) {
+      doTransfers();
+      state = State.CAN_PRODUCE;
+      return;
+    }
+
+    if (isBatchInvariant(records)) {
+      recordCount = filterBatchInvariant(records);
+    } else {
+      recordCount = filter(records);
+    }
 
     doTransfers();
     state = State.CAN_PRODUCE;
   }
 
+  /**
+   * Evaluates the condition with the interpreter, as long as the operator has not processed more
+   * records than the maximum for the interpreter. Otherwise, or if the interpreter fails, generates
+   * the code of the condition, which evaluates this batch and the next ones.
+   *
+   * @return whether the batch was evaluated by the interpreter
+   */
+  private boolean interpret(int records) throws Exception {
+    interpretedRecords += records;
+    if (interpretedRecords
+        <= context.getOptions().getOption(ExecConstants.EXPRESSION_INTERPRETER_MAX_RECORDS)) {
+      try {
+        recordCount =
+            InterpreterEvaluator.filter(
+                records,
+                context.getFunctionContext(),
+                input,
+                output.getSelectionVector2(),
+                interpretedCondition);
+        interpretedBatches++;
+        return true;
+      } catch (RuntimeException e) {
+        logger.debug("Failed to interpret the condition, generating its code", e);
+      }
+    }
+    final LogicalExpression condition = interpretedCondition;
+    interpretedCondition = null;
+    generateCondition(input, condition);
+    return false;
+  }
+
+  /**
+   * Returns whether the columns read by the condition have a single value in the batch. The columns
+   * are no longer checked once they don't have a single value in several consecutive batches.
+   */
+  private boolean isBatchInvariant(int records) {
+    if (batchInvariantInputs == null || records <= 1) {
+      return false;
+    }
+    if (BatchInvariantExpressions.isSingleValued(batchInvariantInputs, null, records)) {
+      variantBatches = 0;
+      return true;
+    }
+    if (++variantBatches >= BatchInvariantExpressions.MAX_VARIANT_BATCHES) {
+      batchInvariantInputs = null;
+    }
+    return false;
+  }
+
+  /**
+   * Evaluates the condition for the first record only, as it has the same value for all the records
+   * of the batch, and selects either all the records or none of them.
+   */
+  private int filterBatchInvariant(int records) throws Exception {
+    batchInvariantBatches++;
+    if (filter(1) == 0) {
+      return 0;
+    }
+    return selectAll(records);
+  }
+
+  /**
+   * Evaluates the condition, in the splitter, then in the adaptive filter for the records selected
+   * by the splitter.
+   */
+  private int filter(int records) throws Exception {
+    if (adaptiveFilter == null) {
+      return splitter.filterData(records, javaCodeGenWatch, gandivaCodeGenWatch);
+    }
+    final int selected =
+        splitter == null
+            ? selectAll(records)
+            : splitter.filterData(records, javaCodeGenWatch, gandivaCodeGenWatch);
+    return adaptiveFilter.filterBatch(selected);
+  }
+
+  private int selectAll(int records) {
+    final SelectionVector2 sv2 = output.getSelectionVector2();
+    sv2.allocateNew(records);
+    for (int i = 0; i < records; i++) {
+      sv2.setIndex(i, i);
+    }
+    sv2.setRecordCount(records);
+    return records;
+  }
+
   @Override
   public int outputData() throws Exception {
     state.is(State.CAN_PRODUCE);
@@ -133,8 +242,23 @@ public class FilterOperator implements SingleInputOperator {
 
   @Override
   public void close() throws Exception {
-    AutoCloseables.close(output, splitter);
+    AutoCloseables.close(output, splitter, adaptiveFilter);
     addDisplayStatsWithZeroValue(context, EnumSet.allOf(Metric.class));
+    context.getStats().addLongStat(Metric.BATCH_INVARIANT_BATCHES, batchInvariantBatches);
+    context.getStats().addLongStat(Metric.INTERPRETED_BATCHES, interpretedBatches);
+    if (adaptiveFilter != null) {
+      context.getStats().addLongStat(Metric.CONJUNCT_REORDERS, adaptiveFilter.getReorders());
+      // only for minor fragment 0 will save profile details
+      if (context.getFragmentHandle().getMinorFragmentId() == 0) {
+        final OperatorProfileDetails details = context.getStats().getProfileDetails();
+        context
+            .getStats()
+            .setProfileDetails(
+                (details == null ? OperatorProfileDetails.newBuilder() : details.toBuilder())
+                    .addAllFilterPredicateInfos(adaptiveFilter.getPredicateInfos())
+                    .build());
+      }
+    }
     context
         .getStats()
         .addLongStat(Metric.JAVA_EXECUTE_TIME, javaCodeGenWatch.elapsed(TimeUnit.MILLISECONDS));
@@ -148,20 +272,41 @@ public class FilterOperator implements SingleInputOperator {
 
   protected void generateSV2Filterer(VectorAccessible accessible) throws Exception {
     setupTransfers();
-    setupSplitter(accessible);
+    final LogicalExpression materializedExp =
+        context.getClassProducer().materializeAndAllowComplex(config.getExpr(), input, true);
+    // small inputs are filtered by the interpreter, without generating code
+    if (context.getOptions().getOption(ExecConstants.EXPRESSION_INTERPRETER_ENABLED)
+        && config.getProps().getCost()
+            <= context.getOptions().getOption(ExecConstants.EXPRESSION_INTERPRETER_MAX_RECORDS)
+        && !filterOptions.isTrackRecordLevelErrors()
+        && InterpreterEvaluator.canEvaluate(materializedExp)) {
+      interpretedCondition = materializedExp;
+      return;
+    }
+    generateCondition(accessible, materializedExp);
+  }
+
+  private void generateCondition(VectorAccessible accessible, LogicalExpression materializedExp)
+      throws Exception {
+    setupSplitter(accessible, materializedExp);
 
     OperatorStats stats = context.getStats();
-    stats.addLongStat(Metric.JAVA_EXPRESSIONS, splitter.getNumExprsInJava());
-    stats.addLongStat(Metric.GANDIVA_EXPRESSIONS, splitter.getNumExprsInGandiva());
-    stats.addLongStat(Metric.MIXED_SPLITS, splitter.getNumSplitsInBoth());
+    if (splitter != null) {
+      stats.addLongStat(Metric.JAVA_EXPRESSIONS, splitter.getNumExprsInJava());
+      stats.addLongStat(Metric.GANDIVA_EXPRESSIONS, splitter.getNumExprsInGandiva());
+      stats.addLongStat(Metric.MIXED_SPLITS, splitter.getNumSplitsInBoth());
+      // only for minor fragment 0 will save profile details
+      if (context.getFragmentHandle().getMinorFragmentId() == 0) {
+        stats.setProfileDetails(
+            OperatorProfileDetails.newBuilder().addAllSplitInfos(splitter.getSplitInfos()).build());
+      }
+    }
+    if (adaptiveFilter != null) {
+      stats.addLongStat(Metric.ADAPTIVE_CONJUNCTS, adaptiveFilter.getNumConjuncts());
+    }
     stats.addLongStat(Metric.JAVA_BUILD_TIME, javaCodeGenWatch.elapsed(TimeUnit.MILLISECONDS));
     stats.addLongStat(
         Metric.GANDIVA_BUILD_TIME, gandivaCodeGenWatch.elapsed(TimeUnit.MILLISECONDS));
-    // only for minor fragment 0 will save profile details
-    if (context.getFragmentHandle().getMinorFragmentId() == 0) {
-      stats.setProfileDetails(
-          OperatorProfileDetails.newBuilder().addAllSplitInfos(splitter.getSplitInfos()).build());
-    }
     javaCodeGenWatch.reset();
     gandivaCodeGenWatch.reset();
   }
@@ -175,20 +320,37 @@ public class FilterOperator implements SingleInputOperator {
     tx = transfers.toArray(new TransferPair[transfers.size()]);
   }
 
-  private void setupSplitter(VectorAccessible accessible) throws Exception {
-    final LogicalExpression materializedExp =
-        context.getClassProducer().materializeAndAllowComplex(config.getExpr(), input, true);
-    splitter =
-        new ExpressionSplitter(
-            context,
-            accessible,
-            filterOptions,
-            context.getClassProducer().getFunctionLookupContext().isDecimalV2Enabled());
-    splitter.setupFilter(
-        output,
-        new NamedExpression(materializedExp, new FieldReference("_filter_")),
-        javaCodeGenWatch,
-        gandivaCodeGenWatch);
+  private void setupSplitter(VectorAccessible accessible, LogicalExpression materializedExp)
+      throws Exception {
+    LogicalExpression splitterExp = materializedExp;
+    if (context.getOptions().getOption(ExecConstants.ADAPTIVE_FILTER_CONJUNCTS_ENABLED)) {
+      final List<LogicalExpression> adaptiveConjuncts =
+          AdaptiveConjunctionFilter.getAdaptiveConjuncts(
+              context, input, filterOptions, materializedExp);
+      if (!adaptiveConjuncts.isEmpty()) {
+        adaptiveFilter =
+            AdaptiveConjunctionFilter.create(
+                context, input, output, adaptiveConjuncts, javaCodeGenWatch);
+        splitterExp =
+            AdaptiveConjunctionFilter.getRemainingCondition(materializedExp, adaptiveConjuncts);
+      }
+    }
+    if (splitterExp != null) {
+      splitter =
+          new ExpressionSplitter(
+              context,
+              accessible,
+              filterOptions,
+              context.getClassProducer().getFunctionLookupContext().isDecimalV2Enabled());
+      splitter.setupFilter(
+          output,
+          new NamedExpression(splitterExp, new FieldReference("_filter_")),
+          javaCodeGenWatch,
+          gandivaCodeGenWatch);
+    }
+    if (context.getOptions().getOption(ExecConstants.BATCH_INVARIANT_EXPRESSIONS_ENABLED)) {
+      batchInvariantInputs = BatchInvariantExpressions.getInputVectors(materializedExp, input);
+    }
   }
 
   private void doTransfers() {
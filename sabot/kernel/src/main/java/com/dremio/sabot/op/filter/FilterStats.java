@@ -39,7 +39,23 @@ public class FilterStats {
      * This metric could take one of these 3 values: 0 for built from primary cache 1 for built from
      * secondary cache 2 for code generated using gandiva
      */
-    BUILT_FROM_GANDIVA_CACHE;
+    BUILT_FROM_GANDIVA_CACHE,
+    BATCH_INVARIANT_BATCHES(
+        DisplayType.DISPLAY_BY_DEFAULT,
+        AggregationType.SUM,
+        "Number of batches in which the condition was evaluated once as its inputs are constant"),
+    ADAPTIVE_CONJUNCTS(
+        DisplayType.DISPLAY_BY_DEFAULT,
+        AggregationType.MAX,
+        "Number of conjuncts of the condition evaluated one after the other, in adaptive order"),
+    CONJUNCT_REORDERS(
+        DisplayType.DISPLAY_BY_DEFAULT,
+        AggregationType.SUM,
+        "Number of times the order of evaluation of the conjuncts changed"),
+    INTERPRETED_BATCHES(
+        DisplayType.DISPLAY_BY_DEFAULT,
+        AggregationType.SUM,
+        "Number of batches in which the condition was evaluated by the interpreter");
 
     private final DisplayType displayType;
     private final AggregationType aggregationType;
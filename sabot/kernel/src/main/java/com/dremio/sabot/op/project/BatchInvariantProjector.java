@@ -0,0 +1,146 @@
+/*
+ * Copyright (C) 2017-2019 Dremio Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.dremio.sabot.op.project;
+
+import com.dremio.common.AutoCloseables;
+import com.dremio.common.logical.data.NamedExpression;
+import com.dremio.exec.expr.BatchInvariantExpressions;
+import com.dremio.exec.expr.ExpressionEvaluationOptions;
+import com.dremio.exec.expr.ExpressionSplitter;
+import com.dremio.exec.record.BatchSchema.SelectionVectorMode;
+import com.dremio.exec.record.VectorAccessible;
+import com.dremio.exec.record.VectorContainer;
+import com.dremio.exec.record.selection.SelectionVector2;
+import com.dremio.sabot.exec.context.OperatorContext;
+import com.google.common.base.Stopwatch;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+import org.apache.arrow.vector.ValueVector;
+
+/**
+ * Evaluates the batch invariant expressions of a projection, see {@link
+ * BatchInvariantExpressions}. When all the columns read by these expressions have a single value in
+ * a batch, they are only evaluated for the first record of the batch, and their values are copied
+ * to the other records. Otherwise they are evaluated for every record, as the other expressions,
+ * and the columns are no longer checked once they don't have a single value in several consecutive
+ * batches.
+ */
+class BatchInvariantProjector implements AutoCloseable {
+  private final ExpressionSplitter splitter;
+  private final VectorAccessible incoming;
+  private final List<ValueVector> inputs;
+  private final List<ValueVector> outputs = new ArrayList<>();
+  private final int numExprs;
+  private boolean canEvaluateOnce = true;
+  private int variantBatches;
+  private long invariantBatches;
+
+  private BatchInvariantProjector(
+      ExpressionSplitter splitter,
+      VectorAccessible incoming,
+      List<ValueVector> inputs,
+      int numExprs) {
+    this.splitter = splitter;
+    this.incoming = incoming;
+    this.inputs = inputs;
+    this.numExprs = numExprs;
+  }
+
+  /**
+   * Creates the projector of batch invariant expressions, which are materialized and evaluated in
+   * their own splitter.
+   */
+  static BatchInvariantProjector create(
+      OperatorContext context,
+      VectorAccessible incoming,
+      VectorContainer outgoing,
+      ExpressionEvaluationOptions options,
+      List<NamedExpression> exprs)
+      throws Exception {
+    final ExpressionSplitter splitter =
+        new ExpressionSplitter(
+            context,
+            incoming,
+            options,
+            context.getClassProducer().getFunctionLookupContext().isDecimalV2Enabled());
+    final Set<ValueVector> inputs = Collections.newSetFromMap(new IdentityHashMap<>());
+    final BatchInvariantProjector projector =
+        new BatchInvariantProjector(splitter, incoming, new ArrayList<>(), exprs.size());
+    try {
+      for (NamedExpression expr : exprs) {
+        inputs.addAll(BatchInvariantExpressions.getInputVectors(expr.getExpr(), incoming));
+        final ValueVector output = splitter.addExpr(outgoing, expr);
+        projector.outputs.add(output);
+        if (!BatchInvariantExpressions.isSupported(output)) {
+          projector.canEvaluateOnce = false;
+        }
+      }
+    } catch (Exception e) {
+      AutoCloseables.close(e, splitter);
+      throw e;
+    }
+    projector.inputs.addAll(inputs);
+    return projector;
+  }
+
+  void setup(VectorContainer outgoing, Stopwatch javaCodeGenWatch, Stopwatch gandivaCodeGenWatch)
+      throws Exception {
+    splitter.setupProjector(outgoing, javaCodeGenWatch, gandivaCodeGenWatch);
+  }
+
+  void projectRecords(int recordCount, Stopwatch javaCodeGenWatch, Stopwatch gandivaCodeGenWatch)
+      throws Exception {
+    final SelectionVector2 sv2 =
+        incoming.getSchema().getSelectionVectorMode() == SelectionVectorMode.TWO_BYTE
+            ? incoming.getSelectionVector2()
+            : null;
+    if (canEvaluateOnce && recordCount > 1) {
+      if (BatchInvariantExpressions.isSingleValued(inputs, sv2, recordCount)) {
+        splitter.projectRecords(1, javaCodeGenWatch, gandivaCodeGenWatch);
+        for (ValueVector output : outputs) {
+          BatchInvariantExpressions.copyFirstValue(output, recordCount);
+        }
+        invariantBatches++;
+        variantBatches = 0;
+        return;
+      }
+      if (++variantBatches >= BatchInvariantExpressions.MAX_VARIANT_BATCHES) {
+        canEvaluateOnce = false;
+      }
+    }
+    splitter.projectRecords(recordCount, javaCodeGenWatch, gandivaCodeGenWatch);
+  }
+
+  ExpressionSplitter getSplitter() {
+    return splitter;
+  }
+
+  int getNumExprs() {
+    return numExprs;
+  }
+
+  long getInvariantBatches() {
+    return invariantBatches;
+  }
+
+  @Override
+  public void close() throws Exception {
+    splitter.close();
+  }
+}
@@ -0,0 +1,188 @@
+/*
+ * Copyright (C) 2017-2019 Dremio Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.dremio.sabot.op.project;
+
+import com.carrotsearch.hppc.IntHashSet;
+import com.dremio.common.AutoCloseables;
+import com.dremio.common.expression.FieldReference;
+import com.dremio.common.expression.LogicalExpression;
+import com.dremio.common.expression.SchemaPath;
+import com.dremio.common.logical.data.NamedExpression;
+import com.dremio.exec.ExecConstants;
+import com.dremio.exec.expr.CommonSubExpressions;
+import com.dremio.exec.expr.ExpressionEvaluationOptions;
+import com.dremio.exec.expr.ExpressionSplitter;
+import com.dremio.exec.expr.ValueVectorReadExpression;
+import com.dremio.exec.record.BatchSchema.SelectionVectorMode;
+import com.dremio.exec.record.VectorAccessible;
+import com.dremio.exec.record.VectorContainer;
+import com.dremio.exec.record.VectorWrapper;
+import com.dremio.sabot.exec.context.OperatorContext;
+import com.google.common.base.Stopwatch;
+import java.util.ArrayList;
+import java.util.List;
+import org.apache.arrow.vector.ValueVector;
+
+/**
+ * Evaluates the common subexpressions of the expressions of a projection, see {@link
+ * CommonSubExpressions}, into intermediate vectors. The expressions of the projection are
+ * evaluated on the input extended with these vectors, with their common subexpressions replaced
+ * by reads of the vectors, so each common subexpression is evaluated once per record.
+ */
+class CommonSubExpressionProjector implements AutoCloseable {
+  private static final String OUTPUT_PREFIX = "_common_expr";
+
+  private final ExpressionSplitter splitter;
+  // the intermediate vectors
+  private final VectorContainer outputs;
+  // the incoming vectors and the intermediate vectors
+  private final VectorContainer input;
+  private final CommonSubExpressions commonSubExpressions;
+  private final int numCommonSubExpressions;
+
+  private CommonSubExpressionProjector(
+      ExpressionSplitter splitter,
+      VectorContainer outputs,
+      VectorContainer input,
+      CommonSubExpressions commonSubExpressions,
+      int numCommonSubExpressions) {
+    this.splitter = splitter;
+    this.outputs = outputs;
+    this.input = input;
+    this.commonSubExpressions = commonSubExpressions;
+    this.numCommonSubExpressions = numCommonSubExpressions;
+  }
+
+  /**
+   * Finds the common subexpressions of the evaluated expressions of a projection, and creates the
+   * projector evaluating them.
+   *
+   * @param materializedExprs the expressions of the projection, materialized on the incoming batch
+   * @return the projector, or null if the expressions don't have common subexpressions
+   */
+  static CommonSubExpressionProjector create(
+      OperatorContext context,
+      VectorAccessible incoming,
+      ExpressionEvaluationOptions options,
+      List<LogicalExpression> materializedExprs)
+      throws Exception {
+    if (incoming.getSchema().getSelectionVectorMode() != SelectionVectorMode.NONE) {
+      return null;
+    }
+    final List<LogicalExpression> evalExprs = new ArrayList<>();
+    for (LogicalExpression materializedExp : materializedExprs) {
+      if (materializedExp == null) {
+        continue;
+      }
+      if (ProjectOperator.getEvalMode(incoming, materializedExp, new IntHashSet(), false)
+          == ProjectOperator.EvalMode.EVAL) {
+        evalExprs.add(materializedExp);
+      }
+    }
+    final List<LogicalExpression> common =
+        CommonSubExpressions.find(
+            evalExprs,
+            context.getOptions().getOption(ExecConstants.COMMON_SUBEXPRESSIONS_MIN_WORK));
+    if (common.isEmpty()) {
+      return null;
+    }
+
+    final ExpressionSplitter splitter =
+        new ExpressionSplitter(
+            context,
+            incoming,
+            options,
+            context.getClassProducer().getFunctionLookupContext().isDecimalV2Enabled());
+    final VectorContainer outputs = new VectorContainer(context.getAllocator());
+    final VectorContainer input = new VectorContainer(context.getAllocator());
+    try {
+      final List<ValueVector> outputVectors = new ArrayList<>();
+      for (int i = 0; i < common.size(); i++) {
+        final FieldReference ref = new FieldReference(OUTPUT_PREFIX + i);
+        outputVectors.add(splitter.addExpr(outputs, new NamedExpression(common.get(i), ref)));
+      }
+      outputs.buildSchema(SelectionVectorMode.NONE);
+
+      for (VectorWrapper<?> wrapper : incoming) {
+        input.add(wrapper.getValueVector());
+      }
+      for (ValueVector vector : outputVectors) {
+        input.add(vector);
+      }
+      input.buildSchema(SelectionVectorMode.NONE);
+
+      final CommonSubExpressions commonSubExpressions = new CommonSubExpressions();
+      for (int i = 0; i < common.size(); i++) {
+        commonSubExpressions.addReplacement(
+            common.get(i),
+            new ValueVectorReadExpression(
+                input.getValueVectorId(SchemaPath.getSimplePath(OUTPUT_PREFIX + i))));
+      }
+      return new CommonSubExpressionProjector(
+          splitter, outputs, input, commonSubExpressions, common.size());
+    } catch (Exception e) {
+      AutoCloseables.close(e, splitter, outputs);
+      throw e;
+    }
+  }
+
+  /**
+   * Returns the input on which the expressions of the projection are evaluated: the incoming
+   * vectors, followed by the intermediate vectors.
+   */
+  VectorAccessible getInput() {
+    return input;
+  }
+
+  CommonSubExpressions getCommonSubExpressions() {
+    return commonSubExpressions;
+  }
+
+  void setup(Stopwatch javaCodeGenWatch, Stopwatch gandivaCodeGenWatch) throws Exception {
+    splitter.setupProjector(outputs, javaCodeGenWatch, gandivaCodeGenWatch);
+  }
+
+  void projectRecords(int recordCount, Stopwatch javaCodeGenWatch, Stopwatch gandivaCodeGenWatch)
+      throws Exception {
+    splitter.projectRecords(recordCount, javaCodeGenWatch, gandivaCodeGenWatch);
+  }
+
+  /** Releases the intermediate vectors, once the expressions of the projection are evaluated. */
+  void clear() {
+    outputs.zeroVectors();
+  }
+
+  ExpressionSplitter getSplitter() {
+    return splitter;
+  }
+
+  int getNumCommonSubExpressions() {
+    return numCommonSubExpressions;
+  }
+
+  /**
+   * Returns the number of evaluations of common subexpressions saved per record: the number of
+   * occurrences replaced in the expressions, minus the evaluations of the common subexpressions.
+   */
+  int getNumSavedEvaluations() {
+    return Math.max(0, commonSubExpressions.getNumReplaced() - numCommonSubExpressions);
+  }
+
+  @Override
+  public void close() throws Exception {
+    AutoCloseables.close(splitter, outputs);
+  }
+}
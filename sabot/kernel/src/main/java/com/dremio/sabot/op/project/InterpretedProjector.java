@@ -0,0 +1,129 @@
+/*
+ * Copyright (C) 2017-2019 Dremio Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.dremio.sabot.op.project;
+
+import com.carrotsearch.hppc.IntHashSet;
+import com.dremio.common.expression.FieldReference;
+import com.dremio.common.expression.LogicalExpression;
+import com.dremio.common.logical.data.NamedExpression;
+import com.dremio.exec.expr.ExpressionEvaluationOptions;
+import com.dremio.exec.expr.ValueVectorReadExpression;
+import com.dremio.exec.expr.fn.interpreter.InterpreterEvaluator;
+import com.dremio.exec.record.BatchSchema.SelectionVectorMode;
+import com.dremio.exec.record.TypedFieldId;
+import com.dremio.exec.record.VectorAccessible;
+import com.dremio.exec.record.VectorContainer;
+import com.dremio.sabot.exec.context.FunctionContext;
+import com.dremio.sabot.exec.context.OperatorContext;
+import java.util.ArrayList;
+import java.util.List;
+import org.apache.arrow.vector.AllocationHelper;
+import org.apache.arrow.vector.ValueVector;
+
+/**
+ * Evaluates the expressions of a projection with the interpreter, see {@link
+ * InterpreterEvaluator}, without generating their code. The outputs are the vectors added to the
+ * outgoing container by the splitter of the projection, whose code is only generated once the
+ * operator stops interpreting.
+ */
+class InterpretedProjector {
+  private final VectorAccessible incoming;
+  private final FunctionContext functionContext;
+  private final List<LogicalExpression> exprs;
+  private final List<FieldReference> refs;
+  private final List<ValueVector> outputs = new ArrayList<>();
+
+  private InterpretedProjector(
+      VectorAccessible incoming,
+      FunctionContext functionContext,
+      List<LogicalExpression> exprs,
+      List<FieldReference> refs) {
+    this.incoming = incoming;
+    this.functionContext = functionContext;
+    this.exprs = exprs;
+    this.refs = refs;
+  }
+
+  /**
+   * Materializes the expressions of a projection, and creates the projector of the evaluated ones.
+   *
+   * @return the projector, or null if some evaluated expression can't be interpreted
+   */
+  static InterpretedProjector create(
+      OperatorContext context,
+      VectorAccessible incoming,
+      ExpressionEvaluationOptions options,
+      List<NamedExpression> exprs)
+      throws Exception {
+    if (incoming.getSchema().getSelectionVectorMode() != SelectionVectorMode.NONE) {
+      return null;
+    }
+    final List<LogicalExpression> evalExprs = new ArrayList<>();
+    final List<FieldReference> refs = new ArrayList<>();
+    // the same as the splitter of the projection, so the same expressions are evaluated
+    final IntHashSet transferFieldIds = new IntHashSet();
+    for (NamedExpression expr : exprs) {
+      if (expr == null) {
+        continue;
+      }
+      final LogicalExpression materializedExp =
+          context.getClassProducer().materializeAndAllowComplex(expr.getExpr(), incoming, true);
+      switch (ProjectOperator.getEvalMode(
+          incoming, materializedExp, transferFieldIds, options.canDirectTransfer())) {
+        case DIRECT:
+          {
+            final TypedFieldId id = ((ValueVectorReadExpression) materializedExp).getFieldId();
+            transferFieldIds.add(id.getFieldIds()[0]);
+            break;
+          }
+        case EVAL:
+          {
+            if (!InterpreterEvaluator.canEvaluate(materializedExp)) {
+              return null;
+            }
+            evalExprs.add(materializedExp);
+            refs.add(expr.getRef());
+            break;
+          }
+        default:
+          break;
+      }
+    }
+    if (evalExprs.isEmpty()) {
+      return null;
+    }
+    return new InterpretedProjector(incoming, context.getFunctionContext(), evalExprs, refs);
+  }
+
+  /** Looks up the outputs of the expressions, once the splitter added them to the container. */
+  void setup(VectorContainer outgoing) {
+    for (FieldReference ref : refs) {
+      final TypedFieldId id = outgoing.getValueVectorId(ref);
+      outputs.add(
+          outgoing
+              .getValueAccessorById(id.getIntermediateClass(), id.getFieldIds())
+              .getValueVector());
+    }
+  }
+
+  void projectRecords(int recordCount) {
+    for (int i = 0; i < exprs.size(); i++) {
+      final ValueVector output = outputs.get(i);
+      AllocationHelper.allocateNew(output, recordCount);
+      InterpreterEvaluator.evaluate(recordCount, functionContext, incoming, output, exprs.get(i));
+    }
+  }
+}
@@ -34,7 +34,9 @@ import com.dremio.common.logical.data.NamedExpression;
 import com.dremio.common.types.TypeProtos.MinorType;
 import com.dremio.common.utils.protos.QueryIdHelper;
 import com.dremio.exec.ExecConstants;
+import com.dremio.exec.expr.BatchInvariantExpressions;
 import com.dremio.exec.expr.ClassGenerator;
+import com.dremio.exec.expr.CommonSubExpressions;
 import com.dremio.exec.expr.ExpressionEvaluationOptions;
 import com.dremio.exec.expr.ExpressionSplitter;
 import com.dremio.exec.expr.FunctionHolderExpr;
@@ -100,6 +102,12 @@ public class ProjectOperator implements SingleInputOperator {
   private Projector projector;
   private List<ValueVector> allocationVectors;
   private ExpressionSplitter splitter;
+  private BatchInvariantProjector batchInvariantProjector;
+  private CommonSubExpressionProjector commonSubExpressionProjector;
+  // evaluates the expressions, as long as the operator doesn't generate their code
+  private InterpretedProjector interpretedProjector;
+  private long interpretedRecords;
+  private long interpretedBatches;
   private final List<ComplexWriter> complexWriters = new ArrayList<>();
   private int recordsConsumedCurrentBatch;
   private BatchSchema initialSchema;
@@ -155,9 +163,37 @@ public class ProjectOperator implements SingleInputOperator {
     final IntHashSet transferFieldIds = new IntHashSet();
 
     List<NamedExpression> nonDirectExprs = new ArrayList<>();
+    // small inputs are projected by the interpreter, without generating code
+    if (context.getOptions().getOption(ExecConstants.EXPRESSION_INTERPRETER_ENABLED)
+        && config.getProps().getCost()
+            <= context.getOptions().getOption(ExecConstants.EXPRESSION_INTERPRETER_MAX_RECORDS)
+        && !projectorOptions.isTrackRecordLevelErrors()) {
+      interpretedProjector =
+          InterpretedProjector.create(context, incoming, projectorOptions, exprs);
+    }
+    final List<NamedExpression> batchInvariantExprs =
+        context.getOptions().getOption(ExecConstants.BATCH_INVARIANT_EXPRESSIONS_ENABLED)
+                && !projectorOptions.isTrackRecordLevelErrors()
+                && interpretedProjector == null
+            ? new ArrayList<>()
+            : null;
+    // the expressions are materialized once, to find their common subexpressions and to evaluate
+    // them
+    List<LogicalExpression> materializedExprs = null;
+    if (context.getOptions().getOption(ExecConstants.COMMON_SUBEXPRESSIONS_ENABLED)
+        && !projectorOptions.isTrackRecordLevelErrors()
+        && interpretedProjector == null) {
+      materializedExprs = materialize(context, incoming, exprs);
+      commonSubExpressionProjector =
+          CommonSubExpressionProjector.create(
+              context, incoming, projectorOptions, materializedExprs);
+    }
+    // the evaluated expressions read the common subexpressions as additional columns
+    final VectorAccessible evalInput =
+        commonSubExpressionProjector != null ? commonSubExpressionProjector.getInput() : incoming;
     splitter =
         createSplitterWithExpressions(
-            incoming,
+            evalInput,
             exprs,
             transfers,
             cg,
@@ -166,13 +202,33 @@ public class ProjectOperator implements SingleInputOperator {
             projectorOptions,
             outgoing,
             null,
-            nonDirectExprs);
+            nonDirectExprs,
+            batchInvariantExprs,
+            commonSubExpressionProjector != null
+                ? commonSubExpressionProjector.getCommonSubExpressions()
+                : null,
+            materializedExprs);
+    if (batchInvariantExprs != null && !batchInvariantExprs.isEmpty()) {
+      batchInvariantProjector =
+          BatchInvariantProjector.create(
+              context, evalInput, outgoing, projectorOptions, batchInvariantExprs);
+    }
 
     outgoing.buildSchema(SelectionVectorMode.NONE);
     outgoing.setInitialCapacity(context.getTargetBatchSize());
     state = State.CAN_CONSUME;
     initialSchema = outgoing.getSchema();
-    splitter.setupProjector(outgoing, javaCodeGenWatch, gandivaCodeGenWatch);
+    if (commonSubExpressionProjector != null) {
+      commonSubExpressionProjector.setup(javaCodeGenWatch, gandivaCodeGenWatch);
+    }
+    if (interpretedProjector != null) {
+      interpretedProjector.setup(outgoing);
+    } else {
+      splitter.setupProjector(outgoing, javaCodeGenWatch, gandivaCodeGenWatch);
+    }
+    if (batchInvariantProjector != null) {
+      batchInvariantProjector.setup(outgoing, javaCodeGenWatch, gandivaCodeGenWatch);
+    }
     javaCodeGenWatch.start();
     this.projector = cg.getCodeGenerator().getImplementationClass();
     projector.setup(
@@ -195,14 +251,41 @@ public class ProjectOperator implements SingleInputOperator {
     stats.addLongStat(Metric.JAVA_BUILD_TIME, javaCodeGenWatch.elapsed(TimeUnit.MILLISECONDS));
     stats.addLongStat(
         Metric.GANDIVA_BUILD_TIME, gandivaCodeGenWatch.elapsed(TimeUnit.MILLISECONDS));
-    stats.addLongStat(Metric.GANDIVA_EXPRESSIONS, splitter.getNumExprsInGandiva());
-    stats.addLongStat(Metric.JAVA_EXPRESSIONS, splitter.getNumExprsInJava());
-    stats.addLongStat(Metric.MIXED_EXPRESSIONS, splitter.getNumExprsInBoth());
-    stats.addLongStat(Metric.MIXED_SPLITS, splitter.getNumSplitsInBoth());
+    final List<ExpressionSplitter> splitters = new ArrayList<>();
+    if (commonSubExpressionProjector != null) {
+      splitters.add(commonSubExpressionProjector.getSplitter());
+      stats.addLongStat(
+          Metric.COMMON_SUBEXPRESSIONS,
+          commonSubExpressionProjector.getNumCommonSubExpressions());
+      stats.addLongStat(
+          Metric.COMMON_SUBEXPRESSION_SAVED_EVALUATIONS,
+          commonSubExpressionProjector.getNumSavedEvaluations());
+    }
+    splitters.add(splitter);
+    if (batchInvariantProjector != null) {
+      splitters.add(batchInvariantProjector.getSplitter());
+      stats.addLongStat(
+          Metric.BATCH_INVARIANT_EXPRESSIONS, batchInvariantProjector.getNumExprs());
+    }
+    stats.addLongStat(
+        Metric.GANDIVA_EXPRESSIONS,
+        splitters.stream().mapToLong(ExpressionSplitter::getNumExprsInGandiva).sum());
+    stats.addLongStat(
+        Metric.JAVA_EXPRESSIONS,
+        splitters.stream().mapToLong(ExpressionSplitter::getNumExprsInJava).sum());
+    stats.addLongStat(
+        Metric.MIXED_EXPRESSIONS,
+        splitters.stream().mapToLong(ExpressionSplitter::getNumExprsInBoth).sum());
+    stats.addLongStat(
+        Metric.MIXED_SPLITS,
+        splitters.stream().mapToLong(ExpressionSplitter::getNumSplitsInBoth).sum());
     // only for minor fragment 0 will save profile details
     if (context.getFragmentHandle().getMinorFragmentId() == 0) {
-      stats.setProfileDetails(
-          OperatorProfileDetails.newBuilder().addAllSplitInfos(splitter.getSplitInfos()).build());
+      final OperatorProfileDetails.Builder profileDetails = OperatorProfileDetails.newBuilder();
+      for (ExpressionSplitter s : splitters) {
+        profileDetails.addAllSplitInfos(s.getSplitInfos());
+      }
+      stats.setProfileDetails(profileDetails.build());
     }
     gandivaCodeGenWatch.reset();
     javaCodeGenWatch.reset();
@@ -300,10 +383,23 @@ public class ProjectOperator implements SingleInputOperator {
     state.is(State.CAN_PRODUCE);
     allocateNew();
 
-    splitter.projectRecords(recordsConsumedCurrentBatch, javaCodeGenWatch, gandivaCodeGenWatch);
+    if (interpretedProjector == null || !interpret(recordsConsumedCurrentBatch)) {
+      if (commonSubExpressionProjector != null) {
+        commonSubExpressionProjector.projectRecords(
+            recordsConsumedCurrentBatch, javaCodeGenWatch, gandivaCodeGenWatch);
+      }
+      splitter.projectRecords(recordsConsumedCurrentBatch, javaCodeGenWatch, gandivaCodeGenWatch);
+      if (batchInvariantProjector != null) {
+        batchInvariantProjector.projectRecords(
+            recordsConsumedCurrentBatch, javaCodeGenWatch, gandivaCodeGenWatch);
+      }
+    }
     javaCodeGenWatch.start();
     projector.projectRecords(recordsConsumedCurrentBatch);
     javaCodeGenWatch.stop();
+    if (commonSubExpressionProjector != null) {
+      commonSubExpressionProjector.clear();
+    }
 
     setValueCount(recordsConsumedCurrentBatch);
     outgoing.setRecordCount(recordsConsumedCurrentBatch);
@@ -323,6 +419,36 @@ public class ProjectOperator implements SingleInputOperator {
     return recordsConsumedCurrentBatch;
   }
 
+  /**
+   * Evaluates the expressions with the interpreter, as long as the operator has not processed more
+   * records than the maximum for the interpreter. Otherwise, or if the interpreter fails, generates
+   * the code of the expressions, which evaluates this batch and the next ones.
+   *
+   * @return whether the batch was evaluated by the interpreter
+   */
+  private boolean interpret(int records) throws Exception {
+    interpretedRecords += records;
+    if (interpretedRecords
+        <= context.getOptions().getOption(ExecConstants.EXPRESSION_INTERPRETER_MAX_RECORDS)) {
+      try {
+        interpretedProjector.projectRecords(records);
+        interpretedBatches++;
+        return true;
+      } catch (RuntimeException e) {
+        logger.debug("Failed to interpret the expressions, generating their code", e);
+      }
+    }
+    interpretedProjector = null;
+    // the watches also measure the evaluation of the projector
+    final Stopwatch javaBuildWatch = Stopwatch.createUnstarted();
+    final Stopwatch gandivaBuildWatch = Stopwatch.createUnstarted();
+    splitter.setupProjector(outgoing, javaBuildWatch, gandivaBuildWatch);
+    final OperatorStats stats = context.getStats();
+    stats.addLongStat(Metric.JAVA_BUILD_TIME, javaBuildWatch.elapsed(TimeUnit.MILLISECONDS));
+    stats.addLongStat(Metric.GANDIVA_BUILD_TIME, gandivaBuildWatch.elapsed(TimeUnit.MILLISECONDS));
+    return false;
+  }
+
   @Override
   public void noMoreToConsume() throws Exception {
     state.is(State.CAN_CONSUME);
@@ -337,8 +463,16 @@ public class ProjectOperator implements SingleInputOperator {
 
   @Override
   public void close() throws Exception {
-    AutoCloseables.close(outgoing, splitter);
+    if (batchInvariantProjector != null) {
+      context
+          .getStats()
+          .addLongStat(
+              Metric.BATCH_INVARIANT_BATCHES, batchInvariantProjector.getInvariantBatches());
+    }
+    AutoCloseables.close(
+        outgoing, splitter, batchInvariantProjector, commonSubExpressionProjector);
     addDisplayStatsWithZeroValue(context, EnumSet.allOf(Metric.class));
+    context.getStats().addLongStat(Metric.INTERPRETED_BATCHES, interpretedBatches);
     context
         .getStats()
         .addLongStat(Metric.JAVA_EVALUATE_TIME, javaCodeGenWatch.elapsed(TimeUnit.MILLISECONDS));
@@ -501,6 +635,61 @@ public class ProjectOperator implements SingleInputOperator {
       BatchSchema targetSchema,
       List<NamedExpression> nonDirectExprs)
       throws Exception {
+    return createSplitterWithExpressions(
+        incoming,
+        exprs,
+        transfers,
+        cg,
+        transferFieldIds,
+        context,
+        options,
+        outgoing,
+        targetSchema,
+        nonDirectExprs,
+        null,
+        null,
+        null);
+  }
+
+  private static List<LogicalExpression> materialize(
+      OperatorContext context, VectorAccessible incoming, List<NamedExpression> exprs) {
+    final List<LogicalExpression> materializedExprs = new ArrayList<>(exprs.size());
+    for (NamedExpression expr : exprs) {
+      materializedExprs.add(
+          expr == null
+              ? null
+              : context
+                  .getClassProducer()
+                  .materializeAndAllowComplex(expr.getExpr(), incoming, true));
+    }
+    return materializedExprs;
+  }
+
+  /**
+   * Materializes the expressions of a projection, and adds the evaluated ones to a new splitter.
+   *
+   * @param batchInvariantExprs if not null, receives the evaluated expressions which are batch
+   *     invariant, instead of the splitter
+   * @param commonSubExpressions if not null, the common subexpressions to replace in the evaluated
+   *     expressions
+   * @param materializedExprs if not null, the expressions already materialized on the incoming
+   *     vectors, in the order of the expressions
+   */
+  public static ExpressionSplitter createSplitterWithExpressions(
+      VectorAccessible incoming,
+      List<NamedExpression> exprs,
+      List<TransferPair> transfers,
+      ClassGenerator<Projector> cg,
+      IntHashSet transferFieldIds,
+      OperatorContext context,
+      ExpressionEvaluationOptions options,
+      VectorContainer outgoing,
+      BatchSchema targetSchema,
+      List<NamedExpression> nonDirectExprs,
+      List<NamedExpression> batchInvariantExprs,
+      CommonSubExpressions commonSubExpressions,
+      List<LogicalExpression> materializedExprs)
+      throws Exception {
     ExpressionSplitter splitter =
         new ExpressionSplitter(
             context,
@@ -528,9 +717,11 @@ public class ProjectOperator implements SingleInputOperator {
       }
 
       final LogicalExpression materializedExp =
-          context
-              .getClassProducer()
-              .materializeAndAllowComplex(namedExpression.getExpr(), incoming, true);
+          materializedExprs != null
+              ? materializedExprs.get(i)
+              : context
+                  .getClassProducer()
+                  .materializeAndAllowComplex(namedExpression.getExpr(), incoming, true);
       switch (ProjectOperator.getEvalMode(
           incoming,
           materializedExp,
@@ -578,8 +769,19 @@ public class ProjectOperator implements SingleInputOperator {
 
         case EVAL:
           {
-            splitter.addExpr(
-                outgoing, new NamedExpression(materializedExp, namedExpression.getRef()));
+            final LogicalExpression evalExp =
+                commonSubExpressions != null
+                    ? commonSubExpressions.replace(materializedExp)
+                    : materializedExp;
+            final NamedExpression evalExpr = new NamedExpression(evalExp, namedExpression.getRef());
+            if (batchInvariantExprs != null && isBatchInvariant(evalExp, incoming)) {
+              // reserve the position of the output in the outgoing container
+              final CompleteType type = evalExp.getCompleteType();
+              outgoing.addOrGet(type.toField(namedExpression.getRef()));
+              batchInvariantExprs.add(evalExpr);
+            } else {
+              splitter.addExpr(outgoing, evalExpr);
+            }
             if (nonDirectExprs != null) {
               nonDirectExprs.add(namedExpression);
             }
@@ -596,6 +798,13 @@ public class ProjectOperator implements SingleInputOperator {
     return splitter;
   }
 
+  private static boolean isBatchInvariant(LogicalExpression expr, VectorAccessible incoming) {
+    final CompleteType type = expr.getCompleteType();
+    return type.isScalar()
+        && !type.isNull()
+        && BatchInvariantExpressions.getInputVectors(expr, incoming) != null;
+  }
+
   private void createNewRowLengthAccumulatorIfRequired(int batchSize) {
     if (rowSizeAccumulator != null) {
       if (rowSizeAccumulator.capacity() < (long) batchSize * INT_SIZE) {
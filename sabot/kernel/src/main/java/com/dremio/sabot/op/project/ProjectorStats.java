@@ -43,7 +43,27 @@ public class ProjectorStats {
      * This metric could take one of these 3 values: 0 for built from primary cache 1 for built from
      * secondary cache 2 for code generated using gandiva
      */
-    BUILT_FROM_GANDIVA_CACHE;
+    BUILT_FROM_GANDIVA_CACHE,
+    BATCH_INVARIANT_EXPRESSIONS(
+        DisplayType.DISPLAY_BY_DEFAULT,
+        AggregationType.MAX,
+        "Maximum number of expressions evaluated once per batch when their inputs are constant"),
+    BATCH_INVARIANT_BATCHES(
+        DisplayType.DISPLAY_BY_DEFAULT,
+        AggregationType.SUM,
+        "Number of batches in which batch invariant expressions were evaluated once"),
+    COMMON_SUBEXPRESSIONS(
+        DisplayType.DISPLAY_BY_DEFAULT,
+        AggregationType.MAX,
+        "Number of subexpressions shared by several expressions, and evaluated once per record"),
+    COMMON_SUBEXPRESSION_SAVED_EVALUATIONS(
+        DisplayType.DISPLAY_BY_DEFAULT,
+        AggregationType.MAX,
+        "Number of evaluations of shared subexpressions saved per record"),
+    INTERPRETED_BATCHES(
+        DisplayType.DISPLAY_BY_DEFAULT,
+        AggregationType.SUM,
+        "Number of batches in which the expressions were evaluated by the interpreter");
 
     private final DisplayType displayType;
     private final AggregationType aggregationType;
@@ -61,7 +61,10 @@ public class TableFunctionOperator implements SingleInputOperator {
     START_CLUSTERING_DEPTH, // Clustering depth before optimization
     ESTIMATED_END_CLUSTERING_DEPTH, // Estimated clustering depth after optimization
     NUM_OVERLAPS, // Number of detected overlaps
-    CLUSTERING_STATUS_SENT // clusteringStatus OOB message is sent
+    CLUSTERING_STATUS_SENT, // clusteringStatus OOB message is sent
+    NUM_MANIFEST_ENTRY_CACHE_HITS, // Number of manifest files read from the executor cache
+    NUM_POS_DELETE_FILE_CACHE_HITS, // Number of positional delete files read from the executor cache
+    NUM_MANIFEST_FILES_PREFETCHED // Number of manifest files read ahead of their processing
   ;
 
     @Override
@@ -83,7 +83,8 @@ public class WriterCommitterOperator implements SingleInputOperator {
     NUM_VALID_SNAPSHOTS, // Number of valid snapshots
     NUM_ORPHAN_FILES_DELETED, // Number of orphan files deleted
     CLEAR_EXPIRE_SNAPSHOTS_TIME, // Time taken to clean old expire snapshots
-    CLUSTERING_STATUS_RECEIVED // clusteringStatus OOB message is received
+    CLUSTERING_STATUS_RECEIVED, // clusteringStatus OOB message is received
+    NDV_STATISTICS_WRITE_TIME // Time taken to write the NDV statistics file of the snapshot
   ;
 
     @Override
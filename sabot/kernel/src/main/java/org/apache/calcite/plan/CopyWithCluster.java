@@ -133,6 +133,11 @@ public class CopyWithCluster extends StatelessRelShuttleImpl {
     }
   }
 
+  /** Returns true if all the visited RelNodes were copied */
+  public boolean isCopySupported() {
+    return notSupportedRels.isEmpty();
+  }
+
   public RelOptCluster getCluster() {
     return cluster;
   }
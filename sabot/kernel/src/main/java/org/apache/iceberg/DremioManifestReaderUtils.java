@@ -48,6 +48,11 @@ public class DremioManifestReaderUtils {
       this.entry = entry;
       return this;
     }
+
+    /** Returns a wrapper of a copy of the current entry, which stays valid after iteration. */
+    public ManifestEntryWrapper<F> copy() {
+      return new ManifestEntryWrapper<F>().wrap(entry.copy());
+    }
   }
 
   /**
@@ -165,7 +165,8 @@ public class TestCatalogImpl {
         versionContextResolver,
         catalogStatusEvents,
         new VersionedDatasetAdapterFactory(),
-        metadataIOPool);
+        metadataIOPool,
+        new ResolvedDatasetCache());
   }
 
   @Test
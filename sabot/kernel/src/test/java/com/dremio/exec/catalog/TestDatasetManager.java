@@ -188,7 +188,8 @@ public class TestDatasetManager {
             new CatalogIdentityResolver(),
             null,
             null,
-            null);
+            null,
+            new ResolvedDatasetCache());
     datasetManager.getTable(namespaceKey, metadataRequestOptions, false);
   }
 
@@ -251,7 +252,8 @@ public class TestDatasetManager {
             new CatalogIdentityResolver(),
             null,
             null,
-            null);
+            null,
+            new ResolvedDatasetCache());
     datasetManager.getTable(namespaceKey, metadataRequestOptions, true);
   }
 
@@ -337,7 +339,8 @@ public class TestDatasetManager {
             new CatalogIdentityResolver(),
             null,
             null,
-            null);
+            null,
+            new ResolvedDatasetCache());
     DremioTable table = datasetManager.getTable(namespaceKey, metadataRequestOptions, true);
     View.FieldType updatedField = ((ViewTable) table).getView().getFields().get(0);
     assertTrue(isComplexType(updatedField.getType()));
@@ -429,7 +432,8 @@ public class TestDatasetManager {
             new CatalogIdentityResolver(),
             null,
             null,
-            null);
+            null,
+            new ResolvedDatasetCache());
 
     assertThatThrownBy(() -> datasetManager.getTable(namespaceKey, metadataRequestOptions, false))
         .isInstanceOf(UserException.class)
@@ -474,7 +478,15 @@ public class TestDatasetManager {
 
     final DatasetManager datasetManager =
         new DatasetManager(
-            pluginRetriever, namespaceService, optionManager, "username", null, null, null, null);
+            pluginRetriever,
+            namespaceService,
+            optionManager,
+            "username",
+            null,
+            null,
+            null,
+            null,
+            new ResolvedDatasetCache());
     DremioTable table = datasetManager.getTable(namespaceKey, metadataRequestOptions, true);
     assertThat(table).isNull();
   }
@@ -526,7 +538,15 @@ public class TestDatasetManager {
 
     final DatasetManager datasetManager =
         new DatasetManager(
-            pluginRetriever, namespaceService, optionManager, "username", null, null, null, null);
+            pluginRetriever,
+            namespaceService,
+            optionManager,
+            "username",
+            null,
+            null,
+            null,
+            null,
+            new ResolvedDatasetCache());
     DremioTable table = datasetManager.getTable(namespaceKey, metadataRequestOptions, true);
     assertThat(table).isNull();
   }
@@ -583,7 +603,15 @@ public class TestDatasetManager {
 
     final DatasetManager datasetManager =
         new DatasetManager(
-            pluginRetriever, namespaceService, optionManager, "username", null, null, null, null);
+            pluginRetriever,
+            namespaceService,
+            optionManager,
+            "username",
+            null,
+            null,
+            null,
+            null,
+            new ResolvedDatasetCache());
     try {
       datasetManager.getTable(sourceKey, metadataRequestOptions, true);
     } catch (UserException e) {
@@ -642,7 +670,8 @@ public class TestDatasetManager {
             null,
             versionContextResolver,
             versionedDatasetAdapterFactory,
-            null);
+            null,
+            new ResolvedDatasetCache());
 
     DremioTable returnedTable = datasetManager.getTable(sourceKey, metadataRequestOptions, true);
     assertThat(returnedTable).isNull();
@@ -697,7 +726,8 @@ public class TestDatasetManager {
             null,
             versionContextResolver,
             versionedDatasetAdapterFactory,
-            null);
+            null,
+            new ResolvedDatasetCache());
 
     assertThrows(
         NessieRuntimeException.class,
@@ -753,7 +783,8 @@ public class TestDatasetManager {
             null,
             versionContextResolver,
             versionedDatasetAdapterFactory,
-            null);
+            null,
+            new ResolvedDatasetCache());
 
     assertThrows(
         RuntimeException.class,
@@ -810,7 +841,8 @@ public class TestDatasetManager {
             null,
             versionContextResolver,
             versionedDatasetAdapterFactory,
-            null);
+            null,
+            new ResolvedDatasetCache());
 
     assertThrows(
         RuntimeException.class,
@@ -867,7 +899,8 @@ public class TestDatasetManager {
             null,
             versionContextResolver,
             versionedDatasetAdapterFactory,
-            null);
+            null,
+            new ResolvedDatasetCache());
 
     assertThrows(
         IllegalStateException.class,
@@ -919,7 +952,8 @@ public class TestDatasetManager {
             null,
             versionContextResolver,
             versionedDatasetAdapterFactory,
-            null);
+            null,
+            new ResolvedDatasetCache());
     try {
       DremioTable returnedTable = datasetManager.getTable(sourceKey, metadataRequestOptions, true);
       assertThat(returnedTable).isNull();
@@ -965,7 +999,15 @@ public class TestDatasetManager {
 
     final DatasetManager datasetManager =
         new DatasetManager(
-            pluginRetriever, namespaceService, optionManager, "username", null, null, null, null);
+            pluginRetriever,
+            namespaceService,
+            optionManager,
+            "username",
+            null,
+            null,
+            null,
+            null,
+            new ResolvedDatasetCache());
     try {
       DremioTable returnedTable = datasetManager.getTable(sourceKey, metadataRequestOptions, true);
       assertThat(returnedTable).isNull();
@@ -1010,7 +1052,15 @@ public class TestDatasetManager {
 
     final DatasetManager datasetManager =
         new DatasetManager(
-            pluginRetriever, namespaceService, optionManager, "username", null, null, null, null);
+            pluginRetriever,
+            namespaceService,
+            optionManager,
+            "username",
+            null,
+            null,
+            null,
+            null,
+            new ResolvedDatasetCache());
 
     DremioTable returnedTable = datasetManager.getTable(sourceKey, metadataRequestOptions, true);
     assertThat(returnedTable).isNull();
@@ -1077,7 +1127,8 @@ public class TestDatasetManager {
             new CatalogIdentityResolver(),
             null,
             new VersionedDatasetAdapterFactory(),
-            null);
+            null,
+            new ResolvedDatasetCache());
 
     datasetManager.getTable(datasetId, metadataRequestOptions);
   }
@@ -1120,7 +1171,15 @@ public class TestDatasetManager {
 
     final DatasetManager datasetManager =
         new DatasetManager(
-            pluginRetriever, namespaceService, optionManager, "username", null, null, null, null);
+            pluginRetriever,
+            namespaceService,
+            optionManager,
+            "username",
+            null,
+            null,
+            null,
+            null,
+            new ResolvedDatasetCache());
     assertThatThrownBy(() -> datasetManager.getTable(namespaceKey, metadataRequestOptions, true))
         .isInstanceOf(UserException.class)
         .hasMessageContaining("Not allowed to perform directory traversal");
@@ -1197,7 +1256,8 @@ public class TestDatasetManager {
             null,
             null,
             null,
-            null);
+            null,
+            new ResolvedDatasetCache());
 
     if (numExceptionsThrown <= 1) {
       // Verify that when one exception is thrown, the save call is retried.
@@ -1303,7 +1363,8 @@ public class TestDatasetManager {
             null,
             null,
             null,
-            null);
+            null,
+            new ResolvedDatasetCache());
 
     if (numExceptionsThrown <= 1) {
       // Verify that when one exception is thrown, the save call is retried.
@@ -1404,7 +1465,8 @@ public class TestDatasetManager {
             null,
             null,
             null,
-            MetadataIOPool.Factory.INSTANCE.newPool(0));
+            MetadataIOPool.Factory.INSTANCE.newPool(0),
+            new ResolvedDatasetCache());
 
     BulkResponse<NamespaceKey, Optional<DremioTable>> res =
         datasetManager.bulkGetTables(req, metadataRequestOptions, true);
@@ -1495,7 +1557,8 @@ public class TestDatasetManager {
             null,
             null,
             null,
-            metadataIOPool);
+            metadataIOPool,
+            new ResolvedDatasetCache());
 
     // We shouldn't use the thread pool if checkValidity=false
     verify(metadataIOPool, never()).execute(any());
@@ -1567,7 +1630,8 @@ public class TestDatasetManager {
             null,
             null,
             null,
-            metadataIOPool);
+            metadataIOPool,
+            new ResolvedDatasetCache());
 
     // Call getTable and verify that a ViewTable is returned
     try {
@@ -16,12 +16,16 @@
 package com.dremio.exec.catalog;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.spy;
 import static org.mockito.Mockito.when;
 
 import com.dremio.common.AutoCloseables;
 import com.dremio.common.utils.PathUtils;
 import com.dremio.connector.ConnectorException;
+import com.dremio.connector.metadata.DatasetHandle;
+import com.dremio.connector.metadata.EntityPath;
 import com.dremio.connector.metadata.GetDatasetOption;
 import com.dremio.connector.metadata.SourceMetadata;
 import com.dremio.connector.metadata.extensions.SupportsListingDatasets;
@@ -45,7 +49,9 @@ import com.dremio.service.namespace.source.proto.MetadataPolicy;
 import com.dremio.service.namespace.source.proto.SourceConfig;
 import com.dremio.service.namespace.source.proto.UpdateMode;
 import com.dremio.test.DremioTest;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.List;
 import java.util.Optional;
 import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.AfterEach;
@@ -159,4 +165,42 @@ public class TestMetadataSynchronizer {
         () -> namespaceService.getDataset(new NamespaceKey(PathUtils.parseFullPath(TABLE))));
     Assertions.assertEquals(0, namespaceService.getAllDatasetsCount(sourceKey));
   }
+
+  @Test
+  public void validateParallelSyncOfExistingDatasets() throws Exception {
+    final List<DatasetHandle> handles = new ArrayList<>();
+    handles.add(() -> new EntityPath(PathUtils.parseFullPath(TABLE)));
+    for (int i = 0; i < 20; i++) {
+      final String table = SOURCE + ".public.table" + i;
+      NamespaceTestUtils.addPhysicalDS(namespaceService, table);
+      handles.add(() -> new EntityPath(PathUtils.parseFullPath(table)));
+    }
+    final String newTable = SOURCE + ".public.new-table";
+    handles.add(() -> new EntityPath(PathUtils.parseFullPath(newTable)));
+
+    ManagedStoragePlugin.MetadataBridge bridge = mock(ManagedStoragePlugin.MetadataBridge.class);
+    SupportsListingDatasets sourceMetadata = mock(TestSourceMetadata.class);
+    when(sourceMetadata.listDatasetHandles(any(GetDatasetOption[].class)))
+        .thenReturn(handles::iterator);
+    when(bridge.getMetadata()).thenReturn(Optional.of((SourceMetadata) sourceMetadata));
+    final OptionManager parallelOptionManager = spy(optionManager);
+    doReturn(4L).when(parallelOptionManager).getOption(CatalogOptions.METADATA_SYNC_PARALLELISM);
+
+    final MetadataSynchronizer synchronizeRun =
+        new MetadataSynchronizer(
+            namespaceService,
+            sourceKey,
+            bridge,
+            metadataPolicy,
+            datasetSaver,
+            retrievalOptions,
+            parallelOptionManager,
+            null);
+    final MetadataSynchronizerStatus status = synchronizeRun.go();
+
+    Assertions.assertEquals(handles.size(), status.getDatasetsProcessed());
+    Assertions.assertEquals(handles.size(), namespaceService.getAllDatasetsCount(sourceKey));
+    Assertions.assertNotNull(
+        namespaceService.getDataset(new NamespaceKey(PathUtils.parseFullPath(newTable))));
+  }
 }
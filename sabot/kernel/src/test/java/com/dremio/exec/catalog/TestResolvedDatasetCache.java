@@ -0,0 +1,105 @@
+/*
+ * Copyright (C) 2017-2019 Dremio Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.dremio.exec.catalog;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import com.dremio.exec.record.BatchSchema;
+import com.dremio.service.namespace.NamespaceKey;
+import com.dremio.service.namespace.catalogstatusevents.CatalogStatusEvents;
+import com.dremio.service.namespace.dataset.proto.DatasetConfig;
+import com.dremio.service.namespace.dataset.proto.DatasetType;
+import com.dremio.service.namespace.proto.EntityId;
+import com.google.common.collect.ImmutableList;
+import org.apache.arrow.vector.types.pojo.ArrowType;
+import org.apache.arrow.vector.types.pojo.Field;
+import org.junit.Test;
+
+public class TestResolvedDatasetCache {
+
+  private static final BatchSchema SCHEMA =
+      BatchSchema.of(Field.nullablePrimitive("field", ArrowType.Bool.INSTANCE));
+
+  private final ResolvedDatasetCache cache = new ResolvedDatasetCache();
+
+  private static DatasetConfig newConfig(String tag, String... path) {
+    return new DatasetConfig()
+        .setId(new EntityId(String.join(".", path)))
+        .setType(DatasetType.PHYSICAL_DATASET)
+        .setFullPathList(ImmutableList.copyOf(path))
+        .setRecordSchema(SCHEMA.toByteString())
+        .setTag(tag);
+  }
+
+  @Test
+  public void testSchemaSharedForSameVersion() {
+    final BatchSchema schema = cache.getSchema(newConfig("1", "source", "table"));
+    assertEquals(SCHEMA, schema);
+    assertSame(schema, cache.getSchema(newConfig("1", "source", "table")));
+
+    // a new version of the dataset gets its own entry.
+    assertNotSame(schema, cache.getSchema(newConfig("2", "source", "table")));
+    assertEquals(2, cache.size());
+  }
+
+  @Test
+  public void testUnsavedConfigIsNotCached() {
+    assertEquals(SCHEMA, cache.getSchema(newConfig(null, "source", "table")));
+    assertNull(
+        cache.getSchema(newConfig("1", "source", "table").setRecordSchema(null)));
+    assertEquals(0, cache.size());
+  }
+
+  @Test
+  public void testInvalidate() {
+    cache.getSchema(newConfig("1", "source", "table1"));
+    cache.getSchema(newConfig("1", "source", "table2"));
+    cache.getSchema(newConfig("1", "other", "table1"));
+
+    cache.invalidate(new NamespaceKey(ImmutableList.of("source", "table1")));
+    assertEquals(2, cache.size());
+
+    cache.invalidateSource("SOURCE");
+    assertEquals(1, cache.size());
+  }
+
+  @Test
+  public void testInvalidateIgnoresCase() {
+    cache.getSchema(newConfig("1", "Source", "Table1"));
+    cache.getSchema(newConfig("1", "Source", "Table2"));
+
+    cache.invalidate(new NamespaceKey(ImmutableList.of("source", "TABLE1")));
+    assertEquals(1, cache.size());
+
+    cache.invalidateSource("sOURCE");
+    assertEquals(0, cache.size());
+  }
+
+  @Test
+  public void testSubscribeOnce() {
+    final CatalogStatusEvents catalogStatusEvents = mock(CatalogStatusEvents.class);
+    cache.subscribe(catalogStatusEvents);
+    cache.subscribe(catalogStatusEvents);
+    verify(catalogStatusEvents, times(3)).subscribe(any(), any());
+  }
+}
@@ -0,0 +1,197 @@
+/*
+ * Copyright (C) 2017-2019 Dremio Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.dremio.exec.expr;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import com.dremio.common.expression.ValueExpressions;
+import com.dremio.exec.record.VectorContainer;
+import com.dremio.exec.record.selection.SelectionVector2;
+import com.dremio.test.AllocatorRule;
+import com.dremio.test.DremioTest;
+import com.google.common.collect.ImmutableList;
+import java.nio.charset.StandardCharsets;
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.vector.BitVector;
+import org.apache.arrow.vector.IntVector;
+import org.apache.arrow.vector.VarCharVector;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+/** Tests {@link BatchInvariantExpressions} */
+public class TestBatchInvariantExpressions extends DremioTest {
+
+  private BufferAllocator testAllocator;
+
+  @Rule public final AllocatorRule allocatorRule = AllocatorRule.defaultAllocator();
+
+  @Before
+  public void setupBeforeTest() {
+    testAllocator = allocatorRule.newAllocator("test-batch-invariant", 0, Long.MAX_VALUE);
+  }
+
+  @After
+  public void cleanupAfterTest() throws Exception {
+    testAllocator.close();
+  }
+
+  @Test
+  public void testSingleValuedFixedWidth() {
+    try (IntVector vector = new IntVector("int", testAllocator)) {
+      setInts(vector, 7, 7, 7, 7);
+      assertTrue(BatchInvariantExpressions.isSingleValued(ImmutableList.of(vector), null, 4));
+
+      vector.set(2, 8);
+      assertFalse(BatchInvariantExpressions.isSingleValued(ImmutableList.of(vector), null, 4));
+      // only the records before the different one
+      assertTrue(BatchInvariantExpressions.isSingleValued(ImmutableList.of(vector), null, 2));
+
+      vector.setNull(2);
+      assertFalse(BatchInvariantExpressions.isSingleValued(ImmutableList.of(vector), null, 4));
+    }
+  }
+
+  @Test
+  public void testSingleValuedNulls() {
+    try (IntVector vector = new IntVector("int", testAllocator)) {
+      vector.allocateNew(3);
+      vector.setNull(0);
+      vector.setNull(1);
+      vector.setNull(2);
+      vector.setValueCount(3);
+      assertTrue(BatchInvariantExpressions.isSingleValued(ImmutableList.of(vector), null, 3));
+    }
+  }
+
+  @Test
+  public void testSingleValuedBit() {
+    try (BitVector vector = new BitVector("bit", testAllocator)) {
+      vector.allocateNew(3);
+      vector.set(0, 1);
+      vector.set(1, 1);
+      vector.set(2, 0);
+      vector.setValueCount(3);
+      assertTrue(BatchInvariantExpressions.isSingleValued(ImmutableList.of(vector), null, 2));
+      assertFalse(BatchInvariantExpressions.isSingleValued(ImmutableList.of(vector), null, 3));
+    }
+  }
+
+  @Test
+  public void testSingleValuedVarWidth() {
+    try (VarCharVector vector = new VarCharVector("varchar", testAllocator)) {
+      vector.allocateNew();
+      vector.setSafe(0, "2019".getBytes(StandardCharsets.UTF_8));
+      vector.setSafe(1, "2019".getBytes(StandardCharsets.UTF_8));
+      vector.setSafe(2, "201".getBytes(StandardCharsets.UTF_8));
+      vector.setValueCount(3);
+      assertTrue(BatchInvariantExpressions.isSingleValued(ImmutableList.of(vector), null, 2));
+      assertFalse(BatchInvariantExpressions.isSingleValued(ImmutableList.of(vector), null, 3));
+    }
+  }
+
+  @Test
+  public void testSingleValuedWithSelectionVector() {
+    try (IntVector vector = new IntVector("int", testAllocator);
+        SelectionVector2 sv2 = new SelectionVector2(testAllocator)) {
+      setInts(vector, 1, 2, 1, 3, 1);
+      sv2.allocateNew(3);
+      sv2.setIndex(0, 0);
+      sv2.setIndex(1, 2);
+      sv2.setIndex(2, 4);
+      sv2.setRecordCount(3);
+      assertTrue(BatchInvariantExpressions.isSingleValued(ImmutableList.of(vector), sv2, 3));
+      assertFalse(BatchInvariantExpressions.isSingleValued(ImmutableList.of(vector), null, 3));
+    }
+  }
+
+  @Test
+  public void testSingleValuedMultipleVectors() {
+    try (IntVector first = new IntVector("first", testAllocator);
+        IntVector second = new IntVector("second", testAllocator)) {
+      setInts(first, 1, 1, 1);
+      setInts(second, 2, 2, 3);
+      assertTrue(BatchInvariantExpressions.isSingleValued(ImmutableList.of(first), null, 3));
+      assertFalse(
+          BatchInvariantExpressions.isSingleValued(ImmutableList.of(first, second), null, 3));
+      assertFalse(BatchInvariantExpressions.isSingleValued(ImmutableList.of(first), null, 0));
+    }
+  }
+
+  @Test
+  public void testCopyFirstValue() {
+    try (VarCharVector vector = new VarCharVector("varchar", testAllocator)) {
+      vector.allocateNew();
+      vector.setSafe(0, "constant".getBytes(StandardCharsets.UTF_8));
+      vector.setValueCount(1);
+      BatchInvariantExpressions.copyFirstValue(vector, 5);
+      assertEquals(5, vector.getValueCount());
+      for (int i = 0; i < 5; i++) {
+        assertEquals("constant", new String(vector.get(i), StandardCharsets.UTF_8));
+      }
+    }
+  }
+
+  @Test
+  public void testCopyFirstNullValue() {
+    try (IntVector vector = new IntVector("int", testAllocator)) {
+      setInts(vector, 4, 5, 6);
+      vector.setNull(0);
+      BatchInvariantExpressions.copyFirstValue(vector, 3);
+      for (int i = 0; i < 3; i++) {
+        assertTrue(vector.isNull(i));
+      }
+    }
+  }
+
+  @Test
+  public void testCopyFirstValueReallocates() {
+    try (IntVector ints = new IntVector("int", testAllocator);
+        VarCharVector varchars = new VarCharVector("varchar", testAllocator)) {
+      setInts(ints, 7);
+      varchars.allocateNew(1, 1);
+      varchars.setSafe(0, "constant".getBytes(StandardCharsets.UTF_8));
+      varchars.setValueCount(1);
+      BatchInvariantExpressions.copyFirstValue(ints, 5000);
+      BatchInvariantExpressions.copyFirstValue(varchars, 5000);
+      assertEquals(5000, ints.getValueCount());
+      assertEquals(5000, varchars.getValueCount());
+      for (int i = 0; i < 5000; i++) {
+        assertEquals(7, ints.get(i));
+        assertEquals("constant", new String(varchars.get(i), StandardCharsets.UTF_8));
+      }
+    }
+  }
+
+  @Test
+  public void testNoInputVectors() {
+    assertNull(
+        BatchInvariantExpressions.getInputVectors(
+            ValueExpressions.getInt(1), new VectorContainer()));
+  }
+
+  private static void setInts(IntVector vector, int... values) {
+    vector.allocateNew(values.length);
+    for (int i = 0; i < values.length; i++) {
+      vector.set(i, values[i]);
+    }
+    vector.setValueCount(values.length);
+  }
+}
@@ -0,0 +1,139 @@
+/*
+ * Copyright (C) 2017-2019 Dremio Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.dremio.exec.expr.fn.impl;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+import com.dremio.common.AutoCloseables;
+import com.dremio.test.AllocatorRule;
+import com.dremio.test.DremioTest;
+import java.nio.charset.StandardCharsets;
+import java.util.regex.Pattern;
+import org.apache.arrow.memory.ArrowBuf;
+import org.apache.arrow.memory.BufferAllocator;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+/** Unit tests for SqlPatternMatcher */
+public class TestSqlPatternMatcher extends DremioTest {
+  private static final String[] VALUES = {
+    "",
+    "a",
+    "abc",
+    "abcabc",
+    "xabcx",
+    "ABC",
+    "error: disk full",
+    "WARN: ERROR while reading",
+    "aaab",
+    "abab",
+    "ab%c",
+    "café",
+    "été",
+    "\u212A",
+    "k",
+    "😀 smile"
+  };
+
+  private static final String[] PATTERNS = {
+    "", "%", "%%", "abc", "abc%", "%abc", "%abc%", "a%c", "abc%abc", "a%b%c", "%ab%ab%", "%error%",
+    "error%full", "%aab", "%bab", "ab#%c", "%#%%", "café", "%é", "K", "%😀%"
+  };
+
+  private BufferAllocator allocator;
+  private ArrowBuf buffer;
+
+  @Rule public final AllocatorRule allocatorRule = AllocatorRule.defaultAllocator();
+
+  @Before
+  public void setup() {
+    allocator = allocatorRule.newAllocator("test-sql-pattern-matcher", 0, Long.MAX_VALUE);
+    buffer = allocator.buffer(256);
+  }
+
+  @After
+  public void close() throws Exception {
+    AutoCloseables.close(buffer, allocator);
+  }
+
+  @Test
+  public void testLikeMatchesRegex() {
+    for (String pattern : PATTERNS) {
+      SqlPatternMatcher matcher = SqlPatternMatcher.forLike(pattern, "#");
+      assertNotNull(pattern, matcher);
+      Pattern regex = Pattern.compile(RegexpUtil.sqlToRegexLike(pattern, "#"), Pattern.DOTALL);
+      for (String value : VALUES) {
+        assertEquals(
+            String.format("'%s' LIKE '%s'", value, pattern),
+            regex.matcher(value).matches() ? SqlPatternMatcher.MATCH : SqlPatternMatcher.NO_MATCH,
+            matches(matcher, value));
+      }
+    }
+  }
+
+  @Test
+  public void testILikeMatchesRegex() {
+    for (String pattern : PATTERNS) {
+      SqlPatternMatcher matcher = SqlPatternMatcher.forILike(pattern, "#");
+      if (matcher == null) {
+        continue;
+      }
+      Pattern regex =
+          Pattern.compile(
+              RegexpUtil.sqlToRegexLike(pattern, "#"),
+              Pattern.CASE_INSENSITIVE | Pattern.UNICODE_CASE | Pattern.DOTALL);
+      for (String value : VALUES) {
+        int result = matches(matcher, value);
+        if (result != SqlPatternMatcher.UNKNOWN) {
+          assertEquals(
+              String.format("'%s' ILIKE '%s'", value, pattern),
+              regex.matcher(value).matches() ? SqlPatternMatcher.MATCH : SqlPatternMatcher.NO_MATCH,
+              result);
+        }
+      }
+    }
+  }
+
+  @Test
+  public void testFallbacks() {
+    // single character wildcards and invalid escapes are left to the regex
+    assertNull(SqlPatternMatcher.forLike("a_c", null));
+    assertNull(SqlPatternMatcher.forLike("a#b", "#"));
+    assertNull(SqlPatternMatcher.forLike("abc#", "#"));
+    assertNull(SqlPatternMatcher.forLike("abc", "##"));
+    assertNotNull(SqlPatternMatcher.forLike("a#_c", "#"));
+
+    // only ASCII patterns and values are matched case-insensitively
+    assertNull(SqlPatternMatcher.forILike("café", null));
+    SqlPatternMatcher matcher = SqlPatternMatcher.forILike("%k%", null);
+    assertEquals(SqlPatternMatcher.MATCH, matches(matcher, "ASK"));
+    // the Kelvin sign is equal to 'k' ignoring case
+    assertEquals(SqlPatternMatcher.UNKNOWN, matches(matcher, "\u212A"));
+  }
+
+  private int matches(SqlPatternMatcher matcher, String value) {
+    // store the value after other bytes to check that only its bytes are read
+    byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+    buffer.setBytes(0, "xabc".getBytes(StandardCharsets.UTF_8));
+    buffer.setBytes(4, bytes);
+    buffer.setBytes(4 + bytes.length, "abcx".getBytes(StandardCharsets.UTF_8));
+    return matcher.matches(4, 4 + bytes.length, buffer);
+  }
+}
@@ -15,6 +15,7 @@
  */
 package com.dremio.exec.planner;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 import com.dremio.exec.planner.cost.DremioCost;
@@ -110,6 +111,53 @@ public class TestDremioPlanners {
     checkCancelFlag(planner);
   }
 
+  @Test
+  public void testHepPlannerPhaseTimeBudget() {
+    OptionResolver optionResolver =
+        OptionResolverSpecBuilder.build(
+            new OptionResolverSpec()
+                .addOption(PlannerSettings.PLANNING_MAX_MILLIS, 60_000)
+                .addOption(PlannerSettings.PHASE_TIME_BUDGET_ENABLED, true)
+                .addOption(PlannerSettings.PHASE_TIME_BUDGET_BASE_MILLIS, 100)
+                .addOption(PlannerSettings.PHASE_TIME_BUDGET_MILLIS_PER_REL_NODE, 0));
+    PlannerSettings settings =
+        new PlannerSettings(DremioTest.DEFAULT_SABOT_CONFIG, optionResolver, null);
+
+    HepProgramBuilder builder = new HepProgramBuilder();
+    builder.addRuleInstance(new LoopRule());
+    MatchCountListener matchCountListener = new MatchCountListener(0, 0, 0, null);
+    DremioHepPlanner planner =
+        new DremioHepPlanner(
+            builder.build(),
+            settings,
+            new DremioCost.Factory(),
+            PlannerPhase.LOGICAL,
+            matchCountListener);
+    RelOptCluster cluster =
+        RelOptCluster.create(planner, new RexBuilder(SqlTypeFactoryImpl.INSTANCE));
+    RelNode root = new NoneRel(cluster);
+    PhaseTimeBudget timeBudget = PhaseTimeBudget.of(settings, root);
+    planner.setPhaseTimeBudget(timeBudget);
+    planner.setRoot(root);
+
+    // the rule loops until the budget is exhausted, and the plan found so far is kept
+    assertThat(planner.findBestExp()).isInstanceOf(NoneRel.class);
+    assertThat(timeBudget.wasExhausted()).isTrue();
+    assertThat(matchCountListener.getTransformCount()).isGreaterThan(0);
+    assertThat(matchCountListener.getRulesBreakdownStats()).hasSize(1);
+    assertThat(matchCountListener.getRulesBreakdownStats().get(0).getProducedRelnodesCount())
+        .isGreaterThan(0);
+  }
+
+  @Test
+  public void testPhaseTimeBudgetMillis() {
+    assertThat(PhaseTimeBudget.budgetMillis(10_000, 20, 100, 60_000)).isEqualTo(12_000);
+    // capped by the per phase timeout
+    assertThat(PhaseTimeBudget.budgetMillis(10_000, 20, 10_000, 60_000)).isEqualTo(45_000);
+    assertThat(PhaseTimeBudget.budgetMillis(Long.MAX_VALUE, 20, 10_000, 60_000))
+        .isEqualTo(45_000);
+  }
+
   @Test
   public void checkThrowOnMaxNodes() {
     DremioVolcanoPlanner planner =
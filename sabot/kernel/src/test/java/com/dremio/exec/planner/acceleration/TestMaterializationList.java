@@ -17,19 +17,25 @@ package com.dremio.exec.planner.acceleration;
 
 import static org.junit.Assert.assertEquals;
 import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.any;
 import static org.mockito.Mockito.atLeastOnce;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import com.dremio.common.config.SabotConfig;
 import com.dremio.exec.catalog.StoragePluginId;
+import com.dremio.exec.planner.PlannerPhase;
 import com.dremio.exec.planner.acceleration.descriptor.ExpandedMaterializationDescriptor;
 import com.dremio.exec.planner.acceleration.descriptor.ExternalMaterializationDescriptor;
+import com.dremio.exec.planner.acceleration.descriptor.MaterializationCandidateIndex;
 import com.dremio.exec.planner.acceleration.descriptor.MaterializationDescriptor;
 import com.dremio.exec.planner.acceleration.descriptor.ReflectionInfo;
+import com.dremio.exec.planner.acceleration.substitution.SubstitutionUtils;
 import com.dremio.exec.planner.observer.AttemptObserver;
 import com.dremio.exec.planner.physical.PlannerSettings;
 import com.dremio.exec.planner.sql.SqlConverter;
@@ -41,6 +47,7 @@ import com.dremio.sabot.exec.context.FunctionContext;
 import com.dremio.sabot.rpc.user.UserSession;
 import com.dremio.service.namespace.NamespaceKey;
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
 import java.util.Arrays;
 import java.util.List;
 import org.apache.calcite.plan.RelOptTable;
@@ -271,6 +278,58 @@ public class TestMaterializationList {
     assertEquals("rid-1", dremioMaterializations.stream().findFirst().get().getReflectionId());
   }
 
+  /** Verifies the candidate index prunes materializations over other tables */
+  @Test
+  public void testCandidateIndex() {
+
+    ExpandedMaterializationDescriptor cachedDesc1 =
+        new ExpandedMaterializationDescriptor(desc1, relOptMat1);
+    RelNode relOptMat1QueryNode = createTableScan(Arrays.asList("schema", "t1"));
+    when(relOptMat1.getQueryRel()).thenReturn(relOptMat1QueryNode);
+    when(relOptMat1.accept(any(RelShuttle.class))).thenReturn(relOptMat1);
+
+    ExpandedMaterializationDescriptor cachedDesc2 =
+        new ExpandedMaterializationDescriptor(desc2, relOptMat2);
+    RelNode relOptMat2QueryNode = createTableScan(Arrays.asList("schema", "t2"));
+    when(relOptMat2.getQueryRel()).thenReturn(relOptMat2QueryNode);
+    when(relOptMat2.accept(any(RelShuttle.class))).thenReturn(relOptMat2);
+
+    MaterializationCandidateIndex index =
+        new MaterializationCandidateIndex(ImmutableList.of(cachedDesc1, cachedDesc2));
+    assertEquals(
+        ImmutableList.of(cachedDesc2),
+        index.getCandidates(
+            SubstitutionUtils.findTables(createTableScan(Arrays.asList("schema", "t2"))),
+            ImmutableSet.of(),
+            ImmutableSet.of()));
+
+    SubstitutionSettings materializationSettings = SubstitutionSettings.of();
+    when(session.getSubstitutionSettings()).thenReturn(materializationSettings);
+    when(provider.getCandidateIndex()).thenReturn(index);
+    when(optionResolver.getOption(PlannerSettings.REFLECTION_CANDIDATE_INDEX_ENABLED))
+        .thenReturn(true);
+
+    final MaterializationList materializations =
+        new MaterializationList(converter, session, provider, observer, config);
+    RelNode userQuery = createTableScan(Arrays.asList("schema", "t1"));
+    when(config.getInstance(
+            eq("dremio.reflection.acceleration.hint-checker.class"),
+            eq(HintChecker.class),
+            any(HintChecker.class),
+            any(HintChecker.class)))
+        .thenReturn(hintChecker);
+    when(hintChecker.isExcludedDueToStaleness(any(), anyBoolean())).thenReturn(false);
+    List<DremioMaterialization> dremioMaterializations =
+        materializations.buildConsideredMaterializations(userQuery);
+
+    assertEquals(1, dremioMaterializations.size());
+    assertEquals("rid-1", dremioMaterializations.stream().findFirst().get().getReflectionId());
+    verify(provider, never()).get();
+    verify(hintChecker, never()).isExcluded(cachedDesc2);
+    verify(observer, times(1))
+        .planStepLogging(eq(PlannerPhase.PLAN_REFLECTION_CANDIDATES), anyString(), anyLong());
+  }
+
   private RelNode createTableScan(List<String> path) {
     RelNode node = Mockito.mock(TableScan.class);
     RelOptTable table = Mockito.mock(RelOptTable.class);
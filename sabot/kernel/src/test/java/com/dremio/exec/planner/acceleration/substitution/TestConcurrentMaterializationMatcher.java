@@ -0,0 +1,170 @@
+/*
+ * Copyright (C) 2017-2019 Dremio Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.dremio.exec.planner.acceleration.substitution;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.dremio.exec.planner.acceleration.DremioMaterialization;
+import com.dremio.exec.planner.acceleration.IncrementalUpdateSettings;
+import com.dremio.exec.planner.acceleration.descriptor.ReflectionInfo;
+import com.dremio.exec.planner.acceleration.substitution.SubstitutionProvider.Substitution;
+import com.dremio.exec.planner.types.JavaTypeFactoryImpl;
+import com.google.common.collect.ImmutableList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.apache.calcite.plan.Contexts;
+import org.apache.calcite.plan.RelOptCluster;
+import org.apache.calcite.plan.RelOptUtil;
+import org.apache.calcite.plan.hep.HepPlanner;
+import org.apache.calcite.plan.hep.HepProgramBuilder;
+import org.apache.calcite.rel.RelNode;
+import org.apache.calcite.rex.RexBuilder;
+import org.apache.calcite.tools.RelBuilder;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+public class TestConcurrentMaterializationMatcher {
+
+  private RelOptCluster cluster;
+  private RelBuilder relBuilder;
+
+  @BeforeEach
+  public void setup() {
+    RexBuilder rexBuilder = new RexBuilder(JavaTypeFactoryImpl.INSTANCE);
+    cluster = RelOptCluster.create(new HepPlanner(new HepProgramBuilder().build()), rexBuilder);
+    relBuilder = RelBuilder.proto(Contexts.of()).create(cluster, null);
+  }
+
+  @Test
+  public void testResultsInMaterializationOrder() {
+    RelNode query = values(0);
+    List<DremioMaterialization> materializations =
+        ImmutableList.of(materialization("m-0", 0), materialization("m-1", 1));
+    Set<RelOptCluster> workerClusters = ConcurrentHashMap.newKeySet();
+
+    List<List<Substitution>> substitutions =
+        ConcurrentMaterializationMatcher.match(
+            query,
+            materializations,
+            (q, materialization, cancelFlag) -> {
+              workerClusters.add(q.getCluster());
+              if (materialization.getMaterializationId().equals("m-0")) {
+                // finish after the second materialization
+                sleep(100);
+              }
+              return ImmutableList.of(
+                  Substitution.createRootEquivalent(materialization.getTableRel()));
+            },
+            60_000);
+
+    // each materialization is matched in a cluster of its own
+    assertThat(workerClusters).hasSize(2).doesNotContain(cluster);
+    assertThat(substitutions).hasSize(2);
+    for (int i = 0; i < 2; i++) {
+      RelNode replacement = substitutions.get(i).get(0).getReplacement();
+      assertThat(replacement.getCluster()).isSameAs(cluster);
+      assertThat(RelOptUtil.toString(replacement))
+          .isEqualTo(RelOptUtil.toString(materializations.get(i).getTableRel()));
+    }
+  }
+
+  @Test
+  public void testTimeoutAndFailure() {
+    List<DremioMaterialization> materializations =
+        ImmutableList.of(
+            materialization("slow", 0), materialization("failing", 1), materialization("ok", 2));
+
+    List<List<Substitution>> substitutions =
+        ConcurrentMaterializationMatcher.match(
+            values(0),
+            materializations,
+            (q, materialization, cancelFlag) -> {
+              switch (materialization.getMaterializationId()) {
+                case "slow":
+                  sleep(10_000);
+                  break;
+                case "failing":
+                  throw new IllegalStateException("failed to match");
+                default:
+                  break;
+              }
+              return ImmutableList.of(Substitution.createRootEquivalent(q));
+            },
+            500);
+
+    assertThat(substitutions.get(0)).isEmpty();
+    assertThat(substitutions.get(1)).isEmpty();
+    assertThat(substitutions.get(2)).hasSize(1);
+  }
+
+  @Test
+  public void testTimeoutCancelsCpuBoundMatching() throws Exception {
+    CountDownLatch stopped = new CountDownLatch(1);
+
+    List<List<Substitution>> substitutions =
+        ConcurrentMaterializationMatcher.match(
+            values(0),
+            ImmutableList.of(materialization("busy", 0), materialization("ok", 1)),
+            (q, materialization, cancelFlag) -> {
+              if (materialization.getMaterializationId().equals("busy")) {
+                // ignores interrupts, like matching does
+                while (!cancelFlag.isCancelRequested()) {
+                  Thread.onSpinWait();
+                }
+                stopped.countDown();
+              }
+              return ImmutableList.of(Substitution.createRootEquivalent(q));
+            },
+            500);
+
+    assertThat(substitutions.get(0)).isEmpty();
+    assertThat(substitutions.get(1)).hasSize(1);
+    assertThat(stopped.await(10, TimeUnit.SECONDS)).isTrue();
+  }
+
+  private RelNode values(int value) {
+    return relBuilder.values(new String[] {"c1"}, value).build();
+  }
+
+  private DremioMaterialization materialization(String id, int value) {
+    return new DremioMaterialization(
+        values(value),
+        values(value),
+        values(value),
+        values(value),
+        IncrementalUpdateSettings.NON_INCREMENTAL,
+        null,
+        Mockito.mock(ReflectionInfo.class),
+        id,
+        null,
+        Long.MAX_VALUE,
+        false,
+        0,
+        null);
+  }
+
+  private static void sleep(long millis) {
+    try {
+      Thread.sleep(millis);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
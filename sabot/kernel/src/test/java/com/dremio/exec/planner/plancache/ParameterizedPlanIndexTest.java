@@ -0,0 +1,127 @@
+/*
+ * Copyright (C) 2017-2019 Dremio Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.dremio.exec.planner.plancache;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import com.dremio.exec.planner.plancache.ParameterizedPlanIndex.ParameterizedPlan;
+import com.dremio.exec.planner.types.JavaTypeFactoryImpl;
+import com.google.common.hash.HashCode;
+import com.google.common.hash.Hashing;
+import org.apache.calcite.plan.Contexts;
+import org.apache.calcite.plan.RelOptCluster;
+import org.apache.calcite.plan.RelOptUtil;
+import org.apache.calcite.plan.hep.HepPlanner;
+import org.apache.calcite.plan.hep.HepProgramBuilder;
+import org.apache.calcite.rel.RelNode;
+import org.apache.calcite.rex.RexBuilder;
+import org.apache.calcite.tools.RelBuilder;
+import org.junit.Before;
+import org.junit.Test;
+
+public class ParameterizedPlanIndexTest {
+  private static final PlanCacheKey PLAN_KEY =
+      new PlanCacheKey(
+          HashCode.fromString("0123456789abcdef"), Hashing.sha256().newHasher().hash());
+
+  private RelBuilder relBuilder;
+
+  @Before
+  public void setup() {
+    RexBuilder rexBuilder = new RexBuilder(JavaTypeFactoryImpl.INSTANCE);
+    RelOptCluster cluster =
+        RelOptCluster.create(new HepPlanner(new HepProgramBuilder().build()), rexBuilder);
+    relBuilder = RelBuilder.proto(Contexts.of()).create(cluster, null);
+  }
+
+  @Test
+  public void testSameShapeForDifferentLiterals() {
+    ParameterizedQuery eu = parameterize(query("EU", 10));
+    ParameterizedQuery us = parameterize(query("US", 20));
+    ParameterizedQuery other = parameterize(query("USA", 20));
+
+    assertEquals(eu.getShapeHash(), us.getShapeHash());
+    assertEquals(2, us.getLiterals().size());
+    // literals of different types have different shapes
+    assertNotEquals(eu.getShapeHash(), other.getShapeHash());
+  }
+
+  @Test
+  public void testBindLiterals() {
+    ParameterizedQuery eu = parameterize(query("EU", 10));
+    ParameterizedQuery us = parameterize(query("US", 20));
+    RelNode plan = query("EU", 10);
+    ParameterizedPlanIndex index = ParameterizedPlanIndex.create(10, 10);
+    ParameterizedPlan parameterizedPlan = ParameterizedPlan.create(PLAN_KEY, eu, plan);
+    assertNotNull(parameterizedPlan);
+    index.put(eu, parameterizedPlan);
+
+    ParameterizedPlan found = index.get(us);
+    assertSame(parameterizedPlan, found);
+    assertEquals(PLAN_KEY.getStringHash(), found.getPlanCacheKey(PLAN_KEY).getStringHash());
+    RelNode bound = found.bind(plan, us.getLiterals());
+    assertEquals(RelOptUtil.toString(query("US", 20)), RelOptUtil.toString(bound));
+  }
+
+  @Test
+  public void testLiteralsWhichCantBeRebound() {
+    // the same literal twice can't be told apart
+    assertNull(
+        parameterize(
+            relBuilder
+                .values(new String[] {"region", "country"}, "XX", "XX")
+                .filter(
+                    relBuilder.or(
+                        relBuilder.equals(relBuilder.field("region"), relBuilder.literal("EU")),
+                        relBuilder.equals(relBuilder.field("country"), relBuilder.literal("EU"))))
+                .build()));
+
+    ParameterizedQuery eu = parameterize(query("EU", 10));
+    // a literal of the query was simplified away by the planner
+    RelNode simplified =
+        relBuilder
+            .values(new String[] {"region", "amount"}, "EU", 10)
+            .filter(relBuilder.equals(relBuilder.field("region"), relBuilder.literal("EU")))
+            .build();
+    assertNull(ParameterizedPlan.create(PLAN_KEY, eu, simplified));
+
+    // a literal of the query is left in the properties of a rel
+    RelNode values =
+        relBuilder
+            .values(new String[] {"region", "amount"}, "EU", 10)
+            .filter(relBuilder.equals(relBuilder.field("region"), relBuilder.literal("EU")))
+            .filter(relBuilder.greaterThan(relBuilder.field("amount"), relBuilder.literal(10)))
+            .build();
+    assertNull(ParameterizedPlan.create(PLAN_KEY, eu, values));
+  }
+
+  private RelNode query(String region, int amount) {
+    return relBuilder
+        .values(new String[] {"region", "amount"}, "XX", 0)
+        .filter(
+            relBuilder.equals(relBuilder.field("region"), relBuilder.literal(region)),
+            relBuilder.greaterThan(relBuilder.field("amount"), relBuilder.literal(amount)))
+        .build();
+  }
+
+  private static ParameterizedQuery parameterize(RelNode relNode) {
+    return ParameterizedQuery.create(relNode, Hashing.sha256().newHasher());
+  }
+}
@@ -267,6 +267,38 @@ public class TestDeltaLogCheckpointParquetReader extends BaseTestQuery {
     assertEquals(fs.getFileAttributes(checkpointFilePath2).size(), updateKey1.getLength());
   }
 
+  @Test
+  public void testMultiPartCheckpointParquetSequentialRead() throws Exception {
+    Path deltaLogDir =
+        Path.of(new File("src/test/resources/deltalake/multiPartCheckpoint/_delta_log").toURI());
+    List<FileAttributes> parts =
+        Arrays.asList(
+            fs.getFileAttributes(
+                deltaLogDir.resolve(
+                    "00000000000000000010.checkpoint.0000000001.0000000002.parquet")),
+            fs.getFileAttributes(
+                deltaLogDir.resolve(
+                    "00000000000000000010.checkpoint.0000000002.0000000002.parquet")));
+
+    DeltaLogSnapshot parallel =
+        new DeltaLogCheckpointParquetReader()
+            .parseMetadata(deltaLogDir, sabotContext, fs, new ArrayList<>(parts), 10);
+    DeltaLogSnapshot sequential;
+    try (AutoCloseable ignored =
+        withSystemOption(ExecConstants.DELTALAKE_PARALLEL_METADATA_READ, false)) {
+      sequential =
+          new DeltaLogCheckpointParquetReader()
+              .parseMetadata(deltaLogDir, sabotContext, fs, new ArrayList<>(parts), 10);
+    }
+
+    assertEquals(sequential.getNetFilesAdded(), parallel.getNetFilesAdded());
+    assertEquals(sequential.getNetOutputRows(), parallel.getNetOutputRows());
+    assertEquals(sequential.getNetBytesAdded(), parallel.getNetBytesAdded());
+    assertEquals(sequential.getSchema(), parallel.getSchema());
+    assertEquals(sequential.getPartitionColumns(), parallel.getPartitionColumns());
+    assertEquals(sequential.getSplits().size(), parallel.getSplits().size());
+  }
+
   @Test
   public void testMalformedMetadata() {
     String path =
@@ -21,6 +21,7 @@ import static org.junit.Assert.assertTrue;
 
 import com.dremio.BaseTestQuery;
 import com.dremio.connector.metadata.options.TimeTravelOption;
+import com.dremio.exec.ExecConstants;
 import com.dremio.exec.hadoop.HadoopFileSystem;
 import com.dremio.exec.server.SabotContext;
 import com.dremio.exec.store.dfs.FileSelection;
@@ -30,12 +31,17 @@ import java.io.File;
 import java.util.Arrays;
 import java.util.List;
 import java.util.stream.Collectors;
+import org.apache.commons.io.FileUtils;
 import org.apache.hadoop.conf.Configuration;
 import org.junit.Before;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 
 public class TestDeltaMetadataFetchJobManager extends BaseTestQuery {
 
+  @Rule public TemporaryFolder tempDir = new TemporaryFolder();
+
   String path;
   FileSelection selection;
   File f;
@@ -92,6 +98,60 @@ public class TestDeltaMetadataFetchJobManager extends BaseTestQuery {
     assertEquals(expectedVersions, actualVersions);
   }
 
+  @Test
+  public void testCachedSnapshots() throws Exception {
+    DeltaSnapshotCache.invalidateAll();
+    try (AutoCloseable ignored =
+        withSystemOption(ExecConstants.DELTALAKE_SNAPSHOT_CACHE_ENABLED, true)) {
+      TimeTravelOption.TimeTravelRequest travelRequest =
+          TimeTravelOption.newSnapshotIdRequest("22");
+      DeltaMetadataFetchJobManager manager =
+          new DeltaMetadataFetchJobManager(sabotContext, fs, selection, travelRequest);
+      List<DeltaLogSnapshot> snapshotList = manager.getListOfSnapshots();
+      assertEquals(manager.getBatchesRead(), 1);
+
+      // a fixed version is served from the cache
+      manager = new DeltaMetadataFetchJobManager(sabotContext, fs, selection, travelRequest);
+      assertEquals(snapshotList, manager.getListOfSnapshots());
+      assertEquals(manager.getBatchesRead(), 0);
+
+      // the latest version reads the commits after the cached ones
+      manager = new DeltaMetadataFetchJobManager(sabotContext, fs, selection, null);
+      snapshotList = manager.getListOfSnapshots();
+      manager = new DeltaMetadataFetchJobManager(sabotContext, fs, selection, null);
+      assertEquals(snapshotList, manager.getListOfSnapshots());
+      assertEquals(manager.getBatchesRead(), 1);
+    } finally {
+      DeltaSnapshotCache.invalidateAll();
+    }
+  }
+
+  @Test
+  public void testCachedSnapshotsOfRecreatedTable() throws Exception {
+    File table = tempDir.newFolder("covid_cases");
+    FileUtils.copyDirectory(f, table);
+    FileSelection tableSelection =
+        FileSelection.createNotExpanded(fs, Path.of(table.getAbsolutePath()));
+    DeltaSnapshotCache.invalidateAll();
+    try (AutoCloseable ignored =
+        withSystemOption(ExecConstants.DELTALAKE_SNAPSHOT_CACHE_ENABLED, true)) {
+      TimeTravelOption.TimeTravelRequest travelRequest =
+          TimeTravelOption.newSnapshotIdRequest("22");
+      DeltaMetadataFetchJobManager manager =
+          new DeltaMetadataFetchJobManager(sabotContext, fs, tableSelection, travelRequest);
+      List<DeltaLogSnapshot> snapshotList = manager.getListOfSnapshots();
+
+      // a table re-created at the same path writes its log files again
+      File commit = new File(table, "_delta_log/00000000000000000022.json");
+      assertTrue(commit.setLastModified(commit.lastModified() - 60_000));
+      manager = new DeltaMetadataFetchJobManager(sabotContext, fs, tableSelection, travelRequest);
+      assertEquals(snapshotList, manager.getListOfSnapshots());
+      assertEquals(manager.getBatchesRead(), 1);
+    } finally {
+      DeltaSnapshotCache.invalidateAll();
+    }
+  }
+
   @Test
   public void testSingleBatchWithoutCheckpoint() throws Exception {
     testSingleBatchWithoutCheckpoint(TimeTravelOption.newSnapshotIdRequest("5"));
@@ -0,0 +1,89 @@
+/*
+ * Copyright (C) 2017-2019 Dremio Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.dremio.exec.store.iceberg;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.dremio.common.expression.CompleteType;
+import com.dremio.exec.ExecTest;
+import com.dremio.exec.record.VectorContainer;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import org.apache.arrow.vector.IntVector;
+import org.apache.arrow.vector.VarCharVector;
+import org.apache.datasketches.theta.CompactSketch;
+import org.apache.iceberg.Schema;
+import org.apache.iceberg.types.Types;
+import org.junit.Test;
+
+public class TestColumnNdvSketches extends ExecTest {
+
+  private static final Schema SCHEMA =
+      new Schema(
+          Types.NestedField.optional(1, "id", Types.IntegerType.get()),
+          Types.NestedField.optional(2, "name", Types.StringType.get()),
+          Types.NestedField.optional(3, "amount", Types.DecimalType.of(10, 2)));
+
+  @Test
+  public void testCollectAndMergeDataFiles() throws Exception {
+    try (VectorContainer container = new VectorContainer(allocator)) {
+      IntVector ids = container.addOrGet(CompleteType.INT.toField("id"));
+      VarCharVector names = container.addOrGet(CompleteType.VARCHAR.toField("name"));
+      container.addOrGet(CompleteType.fromDecimalPrecisionScale(10, 2).toField("amount"));
+      container.buildSchema();
+
+      ColumnNdvSketches.Collector collector = ColumnNdvSketches.newCollector(container, SCHEMA);
+      assertThat(collector).isNotNull();
+      assertThat(collector.serializeAndReset()).isNull();
+
+      ColumnNdvSketches sketches = new ColumnNdvSketches();
+      // two data files, with overlapping ids
+      for (int file = 0; file < 2; file++) {
+        for (int i = 0; i < 1000; i++) {
+          ids.setSafe(i, file * 500 + i);
+          if (i % 100 == 0) {
+            names.setNull(i);
+          } else {
+            names.setSafe(i, ("name" + i % 10).getBytes(StandardCharsets.UTF_8));
+          }
+        }
+        container.setAllCount(1000);
+        collector.update(0, 1000);
+        sketches.merge(collector.serializeAndReset());
+      }
+
+      Map<Integer, CompactSketch> merged = sketches.getSketches();
+      assertThat(merged).containsOnlyKeys(1, 2);
+      assertThat(merged.get(1).getEstimate()).isEqualTo(1500.0);
+      assertThat(merged.get(2).getEstimate()).isEqualTo(10.0);
+
+      ColumnNdvSketches deserialized = new ColumnNdvSketches();
+      deserialized.merge(sketches.serialize());
+      assertThat(deserialized.getSketches().get(1).getEstimate()).isEqualTo(1500.0);
+    }
+  }
+
+  @Test
+  public void testNoSupportedColumns() throws Exception {
+    try (VectorContainer container = new VectorContainer(allocator)) {
+      container.addOrGet(CompleteType.fromDecimalPrecisionScale(10, 2).toField("amount"));
+      container.addOrGet(CompleteType.INT.toField("unknown"));
+      container.buildSchema();
+
+      assertThat(ColumnNdvSketches.newCollector(container, SCHEMA)).isNull();
+    }
+  }
+}
@@ -0,0 +1,197 @@
+/*
+ * Copyright (C) 2017-2019 Dremio Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.dremio.exec.store.iceberg;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.dremio.io.AsyncByteReader;
+import com.dremio.io.file.FileSystem;
+import com.dremio.test.AllocatorRule;
+import io.netty.buffer.ByteBuf;
+import java.util.Collections;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.iceberg.ManifestFile;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+public class TestManifestFilePrefetcher {
+
+  @Rule public final AllocatorRule allocatorRule = AllocatorRule.defaultAllocator();
+
+  private BufferAllocator allocator;
+  private FileSystem fs;
+  private AsyncByteReader reader;
+
+  @Before
+  public void setup() throws Exception {
+    allocator = allocatorRule.newAllocator("test-manifest-prefetcher", 0, Long.MAX_VALUE);
+    fs = mock(FileSystem.class);
+    reader = mock(AsyncByteReader.class);
+    when(fs.supportsAsync()).thenReturn(true);
+    when(fs.supportsPathsWithScheme()).thenReturn(true);
+    when(fs.getAsyncByteReader(any(), any())).thenReturn(reader);
+    when(reader.readFully(anyLong(), any(ByteBuf.class), anyInt(), anyInt()))
+        .thenAnswer(
+            invocation -> {
+              ByteBuf dst = invocation.getArgument(1);
+              dst.setBytes(0, new byte[] {1, 2, 3});
+              return CompletableFuture.completedFuture(null);
+            });
+  }
+
+  @After
+  public void cleanup() {
+    allocator.close();
+  }
+
+  @Test
+  public void testTakeInOrder() throws Exception {
+    ManifestFile first = manifestFile("s3://bucket/metadata/m1.avro", 3);
+    ManifestFile second = manifestFile("s3://bucket/metadata/m2.avro", 3);
+    ManifestFile third = manifestFile("s3://bucket/metadata/m3.avro", 3);
+
+    try (ManifestFilePrefetcher prefetcher = new ManifestFilePrefetcher(allocator, 2, 1024, 1024)) {
+      prefetcher.submit(first, () -> fs, Collections.emptyList());
+      prefetcher.submit(second, () -> fs, Collections.emptyList());
+      prefetcher.submit(third, () -> fs, Collections.emptyList());
+      // only the first two reads are in flight
+      verify(reader, times(2)).readFully(anyLong(), any(ByteBuf.class), anyInt(), anyInt());
+      assertThat(allocator.getAllocatedMemory()).isGreaterThan(0);
+
+      // skipping a manifest file discards it
+      assertThat(prefetcher.take(second)).containsExactly(1, 2, 3);
+      assertThat(prefetcher.take(first)).isNull();
+      verify(reader, times(3)).readFully(anyLong(), any(ByteBuf.class), anyInt(), anyInt());
+      assertThat(prefetcher.take(third)).containsExactly(1, 2, 3);
+    }
+    verify(reader, times(3)).close();
+    assertThat(allocator.getAllocatedMemory()).isEqualTo(0);
+  }
+
+  @Test
+  public void testMaxBytes() throws Exception {
+    ManifestFile first = manifestFile("s3://bucket/metadata/m1.avro", 3);
+    ManifestFile second = manifestFile("s3://bucket/metadata/m2.avro", 3);
+
+    try (ManifestFilePrefetcher prefetcher = new ManifestFilePrefetcher(allocator, 2, 1024, 4)) {
+      prefetcher.submit(first, () -> fs, Collections.emptyList());
+      prefetcher.submit(second, () -> fs, Collections.emptyList());
+      // the second manifest file doesn't fit until the first one is taken
+      verify(reader, times(1)).readFully(anyLong(), any(ByteBuf.class), anyInt(), anyInt());
+
+      assertThat(prefetcher.take(first)).containsExactly(1, 2, 3);
+      verify(reader, times(2)).readFully(anyLong(), any(ByteBuf.class), anyInt(), anyInt());
+      assertThat(prefetcher.take(second)).containsExactly(1, 2, 3);
+    }
+    assertThat(allocator.getAllocatedMemory()).isEqualTo(0);
+  }
+
+  @Test
+  public void testDiscardedReadInFlight() throws Exception {
+    ManifestFile first = manifestFile("s3://bucket/metadata/m1.avro", 3);
+    ManifestFile second = manifestFile("s3://bucket/metadata/m2.avro", 3);
+    ManifestFile third = manifestFile("s3://bucket/metadata/m3.avro", 3);
+    CompletableFuture<Void> firstRead = new CompletableFuture<>();
+    AtomicInteger reads = new AtomicInteger();
+    when(reader.readFully(anyLong(), any(ByteBuf.class), anyInt(), anyInt()))
+        .thenAnswer(
+            invocation -> {
+              ByteBuf dst = invocation.getArgument(1);
+              dst.setBytes(0, new byte[] {1, 2, 3});
+              return reads.getAndIncrement() == 0
+                  ? firstRead
+                  : CompletableFuture.completedFuture(null);
+            });
+
+    try (ManifestFilePrefetcher prefetcher = new ManifestFilePrefetcher(allocator, 2, 1024, 5)) {
+      prefetcher.submit(first, () -> fs, Collections.emptyList());
+      prefetcher.submit(second, () -> fs, Collections.emptyList());
+      // the first manifest file is discarded while its read is in flight
+      assertThat(prefetcher.take(second)).containsExactly(1, 2, 3);
+
+      // its buffer is held until the read completes
+      prefetcher.submit(third, () -> fs, Collections.emptyList());
+      verify(reader, times(2)).readFully(anyLong(), any(ByteBuf.class), anyInt(), anyInt());
+      assertThat(allocator.getAllocatedMemory()).isGreaterThan(0);
+
+      firstRead.complete(null);
+      assertThat(allocator.getAllocatedMemory()).isEqualTo(0);
+      assertThat(prefetcher.take(third)).containsExactly(1, 2, 3);
+    }
+    verify(reader, times(3)).close();
+    assertThat(allocator.getAllocatedMemory()).isEqualTo(0);
+  }
+
+  @Test
+  public void testCloseWaitsForDiscardedReads() throws Exception {
+    ManifestFile first = manifestFile("s3://bucket/metadata/m1.avro", 3);
+    ManifestFile second = manifestFile("s3://bucket/metadata/m2.avro", 3);
+    CompletableFuture<Void> firstRead = new CompletableFuture<>();
+    when(reader.readFully(anyLong(), any(ByteBuf.class), anyInt(), anyInt()))
+        .thenReturn(firstRead)
+        .thenReturn(CompletableFuture.completedFuture(null));
+
+    ManifestFilePrefetcher prefetcher = new ManifestFilePrefetcher(allocator, 2, 1024, 1024);
+    prefetcher.submit(first, () -> fs, Collections.emptyList());
+    prefetcher.submit(second, () -> fs, Collections.emptyList());
+    prefetcher.take(second);
+    CompletableFuture<Void> close = CompletableFuture.runAsync(prefetcher::close);
+    Thread.sleep(100);
+    assertThat(close).isNotDone();
+
+    firstRead.complete(null);
+    close.get(10, TimeUnit.SECONDS);
+    assertThat(allocator.getAllocatedMemory()).isEqualTo(0);
+  }
+
+  @Test
+  public void testSkippedManifestFiles() throws Exception {
+    ManifestFile large = manifestFile("s3://bucket/metadata/large.avro", 2048);
+    ManifestFile failed = manifestFile("s3://bucket/metadata/failed.avro", 3);
+    CompletableFuture<Void> failure = new CompletableFuture<>();
+    failure.completeExceptionally(new RuntimeException("read failed"));
+
+    try (ManifestFilePrefetcher prefetcher = new ManifestFilePrefetcher(allocator, 2, 1024, 4096)) {
+      prefetcher.submit(large, () -> fs, Collections.emptyList());
+      assertThat(prefetcher.take(large)).isNull();
+
+      when(reader.readFully(anyLong(), any(ByteBuf.class), anyInt(), anyInt()))
+          .thenReturn(failure);
+      prefetcher.submit(failed, () -> fs, Collections.emptyList());
+      assertThat(prefetcher.take(failed)).isNull();
+    }
+    assertThat(allocator.getAllocatedMemory()).isEqualTo(0);
+  }
+
+  private static ManifestFile manifestFile(String path, long length) {
+    ManifestFile manifestFile = mock(ManifestFile.class);
+    when(manifestFile.path()).thenReturn(path);
+    when(manifestFile.length()).thenReturn(length);
+    return manifestFile;
+  }
+}
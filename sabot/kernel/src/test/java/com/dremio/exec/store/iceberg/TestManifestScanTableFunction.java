@@ -22,6 +22,7 @@ import static com.dremio.sabot.RecordSet.rs;
 import static com.dremio.sabot.RecordSet.st;
 import static com.dremio.sabot.op.tablefunction.TableFunctionOperator.Metric.NUM_DATA_FILE;
 import static com.dremio.sabot.op.tablefunction.TableFunctionOperator.Metric.NUM_DELETE_MANIFESTS;
+import static com.dremio.sabot.op.tablefunction.TableFunctionOperator.Metric.NUM_MANIFEST_ENTRY_CACHE_HITS;
 import static com.dremio.sabot.op.tablefunction.TableFunctionOperator.Metric.NUM_MANIFEST_FILE;
 import static com.dremio.sabot.op.tablefunction.TableFunctionOperator.Metric.NUM_POS_DELETE_FILES;
 import static org.assertj.core.api.Assertions.assertThat;
@@ -83,6 +84,7 @@ import org.apache.iceberg.PartitionKey;
 import org.apache.iceberg.PartitionSpec;
 import org.apache.iceberg.Schema;
 import org.apache.iceberg.SchemaParser;
+import org.apache.iceberg.expressions.Expressions;
 import org.apache.iceberg.types.Conversions;
 import org.apache.iceberg.types.Types;
 import org.junit.Before;
@@ -774,6 +776,58 @@ public class TestManifestScanTableFunction extends BaseTestTableFunction {
         10);
   }
 
+  @Test
+  public void testAnyColExpressionOnCachedManifestEntries() throws Exception {
+    RecordSet input = inputRecordSet();
+
+    BatchSchema outputSchema = SystemSchemas.ICEBERG_MANIFEST_SCAN_SCHEMA;
+    RecordSet output =
+        rs(
+            outputSchema,
+            r(
+                "datafile2.parquet",
+                200L,
+                1L,
+                1,
+                serializedKey2,
+                createDatePartitionInfo("date", 20, 0),
+                COL_IDS,
+                FileContent.DATA.name()),
+            r(
+                "datafile3.parquet",
+                300L,
+                1L,
+                1,
+                serializedKey2,
+                createDatePartitionInfo("date", 20, 0),
+                COL_IDS,
+                FileContent.DATA.name()));
+
+    ManifestScanFilters manifestScanFilters =
+        new ImmutableManifestScanFilters.Builder()
+            .setIcebergAnyColExpression(
+                IcebergSerDe.serializeToByteArray(Expressions.notEqual("date", 10)))
+            .build();
+
+    // the first run populates the cache, the second one is served from it
+    validateSingle(
+        getPop(outputSchema, ManifestContentType.DATA, PARTITION_SPEC_MAP, manifestScanFilters),
+        TableFunctionOperator.class,
+        input,
+        new RecordBatchValidatorDefaultImpl(output),
+        10);
+    OperatorStats stats =
+        validateSingle(
+            getPop(outputSchema, ManifestContentType.DATA, PARTITION_SPEC_MAP, manifestScanFilters),
+            TableFunctionOperator.class,
+            inputRecordSet(),
+            new RecordBatchValidatorDefaultImpl(output),
+            10);
+
+    assertThat(stats.getLongStat(NUM_MANIFEST_ENTRY_CACHE_HITS)).isEqualTo(2);
+    assertThat(ManifestEntryCache.getIfPresent(pluginId.getName(), manifestFile1)).hasSize(2);
+  }
+
   private RecordSet inputRecordSet() {
     return rs(
         SystemSchemas.SPLIT_GEN_AND_COL_IDS_SCAN_SCHEMA,
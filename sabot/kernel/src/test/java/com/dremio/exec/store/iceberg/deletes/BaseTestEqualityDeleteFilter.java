@@ -39,6 +39,12 @@ public class BaseTestEqualityDeleteFilter extends BaseTestOperator {
 
   protected EqualityDeleteHashTable buildTable(RecordSet buildRs, List<Integer> buildOrdinals)
       throws Exception {
+    return buildTable(buildRs, buildOrdinals, 1, false);
+  }
+
+  protected EqualityDeleteHashTable buildTable(
+      RecordSet buildRs, List<Integer> buildOrdinals, int numPartitions, boolean useBloomFilter)
+      throws Exception {
     int buildBatchSize = buildRs.getMaxBatchSize();
     int buildRecords = buildRs.getTotalRecords();
 
@@ -54,7 +60,9 @@ public class BaseTestEqualityDeleteFilter extends BaseTestOperator {
               equalityFields,
               getFieldVectors(buildAccessible, buildRs.getSchema()),
               buildRecords,
-              buildBatchSize);
+              buildBatchSize,
+              numPartitions,
+              useBloomFilter);
 
       int records;
       while ((records = buildGenerator.next(buildBatchSize)) > 0) {
@@ -108,9 +108,96 @@ public class TestEqualityDeleteHashTable extends BaseTestEqualityDeleteFilter {
     buildAndValidate(build, probe, 7, expectedOrdinalMapping);
   }
 
+  @Test
+  public void testPartitionedWithBloomFilter() throws Exception {
+    RecordSet build =
+        rs(
+            SCHEMA_FIXED_AND_VAR,
+            rb(r(1, "red"), r(5, "orange"), r(2, "blue")),
+            rb(r(null, "green"), r(-8, "purple"), r(10, null)),
+            rb(r(null, null)));
+    RecordSet probe =
+        rs(
+            SCHEMA_FIXED_AND_VAR,
+            rb(r(-8, "purple"), r(null, "magenta"), r(null, null)),
+            rb(r(null, "green"), r(5, "magenta"), r(-8, "purple")),
+            rb(r(5, "orange"), r(10, "cyan"), r(2, "blue")));
+
+    // expected build index mapping for probe lookups
+    List<Integer> expectedOrdinalMapping = ImmutableList.of(4, -1, 6, 3, -1, 4, 1, -1, 2);
+
+    buildAndValidate(build, probe, 7, expectedOrdinalMapping, 4, true);
+    buildAndValidate(build, probe, 7, expectedOrdinalMapping, 4, false);
+    buildAndValidate(build, probe, 7, expectedOrdinalMapping, 1, true);
+  }
+
+  @Test
+  public void testBloomFilterLimitedByHeadroom() throws Exception {
+    RecordSet build = rs(SCHEMA_FIXED, rb(r(1), r(5), r(2)));
+    try (EqualityDeleteHashTable table = buildTable(build, null, 4, true)) {
+      assertThat(table.hasBloomFilter()).isTrue();
+    }
+    try (EqualityDeleteHashTable table = buildTable(build, null, 1, true)) {
+      assertThat(table.hasBloomFilter()).isFalse();
+    }
+
+    // 1M keys take 1 MB of Bloom filter
+    assertThat(EqualityDeleteHashTable.Builder.fitsBloomFilter(1 << 20, 8L << 20)).isTrue();
+    assertThat(EqualityDeleteHashTable.Builder.fitsBloomFilter(1 << 20, (8L << 20) - 1)).isFalse();
+    assertThat(EqualityDeleteHashTable.Builder.fitsBloomFilter(1 << 20, 0)).isFalse();
+  }
+
+  @Test
+  public void testKeysSpreadAcrossAllPartitions() throws Exception {
+    int numPartitions = EqualityDeleteHashTable.MAX_PARTITIONS;
+    RecordSet.RsRecord[] records = new RecordSet.RsRecord[4096];
+    for (int i = 0; i < records.length; i++) {
+      records[i] = r(i);
+    }
+
+    try (EqualityDeleteHashTable table =
+        buildTable(rs(SCHEMA_FIXED, records), null, numPartitions, false)) {
+      assertThat(table.size()).isEqualTo(records.length);
+      for (int partition = 0; partition < numPartitions; partition++) {
+        assertThat(table.getPartitionSize(partition)).as("partition %s", partition).isPositive();
+      }
+    }
+  }
+
+  @Test
+  public void testPartitionOfUsesAllPartitions() {
+    // the sign bit of the hashes is always clear, so the partition comes from the bits below it
+    assertThat(EqualityDeleteHashTable.partitionOf(0x7FFFFFFFFFFFFFFFL, 4)).isEqualTo(3);
+    assertThat(EqualityDeleteHashTable.partitionOf(0x4000000000000000L, 4)).isEqualTo(2);
+    assertThat(EqualityDeleteHashTable.partitionOf(0x2000000000000000L, 4)).isEqualTo(1);
+    assertThat(EqualityDeleteHashTable.partitionOf(0x1FFFFFFFFFFFFFFFL, 4)).isEqualTo(0);
+    assertThat(EqualityDeleteHashTable.partitionOf(0x7FFFFFFFFFFFFFFFL, 1)).isEqualTo(0);
+  }
+
+  @Test
+  public void testPartitionCount() {
+    assertThat(EqualityDeleteHashTable.getPartitionCount(0, 1024)).isEqualTo(1);
+    assertThat(EqualityDeleteHashTable.getPartitionCount(1024, 1024)).isEqualTo(1);
+    assertThat(EqualityDeleteHashTable.getPartitionCount(1025, 1024)).isEqualTo(2);
+    assertThat(EqualityDeleteHashTable.getPartitionCount(3 * 1024, 1024)).isEqualTo(4);
+    assertThat(EqualityDeleteHashTable.getPartitionCount(Integer.MAX_VALUE, 1024))
+        .isEqualTo(EqualityDeleteHashTable.MAX_PARTITIONS);
+  }
+
   private void buildAndValidate(
       RecordSet buildRs, RecordSet probeRs, int expectedSize, List<Integer> expectedOrdinalMapping)
       throws Exception {
+    buildAndValidate(buildRs, probeRs, expectedSize, expectedOrdinalMapping, 1, false);
+  }
+
+  private void buildAndValidate(
+      RecordSet buildRs,
+      RecordSet probeRs,
+      int expectedSize,
+      List<Integer> expectedOrdinalMapping,
+      int numPartitions,
+      boolean useBloomFilter)
+      throws Exception {
     int buildBatchSize = buildRs.getMaxBatchSize();
     int buildRecords = buildRs.getTotalRecords();
     int probeBatchSize = probeRs.getMaxBatchSize();
@@ -118,7 +205,8 @@ public class TestEqualityDeleteHashTable extends BaseTestEqualityDeleteFilter {
     List<Integer> buildOrdinals = new ArrayList<>();
     List<Integer> probeOrdinals = new ArrayList<>();
 
-    try (EqualityDeleteHashTable table = buildTable(buildRs, buildOrdinals);
+    try (EqualityDeleteHashTable table =
+            buildTable(buildRs, buildOrdinals, numPartitions, useBloomFilter);
         Generator probeGenerator = probeRs.toGenerator(getTestAllocator());
         ArrowBuf probeOrdinalBuf =
             getTestAllocator().buffer((long) probeBatchSize * ORDINAL_SIZE)) {
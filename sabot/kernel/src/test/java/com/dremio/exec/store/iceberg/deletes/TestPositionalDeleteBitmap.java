@@ -0,0 +1,79 @@
+/*
+ * Copyright (C) 2017-2019 Dremio Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.dremio.exec.store.iceberg.deletes;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.google.common.collect.ImmutableList;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Test;
+
+public class TestPositionalDeleteBitmap {
+
+  @Test
+  public void testConsecutivePositionsAreRunEncoded() {
+    PositionalDeleteBitmap bitmap =
+        PositionalDeleteBitmap.builder().add(1).add(2).add(3).add(3).add(7).add(8).build();
+
+    assertThat(bitmap.runCount()).isEqualTo(2);
+    assertThat(bitmap.cardinality()).isEqualTo(5);
+    assertThat(bitmap.contains(0)).isFalse();
+    assertThat(bitmap.contains(3)).isTrue();
+    assertThat(bitmap.contains(4)).isFalse();
+    assertThat(bitmap.contains(8)).isTrue();
+    assertThat(toList(bitmap.iterator())).containsExactly(1L, 2L, 3L, 7L, 8L);
+  }
+
+  @Test
+  public void testUnsortedPositionsFail() {
+    PositionalDeleteBitmap.Builder builder = PositionalDeleteBitmap.builder().add(5);
+    assertThatThrownBy(() -> builder.add(3)).isInstanceOf(IllegalStateException.class);
+  }
+
+  @Test
+  public void testUnion() {
+    PositionalDeleteBitmap bitmap =
+        PositionalDeleteBitmap.union(
+            ImmutableList.of(
+                PositionalDeleteBitmap.builder().addRange(0, 10).addRange(20, 30).build(),
+                PositionalDeleteBitmap.builder().addRange(5, 15).addRange(30, 31).build(),
+                PositionalDeleteBitmap.EMPTY));
+
+    assertThat(bitmap.runCount()).isEqualTo(2);
+    assertThat(bitmap.cardinality()).isEqualTo(26);
+    assertThat(PositionalDeleteBitmap.union(ImmutableList.of()).isEmpty()).isTrue();
+  }
+
+  @Test
+  public void testConsumeRun() throws Exception {
+    try (PositionalDeleteIterator iterator =
+        PositionalDeleteBitmap.builder().addRange(0, 100).add(200).build().iterator()) {
+      assertThat(iterator.next()).isEqualTo(0L);
+      assertThat(iterator.consumeRun(0)).isEqualTo(100);
+      assertThat(iterator.next()).isEqualTo(200L);
+      assertThat(iterator.consumeRun(200)).isEqualTo(201);
+      assertThat(iterator.hasNext()).isFalse();
+    }
+  }
+
+  private static List<Long> toList(PositionalDeleteIterator iterator) {
+    List<Long> positions = new ArrayList<>();
+    iterator.forEachRemaining(positions::add);
+    return positions;
+  }
+}
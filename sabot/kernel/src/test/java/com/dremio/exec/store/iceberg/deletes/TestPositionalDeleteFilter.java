@@ -275,6 +275,34 @@ public class TestPositionalDeleteFilter extends ExecTest {
     verifyBatch(filter, ImmutableList.of(0, 1, 1, 0, 0), 6);
   }
 
+  @Test
+  public void testContiguousRangeFromBitmap() {
+    // [ 8 .. 107 ]
+    PositionalDeleteIterator input =
+        PositionalDeleteBitmap.builder().addRange(8, 108).build().iterator();
+
+    PositionalDeleteFilter filter = createFilter(input);
+    closeables.add(filter);
+    filter.seek(0);
+
+    verifyBatch(filter, 72, ImmutableList.of(0, 0, 0, 0, 0), 0);
+    verifyBatch(filter, 72, ImmutableList.of(0, 0, 0), 64);
+    verifyBatch(filter, ImmutableList.of(36, 0, 0, 0, 0), 100);
+  }
+
+  @Test
+  public void testSeekIntoBitmapRun() {
+    // [ 0 .. 99, 102, 103 ]
+    PositionalDeleteIterator input =
+        PositionalDeleteBitmap.builder().addRange(0, 100).addRange(102, 104).build().iterator();
+
+    PositionalDeleteFilter filter = createFilter(input);
+    closeables.add(filter);
+    filter.seek(50);
+
+    verifyBatch(filter, ImmutableList.of(50, 0, 2, 0, 0), 52);
+  }
+
   private void verifyBatch(
       PositionalDeleteFilter filter, List<Integer> expected, long expectedDeleteCount) {
     verifyBatch(filter, Integer.MAX_VALUE, expected, expectedDeleteCount);
@@ -17,12 +17,14 @@ package com.dremio.exec.store.iceberg.deletes;
 
 import static com.dremio.sabot.op.scan.ScanOperator.Metric.PARQUET_BYTES_READ;
 import static com.dremio.sabot.op.tablefunction.TableFunctionOperator.Metric.NUM_DELETE_FILE_READERS;
+import static com.dremio.sabot.op.tablefunction.TableFunctionOperator.Metric.NUM_POS_DELETE_FILE_CACHE_HITS;
 import static com.dremio.sabot.op.tablefunction.TableFunctionOperator.Metric.PARQUET_DELETE_FILE_BYTES_READ;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -532,6 +534,56 @@ public class TestRowLevelDeleteFilterFactory extends BaseTestOperator {
     }
   }
 
+  @Test
+  public void testCachedPositionalDeleteFilters() throws Exception {
+    PositionalDeleteCache.invalidateAll();
+    when(readerFactory.createPositionalDeleteFileReader(any(), eq(POS_DELETE_FILE_1)))
+        .thenReturn(posReader1);
+    when(readerFactory.createPositionalDeleteFileReader(any(), eq(POS_DELETE_FILE_2)))
+        .thenReturn(posReader2);
+    when(posReader1.readAll())
+        .thenReturn(
+            ImmutableMap.of(
+                DATA_FILE_1, bitmapOf(POSITIONS_1), DATA_FILE_2, bitmapOf(List.of(0L, 2L))));
+    when(posReader2.readAll()).thenReturn(ImmutableMap.of(DATA_FILE_1, bitmapOf(POSITIONS_2)));
+
+    // delete files are read once, and shared by the following batches
+    for (int i = 0; i < 2; i++) {
+      try (RowLevelDeleteFilterFactory factory =
+          new RowLevelDeleteFilterFactory(context, readerFactory, true)) {
+        Map<String, DataFileInfo> dataFileInfo =
+            ImmutableMap.of(
+                DATA_FILE_1,
+                    new DataFileInfo(
+                        DATA_FILE_1,
+                        ImmutableList.of(POS_DELETE_FILE_INFO_1, POS_DELETE_FILE_INFO_2),
+                        1),
+                DATA_FILE_2,
+                    new DataFileInfo(DATA_FILE_2, ImmutableList.of(POS_DELETE_FILE_INFO_1), 1));
+        factory.setDataFileInfoForBatch(dataFileInfo);
+
+        PositionalDeleteFilter filter = factory.createPositionalDeleteFilter(DATA_FILE_1);
+        filter.seek(0);
+        // filter rows [ 1 .. 6 ]
+        verifyFilter(filter, ImmutableList.of(0, 6, 0));
+        filter.release();
+
+        filter = factory.createPositionalDeleteFilter(DATA_FILE_2);
+        filter.seek(0);
+        // filter rows [ 0, 2 ]
+        verifyFilter(filter, ImmutableList.of(1, 1, 0));
+        filter.release();
+      }
+    }
+
+    verify(readerFactory, times(1)).createPositionalDeleteFileReader(any(), eq(POS_DELETE_FILE_1));
+    verify(readerFactory, times(1)).createPositionalDeleteFileReader(any(), eq(POS_DELETE_FILE_2));
+    verify(readerFactory, never()).createPositionalDeleteFileReader(any(), any(), anyList());
+    assertThat(context.getStats().getLongStat(NUM_DELETE_FILE_READERS)).isEqualTo(2);
+    assertThat(context.getStats().getLongStat(NUM_POS_DELETE_FILE_CACHE_HITS)).isEqualTo(4);
+    PositionalDeleteCache.invalidateAll();
+  }
+
   @Test
   public void testFilterFromPreviousBatchCanBeUsedAfterNewBatchAdded() throws Exception {
     try (RowLevelDeleteFilterFactory factory =
@@ -713,6 +765,12 @@ public class TestRowLevelDeleteFilterFactory extends BaseTestOperator {
     assertThat(actual).isEqualTo(expected);
   }
 
+  private static PositionalDeleteBitmap bitmapOf(List<Long> positions) {
+    PositionalDeleteBitmap.Builder builder = PositionalDeleteBitmap.builder();
+    positions.forEach(builder::add);
+    return builder.build();
+  }
+
   private static PositionalDeleteIterator createIteratorFromList(
       List<Long> list, PositionalDeleteFileReader reader) {
     Iterator<Long> iterator = list.iterator();
@@ -0,0 +1,126 @@
+/*
+ * Copyright (C) 2017-2019 Dremio Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.dremio.exec.store.metadatarefresh.dirlisting;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.dremio.exec.hadoop.HadoopFileSystem;
+import com.dremio.exec.store.file.proto.FileProtobuf;
+import com.dremio.io.file.FileSystem;
+import java.io.File;
+import java.util.Optional;
+import org.apache.hadoop.conf.Configuration;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class TestIncrementalDirListing {
+  private static final long CHECKPOINT = 1_000_000_000L;
+
+  @Rule public TemporaryFolder tempFolder = new TemporaryFolder();
+
+  private FileSystem fs;
+  private File root;
+  private File dirA;
+  private File dirB;
+  private FileProtobuf.FileUpdateKey readSignature;
+
+  @Before
+  public void setup() throws Exception {
+    fs = HadoopFileSystem.getLocal(new Configuration());
+    root = tempFolder.newFolder("table");
+    dirA = new File(root, "a");
+    dirB = new File(root, "b");
+    assertThat(dirA.mkdirs()).isTrue();
+    assertThat(new File(dirA, "1.parquet").createNewFile()).isTrue();
+    assertThat(dirB.mkdirs()).isTrue();
+    assertThat(new File(dirB, "2.parquet").createNewFile()).isTrue();
+
+    readSignature =
+        FileProtobuf.FileUpdateKey.newBuilder()
+            .addCachedEntities(checkpoint(root))
+            .addCachedEntities(checkpoint(dirA))
+            .addCachedEntities(checkpoint(dirB))
+            .addCachedEntities(checkpoint(new File(root, "deleted")))
+            .build();
+    setModificationTime(CHECKPOINT - 1000, root, dirA, dirB);
+  }
+
+  @Test
+  public void testChangedNewAndDeletedDirectories() throws Exception {
+    File dirC = new File(dirB, "c");
+    assertThat(dirC.mkdirs()).isTrue();
+    assertThat(new File(dirB, ".hidden").mkdirs()).isTrue();
+    setModificationTime(CHECKPOINT + 1000, dirB);
+
+    IncrementalDirListing listing =
+        IncrementalDirListing.compute(fs, readSignature, Long.MAX_VALUE, 10).get();
+
+    assertThat(listing.getChangedDirectories()).containsExactly(dirB.getPath());
+    assertThat(listing.getNewDirectories()).containsExactly(dirC.getPath());
+    assertThat(listing.getDeletedDirectories())
+        .containsExactly(new File(root, "deleted").getPath());
+  }
+
+  @Test
+  public void testHotWindow() throws Exception {
+    IncrementalDirListing listing =
+        IncrementalDirListing.compute(fs, readSignature, CHECKPOINT - 1000, 10).get();
+
+    assertThat(listing.getChangedDirectories())
+        .containsExactly(root.getPath(), dirA.getPath(), dirB.getPath());
+    assertThat(listing.getNewDirectories()).isEmpty();
+  }
+
+  @Test
+  public void testTooManyChangedDirectories() throws Exception {
+    setModificationTime(CHECKPOINT + 1000, dirA, dirB);
+
+    assertThat(IncrementalDirListing.compute(fs, readSignature, Long.MAX_VALUE, 2)).isEmpty();
+  }
+
+  @Test
+  public void testNothingChanged() throws Exception {
+    FileProtobuf.FileUpdateKey signature =
+        FileProtobuf.FileUpdateKey.newBuilder()
+            .addCachedEntities(checkpoint(root))
+            .addCachedEntities(checkpoint(dirA))
+            .build();
+
+    Optional<IncrementalDirListing> listing =
+        IncrementalDirListing.compute(fs, signature, Long.MAX_VALUE, 10);
+
+    assertThat(listing.get().getChangedDirectories()).containsExactly(root.getPath());
+    assertThat(
+            IncrementalDirListing.compute(
+                fs, FileProtobuf.FileUpdateKey.getDefaultInstance(), Long.MAX_VALUE, 10))
+        .isEmpty();
+  }
+
+  private static FileProtobuf.FileSystemCachedEntity checkpoint(File directory) {
+    return FileProtobuf.FileSystemCachedEntity.newBuilder()
+        .setPath(directory.getPath())
+        .setLastModificationTime(CHECKPOINT)
+        .build();
+  }
+
+  private static void setModificationTime(long time, File... directories) {
+    for (File directory : directories) {
+      assertThat(directory.setLastModified(time)).isTrue();
+    }
+  }
+}
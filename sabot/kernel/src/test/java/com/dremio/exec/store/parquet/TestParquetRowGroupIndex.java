@@ -0,0 +1,146 @@
+/*
+ * Copyright (C) 2017-2019 Dremio Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.dremio.exec.store.parquet;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.dremio.exec.planner.types.SqlTypeFactoryImpl;
+import com.dremio.exec.store.parquet.ParquetFilterCondition.FilterProperties;
+import com.dremio.exec.store.parquet.ParquetReaderUtility.DateCorruptionStatus;
+import com.dremio.sabot.exec.store.parquet.proto.ParquetProtobuf.ColumnRange;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import java.math.BigDecimal;
+import java.util.Collections;
+import java.util.Map;
+import org.apache.calcite.rel.type.RelDataType;
+import org.apache.calcite.rel.type.RelDataTypeFactory;
+import org.apache.calcite.rex.RexBuilder;
+import org.apache.calcite.rex.RexCall;
+import org.apache.calcite.sql.SqlOperator;
+import org.apache.calcite.sql.fun.SqlStdOperatorTable;
+import org.apache.calcite.sql.type.SqlTypeName;
+import org.apache.parquet.column.statistics.BinaryStatistics;
+import org.apache.parquet.column.statistics.IntStatistics;
+import org.apache.parquet.io.api.Binary;
+import org.apache.parquet.schema.LogicalTypeAnnotation;
+import org.apache.parquet.schema.PrimitiveType.PrimitiveTypeName;
+import org.junit.jupiter.api.Test;
+
+public class TestParquetRowGroupIndex {
+  private static final RelDataTypeFactory TYPE_FACTORY = SqlTypeFactoryImpl.INSTANCE;
+  private static final RexBuilder REX_BUILDER = new RexBuilder(TYPE_FACTORY);
+  private static final RelDataType ROW_TYPE =
+      TYPE_FACTORY
+          .builder()
+          .add("id", SqlTypeName.INTEGER)
+          .add("name", SqlTypeName.VARCHAR)
+          .build();
+
+  @Test
+  public void testColumnRange() {
+    IntStatistics intStatistics = new IntStatistics();
+    intStatistics.setMinMax(10, 20);
+    intStatistics.setNumNulls(2);
+    ColumnRange range =
+        ParquetRowGroupIndex.toColumnRange(
+            new String[] {"id"},
+            PrimitiveTypeName.INT32,
+            null,
+            intStatistics,
+            DateCorruptionStatus.META_SHOWS_NO_CORRUPTION);
+    assertEquals(10, range.getLongMin());
+    assertEquals(20, range.getLongMax());
+    assertEquals(2, range.getNullCount());
+
+    // nested and unsigned columns are not indexed
+    assertNull(
+        ParquetRowGroupIndex.toColumnRange(
+            new String[] {"s", "id"},
+            PrimitiveTypeName.INT32,
+            null,
+            intStatistics,
+            DateCorruptionStatus.META_SHOWS_NO_CORRUPTION));
+    assertFalse(
+        ParquetRowGroupIndex.toColumnRange(
+                new String[] {"id"},
+                PrimitiveTypeName.INT32,
+                LogicalTypeAnnotation.intType(32, false),
+                intStatistics,
+                DateCorruptionStatus.META_SHOWS_NO_CORRUPTION)
+            .hasLongMin());
+
+    // long strings are not indexed
+    BinaryStatistics binaryStatistics = new BinaryStatistics();
+    binaryStatistics.setMinMax(
+        Binary.fromString("a"),
+        Binary.fromString(String.join("", Collections.nCopies(65, "z"))));
+    assertFalse(
+        ParquetRowGroupIndex.toColumnRange(
+                new String[] {"name"},
+                PrimitiveTypeName.BINARY,
+                LogicalTypeAnnotation.stringType(),
+                binaryStatistics,
+                DateCorruptionStatus.META_SHOWS_NO_CORRUPTION)
+            .hasBinaryMin());
+  }
+
+  @Test
+  public void testMayMatch() {
+    Map<String, ColumnRange> ranges =
+        ImmutableMap.of(
+            "id",
+            ColumnRange.newBuilder()
+                .setColumn("id")
+                .setNullCount(0)
+                .setLongMin(10)
+                .setLongMax(20)
+                .build());
+
+    assertTrue(mayMatch(SqlStdOperatorTable.EQUALS, 15, ranges));
+    assertFalse(mayMatch(SqlStdOperatorTable.EQUALS, 21, ranges));
+    assertFalse(mayMatch(SqlStdOperatorTable.LESS_THAN, 10, ranges));
+    assertTrue(mayMatch(SqlStdOperatorTable.LESS_THAN_OR_EQUAL, 10, ranges));
+    assertFalse(mayMatch(SqlStdOperatorTable.GREATER_THAN, 20, ranges));
+    assertTrue(mayMatch(SqlStdOperatorTable.GREATER_THAN_OR_EQUAL, 20, ranges));
+    assertTrue(mayMatch(SqlStdOperatorTable.NOT_EQUALS, 15, ranges));
+    // columns without bounds are not pruned
+    assertTrue(mayMatch(SqlStdOperatorTable.EQUALS, 21, ImmutableMap.of()));
+  }
+
+  @Test
+  public void testAllNulls() {
+    Map<String, ColumnRange> ranges =
+        ImmutableMap.of("id", ColumnRange.newBuilder().setColumn("id").setNullCount(100).build());
+
+    assertFalse(mayMatch(SqlStdOperatorTable.NOT_EQUALS, 15, ranges));
+  }
+
+  private static boolean mayMatch(
+      SqlOperator operator, int value, Map<String, ColumnRange> ranges) {
+    RexCall call =
+        (RexCall)
+            REX_BUILDER.makeCall(
+                operator,
+                REX_BUILDER.makeInputRef(ROW_TYPE, 0),
+                REX_BUILDER.makeExactLiteral(BigDecimal.valueOf(value)));
+    return ParquetRowGroupIndex.mayMatch(
+        ImmutableList.of(new FilterProperties(call, ROW_TYPE)), ranges, 100);
+  }
+}
@@ -0,0 +1,77 @@
+/*
+ * Copyright (C) 2017-2019 Dremio Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.dremio.exec.store.parquet;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+import com.dremio.exec.planner.types.SqlTypeFactoryImpl;
+import com.dremio.exec.store.parquet.ParquetFilterCondition.FilterProperties;
+import com.google.common.collect.ImmutableList;
+import java.math.BigDecimal;
+import java.util.BitSet;
+import java.util.List;
+import org.apache.calcite.rel.type.RelDataType;
+import org.apache.calcite.rel.type.RelDataTypeFactory;
+import org.apache.calcite.rex.RexBuilder;
+import org.apache.calcite.rex.RexCall;
+import org.apache.calcite.sql.fun.SqlStdOperatorTable;
+import org.apache.calcite.sql.type.SqlTypeName;
+import org.junit.jupiter.api.Test;
+
+public class TestParquetRowGroupPruneRule {
+  private static final RelDataTypeFactory TYPE_FACTORY = SqlTypeFactoryImpl.INSTANCE;
+  private static final RexBuilder REX_BUILDER = new RexBuilder(TYPE_FACTORY);
+  private static final RelDataType ROW_TYPE =
+      TYPE_FACTORY.builder().add("id", SqlTypeName.INTEGER).nullable(true).build();
+
+  @Test
+  public void testPrunedSplitKeysOfCollidingSets() {
+    BitSet first = new BitSet();
+    first.set(0);
+    BitSet second = new BitSet();
+    second.set(32);
+    // the hashes of the sets collide, their keys don't
+    assertEquals(first.hashCode(), second.hashCode());
+    assertNotEquals(
+        ParquetRowGroupPruneRule.prunedSplitKey("file", first),
+        ParquetRowGroupPruneRule.prunedSplitKey("file", second));
+
+    BitSet both = new BitSet();
+    both.set(1);
+    both.set(3);
+    assertEquals("file-rg1,3", ParquetRowGroupPruneRule.prunedSplitKey("file", both));
+  }
+
+  @Test
+  public void testUnaryConditionsAreSkipped() {
+    RexCall isNotNull =
+        (RexCall)
+            REX_BUILDER.makeCall(
+                SqlStdOperatorTable.IS_NOT_NULL, REX_BUILDER.makeInputRef(ROW_TYPE, 0));
+    RexCall equals =
+        (RexCall)
+            REX_BUILDER.makeCall(
+                SqlStdOperatorTable.EQUALS,
+                REX_BUILDER.makeInputRef(ROW_TYPE, 0),
+                REX_BUILDER.makeExactLiteral(BigDecimal.TEN));
+
+    List<FilterProperties> filters =
+        ParquetRowGroupPruneRule.toFilterProperties(ImmutableList.of(isNotNull, equals), ROW_TYPE);
+    assertEquals(1, filters.size());
+    assertEquals("id", filters.get(0).getField());
+  }
+}
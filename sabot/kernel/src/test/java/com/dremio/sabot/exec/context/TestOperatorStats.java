@@ -15,8 +15,11 @@
  */
 package com.dremio.sabot.exec.context;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
 
+import com.dremio.exec.proto.UserBitShared.OperatorProfile;
+import org.junit.Assume;
 import org.junit.Test;
 
 public class TestOperatorStats {
@@ -68,4 +71,25 @@ public class TestOperatorStats {
         "Expected total time (" + totalTime + ") to be <= elapsedTime (" + elapsedTime + ")",
         totalTime <= elapsedTime);
   }
+
+  @Test
+  public void testCpuTimeInProcessing() throws Exception {
+    Assume.assumeTrue(ThreadCpuTimeMXBeanWrapper.isFeatureSupported());
+    OpProfileDef profileDef =
+        new OpProfileDef(0 /*operatorId*/, 0 /*operatorType*/, 0 /*inputCount*/);
+    OperatorStats stats = new OperatorStats(profileDef, null /*allocator*/);
+
+    stats.startProcessing();
+    long startCpuTime = ThreadCpuTimeMXBeanWrapper.getCurrentThreadCpuTime();
+    while (ThreadCpuTimeMXBeanWrapper.getCurrentThreadCpuTime() - startCpuTime < 1_000_000) {
+      // spin until the thread used some CPU time
+    }
+    stats.stopProcessing();
+    long cpuNanos = stats.getCpuNanos();
+    assertTrue("Expected CPU time of at least 1 ms, but got " + cpuNanos, cpuNanos >= 1_000_000);
+
+    OperatorProfile profile = stats.getProfile();
+    assertEquals(cpuNanos, profile.getCpuNanos());
+    assertEquals(stats.getHeapAllocatedBytes(), profile.getHeapAllocatedBytes());
+  }
 }
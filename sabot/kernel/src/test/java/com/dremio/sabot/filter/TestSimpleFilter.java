@@ -23,6 +23,7 @@ import com.dremio.common.expression.LogicalExpression;
 import com.dremio.exec.ExecConstants;
 import com.dremio.exec.physical.config.Filter;
 import com.dremio.exec.proto.UserBitShared.ExpressionSplitInfo;
+import com.dremio.exec.proto.UserBitShared.FilterPredicateInfo;
 import com.dremio.exec.record.VectorAccessible;
 import com.dremio.exec.util.BatchPrinter;
 import com.dremio.sabot.BaseTestOperator;
@@ -30,6 +31,7 @@ import com.dremio.sabot.Fixtures.Table;
 import com.dremio.sabot.Generator;
 import com.dremio.sabot.exec.context.OperatorStats;
 import com.dremio.sabot.op.filter.FilterOperator;
+import com.dremio.sabot.op.filter.FilterStats;
 import io.airlift.tpch.GenerationDefinition.TpchTable;
 import io.airlift.tpch.TpchGenerator;
 import java.util.List;
@@ -157,4 +159,107 @@ public class TestSimpleFilter extends BaseTestOperator {
     Assert.assertTrue(
         splitInfoList.get(0).getNamedExpression().length() <= namedExpressionLengthThreshold);
   }
+
+  @Test
+  public void adaptiveConjuncts() throws Exception {
+    try (AutoCloseable enabled = with(ExecConstants.ADAPTIVE_FILTER_CONJUNCTS_ENABLED, true);
+        AutoCloseable java = with(ExecConstants.QUERY_EXEC_OPTION, "Java");
+        AutoCloseable interval =
+            with(ExecConstants.ADAPTIVE_FILTER_CONJUNCTS_REORDER_INTERVAL, 1)) {
+      Filter f = new Filter(PROPS, null, toExpr("c0 < 10 and c1 > 5 and c0 > 1"), 1f);
+      Table input =
+          t(
+              th("c0", "c1"),
+              tr(35, 45),
+              tr(8, 6),
+              tr(2, 3),
+              tr(22, 23),
+              tr(9, 9),
+              tr(1, 7),
+              tr(4, 40),
+              tr(12, 2));
+
+      Table output = t(th("c0", "c1"), tr(8, 6), tr(9, 9), tr(4, 40));
+
+      OperatorStats stats =
+          validateSingle(f, FilterOperator.class, input.toGenerator(getTestAllocator()), output, 2);
+      Assert.assertEquals(3, stats.getLongStat(FilterStats.Metric.ADAPTIVE_CONJUNCTS));
+      List<FilterPredicateInfo> predicateInfos =
+          stats.getProfile(true).getDetails().getFilterPredicateInfosList();
+      Assert.assertEquals(3, predicateInfos.size());
+      for (FilterPredicateInfo info : predicateInfos) {
+        Assert.assertTrue(info.getOutputRecords() <= info.getInputRecords());
+      }
+    }
+  }
+
+  @Test
+  public void adaptiveConjunctsKeepGuards() throws Exception {
+    try (AutoCloseable enabled = with(ExecConstants.ADAPTIVE_FILTER_CONJUNCTS_ENABLED, true);
+        AutoCloseable java = with(ExecConstants.QUERY_EXEC_OPTION, "Java");
+        AutoCloseable interval =
+            with(ExecConstants.ADAPTIVE_FILTER_CONJUNCTS_REORDER_INTERVAL, 1)) {
+      // the division filters out more records than its guard, but is never evaluated before it
+      Filter f = new Filter(PROPS, null, toExpr("c0 <> 0 and 10 / c0 > 1"), 1f);
+      Table input =
+          t(
+              th("c0"),
+              tr(100),
+              tr(100),
+              tr(2),
+              tr(100),
+              tr(100),
+              tr(100),
+              tr(0),
+              tr(100),
+              tr(5),
+              tr(0));
+
+      Table output = t(th("c0"), tr(2), tr(5));
+
+      validateSingle(f, FilterOperator.class, input.toGenerator(getTestAllocator()), output, 2);
+    }
+  }
+
+  @Test
+  public void batchInvariantFilter() throws Exception {
+    try (AutoCloseable enabled = with(ExecConstants.BATCH_INVARIANT_EXPRESSIONS_ENABLED, true)) {
+      Filter f = new Filter(PROPS, null, toExpr("c0 < 10"), 1f);
+      Table input =
+          t(
+              th("c0", "c1"),
+              tr(3, 1),
+              tr(3, 2),
+              tr(12, 3),
+              tr(12, 4),
+              tr(5, 5),
+              tr(15, 6),
+              tr(8, 7),
+              tr(8, 8));
+
+      Table output = t(th("c0", "c1"), tr(3, 1), tr(3, 2), tr(5, 5), tr(8, 7), tr(8, 8));
+
+      // the third batch has several values of c0, and is evaluated for every record
+      OperatorStats stats =
+          validateSingle(f, FilterOperator.class, input.toGenerator(getTestAllocator()), output, 2);
+      Assert.assertEquals(3, stats.getLongStat(FilterStats.Metric.BATCH_INVARIANT_BATCHES));
+    }
+  }
+
+  @Test
+  public void interpretedFilter() throws Exception {
+    try (AutoCloseable enabled = with(ExecConstants.EXPRESSION_INTERPRETER_ENABLED, true);
+        AutoCloseable maxRecords = with(ExecConstants.EXPRESSION_INTERPRETER_MAX_RECORDS, 2)) {
+      Filter f = new Filter(PROPS, null, toExpr("c0 < 10 and c1 > 5"), 1f);
+      Table input =
+          t(th("c0", "c1"), tr(35, 45), tr(8, 6), tr(2, 3), tr(9, 9), tr(1, 7), tr(12, 2));
+
+      Table output = t(th("c0", "c1"), tr(8, 6), tr(9, 9), tr(1, 7));
+
+      // the first batch is interpreted, the next ones exceed the maximum and use generated code
+      OperatorStats stats =
+          validateSingle(f, FilterOperator.class, input.toGenerator(getTestAllocator()), output, 2);
+      Assert.assertEquals(1, stats.getLongStat(FilterStats.Metric.INTERPRETED_BATCHES));
+    }
+  }
 }
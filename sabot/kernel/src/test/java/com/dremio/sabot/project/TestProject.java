@@ -15,16 +15,20 @@
  */
 package com.dremio.sabot.project;
 
+import static com.dremio.sabot.Fixtures.NULL_INT;
+import static com.dremio.sabot.Fixtures.NULL_VARCHAR;
 import static com.dremio.sabot.Fixtures.t;
 import static com.dremio.sabot.Fixtures.th;
 import static com.dremio.sabot.Fixtures.tr;
 
+import com.dremio.exec.ExecConstants;
 import com.dremio.exec.physical.config.Project;
 import com.dremio.exec.proto.UserBitShared;
 import com.dremio.sabot.BaseTestOperator;
 import com.dremio.sabot.Fixtures.Table;
 import com.dremio.sabot.exec.context.OperatorStats;
 import com.dremio.sabot.op.project.ProjectOperator;
+import com.dremio.sabot.op.project.ProjectorStats.Metric;
 import com.google.common.collect.ImmutableList;
 import io.airlift.tpch.GenerationDefinition.TpchTable;
 import io.airlift.tpch.TpchGenerator;
@@ -79,6 +83,112 @@ public class TestProject extends BaseTestOperator {
     validateSingle(conf, ProjectOperator.class, TpchTable.REGION, 0.1, expected);
   }
 
+  @Test
+  public void commonSubExpressions() throws Exception {
+    Project conf =
+        new Project(
+            PROPS,
+            null,
+            Arrays.asList(
+                n("(r_regionkey + r_regionkey) * 2", "a"),
+                n("(r_regionkey + r_regionkey) + 1", "b"),
+                n("r_regionkey", "c")));
+    final Table expected =
+        t(
+            th("a", "b", "c"),
+            tr(0L, 1L, 0L),
+            tr(4L, 3L, 1L),
+            tr(8L, 5L, 2L),
+            tr(12L, 7L, 3L),
+            tr(16L, 9L, 4L));
+
+    try (AutoCloseable enabled = with(ExecConstants.COMMON_SUBEXPRESSIONS_ENABLED, true)) {
+      try (AutoCloseable minWork = with(ExecConstants.COMMON_SUBEXPRESSIONS_MIN_WORK, 1)) {
+        OperatorStats stats =
+            validateSingle(
+                conf,
+                ProjectOperator.class,
+                TpchGenerator.singleGenerator(TpchTable.REGION, 0.1, getTestAllocator()),
+                expected,
+                4095);
+        Assert.assertEquals(1, stats.getLongStat(Metric.COMMON_SUBEXPRESSIONS));
+        Assert.assertEquals(1, stats.getLongStat(Metric.COMMON_SUBEXPRESSION_SAVED_EVALUATIONS));
+      }
+
+      // a single addition is cheaper than an intermediate vector, and is not shared by default
+      OperatorStats stats =
+          validateSingle(
+              conf,
+              ProjectOperator.class,
+              TpchGenerator.singleGenerator(TpchTable.REGION, 0.1, getTestAllocator()),
+              expected,
+              4095);
+      Assert.assertEquals(0, stats.getLongStat(Metric.COMMON_SUBEXPRESSIONS));
+    }
+  }
+
+  @Test
+  public void batchInvariantProject() throws Exception {
+    try (AutoCloseable enabled = with(ExecConstants.BATCH_INVARIANT_EXPRESSIONS_ENABLED, true)) {
+      Project conf =
+          new Project(
+              PROPS, null, Arrays.asList(n("a + 1", "c"), n("upper(b)", "d"), n("a", "e")));
+      final Table input =
+          t(
+              th("a", "b"),
+              tr(1, "x"),
+              tr(1, "x"),
+              tr(1, "x"),
+              tr(NULL_INT, NULL_VARCHAR),
+              tr(NULL_INT, NULL_VARCHAR),
+              tr(NULL_INT, NULL_VARCHAR),
+              tr(2, "yy"),
+              tr(2, "yy"),
+              tr(3, "yy"));
+      final Table expected =
+          t(
+              th("c", "d", "e"),
+              tr(2, "X", 1),
+              tr(2, "X", 1),
+              tr(2, "X", 1),
+              tr(NULL_INT, NULL_VARCHAR, NULL_INT),
+              tr(NULL_INT, NULL_VARCHAR, NULL_INT),
+              tr(NULL_INT, NULL_VARCHAR, NULL_INT),
+              tr(3, "YY", 2),
+              tr(3, "YY", 2),
+              tr(4, "YY", 3));
+
+      // the last batch has several values of a, and is evaluated for every record
+      OperatorStats stats =
+          validateSingle(
+              conf, ProjectOperator.class, input.toGenerator(getTestAllocator()), expected, 3);
+      Assert.assertEquals(2, stats.getLongStat(Metric.BATCH_INVARIANT_EXPRESSIONS));
+      Assert.assertEquals(2, stats.getLongStat(Metric.BATCH_INVARIANT_BATCHES));
+    }
+  }
+
+  @Test
+  public void interpretedProject() throws Exception {
+    try (AutoCloseable enabled = with(ExecConstants.EXPRESSION_INTERPRETER_ENABLED, true)) {
+      Project conf =
+          new Project(
+              PROPS,
+              null,
+              Arrays.asList(n("r_regionkey * 2 + 1", "a"), n("r_regionkey", "b")));
+      final Table expected =
+          t(th("a", "b"), tr(1L, 0L), tr(3L, 1L), tr(5L, 2L), tr(7L, 3L), tr(9L, 4L));
+
+      OperatorStats stats =
+          validateSingle(
+              conf,
+              ProjectOperator.class,
+              TpchGenerator.singleGenerator(TpchTable.REGION, 0.1, getTestAllocator()),
+              expected,
+              4095);
+      Assert.assertEquals(1, stats.getLongStat(Metric.INTERPRETED_BATCHES));
+    }
+  }
+
   @Test
   public void optimisationInProject() throws Exception {
     StringBuilder sb = new StringBuilder();
@@ -23,6 +23,7 @@ import com.dremio.exec.catalog.Catalog;
 import com.dremio.exec.catalog.CatalogUtil;
 import com.dremio.exec.catalog.DremioTable;
 import com.dremio.exec.planner.acceleration.descriptor.ExpandedMaterializationDescriptor;
+import com.dremio.exec.planner.acceleration.descriptor.MaterializationCandidateIndex;
 import com.dremio.exec.planner.acceleration.descriptor.MaterializationDescriptor;
 import com.dremio.exec.planner.logical.ViewTable;
 import com.dremio.exec.record.BatchSchema;
@@ -98,6 +99,8 @@ public class MaterializationDescriptorProviderImpl implements MaterializationDes
   private final MaterializationStore materializationStore;
   private final ReflectionGoalsStore userStore;
   private final ReflectionStatusService reflectionStatusService;
+  // index of the last descriptors returned by get(), rebuilt when the materialization cache changes
+  private volatile MaterializationCandidateIndex candidateIndex;
 
   public MaterializationDescriptorProviderImpl(
       MaterializationCache materializationCache,
@@ -200,6 +203,17 @@ public class MaterializationDescriptorProviderImpl implements MaterializationDes
         .toList();
   }
 
+  @Override
+  public MaterializationCandidateIndex getCandidateIndex() {
+    final List<MaterializationDescriptor> descriptors = get();
+    MaterializationCandidateIndex index = candidateIndex;
+    if (index == null || !index.isIndexOf(descriptors)) {
+      index = new MaterializationCandidateIndex(descriptors);
+      candidateIndex = index;
+    }
+    return index;
+  }
+
   /**
    * Checks if default raw reflection has been enabled/disabled on the VDS. Uses the same caching
    * catalog from planning so table metadata should already be in cache.
@@ -56,6 +56,7 @@ import javax.annotation.Nonnull;
 import org.rocksdb.ColumnFamilyDescriptor;
 import org.rocksdb.ColumnFamilyHandle;
 import org.rocksdb.DBOptions;
+import org.rocksdb.HistogramType;
 import org.rocksdb.Logger;
 import org.rocksdb.Options;
 import org.rocksdb.RocksDB;
@@ -79,6 +80,9 @@ class ByteStoreManager implements AutoCloseable {
   private static final String DEFAULT = "default";
   private static final int STRIPE_COUNT = 16;
   private static final long ROCKSDB_OPEN_SLEEP_MILLIS = 100L;
+  private static final HistogramType[] LATENCY_HISTOGRAMS = {
+    HistogramType.DB_GET, HistogramType.DB_MULTIGET, HistogramType.DB_WRITE, HistogramType.DB_SEEK
+  };
   // TODO: (DX-16211) this is a temporary hack for a blob whitelist
   static final String BLOB_WHITELIST_STORE = "dac-namespace";
   private static final Set<String> BLOB_WHITELIST =
@@ -92,6 +96,7 @@ class ByteStoreManager implements AutoCloseable {
   private final String baseDirectory;
 
   private RocksDB db;
+  private RocksDBTuning tuning;
   private ColumnFamilyHandle defaultHandle;
   private StoreMetadataManagerImpl metadataManager;
 
@@ -155,7 +160,7 @@ class ByteStoreManager implements AutoCloseable {
       return new MapStore(name);
     } else {
       final ColumnFamilyDescriptor columnFamilyDescriptor =
-          new ColumnFamilyDescriptor(name.getBytes(UTF_8));
+          new ColumnFamilyDescriptor(name.getBytes(UTF_8), tuning.newColumnFamilyOptions(name));
       ColumnFamilyHandle handle = db.createColumnFamily(columnFamilyDescriptor);
       handleIdToNameMap.put(handle.getID(), name);
       metadataManager.createEntry(name, false);
@@ -252,11 +257,20 @@ class ByteStoreManager implements AutoCloseable {
     if (families.isEmpty()) {
       families.add(RocksDB.DEFAULT_COLUMN_FAMILY);
     }
-    final Function<byte[], ColumnFamilyDescriptor> func = ColumnFamilyDescriptor::new;
+    tuning = new RocksDBTuning();
+    final Function<byte[], ColumnFamilyDescriptor> func =
+        family ->
+            Arrays.equals(family, RocksDB.DEFAULT_COLUMN_FAMILY)
+                ? new ColumnFamilyDescriptor(family)
+                : new ColumnFamilyDescriptor(
+                    family, tuning.newColumnFamilyOptions(new String(family, UTF_8)));
+    final List<ColumnFamilyDescriptor> descriptors =
+        new ArrayList<>(Lists.transform(families, func));
 
     List<ColumnFamilyHandle> familyHandles = new ArrayList<>();
     try (final DBOptions dboptions = new DBOptions()) {
       dboptions.setCreateIfMissing(true);
+      tuning.configure(dboptions);
 
       // From docs, ... if WAL_ttl_seconds is not 0 and WAL_size_limit_MB is 0, then
       // WAL files will be checked every WAL_ttl_seconds / 2 and those that
@@ -268,7 +282,7 @@ class ByteStoreManager implements AutoCloseable {
           dboptions.walSizeLimitMB(),
           dboptions.walTtlSeconds());
       registerMetrics(dboptions);
-      db = openDB(dboptions, path, new ArrayList<>(Lists.transform(families, func)), familyHandles);
+      db = openDB(dboptions, path, descriptors, familyHandles);
     }
     // create an output list to be populated when we open the db.
 
@@ -281,7 +295,7 @@ class ByteStoreManager implements AutoCloseable {
         String name = new String(family, UTF_8);
         final ColumnFamilyHandle handle = familyHandles.get(i);
         handleIdToNameMap.put(handle.getID(), name);
-        RocksDBStore store = newRocksDBStore(name, new ColumnFamilyDescriptor(family), handle);
+        RocksDBStore store = newRocksDBStore(name, descriptors.get(i), handle);
         maps.put(name, store);
       }
     }
@@ -315,8 +329,14 @@ class ByteStoreManager implements AutoCloseable {
           () -> statistics.getTickerCount(tickerType));
     }
 
-    // Note that Statistics also contains various histogram metrics, but those cannot be easily
-    // tracked through our metrics
+    // Statistics also contains various histogram metrics, which cannot be tracked as such through
+    // our metrics, so only expose the median and 99th percentile of the main operations' latency
+    for (HistogramType histogramType : LATENCY_HISTOGRAMS) {
+      final String prefix = "kvstore_db." + histogramType.name().toLowerCase();
+      newGauge(prefix + ".median", () -> statistics.getHistogramData(histogramType).getMedian());
+      newGauge(
+          prefix + ".p99", () -> statistics.getHistogramData(histogramType).getPercentile99());
+    }
   }
 
   public RocksDB openDB(
@@ -512,6 +532,8 @@ class ByteStoreManager implements AutoCloseable {
     getMetadataManager().close();
     closeException.suppressingClose(defaultHandle);
     closeException.suppressingClose(db);
+    // column family options, caches and filters must outlive the db
+    closeException.suppressingClose(tuning);
     closeException.close();
   }
 
@@ -25,6 +25,7 @@ import com.google.common.base.Strings;
 import com.google.common.collect.Iterables;
 import com.google.common.collect.Lists;
 import java.util.ConcurrentModificationException;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
@@ -98,6 +99,22 @@ public class CoreKVStoreImpl<KEY, VALUE> implements CoreKVStore<KEY, VALUE> {
     return fromDocument(result);
   }
 
+  @Override
+  public Iterable<Document<KVStoreTuple<KEY>, KVStoreTuple<VALUE>>> bulkPut(
+      Map<KVStoreTuple<KEY>, KVStoreTuple<VALUE>> entries, PutOption... options) {
+    if (VersionOption.getTagInfo(options).hasVersionOption()) {
+      // each put needs its own validation.
+      return CoreKVStore.super.bulkPut(entries, options);
+    }
+
+    final Map<byte[], byte[]> convertedEntries = new LinkedHashMap<>();
+    for (Map.Entry<KVStoreTuple<KEY>, KVStoreTuple<VALUE>> entry : entries.entrySet()) {
+      convertedEntries.put(
+          entry.getKey().getSerializedBytes(), entry.getValue().getSerializedBytes());
+    }
+    return Iterables.transform(rawStore.bulkPut(convertedEntries, options), this::fromDocument);
+  }
+
   @Override
   public boolean contains(KVStoreTuple<KEY> key, ContainsOption... options) {
     return rawStore.contains(key.getSerializedBytes(), options);
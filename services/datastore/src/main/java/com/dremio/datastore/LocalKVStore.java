@@ -23,6 +23,7 @@ import com.dremio.datastore.api.KVFormatter;
 import com.dremio.datastore.api.KVStore;
 import com.google.common.base.Objects;
 import com.google.common.collect.Iterables;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
@@ -80,6 +81,16 @@ public class LocalKVStore<K, V> implements KVStore<K, V> {
     return fromDocument(coreKVStore.put(buildKey(key), buildValue(value), options));
   }
 
+  @Override
+  public Iterable<Document<K, V>> bulkPut(Map<K, V> entries, PutOption... options) {
+    final Map<KVStoreTuple<K>, KVStoreTuple<V>> convertedEntries = new LinkedHashMap<>();
+    for (Map.Entry<K, V> entry : entries.entrySet()) {
+      convertedEntries.put(buildKey(entry.getKey()), buildValue(entry.getValue()));
+    }
+    return Iterables.transform(
+        coreKVStore.bulkPut(convertedEntries, options), this::fromDocument);
+  }
+
   @Override
   public boolean contains(K key, ContainsOption... options) {
     return coreKVStore.contains(buildKey(key), options);
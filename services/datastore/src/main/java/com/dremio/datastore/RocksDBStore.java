@@ -47,6 +47,8 @@ import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
@@ -67,6 +69,8 @@ import org.rocksdb.FlushOptions;
 import org.rocksdb.RocksDB;
 import org.rocksdb.RocksDBException;
 import org.rocksdb.RocksIterator;
+import org.rocksdb.WriteBatch;
+import org.rocksdb.WriteOptions;
 import org.xerial.snappy.SnappyInputStream;
 import org.xerial.snappy.SnappyOutputStream;
 
@@ -173,7 +177,11 @@ class RocksDBStore implements ByteStore {
     // current actual delayed write rate. 0 means no delay
     "rocksdb.actual-delayed-write-rate",
     // 1 if write has been stopped
-    "rocksdb.is-write-stopped"
+    "rocksdb.is-write-stopped",
+    // memory size of the entries residing in the block cache (shared across stores if configured)
+    "rocksdb.block-cache-usage",
+    // memory size of the entries pinned in the block cache
+    "rocksdb.block-cache-pinned-usage"
   };
 
   private ColumnFamilyHandle handle;
@@ -349,22 +357,50 @@ class RocksDBStore implements ByteStore {
     }
   }
 
-  private AutoCloseableLock sharedLock(byte[] key) {
+  private int stripe(byte[] key) {
     Preconditions.checkNotNull(key);
     final int hash = Arrays.hashCode(key);
-    AutoCloseableLock lock = sharedLocks[Math.abs(hash % parallel)];
+    return Math.abs(hash % parallel);
+  }
+
+  private AutoCloseableLock sharedLock(byte[] key) {
+    AutoCloseableLock lock = sharedLocks[stripe(key)];
     lock.open();
     return lock;
   }
 
   private AutoCloseableLock exclusiveLock(byte[] key) {
-    Preconditions.checkNotNull(key);
-    final int hash = Arrays.hashCode(key);
-    AutoCloseableLock lock = exclusiveLocks[Math.abs(hash % parallel)];
+    AutoCloseableLock lock = exclusiveLocks[stripe(key)];
     lock.open();
     return lock;
   }
 
+  /**
+   * Opens the shared locks of all the stripes covering the given keys. Locks are always acquired in
+   * stripe order and must be released with {@link #closeLocks(List)}.
+   */
+  private List<AutoCloseableLock> sharedLocksFor(List<byte[]> keys) {
+    final BitSet stripes = new BitSet(parallel);
+    for (byte[] key : keys) {
+      stripes.set(stripe(key));
+    }
+    final List<AutoCloseableLock> locks = new ArrayList<>(stripes.cardinality());
+    for (int i = stripes.nextSetBit(0); i >= 0; i = stripes.nextSetBit(i + 1)) {
+      locks.add(sharedLocks[i].open());
+    }
+    return locks;
+  }
+
+  private static void closeLocks(List<AutoCloseableLock> locks) {
+    for (int i = locks.size() - 1; i >= 0; i--) {
+      locks.get(i).close();
+    }
+  }
+
+  private List<byte[]> multiGet(List<byte[]> keys) throws RocksDBException {
+    return db.multiGetAsList(Collections.nCopies(keys.size(), handle), keys);
+  }
+
   /**
    * Delete all values. Deletes only values inside the store, leaving behind any leftover blobs that
    * have been placed directly in the file system.
@@ -538,10 +574,82 @@ class RocksDBStore implements ByteStore {
 
   @Override
   public Iterable<Document<byte[], byte[]>> get(List<byte[]> keys, GetOption... options) {
-    final List<Document<byte[], byte[]>> results = new ArrayList<>();
-    for (byte[] key : keys) {
-      results.add(get(key, options));
+    if (keys.isEmpty()) {
+      return Collections.emptyList();
+    }
+
+    final List<AutoCloseableLock> locks = sharedLocksFor(keys);
+    try {
+      throwIfClosed();
+      final List<byte[]> values = multiGet(keys);
+      final List<Document<byte[], byte[]>> results = new ArrayList<>(keys.size());
+      for (int i = 0; i < keys.size(); i++) {
+        final RocksEntry result = resolvePtrOrValue(values.get(i));
+        if (result == null) {
+          results.add(null);
+          continue;
+        }
+        final byte[] value = result.getData();
+        results.add(toDocument(keys.get(i), value, toTag(result.getMeta(), value)));
+      }
+      return results;
+    } catch (RocksDBException | BlobNotFoundException e) {
+      throw new RuntimeException(e);
+    } finally {
+      closeLocks(locks);
+    }
+  }
+
+  @Override
+  public Iterable<Document<byte[], byte[]>> bulkPut(
+      Map<byte[], byte[]> entries, PutOption... options) {
+    if (VersionOption.getTagInfo(options).hasVersionOption()) {
+      // each put needs its own validation.
+      return ByteStore.super.bulkPut(entries, options);
+    }
+    if (entries.isEmpty()) {
+      return Collections.emptyList();
+    }
+
+    final List<byte[]> keys = new ArrayList<>(entries.size());
+    final List<byte[]> newValues = new ArrayList<>(entries.size());
+    for (Map.Entry<byte[], byte[]> entry : entries.entrySet()) {
+      if (entry.getValue() == null) {
+        throw new NullPointerException("null values are not allowed in kvstore");
+      }
+      keys.add(entry.getKey());
+      newValues.add(entry.getValue());
     }
+
+    final List<Document<byte[], byte[]>> results = new ArrayList<>(keys.size());
+    final List<BlobHolder> blobs = new ArrayList<>(keys.size());
+    final List<AutoCloseableLock> locks = sharedLocksFor(keys);
+    try (WriteBatch batch = new WriteBatch();
+        WriteOptions writeOptions = new WriteOptions()) {
+      throwIfClosed();
+
+      final List<byte[]> oldValuesOrPtrs = multiGet(keys);
+      for (int i = 0; i < keys.size(); i++) {
+        final byte[] newValue = newValues.get(i);
+        final String newTag = ByteStore.generateTagFromBytes(newValue);
+        final BlobHolder blob = metaManager.filterPut(newValue, newTag);
+        blobs.add(blob);
+        batch.put(handle, keys.get(i), blob.ptrOrValue());
+        results.add(toDocument(keys.get(i), newValue, newTag));
+      }
+
+      db.write(writeOptions, batch);
+      for (byte[] oldValueOrPtr : oldValuesOrPtrs) {
+        metaManager.deleteTranslation(meta(oldValueOrPtr));
+      }
+      blobs.forEach(BlobHolder::commit);
+    } catch (RocksDBException | IOException e) {
+      throw new RuntimeException(e);
+    } finally {
+      blobs.forEach(BlobHolder::close);
+      closeLocks(locks);
+    }
+
     return results;
   }
 
@@ -666,8 +774,38 @@ class RocksDBStore implements ByteStore {
 
   @Override
   public void bulkDelete(List<byte[]> keysToDelete, DeleteOption... deleteOptions) {
-    for (byte[] key : keysToDelete) {
-      delete(key, deleteOptions);
+    if (keysToDelete.isEmpty()) {
+      return;
+    }
+
+    final List<AutoCloseableLock> locks = sharedLocksFor(keysToDelete);
+    try (WriteBatch batch = new WriteBatch();
+        WriteOptions writeOptions = new WriteOptions()) {
+      throwIfClosed();
+      final boolean skipMeta = KVStoreOptionUtility.canSkipMeta(deleteOptions);
+
+      final List<byte[]> oldValuesOrPtrs = skipMeta ? null : multiGet(keysToDelete);
+      for (int i = 0; i < keysToDelete.size(); i++) {
+        if (oldValuesOrPtrs == null || oldValuesOrPtrs.get(i) != null) {
+          batch.delete(handle, keysToDelete.get(i));
+        }
+      }
+      if (batch.count() == 0) {
+        return;
+      }
+
+      db.write(writeOptions, batch);
+      if (oldValuesOrPtrs != null) {
+        for (byte[] oldValueOrPtr : oldValuesOrPtrs) {
+          if (oldValueOrPtr != null) {
+            metaManager.deleteTranslation(meta(oldValueOrPtr));
+          }
+        }
+      }
+    } catch (RocksDBException e) {
+      throw new RuntimeException(e);
+    } finally {
+      closeLocks(locks);
     }
   }
 
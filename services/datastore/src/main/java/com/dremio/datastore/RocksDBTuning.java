@@ -0,0 +1,241 @@
+/*
+ * Copyright (C) 2017-2019 Dremio Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.dremio.datastore;
+
+import com.dremio.common.AutoCloseables;
+import com.google.common.annotations.VisibleForTesting;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import org.rocksdb.BlockBasedTableConfig;
+import org.rocksdb.BloomFilter;
+import org.rocksdb.Cache;
+import org.rocksdb.ColumnFamilyOptions;
+import org.rocksdb.CompactionStyle;
+import org.rocksdb.DBOptions;
+import org.rocksdb.IndexType;
+import org.rocksdb.LRUCache;
+import org.rocksdb.WriteBufferManager;
+
+/**
+ * Tuning of the RocksDB database backing the kvstore.
+ *
+ * <p>Each store (column family) is assigned a {@link StoreProfile}, either through the {@code
+ * dremio.kvstore.rocksdb.profile.<store>} system property or from the built-in defaults for the
+ * largest stores. Optionally, all column families share a single LRU block cache ({@code
+ * dremio.kvstore.rocksdb.block_cache_size_mb}), and their memtables are capped as a whole by a
+ * write buffer manager charged against that cache ({@code
+ * dremio.kvstore.rocksdb.write_buffer_manager_mb}). Compaction style and write buffer size can be
+ * overridden per store ({@code dremio.kvstore.rocksdb.compaction_style.<store>}, {@code
+ * dremio.kvstore.rocksdb.write_buffer_size_mb.<store>}).
+ *
+ * <p>Options handed out by this class are owned by it and must stay open as long as the database
+ * is open, so it has to be closed after the database.
+ */
+final class RocksDBTuning implements AutoCloseable {
+  private static final org.slf4j.Logger logger =
+      org.slf4j.LoggerFactory.getLogger(RocksDBTuning.class);
+
+  static final String PROPERTY_PREFIX = "dremio.kvstore.rocksdb.";
+  static final String BLOCK_CACHE_SIZE_MB_PROPERTY = PROPERTY_PREFIX + "block_cache_size_mb";
+  static final String WRITE_BUFFER_MANAGER_MB_PROPERTY =
+      PROPERTY_PREFIX + "write_buffer_manager_mb";
+  static final String PROFILE_PROPERTY_PREFIX = PROPERTY_PREFIX + "profile.";
+  static final String COMPACTION_STYLE_PROPERTY_PREFIX = PROPERTY_PREFIX + "compaction_style.";
+  static final String WRITE_BUFFER_SIZE_MB_PROPERTY_PREFIX =
+      PROPERTY_PREFIX + "write_buffer_size_mb.";
+
+  private static final long MB = 1024L * 1024L;
+
+  /**
+   * Profiles of the stores that grow the largest. All kvstore keys are variable length (dataset
+   * paths, job ids, ...) and looked up by full key, so whole-key bloom filters are used rather than
+   * prefix filters, which would also break ordered range scans. They are only applied with a shared
+   * block cache: without one, the index and filter blocks would move into the small default block
+   * cache of each column family.
+   */
+  private static final Map<String, StoreProfile> DEFAULT_PROFILES =
+      Map.of(
+          "jobs", StoreProfile.LARGE,
+          "profiles", StoreProfile.LARGE,
+          ByteStoreManager.BLOB_WHITELIST_STORE, StoreProfile.LARGE);
+
+  /** Per store tuning profiles. */
+  enum StoreProfile {
+    /** RocksDB defaults. */
+    DEFAULT(0, false),
+    /** Bloom filter for point lookups, with index and filter blocks held in the block cache. */
+    POINT_LOOKUP(10, false),
+    /**
+     * Bloom filter and partitioned index/filter blocks, so that only the top level index stays
+     * pinned in memory for stores with tens of millions of keys.
+     */
+    LARGE(10, true);
+
+    private final double bloomBitsPerKey;
+    private final boolean partitionedIndexAndFilters;
+
+    StoreProfile(double bloomBitsPerKey, boolean partitionedIndexAndFilters) {
+      this.bloomBitsPerKey = bloomBitsPerKey;
+      this.partitionedIndexAndFilters = partitionedIndexAndFilters;
+    }
+  }
+
+  private final Cache sharedBlockCache;
+  private final WriteBufferManager writeBufferManager;
+  private final List<AutoCloseable> closeables = new ArrayList<>();
+
+  RocksDBTuning() {
+    this(
+        Long.getLong(BLOCK_CACHE_SIZE_MB_PROPERTY, 0L),
+        Long.getLong(WRITE_BUFFER_MANAGER_MB_PROPERTY, 0L));
+  }
+
+  @VisibleForTesting
+  RocksDBTuning(long blockCacheSizeMb, long writeBufferManagerMb) {
+    if (blockCacheSizeMb > 0) {
+      sharedBlockCache = new LRUCache(blockCacheSizeMb * MB);
+      closeables.add(sharedBlockCache);
+    } else {
+      sharedBlockCache = null;
+    }
+
+    if (writeBufferManagerMb > 0) {
+      if (sharedBlockCache == null) {
+        logger.warn(
+            "Property {} requires {} to be set, ignoring it.",
+            WRITE_BUFFER_MANAGER_MB_PROPERTY,
+            BLOCK_CACHE_SIZE_MB_PROPERTY);
+        writeBufferManager = null;
+      } else {
+        writeBufferManager = new WriteBufferManager(writeBufferManagerMb * MB, sharedBlockCache);
+        closeables.add(writeBufferManager);
+      }
+    } else {
+      writeBufferManager = null;
+    }
+  }
+
+  /** Applies database wide settings. */
+  void configure(DBOptions dbOptions) {
+    if (writeBufferManager != null) {
+      dbOptions.setWriteBufferManager(writeBufferManager);
+    }
+  }
+
+  /**
+   * Creates the column family options for a store.
+   *
+   * @param storeName store name
+   * @return options owned by this instance
+   */
+  ColumnFamilyOptions newColumnFamilyOptions(String storeName) {
+    final StoreProfile profile = getProfile(storeName, sharedBlockCache != null);
+    final ColumnFamilyOptions options = new ColumnFamilyOptions();
+    closeables.add(options);
+
+    final long writeBufferSizeMb =
+        Long.getLong(WRITE_BUFFER_SIZE_MB_PROPERTY_PREFIX + storeName, 0L);
+    if (writeBufferSizeMb > 0) {
+      options.setWriteBufferSize(writeBufferSizeMb * MB);
+    }
+    final CompactionStyle compactionStyle = getCompactionStyle(storeName);
+    if (compactionStyle != null) {
+      options.setCompactionStyle(compactionStyle);
+    }
+
+    if (profile == StoreProfile.DEFAULT && sharedBlockCache == null) {
+      return options;
+    }
+
+    final BlockBasedTableConfig tableConfig = new BlockBasedTableConfig();
+    if (sharedBlockCache != null) {
+      tableConfig.setBlockCache(sharedBlockCache);
+    }
+    if (profile.bloomBitsPerKey > 0) {
+      final BloomFilter filter = new BloomFilter(profile.bloomBitsPerKey);
+      closeables.add(filter);
+      tableConfig
+          .setFilterPolicy(filter)
+          .setCacheIndexAndFilterBlocks(true)
+          .setCacheIndexAndFilterBlocksWithHighPriority(true)
+          .setPinL0FilterAndIndexBlocksInCache(true);
+    }
+    if (profile.partitionedIndexAndFilters) {
+      tableConfig
+          .setIndexType(IndexType.kTwoLevelIndexSearch)
+          .setPartitionFilters(true)
+          .setPinTopLevelIndexAndFilter(true);
+    }
+    options.setTableFormatConfig(tableConfig);
+
+    logger.debug("Using profile {} for store '{}'", profile, storeName);
+    return options;
+  }
+
+  /**
+   * Gets the profile of a store.
+   *
+   * @param storeName store name
+   * @param hasSharedBlockCache whether all column families share a block cache, in which case the
+   *     default profiles of the largest stores apply
+   */
+  @VisibleForTesting
+  static StoreProfile getProfile(String storeName, boolean hasSharedBlockCache) {
+    final String configured = System.getProperty(PROFILE_PROPERTY_PREFIX + storeName);
+    if (configured != null) {
+      try {
+        return StoreProfile.valueOf(configured.trim().toUpperCase(Locale.ROOT));
+      } catch (IllegalArgumentException e) {
+        logger.warn(
+            "Unknown profile '{}' for store '{}', using the default profile.",
+            configured,
+            storeName);
+      }
+    }
+    return hasSharedBlockCache
+        ? DEFAULT_PROFILES.getOrDefault(storeName, StoreProfile.DEFAULT)
+        : StoreProfile.DEFAULT;
+  }
+
+  /**
+   * Gets the compaction style configured for a store.
+   *
+   * @return the compaction style, or null to keep the RocksDB default
+   */
+  @VisibleForTesting
+  static CompactionStyle getCompactionStyle(String storeName) {
+    final String configured = System.getProperty(COMPACTION_STYLE_PROPERTY_PREFIX + storeName);
+    if (configured != null) {
+      try {
+        return CompactionStyle.valueOf(configured.trim().toUpperCase(Locale.ROOT));
+      } catch (IllegalArgumentException e) {
+        logger.warn(
+            "Unknown compaction style '{}' for store '{}', using the default compaction style.",
+            configured,
+            storeName);
+      }
+    }
+    return null;
+  }
+
+  @Override
+  public void close() throws Exception {
+    AutoCloseables.close(closeables);
+    closeables.clear();
+  }
+}
@@ -56,7 +56,8 @@ public class TimedKVStore<K, V> implements KVStore<K, V> {
     findForAllTenants,
     reindex,
     bulkIncrement,
-    bulkDelete
+    bulkDelete,
+    bulkPut
   }
 
   private final KVStore<K, V> delegate;
@@ -114,6 +115,11 @@ public class TimedKVStore<K, V> implements KVStore<K, V> {
     return timedOperation(Ops.put, () -> delegate.put(key, value, options));
   }
 
+  @Override
+  public Iterable<Document<K, V>> bulkPut(Map<K, V> entries, PutOption... options) {
+    return timedOperation(Ops.bulkPut, () -> delegate.bulkPut(entries, options));
+  }
+
   @Override
   public void delete(K key, DeleteOption... options) {
     timedOperation(Ops.delete, () -> delegate.delete(key, options));
@@ -89,6 +89,11 @@ class TracingKVStore<K, V> implements KVStore<K, V> {
     return trace("put", () -> delegate.put(key, value, options));
   }
 
+  @Override
+  public Iterable<Document<K, V>> bulkPut(Map<K, V> entries, PutOption... options) {
+    return trace("bulkPut", () -> delegate.bulkPut(entries, options));
+  }
+
   @Override
   public Iterable<Document<K, V>> find(FindOption... options) {
     return trace("find", () -> delegate.find(options));
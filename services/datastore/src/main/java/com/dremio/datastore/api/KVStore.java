@@ -19,6 +19,7 @@ import com.dremio.context.TenantContext;
 import com.dremio.datastore.KVAdmin;
 import com.dremio.datastore.RemoteDataStoreProtobuf.PutOptionInfo;
 import com.dremio.datastore.RemoteDataStoreProtobuf.PutOptionType;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ExecutorService;
@@ -133,6 +134,27 @@ public interface KVStore<K, V> {
    */
   Document<K, V> put(K key, V value, PutOption... options);
 
+  /**
+   * Saves several documents to the KV Store. This behaves as calling {@link #put} for each entry,
+   * but if the underlying store supports batched writes and no version option is used, all the
+   * documents are written atomically with a single write.
+   *
+   * @param entries the keys and values to save, in the order documents are returned.
+   * @param options extra options applied to each PUT operation.
+   * @return the documents that are updated or created, with their latest version tags.
+   * @throws com.dremio.datastore.DatastoreException when one or more runtime failures are
+   *     encountered.
+   * @throws java.util.ConcurrentModificationException when VersionOption is passed in as a
+   *     PutOption and that a version tag is outdated.
+   */
+  default Iterable<Document<K, V>> bulkPut(Map<K, V> entries, PutOption... options) {
+    final List<Document<K, V>> results = new ArrayList<>(entries.size());
+    for (Map.Entry<K, V> entry : entries.entrySet()) {
+      results.add(put(entry.getKey(), entry.getValue(), options));
+    }
+    return results;
+  }
+
   /**
    * Removes a document with the provided key value.
    *
@@ -257,6 +257,22 @@ public class CoreIndexedStoreImpl<K, V> implements CoreIndexedStore<K, V> {
     return doc;
   }
 
+  @Override
+  public Iterable<com.dremio.datastore.api.Document<KVStoreTuple<K>, KVStoreTuple<V>>> bulkPut(
+      Map<KVStoreTuple<K>, KVStoreTuple<V>> entries, PutOption... options) {
+    if (indexesViaPutOption) {
+      // index fields are carried by per-document put options.
+      return CoreIndexedStore.super.bulkPut(entries, options);
+    }
+
+    KVStoreOptionUtility.checkIndexPutOptionIsNotUsed(options);
+    final Iterable<com.dremio.datastore.api.Document<KVStoreTuple<K>, KVStoreTuple<V>>> docs =
+        base.bulkPut(entries, options);
+    // the index writer is committed periodically, not per update.
+    entries.forEach(this::index);
+    return docs;
+  }
+
   private void index(KVStoreTuple<K> key, PutOption... options) {
     for (PutOption option : options) {
       switch (option.getPutOptionInfo().getType()) {
@@ -415,6 +431,8 @@ public class CoreIndexedStoreImpl<K, V> implements CoreIndexedStore<K, V> {
   @Override
   public void bulkDelete(List<KVStoreTuple<K>> keysToDelete, DeleteOption... deleteOptions) {
     base.bulkDelete(keysToDelete, deleteOptions);
+    index.deleteManyDocuments(
+        keysToDelete.stream().map(CoreIndexedStoreImpl::keyAsTerm).toArray(Term[]::new));
   }
 
   @Override
@@ -16,6 +16,7 @@
 package com.dremio.datastore.indexed;
 
 import static com.dremio.telemetry.api.metrics.MeterProviders.newGauge;
+import static com.dremio.telemetry.api.metrics.MeterProviders.newTimerProvider;
 import static java.lang.String.format;
 
 import com.dremio.datastore.CoreIndexedStore;
@@ -27,6 +28,7 @@ import com.google.common.base.Throwables;
 import com.google.common.cache.Cache;
 import com.google.common.cache.CacheBuilder;
 import com.google.common.collect.ImmutableList;
+import io.micrometer.core.instrument.Timer;
 import java.io.File;
 import java.io.IOException;
 import java.util.ArrayList;
@@ -44,8 +46,11 @@ import org.apache.lucene.index.IndexWriterConfig;
 import org.apache.lucene.index.IndexableField;
 import org.apache.lucene.index.LiveIndexWriterConfig;
 import org.apache.lucene.index.Term;
+import org.apache.lucene.index.TieredMergePolicy;
+import org.apache.lucene.search.ControlledRealTimeReopenThread;
 import org.apache.lucene.search.IndexSearcher;
 import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ReferenceManager;
 import org.apache.lucene.search.ScoreDoc;
 import org.apache.lucene.search.SearcherManager;
 import org.apache.lucene.search.Sort;
@@ -94,6 +99,33 @@ public class LuceneSearchIndex implements AutoCloseable {
    */
   public static final String COMMIT_FREQUENCY_MILLIS_PROPERTY = "dremio.lucene.commit_frequency";
 
+  /**
+   * Property name for the interval (in millis) between two background refreshes of the searcher.
+   * When set, searches no longer wait for a refresh and may see changes up to that interval late
+   * (near-real-time mode).
+   *
+   * <p>Default is 0, which refreshes the searcher before each search if the index has changed.
+   */
+  public static final String NRT_REFRESH_INTERVAL_MILLIS_PROPERTY =
+      "dremio.lucene.nrt.refresh_interval_ms";
+
+  /**
+   * Property name for configuring the maximum size (in MB) of a segment produced by a regular
+   * merge
+   *
+   * <p>Default is Lucene's default (5GB)
+   */
+  public static final String MERGE_MAX_MERGED_SEGMENT_MB_PROPERTY =
+      "dremio.lucene.merge.max_merged_segment_mb";
+
+  /**
+   * Property name for configuring the number of segments allowed per tier before merging
+   *
+   * <p>Default is Lucene's default (10)
+   */
+  public static final String MERGE_SEGMENTS_PER_TIER_PROPERTY =
+      "dremio.lucene.merge.segments_per_tier";
+
   /**
    * Spinning disks override property
    *
@@ -113,6 +145,10 @@ public class LuceneSearchIndex implements AutoCloseable {
   // during normal processing
   private static final int RAM_BUFFER_SIZE_MB = Integer.getInteger(RAM_BUFFER_SIZE_MB_PROPERTY, 32);
 
+  // 0 means searches refresh the searcher themselves
+  private static final long NRT_REFRESH_INTERVAL_MILLIS =
+      Long.getLong(NRT_REFRESH_INTERVAL_MILLIS_PROPERTY, 0L);
+
   // Ratio to apply to JVM total memory for buffering added documents and deletions during
   // reindexing
   // if not set
@@ -167,7 +203,7 @@ public class LuceneSearchIndex implements AutoCloseable {
 
         synchronized (this) {
           try {
-            this.wait(COMMIT_FREQUENCY);
+            this.wait(commitFrequency);
             if (closed) {
               return;
             }
@@ -217,6 +253,13 @@ public class LuceneSearchIndex implements AutoCloseable {
 
   private final CommitterThread committerThread;
   private final CommitWrapper commitWrapper;
+  private final long commitFrequency;
+
+  // background refresh of the searcher, null if not in near-real-time mode
+  private final ControlledRealTimeReopenThread<IndexSearcher> refreshThread;
+  private final Timer refreshTimer;
+  private volatile long refreshStartNanos;
+  private volatile long lastRefreshMillis = System.currentTimeMillis();
 
   private final IndexWriter writer;
   private final BaseDirectory directory;
@@ -258,6 +301,7 @@ public class LuceneSearchIndex implements AutoCloseable {
       final InfoStream infoStream) {
     this.name = name;
     this.commitWrapper = commitWrapper;
+    this.commitFrequency = getIndexProperty(COMMIT_FREQUENCY_MILLIS_PROPERTY, COMMIT_FREQUENCY);
 
     final ConcurrentMergeScheduler cms = new ConcurrentMergeScheduler();
     String overrideSpins = System.getProperty(OVERRIDE_SPINS_PROPERTY);
@@ -267,9 +311,10 @@ public class LuceneSearchIndex implements AutoCloseable {
     final IndexWriterConfig writerConfig =
         new IndexWriterConfig(new KeywordAnalyzer())
             .setOpenMode(IndexWriterConfig.OpenMode.CREATE_OR_APPEND)
-            .setRAMBufferSizeMB(RAM_BUFFER_SIZE_MB)
+            .setRAMBufferSizeMB(getIndexProperty(RAM_BUFFER_SIZE_MB_PROPERTY, RAM_BUFFER_SIZE_MB))
             .setInfoStream(infoStream)
-            .setMergeScheduler(cms);
+            .setMergeScheduler(cms)
+            .setMergePolicy(newMergePolicy());
 
     try {
 
@@ -297,6 +342,23 @@ public class LuceneSearchIndex implements AutoCloseable {
       writer = new IndexWriter(directory, writerConfig);
       commit();
       searcherManager = new SearcherManager(writer, true, true, null);
+      refreshTimer =
+          newTimerProvider(METRIC_PREFIX + "." + name.toLowerCase() + ".refresh").withTags();
+      searcherManager.addListener(new RefreshMetricsListener());
+
+      final long refreshIntervalMillis =
+          getIndexProperty(NRT_REFRESH_INTERVAL_MILLIS_PROPERTY, NRT_REFRESH_INTERVAL_MILLIS);
+      if (refreshIntervalMillis > 0) {
+        final double refreshIntervalSec = refreshIntervalMillis / 1000d;
+        refreshThread =
+            new ControlledRealTimeReopenThread<>(
+                writer, searcherManager, refreshIntervalSec, refreshIntervalSec);
+        refreshThread.setName(format("LuceneSearchIndex:refresher %s", name));
+        refreshThread.setDaemon(true);
+        refreshThread.start();
+      } else {
+        refreshThread = null;
+      }
 
       committerThread = new CommitterThread();
     } catch (IOException ex) {
@@ -305,6 +367,11 @@ public class LuceneSearchIndex implements AutoCloseable {
 
     newGauge("kvstore.lucene." + name.toLowerCase() + ".live_records", this::getLiveRecords);
     newGauge("kvstore.lucene." + name.toLowerCase() + ".deleted_records", this::getDeletedRecords);
+    if (refreshThread != null) {
+      // without near-real-time refresh, searches refresh the searcher themselves
+      newGauge(
+          "kvstore.lucene." + name.toLowerCase() + ".searcher_age_millis", this::getSearcherAge);
+    }
 
     searcherCache =
         CacheBuilder.newBuilder()
@@ -313,7 +380,63 @@ public class LuceneSearchIndex implements AutoCloseable {
             .build();
   }
 
+  /**
+   * Gets the value of an index property, which can be overridden for this index by suffixing the
+   * property name with the index name.
+   */
+  private long getIndexProperty(String property, long defaultValue) {
+    return Long.getLong(property + "." + name, Long.getLong(property, defaultValue));
+  }
+
+  private static TieredMergePolicy newMergePolicy() {
+    final TieredMergePolicy mergePolicy = new TieredMergePolicy();
+    final String maxMergedSegmentMB = System.getProperty(MERGE_MAX_MERGED_SEGMENT_MB_PROPERTY);
+    if (maxMergedSegmentMB != null) {
+      mergePolicy.setMaxMergedSegmentMB(Double.parseDouble(maxMergedSegmentMB));
+    }
+    final String segmentsPerTier = System.getProperty(MERGE_SEGMENTS_PER_TIER_PROPERTY);
+    if (segmentsPerTier != null) {
+      mergePolicy.setSegmentsPerTier(Double.parseDouble(segmentsPerTier));
+    }
+    return mergePolicy;
+  }
+
+  /** Records the refresh latency and the time the searcher was last known to be current. */
+  private final class RefreshMetricsListener implements ReferenceManager.RefreshListener {
+    @Override
+    public void beforeRefresh() {
+      refreshStartNanos = System.nanoTime();
+    }
+
+    @Override
+    public void afterRefresh(boolean didRefresh) {
+      refreshTimer.record(System.nanoTime() - refreshStartNanos, TimeUnit.NANOSECONDS);
+      lastRefreshMillis = System.currentTimeMillis();
+    }
+  }
+
+  /**
+   * Gets the time since the searcher was last refreshed, which bounds how stale searches can be.
+   *
+   * @return searcher age in millis, or 0 if searches refresh the searcher themselves, since they
+   *     are never stale then
+   */
+  public long getSearcherAge() {
+    if (refreshThread == null) {
+      return 0;
+    }
+    return System.currentTimeMillis() - lastRefreshMillis;
+  }
+
   private void checkIfChanged() {
+    if (refreshThread != null) {
+      // the searcher is refreshed in the background.
+      return;
+    }
+    refresh();
+  }
+
+  private void refresh() {
     try {
       if (!searcherManager.isSearcherCurrent()) {
         searcherManager.maybeRefreshBlocking();
@@ -524,6 +647,9 @@ public class LuceneSearchIndex implements AutoCloseable {
 
   @Override
   public void close() throws IOException {
+    if (refreshThread != null) {
+      refreshThread.close();
+    }
     committerThread.close();
     // commit will fail if writer is closed
     if (writer.isOpen()) {
@@ -561,13 +687,22 @@ public class LuceneSearchIndex implements AutoCloseable {
     }
   }
 
+  public void deleteManyDocuments(Term... keys) {
+    committerThread.throwExceptionIfAny();
+    try {
+      writer.deleteDocuments(keys);
+    } catch (IOException ex) {
+      throw Throwables.propagate(ex);
+    }
+  }
+
   public void delete() {
     committerThread.throwExceptionIfAny();
     try {
       writer.deleteAll();
       commit();
       // Forcing refresh of index so that open files are freed and deleted from disk
-      checkIfChanged();
+      refresh();
     } catch (Exception ex) {
       throw Throwables.propagate(ex);
     }
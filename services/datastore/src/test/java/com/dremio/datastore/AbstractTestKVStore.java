@@ -58,6 +58,8 @@ import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
@@ -333,6 +335,45 @@ public abstract class AbstractTestKVStore<K, V> {
     assertNull(kvStore.get(key));
   }
 
+  @Test
+  public void testBulkPut() {
+    final K existingKey = gen.newKey();
+    kvStore.put(existingKey, gen.newVal());
+
+    final Map<K, V> entries = new LinkedHashMap<>();
+    entries.put(existingKey, gen.newVal());
+    for (int i = 0; i < SAMPLING_SIZE / 2; i++) {
+      entries.put(gen.newKey(), gen.newVal());
+    }
+
+    final Iterable<Document<K, V>> putResults = kvStore.bulkPut(entries);
+    assertEquals(entries.size(), Iterables.size(putResults));
+
+    final List<K> keys = new ArrayList<>(entries.keySet());
+    final Iterable<Document<K, V>> getResults = kvStore.get(keys);
+    int i = 0;
+    for (Document<K, V> doc : getResults) {
+      gen.assertKeyEquals(keys.get(i), doc.getKey());
+      gen.assertValueEquals(entries.get(keys.get(i)), doc.getValue());
+      assertFalse(TAG_ASSERT_FAILURE_MSG, Strings.isNullOrEmpty(doc.getTag()));
+      i++;
+    }
+  }
+
+  @Test
+  public void testBulkDelete() {
+    final DocumentDataset<K, V> data = generateDataAndPopulateKVStore(SAMPLING_SIZE / 2);
+    final K missingKey = gen.newKey();
+
+    final List<K> keysToDelete = new ArrayList<>(data.getKeys());
+    keysToDelete.add(missingKey);
+    kvStore.bulkDelete(keysToDelete);
+
+    assertTrue(
+        StreamSupport.stream(kvStore.get(keysToDelete).spliterator(), false)
+            .allMatch(Objects::isNull));
+  }
+
   @Test
   public void testFindByExclusiveStartEndRange() {
     ignoreIfFindNotSupported();
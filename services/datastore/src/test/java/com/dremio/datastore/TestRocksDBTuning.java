@@ -0,0 +1,106 @@
+/*
+ * Copyright (C) 2017-2019 Dremio Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.dremio.datastore;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import com.dremio.datastore.RocksDBTuning.StoreProfile;
+import java.nio.charset.StandardCharsets;
+import org.junit.After;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.rocksdb.CompactionStyle;
+
+/** Tests for {@code RocksDBTuning} */
+public class TestRocksDBTuning {
+
+  @Rule public final TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+  @After
+  public void clearProperties() {
+    System.clearProperty(RocksDBTuning.BLOCK_CACHE_SIZE_MB_PROPERTY);
+    System.clearProperty(RocksDBTuning.WRITE_BUFFER_MANAGER_MB_PROPERTY);
+    System.clearProperty(RocksDBTuning.PROFILE_PROPERTY_PREFIX + "jobs");
+    System.clearProperty(RocksDBTuning.PROFILE_PROPERTY_PREFIX + "some-store");
+    System.clearProperty(RocksDBTuning.COMPACTION_STYLE_PROPERTY_PREFIX + "jobs");
+  }
+
+  @Test
+  public void testDefaultProfiles() {
+    assertEquals(StoreProfile.LARGE, RocksDBTuning.getProfile("jobs", true));
+    assertEquals(StoreProfile.LARGE, RocksDBTuning.getProfile("profiles", true));
+    assertEquals(StoreProfile.DEFAULT, RocksDBTuning.getProfile("some-store", true));
+  }
+
+  @Test
+  public void testDefaultProfilesWithoutSharedBlockCache() {
+    assertEquals(StoreProfile.DEFAULT, RocksDBTuning.getProfile("jobs", false));
+    assertEquals(StoreProfile.DEFAULT, RocksDBTuning.getProfile("profiles", false));
+    assertEquals(StoreProfile.DEFAULT, RocksDBTuning.getProfile("some-store", false));
+  }
+
+  @Test
+  public void testProfileOverride() {
+    System.setProperty(RocksDBTuning.PROFILE_PROPERTY_PREFIX + "jobs", "default");
+    System.setProperty(RocksDBTuning.PROFILE_PROPERTY_PREFIX + "some-store", "point_lookup");
+    assertEquals(StoreProfile.DEFAULT, RocksDBTuning.getProfile("jobs", true));
+    assertEquals(StoreProfile.POINT_LOOKUP, RocksDBTuning.getProfile("some-store", false));
+  }
+
+  @Test
+  public void testUnknownProfileFallsBack() {
+    System.setProperty(RocksDBTuning.PROFILE_PROPERTY_PREFIX + "jobs", "fastest");
+    assertEquals(StoreProfile.LARGE, RocksDBTuning.getProfile("jobs", true));
+  }
+
+  @Test
+  public void testCompactionStyle() {
+    assertNull(RocksDBTuning.getCompactionStyle("jobs"));
+    System.setProperty(RocksDBTuning.COMPACTION_STYLE_PROPERTY_PREFIX + "jobs", "universal");
+    assertEquals(CompactionStyle.UNIVERSAL, RocksDBTuning.getCompactionStyle("jobs"));
+  }
+
+  @Test
+  public void testUnknownCompactionStyleFallsBack() {
+    System.setProperty(RocksDBTuning.COMPACTION_STYLE_PROPERTY_PREFIX + "jobs", "fastest");
+    assertNull(RocksDBTuning.getCompactionStyle("jobs"));
+  }
+
+  @Test
+  public void testSharedBlockCacheAcrossReopen() throws Exception {
+    System.setProperty(RocksDBTuning.BLOCK_CACHE_SIZE_MB_PROPERTY, "8");
+    System.setProperty(RocksDBTuning.WRITE_BUFFER_MANAGER_MB_PROPERTY, "4");
+    final String dbPath = temporaryFolder.newFolder().getAbsolutePath();
+    final byte[] key = "key".getBytes(StandardCharsets.UTF_8);
+    final byte[] value = "value".getBytes(StandardCharsets.UTF_8);
+
+    try (ByteStoreManager bsm = new ByteStoreManager(dbPath, false)) {
+      bsm.start();
+      bsm.getStore("jobs").put(key, value);
+      bsm.getStore("some-store").put(key, value);
+    }
+
+    // reopen existing column families with their tuned options
+    try (ByteStoreManager bsm = new ByteStoreManager(dbPath, false)) {
+      bsm.start();
+      assertArrayEquals(value, bsm.getStore("jobs").get(key).getValue());
+      assertArrayEquals(value, bsm.getStore("some-store").get(key).getValue());
+    }
+  }
+}
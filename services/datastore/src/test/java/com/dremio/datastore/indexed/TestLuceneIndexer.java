@@ -476,6 +476,30 @@ public class TestLuceneIndexer {
     }
   }
 
+  @Test
+  public void testNearRealTimeRefresh() throws Exception {
+    final String property = LuceneSearchIndex.NRT_REFRESH_INTERVAL_MILLIS_PROPERTY + ".nrt";
+    System.setProperty(property, "50");
+    try (LuceneSearchIndex index = new LuceneSearchIndex(null, "nrt", true, CommitWrapper.NO_OP)) {
+      final Document doc = new Document();
+      doc.add(
+          new StringField(CoreIndexedStore.ID_FIELD_NAME, new BytesRef("1".getBytes()), Store.YES));
+      doc.add(new StringField("user", "u1", Field.Store.YES));
+      index.add(doc);
+
+      // the document becomes visible once the background refresh ran, without any commit.
+      final Query query = new TermQuery(new Term("user", "u1"));
+      final long deadline = System.currentTimeMillis() + 10_000;
+      while (index.count(query) == 0 && System.currentTimeMillis() < deadline) {
+        Thread.sleep(10);
+      }
+      assertEquals(1, index.count(query));
+      assertTrue(index.getSearcherAge() < 10_000);
+    } finally {
+      System.clearProperty(property);
+    }
+  }
+
   @Test
   public void testIndexClose() throws Exception {
     try (LuceneSearchIndex index =
@@ -755,6 +755,13 @@ public final class JobsServiceUtil {
       builder.setExecutionCpuTimeMillis(lastJobAttempt.getDetails().getCpuUsed());
     }
 
+    if (lastJobAttemptInfo.getThreadCpuTimeNs() != null) {
+      builder.setThreadCpuTimeNs(lastJobAttemptInfo.getThreadCpuTimeNs());
+    }
+    if (lastJobAttemptInfo.getHeapAllocatedBytes() != null) {
+      builder.setHeapAllocatedBytes(lastJobAttemptInfo.getHeapAllocatedBytes());
+    }
+
     return builder.build();
   }
 
@@ -904,6 +911,13 @@ public final class JobsServiceUtil {
       builder.setExecutionCpuTimeMillis(lastJobAttempt.getDetails().getCpuUsed());
     }
 
+    if (lastJobAttemptInfo.getThreadCpuTimeNs() != null) {
+      builder.setThreadCpuTimeNs(lastJobAttemptInfo.getThreadCpuTimeNs());
+    }
+    if (lastJobAttemptInfo.getHeapAllocatedBytes() != null) {
+      builder.setHeapAllocatedBytes(lastJobAttemptInfo.getHeapAllocatedBytes());
+    }
+
     return builder.build();
   }
 
@@ -2904,6 +2904,8 @@ public class LocalJobsService implements Service, JobResultInfoProvider, SimpleJ
       jobAttempt.getInfo().setSetupTimeNs(0L);
       jobAttempt.getInfo().setWaitTimeNs(0L);
       jobAttempt.getInfo().setMemoryAllocated(0L);
+      jobAttempt.getInfo().setThreadCpuTimeNs(0L);
+      jobAttempt.getInfo().setHeapAllocatedBytes(0L);
       profile
           .getFragmentProfileList()
           .forEach(
@@ -2938,6 +2940,16 @@ public class LocalJobsService implements Service, JobResultInfoProvider, SimpleJ
                                             .setMemoryAllocated(
                                                 jobAttempt.getInfo().getMemoryAllocated()
                                                     + opProfile.getPeakLocalMemoryAllocated());
+                                        jobAttempt
+                                            .getInfo()
+                                            .setThreadCpuTimeNs(
+                                                jobAttempt.getInfo().getThreadCpuTimeNs()
+                                                    + opProfile.getCpuNanos());
+                                        jobAttempt
+                                            .getInfo()
+                                            .setHeapAllocatedBytes(
+                                                jobAttempt.getInfo().getHeapAllocatedBytes()
+                                                    + opProfile.getHeapAllocatedBytes());
                                       });
                             }
                           });
@@ -26,77 +26,56 @@ import com.dremio.exec.proto.UserBitShared.NodeQueryProfile;
 import com.dremio.exec.proto.UserBitShared.QueryProfile;
 import com.google.common.base.Preconditions;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
-import java.util.Map;
-import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
-/** Merger for all portions of a query profile. */
+/**
+ * Merger for all portions of a query profile.
+ *
+ * <p>Executor profiles are folded in one at a time as they are read from the store, and only the
+ * parts of them which go into the merged profile are retained: the node profiles, and the profiles
+ * of the minor fragments in the builders of their phases.
+ */
 final class ProfileMerger {
-  private final QueryProfile planningProfile;
-  private final QueryProfile tailProfile;
-  private final List<ExecutorQueryProfile> executorQueryProfiles;
+  private static final int INITIAL_PHASE_CAPACITY = 16;
+
   private final List<NodeQueryProfile> nodeProfiles = new ArrayList<>();
-  private final List<MajorFragmentProfile.Builder> phaseProfiles;
+  private final List<MajorFragmentProfile.Builder> phaseProfiles = new ArrayList<>();
+  private int[] phaseWeights = newPhaseWeights(INITIAL_PHASE_CAPACITY);
   private int totalFragments;
   private int finishedFragments;
 
-  private ProfileMerger(
-      QueryProfile planningProfile,
-      QueryProfile tailProfile,
-      Stream<ExecutorQueryProfile> executorProfiles) {
-    this.planningProfile = planningProfile;
-    this.tailProfile = tailProfile;
-    this.executorQueryProfiles = executorProfiles.collect(Collectors.toList());
-    this.phaseProfiles = createEmptyPhaseProfiles();
-  }
-
-  private List<MajorFragmentProfile.Builder> createEmptyPhaseProfiles() {
-    Map<Integer, Integer> phaseWeights =
-        executorQueryProfiles.stream()
-            .flatMap(
-                executorProfile -> executorProfile.getNodeStatus().getPhaseStatusList().stream())
-            .collect(
-                Collectors.toMap(
-                    NodePhaseStatus::getMajorFragmentId,
-                    (v) -> (v.hasPhaseWeight() ? v.getPhaseWeight() : -1),
-                    (v1, v2) -> v1 >= 0 ? v1 : v2));
-
-    // find the max major fragment id.
-    // this should work even if the phase list, and the fragment list are inconsistent.
-    int maxPhaseId = phaseWeights.keySet().stream().mapToInt(x -> x).max().orElse(-1);
-
-    int maxFragmentPhaseId =
-        executorQueryProfiles.stream()
-            .flatMap(executorProfile -> executorProfile.getFragmentsList().stream())
-            .mapToInt(frag -> frag.getHandle().getMajorFragmentId())
-            .max()
-            .orElse(-1);
-
-    maxPhaseId = Integer.max(maxPhaseId, maxFragmentPhaseId);
-
-    // create empty profiles for all phases.
-    List<MajorFragmentProfile.Builder> phaseList = new ArrayList<>();
-    for (int i = 0; i <= maxPhaseId; i++) {
-      final int phaseWeight = phaseWeights.getOrDefault(i, -1);
-      MajorFragmentProfile.Builder mfb = MajorFragmentProfile.newBuilder().setMajorFragmentId(i);
-      if (phaseWeight > 0) {
-        mfb = mfb.setPhaseWeight(phaseWeight);
-      }
-      phaseList.add(mfb);
-    }
-    return phaseList;
-  }
+  ProfileMerger() {}
 
   static QueryProfile merge(
       QueryProfile planningProfile,
       QueryProfile tailProfile,
       Stream<ExecutorQueryProfile> executorProfiles) {
 
-    return new ProfileMerger(planningProfile, tailProfile, executorProfiles).merge();
+    final ProfileMerger merger = new ProfileMerger();
+    executorProfiles.forEachOrdered(merger::addExecutorProfile);
+    return merger.merge(planningProfile, tailProfile);
+  }
+
+  /**
+   * Merges one executor profile into the phases accumulated so far.
+   *
+   * @param executorProfile profile of one executor
+   */
+  void addExecutorProfile(ExecutorQueryProfile executorProfile) {
+    updateNodeProfile(executorProfile);
+    updatePhaseProfiles(executorProfile);
   }
 
-  private QueryProfile merge() {
+  /**
+   * Builds the full profile from the executor profiles added so far.
+   *
+   * @param planningProfile planning profile, may be null if tail profile is present
+   * @param tailProfile tail profile, may be null if planning profile is present
+   * @return merged profile
+   */
+  QueryProfile merge(QueryProfile planningProfile, QueryProfile tailProfile) {
     QueryProfile.Builder builder = QueryProfile.newBuilder();
     int maxTotalFragments = 0;
 
@@ -112,25 +91,43 @@ final class ProfileMerger {
       builder.mergeFrom(planningProfile);
       maxTotalFragments = Math.max(maxTotalFragments, planningProfile.getTotalFragments());
     }
-
-    // fill up details from the executor profiles.
-    executorQueryProfiles.forEach(this::processExecutorProfile);
     maxTotalFragments = Math.max(maxTotalFragments, totalFragments);
 
+    builder.addAllNodeProfile(nodeProfiles);
+    for (int phaseId = 0; phaseId < phaseProfiles.size(); phaseId++) {
+      final MajorFragmentProfile.Builder phaseProfile = phaseProfiles.get(phaseId);
+      if (phaseWeights[phaseId] > 0) {
+        phaseProfile.setPhaseWeight(phaseWeights[phaseId]);
+      }
+      builder.addFragmentProfile(phaseProfile);
+    }
+
     return builder
-        .addAllNodeProfile(nodeProfiles)
-        .addAllFragmentProfile(
-            phaseProfiles.stream()
-                .map(MajorFragmentProfile.Builder::build)
-                .collect(Collectors.toList()))
         .setTotalFragments(maxTotalFragments)
         .setFinishedFragments(finishedFragments)
         .build();
   }
 
-  private void processExecutorProfile(ExecutorQueryProfile executorProfile) {
-    updateNodeProfile(executorProfile);
-    updatePhaseProfiles(executorProfile);
+  /**
+   * Gets the profile of a phase, creating empty profiles for it and any lower phases not seen yet.
+   * This works even if the phase list and the fragment list are inconsistent.
+   */
+  private MajorFragmentProfile.Builder getPhaseProfile(int phaseId) {
+    if (phaseId >= phaseWeights.length) {
+      final int oldLength = phaseWeights.length;
+      phaseWeights = Arrays.copyOf(phaseWeights, Math.max(phaseId + 1, oldLength * 2));
+      Arrays.fill(phaseWeights, oldLength, phaseWeights.length, -1);
+    }
+    for (int i = phaseProfiles.size(); i <= phaseId; i++) {
+      phaseProfiles.add(MajorFragmentProfile.newBuilder().setMajorFragmentId(i));
+    }
+    return phaseProfiles.get(phaseId);
+  }
+
+  private static int[] newPhaseWeights(int capacity) {
+    final int[] weights = new int[capacity];
+    Arrays.fill(weights, -1);
+    return weights;
   }
 
   private void updateNodeProfile(ExecutorQueryProfile executorProfile) {
@@ -149,19 +146,24 @@ final class ProfileMerger {
     // update per-node status for each phase.
     for (NodePhaseStatus nodePhaseStatus : executorProfile.getNodeStatus().getPhaseStatusList()) {
       int phaseId = nodePhaseStatus.getMajorFragmentId();
+      MajorFragmentProfile.Builder phaseProfile = getPhaseProfile(phaseId);
+      // the first executor reporting a weight for the phase wins.
+      if (phaseWeights[phaseId] < 0 && nodePhaseStatus.hasPhaseWeight()) {
+        phaseWeights[phaseId] = nodePhaseStatus.getPhaseWeight();
+      }
 
       NodePhaseProfile nodePhaseProfile =
           NodePhaseProfile.newBuilder()
               .setEndpoint(executorProfile.getEndpoint())
               .setMaxMemoryUsed(nodePhaseStatus.getMaxMemoryUsed())
               .build();
-      phaseProfiles.get(phaseId).addNodePhaseProfile(nodePhaseProfile);
+      phaseProfile.addNodePhaseProfile(nodePhaseProfile);
     }
 
     // update fragment status for each phase.
     for (FragmentStatus fragmentStatus : executorProfile.getFragmentsList()) {
       int phaseId = fragmentStatus.getHandle().getMajorFragmentId();
-      phaseProfiles.get(phaseId).addMinorFragmentProfile(fragmentStatus.getProfile());
+      getPhaseProfile(phaseId).addMinorFragmentProfile(fragmentStatus.getProfile());
 
       ++totalFragments;
       if (isTerminal(fragmentStatus.getProfile().getState())) {
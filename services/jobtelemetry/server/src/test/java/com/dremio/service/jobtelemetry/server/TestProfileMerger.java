@@ -348,6 +348,12 @@ public class TestProfileMerger {
         expectedMergedProfile,
         ProfileMerger.merge(
             planningProfile, null, Stream.of(executorQueryProfile1, executorQueryProfile2)));
+
+    // merging incrementally, one executor profile at a time, gives the same result.
+    final ProfileMerger merger = new ProfileMerger();
+    merger.addExecutorProfile(executorQueryProfile1);
+    merger.addExecutorProfile(executorQueryProfile2);
+    assertEquals(expectedMergedProfile, merger.merge(planningProfile, null));
   }
 
   @Test
@@ -40,7 +40,8 @@ public interface SystemTableManager extends AutoCloseable {
     MATERIALIZATIONS("materializations"),
     REFLECTIONS("reflections"),
     REFLECTION_DEPENDENCIES("reflection_dependencies"),
-    JOBS_RECENT("jobs_recent");
+    JOBS_RECENT("jobs_recent"),
+    PLANNER_RULE_STATS("planner_rule_stats");
 
     final String name;
 